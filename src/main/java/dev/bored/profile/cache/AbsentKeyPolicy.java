@@ -0,0 +1,28 @@
+package dev.bored.profile.cache;
+
+/**
+ * Tells {@link TwoTierCache} which loader failures mean "this key does not
+ * exist", and how to report such a key without running the loader.
+ *
+ * <p>Absent keys are remembered as short-lived negative entries, and keys an
+ * {@link IdExistenceFilters} rules out are rejected up front. Either way the
+ * caller must see the same exception the loader would have thrown.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public interface AbsentKeyPolicy {
+
+    /**
+     * @param loaderFailure what the loader threw, possibly wrapped
+     * @return {@code true} if it reports a missing key
+     */
+    boolean isAbsent(Throwable loaderFailure);
+
+    /**
+     * @param cacheName the cache the key was looked up in
+     * @param key       the missing key
+     * @return the exception to throw for it
+     */
+    RuntimeException absent(String cacheName, Object key);
+}
@@ -0,0 +1,79 @@
+package dev.bored.profile.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.lang.Nullable;
+
+/**
+ * Envelope every {@link TwoTierCache} value is stored in, in both tiers.
+ *
+ * <p>Redis still enforces the hard TTL; {@code softExpiresAt} marks when the
+ * value should be refreshed. Reads past that point keep serving the value
+ * while a background reload replaces it.</p>
+ *
+ * <p>An {@linkplain #isAbsent() absent} entry is a negative-cache marker: the
+ * loader reported the key as not found, and until the marker's short TTL
+ * runs out, reads fail fast the same way without reaching the database.</p>
+ *
+ * <p>{@code etag} is the value's {@link EntityTags strong entity tag}, taken
+ * once when the value is cached so conditional GETs can be answered without
+ * serializing it again. Entries read from an older format have none.</p>
+ *
+ * <p>Deliberately a plain (non-final) bean rather than a record: the Redis
+ * serializer only writes type info for non-final types, and it needs that
+ * to turn the envelope back into this class on read.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-16
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheEntry {
+
+    /** The cached value — a DTO or a list of DTOs. */
+    private Object value;
+
+    /** Epoch millis after which the value is stale and should be refreshed. */
+    private long softExpiresAt;
+
+    /** {@code true} for a negative-cache marker; {@link #value} is then {@code null}. */
+    private boolean absent;
+
+    /** Entity tag of {@link #value}, or {@code null} for markers and untagged entries. */
+    @Nullable
+    private String etag;
+
+    /**
+     * An untagged entry.
+     *
+     * @param value         the cached value
+     * @param softExpiresAt epoch millis after which the value is stale
+     */
+    public CacheEntry(Object value, long softExpiresAt) {
+        this(value, softExpiresAt, false, null);
+    }
+
+    /**
+     * @param value         the cached value
+     * @param softExpiresAt epoch millis after which the value is stale
+     * @return an entry tagged with {@link EntityTags#of} of {@code value}
+     */
+    public static CacheEntry tagged(Object value, long softExpiresAt) {
+        return new CacheEntry(value, softExpiresAt, false, EntityTags.of(value));
+    }
+
+    /** A negative-cache marker. Never goes stale; its TTL alone ends it. */
+    public static CacheEntry absentMarker() {
+        return new CacheEntry(null, Long.MAX_VALUE, true, null);
+    }
+
+    /**
+     * @param now epoch millis to compare against
+     * @return {@code true} once the soft expiry has passed
+     */
+    public boolean isStale(long now) {
+        return now >= softExpiresAt;
+    }
+}
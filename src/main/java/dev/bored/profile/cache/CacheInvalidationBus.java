@@ -0,0 +1,199 @@
+package dev.bored.profile.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Broadcasts L1 evictions to the other Cloud Run instances over Redis pub/sub.
+ *
+ * <p>Each message is {@code instanceId \n cacheName [\n key]}; a missing key
+ * means "clear the whole cache". Instances ignore their own messages — the
+ * publishing {@link TwoTierCache} has already dropped its L1 entry.</p>
+ *
+ * <p>Delivery is best-effort: a failed publish is logged and swallowed like
+ * any other cache error, and the L1 expire-after-write bounds how long a
+ * missed message can leave a peer stale. Publishes go through the
+ * {@link RedisCircuitBreaker} when there is one, so an open breaker skips
+ * them instead of waiting out the timeout on every write.</p>
+ *
+ * <p>State that must not miss a message, like the {@link IdExistenceFilters},
+ * registers with {@link #onPossiblyMissedMessages} to be told whenever a
+ * message may have been lost: when this instance resubscribes, when its
+ * breaker closes again, and when a peer that skipped or failed a publish
+ * can reach Redis again — it owes the others a resync message and sends it
+ * before its next publish or as soon as its breaker closes.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-16
+ */
+public class CacheInvalidationBus implements MessageListener, SubscriptionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+    private static final String SEPARATOR = "\n";
+    /** Cache name of the message telling peers they may have missed messages. */
+    private static final String RESYNC = "*";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ChannelTopic topic;
+    @Nullable
+    private final RedisCircuitBreaker circuitBreaker;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final List<Runnable> missedMessageListeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final AtomicBoolean resyncOwed = new AtomicBoolean();
+
+    /**
+     * @param connectionFactory the Redis connection factory shared with the cache
+     * @param channel           the pub/sub channel name
+     */
+    public CacheInvalidationBus(RedisConnectionFactory connectionFactory, String channel) {
+        this(connectionFactory, channel, null);
+    }
+
+    /**
+     * @param connectionFactory the Redis connection factory shared with the cache
+     * @param channel           the pub/sub channel name
+     * @param circuitBreaker    breaker publishes go through, or {@code null}
+     */
+    public CacheInvalidationBus(RedisConnectionFactory connectionFactory,
+                                String channel,
+                                @Nullable RedisCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        this.topic = new ChannelTopic(channel);
+        this.listenerContainer = new RedisMessageListenerContainer();
+        this.listenerContainer.setConnectionFactory(connectionFactory);
+        this.listenerContainer.addMessageListener(this, topic);
+        if (circuitBreaker != null) {
+            circuitBreaker.onStateChange(state -> {
+                if (state == RedisCircuitBreaker.State.CLOSED) {
+                    notifyPossiblyMissed();
+                    sendOwedResync();
+                }
+            });
+        }
+    }
+
+    /** Routes incoming invalidations for {@code cache} to its L1. */
+    void register(TwoTierCache cache) {
+        caches.put(cache.getName(), cache);
+    }
+
+    /**
+     * @param listener run, on the thread that noticed, whenever this instance
+     *                 may have missed a message
+     */
+    public void onPossiblyMissedMessages(Runnable listener) {
+        missedMessageListeners.add(listener);
+    }
+
+    /**
+     * Tells every other instance to drop {@code key} (or everything, when
+     * {@code key} is {@code null}) from its L1 copy of {@code cacheName}.
+     */
+    void publish(String cacheName, @Nullable String key) {
+        sendOwedResync();
+        send(cacheName, key);
+    }
+
+    /** Sends one message; a skipped or failed send leaves the peers owed a resync. */
+    private boolean send(String cacheName, @Nullable String key) {
+        String payload = instanceId + SEPARATOR + cacheName + (key != null ? SEPARATOR + key : "");
+        if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+            log.debug("Redis circuit open, skipped invalidation publish for {}[{}]", cacheName, key);
+            resyncOwed.set(true);
+            return false;
+        }
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            redisTemplate.convertAndSend(topic.getTopic(), payload);
+        } catch (RuntimeException ex) {
+            failed = true;
+            resyncOwed.set(true);
+            log.warn("Cache invalidation publish failed for {}[{}]", cacheName, key, ex);
+        } finally {
+            if (circuitBreaker != null) {
+                circuitBreaker.record(System.nanoTime() - start, failed);
+            }
+        }
+        return !failed;
+    }
+
+    private void sendOwedResync() {
+        if (resyncOwed.compareAndSet(true, false) && send(RESYNC, null)) {
+            log.info("Told peers to resync after skipped or failed invalidation publishes");
+        }
+    }
+
+    private void notifyPossiblyMissed() {
+        missedMessageListeners.forEach(Runnable::run);
+    }
+
+    @Override
+    public void onMessage(Message message, @Nullable byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        if (parts.length < 2 || instanceId.equals(parts[0])) {
+            return;
+        }
+        if (RESYNC.equals(parts[1])) {
+            notifyPossiblyMissed();
+            return;
+        }
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (parts.length == 3) {
+            cache.evictLocal(parts[2]);
+        } else {
+            cache.clearLocal();
+        }
+    }
+
+    /**
+     * The first confirmation is the initial subscribe; any later one is a
+     * resubscribe after a lost connection, during which messages may have
+     * been dropped.
+     */
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        if (!subscribed.compareAndSet(false, true)) {
+            log.info("Resubscribed to {} — messages may have been missed", topic.getTopic());
+            notifyPossiblyMissed();
+        }
+    }
+
+    /** Subscribes to the channel. Failures are logged, not thrown — Redis is optional. */
+    public void start() {
+        try {
+            listenerContainer.afterPropertiesSet();
+            listenerContainer.start();
+        } catch (RuntimeException ex) {
+            log.warn("Cache invalidation subscribe failed for channel {}", topic.getTopic(), ex);
+        }
+    }
+
+    /** Unsubscribes and releases the listener connection. */
+    public void stop() throws Exception {
+        listenerContainer.destroy();
+    }
+}
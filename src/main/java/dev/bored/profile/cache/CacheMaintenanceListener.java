@@ -0,0 +1,188 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.ProfileCacheProperties;
+import dev.bored.profile.service.CacheNames;
+import dev.bored.profile.service.PageScopes;
+import dev.bored.profile.service.ProfileDataChangedEvent;
+import dev.bored.profile.service.ProfileDataChangedEvent.Change;
+import dev.bored.profile.service.ProfileSection;
+import dev.bored.profile.service.ProfileSectionReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brings the caches in line with a write once it has committed.
+ *
+ * <p>By default a section write evicts the written row's {@code *_BY_ID}
+ * entry and the owning profile's {@code *_BY_PROFILE} list — two keys,
+ * regardless of how many profiles are cached. Acting after commit (rather
+ * than when the service method returns) means a concurrent reader can't
+ * re-cache the pre-commit state.</p>
+ *
+ * <p>With {@code profile.cache.write-through.enabled} the same two keys are
+ * overwritten instead: the list is reloaded from the database and the DTO
+ * the write returned goes into {@code *_BY_ID}, so the first visitor after
+ * an edit doesn't pay for the miss. Deleted rows and the rows of a batch
+ * write are still evicted, and a failed reload falls back to eviction.</p>
+ *
+ * <p>Any write also evicts the owning profile's {@code PORTFOLIO_BY_PROFILE}
+ * entry, in either mode: it spans all four sections, so rebuilding it would
+ * cost the full page load on every edit.</p>
+ *
+ * <p>Cached pages can't be named one by one, so a write evicts the page
+ * scope of each listing it touched instead, which puts all of their pages
+ * out of reach (see {@link PageScopes}).</p>
+ *
+ * <p>With the {@code profile-hash} layout, a deleted profile's Redis hash
+ * is also dropped as a whole, so nothing cached for it outlives the row.</p>
+ *
+ * <p>Backend failures go through the same fail-open {@link CacheErrorHandler}
+ * as the annotation-driven cache operations, so a Redis hiccup never fails a
+ * write that has already committed.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-16
+ */
+@Component
+public class CacheMaintenanceListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheMaintenanceListener.class);
+
+    private final CacheManager cacheManager;
+    private final CacheErrorHandler cacheErrorHandler;
+    private final boolean writeThrough;
+    private final Map<ProfileSection, ProfileSectionReader> readers = new EnumMap<>(ProfileSection.class);
+
+    /**
+     * @param cacheManager      the cache manager holding the {@code CacheNames} caches
+     * @param cacheErrorHandler the fail-open handler for backend errors
+     * @param properties        cache tuning, for the write-through switch
+     * @param readers           uncached list loaders, one per section
+     */
+    public CacheMaintenanceListener(CacheManager cacheManager,
+                                    CacheErrorHandler cacheErrorHandler,
+                                    ProfileCacheProperties properties,
+                                    List<ProfileSectionReader> readers) {
+        this.cacheManager = cacheManager;
+        this.cacheErrorHandler = cacheErrorHandler;
+        this.writeThrough = properties.getWriteThrough().isEnabled();
+        readers.forEach(reader -> this.readers.put(reader.section(), reader));
+    }
+
+    /**
+     * Evicts or overwrites the row and list entries affected by {@code event},
+     * and evicts the profile's portfolio.
+     * Runs before the other after-commit listeners, so e.g. a CDN purged by
+     * one of them refetches the new data rather than the entry being evicted.
+     *
+     * @param event the committed write
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileDataChanged(ProfileDataChangedEvent event) {
+        ProfileSection section = event.section();
+        boolean replaceRow = writeThrough && event.value() != null
+                && (event.change() == Change.CREATED || event.change() == Change.UPDATED);
+        for (Long id : event.ids()) {
+            if (replaceRow) {
+                replace(section.byIdCache(), id, event.value());
+            } else {
+                evict(section.byIdCache(), id);
+            }
+        }
+        if (section.byProfileCache() != null) {
+            refreshList(section, event.profileId());
+        }
+        evict(CacheNames.PORTFOLIO_BY_PROFILE, event.profileId());
+        evictPageScopes(event);
+        if (section == ProfileSection.PROFILE && event.change() == Change.DELETED
+                && cacheManager instanceof TwoTierCacheManager twoTier) {
+            evictProfile(twoTier, event.profileId());
+        }
+    }
+
+    /**
+     * Moves the listings {@code event} may have changed to a new page scope:
+     * the written section of the profile, or for profile writes the
+     * directory, plus every section of a deleted profile.
+     */
+    private void evictPageScopes(ProfileDataChangedEvent event) {
+        if (event.section() != ProfileSection.PROFILE) {
+            evict(CacheNames.PAGE_SCOPES, PageScopes.scopeKey(event.section(), event.profileId()));
+            return;
+        }
+        evict(CacheNames.PAGE_SCOPES, PageScopes.scopeKey(ProfileSection.PROFILE, null));
+        if (event.change() == Change.DELETED) {
+            for (ProfileSection section : ProfileSection.values()) {
+                if (section != ProfileSection.PROFILE) {
+                    evict(CacheNames.PAGE_SCOPES, PageScopes.scopeKey(section, event.profileId()));
+                }
+            }
+        }
+    }
+
+    private void evictProfile(TwoTierCacheManager twoTier, Long profileId) {
+        try {
+            twoTier.evictProfile(profileId);
+        } catch (RuntimeException ex) {
+            cacheErrorHandler.handleCacheEvictError(ex, twoTier.getCache(ProfileSection.PROFILE.byIdCache()), profileId);
+        }
+    }
+
+    private void refreshList(ProfileSection section, Long profileId) {
+        ProfileSectionReader reader = readers.get(section);
+        if (!writeThrough || reader == null) {
+            evict(section.byProfileCache(), profileId);
+            return;
+        }
+        List<?> rows;
+        try {
+            rows = reader.loadByProfile(profileId);
+        } catch (RuntimeException ex) {
+            log.warn("Write-through reload failed for {}[{}] — evicting instead",
+                    section.byProfileCache(), profileId, ex);
+            evict(section.byProfileCache(), profileId);
+            return;
+        }
+        replace(section.byProfileCache(), profileId, rows);
+    }
+
+    private void replace(String cacheName, Object key, Object value) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        try {
+            if (cache instanceof TwoTierCache twoTier) {
+                twoTier.replace(key, value);
+            } else {
+                cache.put(key, value);
+            }
+        } catch (RuntimeException ex) {
+            cacheErrorHandler.handleCachePutError(ex, cache, key, value);
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.evict(key);
+        } catch (RuntimeException ex) {
+            cacheErrorHandler.handleCacheEvictError(ex, cache, key);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package dev.bored.profile.cache;
+
+import org.springframework.data.redis.cache.CacheKeyPrefix;
+import org.springframework.lang.Nullable;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Per-cache schema version, folded into every Redis key so a release whose
+ * DTOs changed shape starts on fresh keys instead of reading entries the
+ * previous release wrote.
+ *
+ * <p>A cache's version is {@code v} plus the first 8 hex digits of a
+ * SHA-256 over the fields of the DTOs it holds: name and declared type of
+ * every instance field, sorted, including superclasses and nested
+ * application types. It is a pure function of the compiled classes, so
+ * every instance of one build agrees on it, and a release that doesn't touch
+ * a cache's DTOs keeps that cache's keys — and its warm entries.</p>
+ *
+ * <p>Keys become {@code <prefix><cache>::<version>::<key>}, e.g.
+ * {@code profile-svc::experience-by-id::v3fa2c1d0::42}. Names without a
+ * registered schema keep the plain {@code <prefix><name>::} form.
+ * {@link OrphanedKeySweeper} removes keys of other versions.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public class CacheSchemaVersions {
+
+    private final Map<String, String> versions = new LinkedHashMap<>();
+
+    /**
+     * @param valueTypes for each cache (or packed hash) name, the DTO types its values are made of
+     */
+    public CacheSchemaVersions(Map<String, List<Class<?>>> valueTypes) {
+        valueTypes.forEach((name, types) -> versions.put(name, "v" + fingerprint(types)));
+    }
+
+    /**
+     * @param name a cache or packed hash name
+     * @return its version segment, e.g. {@code v3fa2c1d0}, or {@code null} if unversioned
+     */
+    @Nullable
+    public String versionOf(String name) {
+        return versions.get(name);
+    }
+
+    /** @return every versioned name with its current version, in registration order */
+    public Map<String, String> getVersions() {
+        return Collections.unmodifiableMap(versions);
+    }
+
+    /**
+     * @param prefix the key prefix every cache shares, e.g. {@code profile-svc::}
+     * @return a key prefix function adding the name's version
+     */
+    public CacheKeyPrefix keyPrefix(String prefix) {
+        return name -> currentPrefix(prefix, name);
+    }
+
+    /**
+     * @param prefix the key prefix every cache shares
+     * @param name   a cache or packed hash name
+     * @return what every current-version key of {@code name} starts with
+     */
+    public String currentPrefix(String prefix, String name) {
+        String version = versions.get(name);
+        return prefix + name + CacheKeyPrefix.SEPARATOR + (version != null ? version + CacheKeyPrefix.SEPARATOR : "");
+    }
+
+    /**
+     * @param types DTO types, in a fixed order
+     * @return 8 hex digits identifying their combined field layout
+     */
+    static String fingerprint(List<Class<?>> types) {
+        StringBuilder layout = new StringBuilder();
+        Set<Class<?>> seen = new HashSet<>();
+        for (Class<?> type : types) {
+            describe(type, layout, seen);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(layout.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 4);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is missing from this JVM", ex);
+        }
+    }
+
+    private static void describe(Class<?> type, StringBuilder layout, Set<Class<?>> seen) {
+        if (!seen.add(type)) {
+            return;
+        }
+        Set<String> fields = new TreeSet<>();
+        Set<Class<?>> nested = new TreeSet<>(Comparator.comparing(Class::getName));
+        for (Class<?> level = type; level != null && level != Object.class; level = level.getSuperclass()) {
+            for (Field field : level.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                fields.add(field.getName() + ':' + field.getGenericType().getTypeName());
+                if (isApplicationType(field.getType())) {
+                    nested.add(field.getType());
+                }
+            }
+        }
+        layout.append(type.getName()).append(fields).append(';');
+        nested.forEach(nestedType -> describe(nestedType, layout, seen));
+    }
+
+    /** Types whose shape can change with our code, rather than the JDK's. */
+    private static boolean isApplicationType(Class<?> type) {
+        return !type.isPrimitive() && !type.isArray() && !type.isEnum()
+                && !type.getName().startsWith("java.");
+    }
+}
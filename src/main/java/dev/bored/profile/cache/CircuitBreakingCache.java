@@ -0,0 +1,223 @@
+package dev.bored.profile.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Routes every call to a remote {@link Cache} through a {@link RedisCircuitBreaker}.
+ *
+ * <p>While the breaker lets calls through, they go to the delegate and their
+ * duration and outcome are recorded; exceptions still reach the caller's
+ * error handling. While it doesn't, reads are misses and writes are dropped,
+ * so {@link TwoTierCache} carries on with its L1 and the loader.</p>
+ *
+ * <p>Dropping an eviction would leave Redis serving the pre-write value once
+ * it is back, so skipped evictions are remembered and replayed when the
+ * breaker closes. Past {@link RedisCircuitBreaker#getMaxDeferredEvictions()}
+ * keys, or after a skipped {@link #clear()}, the whole cache is cleared on
+ * close instead.</p>
+ *
+ * <p>Batch reads and writes go through the breaker as one call each, with
+ * one command per key when the delegate isn't a {@link MultiKeyCache}.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public class CircuitBreakingCache implements Cache, MultiKeyCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreakingCache.class);
+
+    private final Cache delegate;
+    private final RedisCircuitBreaker breaker;
+    private final Set<Object> deferredEvictions = ConcurrentHashMap.newKeySet();
+    private volatile boolean deferredClear;
+
+    /**
+     * @param delegate the remote cache
+     * @param breaker  the breaker shared by every remote cache
+     */
+    public CircuitBreakingCache(Cache delegate, RedisCircuitBreaker breaker) {
+        this.delegate = delegate;
+        this.breaker = breaker;
+        breaker.onStateChange(state -> {
+            if (state == RedisCircuitBreaker.State.CLOSED) {
+                replayDeferred();
+            }
+        });
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        return call(() -> delegate.get(key), () -> null);
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        return call(() -> delegate.get(key, type), () -> null);
+    }
+
+    /**
+     * Looks up and fills through this decorator rather than the delegate's own
+     * loader path, so the loader's run time is never counted as a slow Redis call.
+     */
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        call(() -> {
+            delegate.put(key, value);
+            return null;
+        }, () -> null);
+    }
+
+    @Override
+    public void evict(Object key) {
+        call(() -> {
+            delegate.evict(key);
+            return null;
+        }, () -> {
+            deferEviction(key);
+            return null;
+        });
+    }
+
+    @Override
+    public void clear() {
+        call(() -> {
+            delegate.clear();
+            return null;
+        }, () -> {
+            deferredClear = true;
+            return null;
+        });
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        return call(() -> {
+            if (delegate instanceof MultiKeyCache multiKey) {
+                return multiKey.getAll(keys);
+            }
+            Map<Object, Object> values = new HashMap<>();
+            for (Object key : keys) {
+                ValueWrapper wrapper = delegate.get(key);
+                if (wrapper != null && wrapper.get() != null) {
+                    values.put(key, wrapper.get());
+                }
+            }
+            return values;
+        }, Map::of);
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        call(() -> {
+            if (delegate instanceof MultiKeyCache multiKey) {
+                multiKey.putAll(entries);
+            } else {
+                entries.forEach(delegate::put);
+            }
+            return null;
+        }, () -> null);
+    }
+
+    /** Replays what was skipped while the breaker was open. */
+    void replayDeferred() {
+        if (breaker.getState() != RedisCircuitBreaker.State.CLOSED) {
+            return;
+        }
+        if (deferredClear) {
+            deferredClear = false;
+            deferredEvictions.clear();
+            log.info("Replaying deferred clear of {}", getName());
+            try {
+                clear();
+            } catch (RuntimeException ex) {
+                deferredClear = true;
+                log.warn("Deferred clear of {} failed — will retry on the next close", getName(), ex);
+            }
+            return;
+        }
+        List<Object> keys = new ArrayList<>(deferredEvictions);
+        if (keys.isEmpty()) {
+            return;
+        }
+        log.info("Replaying {} deferred evictions of {}", keys.size(), getName());
+        for (Object key : keys) {
+            deferredEvictions.remove(key);
+            try {
+                evict(key);
+            } catch (RuntimeException ex) {
+                deferEviction(key);
+                log.warn("Deferred eviction of {}[{}] failed — will retry on the next close", getName(), key, ex);
+            }
+        }
+    }
+
+    private void deferEviction(Object key) {
+        if (deferredClear) {
+            return;
+        }
+        if (deferredEvictions.size() >= breaker.getMaxDeferredEvictions()) {
+            deferredClear = true;
+            deferredEvictions.clear();
+            return;
+        }
+        deferredEvictions.add(key);
+    }
+
+    private <T> T call(Supplier<T> remoteCall, Supplier<T> whenOpen) {
+        if (!breaker.tryAcquire()) {
+            return whenOpen.get();
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = remoteCall.get();
+            failed = false;
+            return result;
+        } finally {
+            breaker.record(System.nanoTime() - start, failed);
+        }
+    }
+}
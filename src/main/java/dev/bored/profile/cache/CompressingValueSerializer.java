@@ -0,0 +1,140 @@
+package dev.bored.profile.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Wraps a value {@link RedisSerializer} and Deflate-compresses its output once
+ * it crosses a size threshold.
+ *
+ * <p>Compressed entries are written as {@link #DEFLATE_MARKER} followed by the
+ * raw Deflate stream. Anything else is passed to the delegate untouched, so
+ * uncompressed entries — small values, and everything written before this
+ * wrapper existed — keep reading as before. The marker can't collide with
+ * the delegate's own first byte: JSON opens with a brace or bracket and
+ * the Smile codec with its single-digit format version.</p>
+ *
+ * <p>One instance serves one cache, so the ratio and time metrics it
+ * publishes are tagged with that cache's name. Experience lists carry
+ * free-text descriptions and compress well; profile cards mostly stay under
+ * the threshold and skip the work.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public class CompressingValueSerializer implements RedisSerializer<Object> {
+
+    /** Leading byte of a compressed entry. */
+    static final byte DEFLATE_MARKER = 0x1F;
+
+    private final RedisSerializer<Object> delegate;
+    private final int threshold;
+    private final int level;
+    private final DistributionSummary ratio;
+    private final Timer compressTime;
+    private final Timer decompressTime;
+
+    /**
+     * @param delegate      the codec producing the uncompressed bytes
+     * @param threshold     smallest serialized size, in bytes, worth compressing
+     * @param level         Deflate level, 1 (fastest) to 9 (smallest)
+     * @param cacheName     cache the metrics are tagged with
+     * @param meterRegistry registry the metrics are published to
+     */
+    public CompressingValueSerializer(RedisSerializer<Object> delegate, int threshold, int level,
+                                      String cacheName, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.threshold = threshold;
+        this.level = level;
+        this.ratio = DistributionSummary.builder("profile.cache.compression.ratio")
+                .description("Compressed size over original size of compressed Redis values")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        this.compressTime = Timer.builder("profile.cache.compression.time")
+                .description("Time spent compressing or decompressing Redis values")
+                .tag("cache", cacheName)
+                .tag("op", "compress")
+                .register(meterRegistry);
+        this.decompressTime = Timer.builder("profile.cache.compression.time")
+                .description("Time spent compressing or decompressing Redis values")
+                .tag("cache", cacheName)
+                .tag("op", "decompress")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public byte[] serialize(@Nullable Object value) throws SerializationException {
+        byte[] raw = delegate.serialize(value);
+        if (raw == null || raw.length < threshold) {
+            return raw;
+        }
+        long start = System.nanoTime();
+        byte[] compressed = deflate(raw);
+        compressTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (compressed.length >= raw.length) {
+            return raw;
+        }
+        ratio.record((double) compressed.length / raw.length);
+        return compressed;
+    }
+
+    @Override
+    @Nullable
+    public Object deserialize(@Nullable byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0 || bytes[0] != DEFLATE_MARKER) {
+            return delegate.deserialize(bytes);
+        }
+        long start = System.nanoTime();
+        byte[] raw = inflate(bytes);
+        decompressTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return delegate.deserialize(raw);
+    }
+
+    private byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+            out.write(DEFLATE_MARKER);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed, 1, compressed.length - 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new SerializationException("Truncated compressed cache entry");
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException ex) {
+            throw new SerializationException("Corrupt compressed cache entry", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package dev.bored.profile.cache;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Strong entity tags for cached values.
+ *
+ * <p>A tag is the first 64 bits of a SHA-256 over the value's Smile form,
+ * as 16 hex digits. It depends on the value's content only, so every
+ * instance derives the same tag for the same data, and any write that
+ * changes what a GET returns changes the tag. {@link TwoTierCache} computes
+ * it once, when a value is cached, and keeps it in the {@link CacheEntry}.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public final class EntityTags {
+
+    /** Length of every tag, in hex digits. */
+    public static final int LENGTH = 16;
+
+    private static final ObjectMapper SMILE = SmileMapper.builder()
+            .addModule(new JavaTimeModule())
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+
+    private EntityTags() { }
+
+    /**
+     * @param value a DTO or list of DTOs
+     * @return its tag, without the surrounding quotes
+     */
+    public static String of(Object value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(SMILE.writeValueAsBytes(value));
+            return HexFormat.of().formatHex(digest, 0, LENGTH / 2);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Cannot tag " + value.getClass().getName(), ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is missing from this JVM", ex);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package dev.bored.profile.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counting Bloom filter over {@code long} primary keys.
+ *
+ * <p>{@link #mightContain} never answers {@code false} for an id that was
+ * added and not removed, so a negative answer is safe to turn into a 404
+ * without asking the database. A positive answer may be wrong at roughly the
+ * configured false-positive rate; those ids fall through to the cache and the
+ * loader as before.</p>
+ *
+ * <p>Each slot is a 4-bit counter, sixteen to a {@code long}, updated with
+ * CAS so reads and writes need no lock. A counter that saturates at 15 is
+ * never decremented again. That can only cause extra false positives, never
+ * false negatives.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public class IdExistenceFilter {
+
+    private static final int BITS_PER_COUNTER = 4;
+    private static final int COUNTERS_PER_WORD = Long.SIZE / BITS_PER_COUNTER;
+    private static final long MAX_COUNT = (1L << BITS_PER_COUNTER) - 1;
+
+    private final AtomicLongArray words;
+    private final int slots;
+    private final int hashes;
+
+    /**
+     * @param expectedInsertions ids the filter is sized for
+     * @param falsePositiveRate  target false-positive rate at that size, e.g. {@code 0.01}
+     */
+    public IdExistenceFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Need expectedInsertions > 0 and 0 < falsePositiveRate < 1");
+        }
+        double ln2 = Math.log(2);
+        long optimalSlots = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.slots = (int) Math.min(Integer.MAX_VALUE - COUNTERS_PER_WORD, Math.max(COUNTERS_PER_WORD, optimalSlots));
+        this.hashes = Math.max(1, (int) Math.round((double) slots / expectedInsertions * ln2));
+        this.words = new AtomicLongArray((slots + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+    }
+
+    /**
+     * @param id an id
+     * @return {@code false} if {@code id} is definitely absent
+     */
+    public boolean mightContain(long id) {
+        long hash = mix(id);
+        for (int i = 0; i < hashes; i++) {
+            if (count(slot(hash, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records {@code id} as present.
+     *
+     * @param id an id
+     */
+    public void add(long id) {
+        long hash = mix(id);
+        for (int i = 0; i < hashes; i++) {
+            update(slot(hash, i), +1);
+        }
+    }
+
+    /**
+     * Records {@code id} as gone. Only call this for ids that were added;
+     * removing an id that never was can hide others.
+     *
+     * @param id an id that was previously added
+     */
+    public void remove(long id) {
+        if (!mightContain(id)) {
+            return;
+        }
+        long hash = mix(id);
+        for (int i = 0; i < hashes; i++) {
+            update(slot(hash, i), -1);
+        }
+    }
+
+    /** Heap held by the counters, in bytes. */
+    public long sizeInBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    private int slot(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return Math.floorMod(h1 + i * h2, slots);
+    }
+
+    private long count(int slot) {
+        return (words.get(slot / COUNTERS_PER_WORD) >>> shift(slot)) & MAX_COUNT;
+    }
+
+    private void update(int slot, int delta) {
+        int index = slot / COUNTERS_PER_WORD;
+        int shift = shift(slot);
+        while (true) {
+            long word = words.get(index);
+            long count = (word >>> shift) & MAX_COUNT;
+            if (count == MAX_COUNT || (delta < 0 && count == 0)) {
+                return;
+            }
+            long updated = (word & ~(MAX_COUNT << shift)) | ((count + delta) << shift);
+            if (words.compareAndSet(index, word, updated)) {
+                return;
+            }
+        }
+    }
+
+    private static int shift(int slot) {
+        return (slot % COUNTERS_PER_WORD) * BITS_PER_COUNTER;
+    }
+
+    /** SplitMix64 finaliser — spreads sequential ids across the whole hash. */
+    private static long mix(long id) {
+        long z = id + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
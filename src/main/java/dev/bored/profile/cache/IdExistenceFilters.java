@@ -0,0 +1,209 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.ProfileCacheProperties;
+import dev.bored.profile.service.ProfileDataChangedEvent;
+import dev.bored.profile.service.ProfileSection;
+import dev.bored.profile.service.SectionIdSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * One {@link IdExistenceFilter} per {@link ProfileSection}, consulted by the
+ * section's {@code *_BY_ID} cache before it does any I/O.
+ *
+ * <p>The filters are built from the database once the application is ready,
+ * and rebuilt on {@code profile.cache.existence-filter.rebuild-interval}.
+ * The rebuild clears any drift and resizes a filter that has outgrown its
+ * sizing. Until a section's first build finishes, every id is let through.</p>
+ *
+ * <p>Between rebuilds the filters follow writes. Creates are added as soon as
+ * the event is published — inside the transaction, so the id is known before
+ * any reader can see the row; a rollback only leaves a harmless false
+ * positive. Deletes are removed after commit. Creates on other instances
+ * arrive as peer evictions of the {@code *_BY_ID} key (see
+ * {@link #onPeerWrite}). Peer deletes aren't applied, which again can only
+ * leave false positives.</p>
+ *
+ * <p>A peer create whose eviction never arrives would make a filter reject
+ * an existing row, so whenever the {@link CacheInvalidationBus} reports that
+ * messages may have been missed, every filter is dropped — letting every id
+ * through — and rebuilt from the database (see {@link #resync}).</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+@Component
+public class IdExistenceFilters {
+
+    private static final Logger log = LoggerFactory.getLogger(IdExistenceFilters.class);
+
+    private final ObjectProvider<SectionIdSource> sources;
+    private final ProfileCacheProperties.ExistenceFilter settings;
+    private final Map<ProfileSection, IdExistenceFilter> filters = new ConcurrentHashMap<>();
+    private final Map<ProfileSection, Set<Long>> addedDuringRebuild = new ConcurrentHashMap<>();
+    private final Object swapLock = new Object();
+    private long generation;
+    private final Executor resyncExecutor;
+
+    /**
+     * @param sources    id loaders, one per section; resolved lazily at rebuild time
+     * @param properties cache tuning, for the filter sizing and switch
+     */
+    @Autowired
+    public IdExistenceFilters(ObjectProvider<SectionIdSource> sources, ProfileCacheProperties properties) {
+        this(sources, properties, task -> Thread.ofVirtual().name("existence-filter-resync").start(task));
+    }
+
+    IdExistenceFilters(ObjectProvider<SectionIdSource> sources, ProfileCacheProperties properties,
+                       Executor resyncExecutor) {
+        this.sources = sources;
+        this.settings = properties.getExistenceFilter();
+        this.resyncExecutor = resyncExecutor;
+    }
+
+    /**
+     * @param cacheName the cache being read
+     * @param key       the cache key
+     * @return {@code false} only if {@code cacheName} is keyed by the ids of a
+     *         section with a built filter, and that filter rules {@code key} out
+     */
+    public boolean mightContain(String cacheName, Object key) {
+        ProfileSection section = ProfileSection.forIdKeyedCache(cacheName);
+        IdExistenceFilter filter = section != null ? filters.get(section) : null;
+        if (filter == null || !(key instanceof Number id)) {
+            return true;
+        }
+        return filter.mightContain(id.longValue());
+    }
+
+    /**
+     * Adds created ids while the writing transaction is still open.
+     *
+     * @param event the write
+     */
+    @EventListener
+    public void onWrite(ProfileDataChangedEvent event) {
+        event.createdIds().forEach(id -> add(event.section(), id));
+    }
+
+    /**
+     * Removes deleted ids once the delete has committed.
+     *
+     * @param event the committed write
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void afterCommit(ProfileDataChangedEvent event) {
+        IdExistenceFilter filter = filters.get(event.section());
+        if (filter != null) {
+            event.deletedIds().forEach(filter::remove);
+        }
+    }
+
+    /**
+     * Another instance wrote {@code localKey} in {@code cacheName}. If that is
+     * a by-id cache, the key may be a new id, so it is added. An eviction for
+     * a delete lands here too and just leaves a false positive.
+     *
+     * @param cacheName the cache the peer wrote to
+     * @param localKey  the string form of the cache key
+     */
+    public void onPeerWrite(String cacheName, String localKey) {
+        ProfileSection section = ProfileSection.forByIdCache(cacheName);
+        if (section == null) {
+            return;
+        }
+        try {
+            add(section, Long.parseLong(localKey));
+        } catch (NumberFormatException ignored) {
+            // not an id key
+        }
+    }
+
+    /**
+     * Drops every filter at once, so no id is rejected, then rebuilds them in
+     * the background. For when a peer create may have gone unheard.
+     * A rebuild already running when this is called is discarded.
+     */
+    public void resync() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        synchronized (swapLock) {
+            generation++;
+            filters.clear();
+        }
+        log.info("Existence filters dropped until rebuilt — peer writes may have been missed");
+        resyncExecutor.execute(this::rebuild);
+    }
+
+    /** (Re)builds every section's filter from the database. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${profile.cache.existence-filter.rebuild-interval:6h}",
+            initialDelayString = "${profile.cache.existence-filter.rebuild-interval:6h}")
+    public synchronized void rebuild() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        sources.orderedStream().forEach(this::rebuild);
+    }
+
+    /**
+     * Builds a fresh filter from the ids {@code source} loads and swaps it in.
+     * Ids created while the load runs are replayed onto the new filter. If
+     * {@link #resync} is called meanwhile, the filter is thrown away, since
+     * its load may predate what was missed.
+     */
+    synchronized void rebuild(SectionIdSource source) {
+        ProfileSection section = source.section();
+        long startedIn;
+        synchronized (swapLock) {
+            startedIn = generation;
+        }
+        Set<Long> added = ConcurrentHashMap.newKeySet();
+        addedDuringRebuild.put(section, added);
+        try {
+            List<Long> ids = source.loadAllIds();
+            IdExistenceFilter fresh = new IdExistenceFilter(
+                    Math.max(settings.getExpectedInsertions(), 2L * ids.size()), settings.getFalsePositiveRate());
+            ids.forEach(fresh::add);
+            synchronized (swapLock) {
+                if (generation != startedIn) {
+                    log.info("Existence filter rebuild for {} superseded by a resync", section);
+                    return;
+                }
+                filters.put(section, fresh);
+            }
+            added.forEach(fresh::add);
+            log.info("Existence filter for {} rebuilt: {} ids, {} KiB",
+                    section, ids.size(), fresh.sizeInBytes() / 1024);
+        } catch (RuntimeException ex) {
+            log.warn("Existence filter rebuild for {} failed — keeping the previous one", section, ex);
+        } finally {
+            addedDuringRebuild.remove(section, added);
+        }
+    }
+
+    private void add(ProfileSection section, Long id) {
+        Set<Long> pending = addedDuringRebuild.get(section);
+        if (pending != null) {
+            pending.add(id);
+        }
+        IdExistenceFilter filter = filters.get(section);
+        if (filter != null) {
+            filter.add(id);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package dev.bored.profile.cache;
+
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Redis TTL that spreads each entry's expiry uniformly across
+ * {@code base ± jitterPercent}.
+ *
+ * <p>Entries written together — a warm-up after a deploy, a bulk edit —
+ * would otherwise all expire in the same second and send one wave of misses
+ * to Postgres. With jitter they trickle out over a window instead.</p>
+ *
+ * <p>Negative-cache markers ({@link CacheEntry#isAbsent()}) get their own,
+ * much shorter TTL, so a row created after a miss is never hidden for long.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public class JitteredTtlFunction implements RedisCacheWriter.TtlFunction {
+
+    private final Duration base;
+    private final long spreadMillis;
+    private final Duration negativeTtl;
+
+    /**
+     * @param base          the nominal TTL; zero or negative means "never expire"
+     * @param jitterPercent maximum deviation from {@code base}, 0–100
+     */
+    public JitteredTtlFunction(Duration base, int jitterPercent) {
+        this(base, jitterPercent, base);
+    }
+
+    /**
+     * @param base          the nominal TTL; zero or negative means "never expire"
+     * @param jitterPercent maximum deviation from {@code base}, 0–100
+     * @param negativeTtl   TTL for negative-cache markers
+     */
+    public JitteredTtlFunction(Duration base, int jitterPercent, Duration negativeTtl) {
+        if (jitterPercent < 0 || jitterPercent > 100) {
+            throw new IllegalArgumentException("TTL jitter must be between 0 and 100 percent, got " + jitterPercent);
+        }
+        this.base = base;
+        this.spreadMillis = base.toMillis() * jitterPercent / 100;
+        this.negativeTtl = negativeTtl;
+    }
+
+    @Override
+    public Duration getTimeToLive(Object key, @Nullable Object value) {
+        if (value instanceof CacheEntry entry && entry.isAbsent()) {
+            return negativeTtl;
+        }
+        if (spreadMillis <= 0) {
+            return base;
+        }
+        long offset = ThreadLocalRandom.current().nextLong(-spreadMillis, spreadMillis + 1);
+        return base.plusMillis(offset);
+    }
+}
@@ -0,0 +1,43 @@
+package dev.bored.profile.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+
+/**
+ * L1 expiry: the usual expire-after-write for values, and the much shorter
+ * negative TTL for {@link CacheEntry#isAbsent() absent} markers, matching
+ * what Redis applies to the same entries.
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public class LocalEntryExpiry implements Expiry<Object, Object> {
+
+    private final long valueNanos;
+    private final long absentNanos;
+
+    /**
+     * @param expireAfterWrite lifetime of a value in L1
+     * @param negativeTtl      lifetime of an absent marker in L1
+     */
+    public LocalEntryExpiry(Duration expireAfterWrite, Duration negativeTtl) {
+        this.valueNanos = expireAfterWrite.toNanos();
+        this.absentNanos = Math.min(negativeTtl.toNanos(), valueNanos);
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        return value instanceof CacheEntry entry && entry.isAbsent() ? absentNanos : valueNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
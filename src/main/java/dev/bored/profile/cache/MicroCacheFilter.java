@@ -0,0 +1,242 @@
+package dev.bored.profile.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.bored.profile.config.HttpCacheProperties;
+import dev.bored.profile.service.ProfileDataChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Absorbs bursts of identical anonymous GETs before they reach Spring
+ * Security, the dispatcher or the caches.
+ *
+ * <p>A page going viral sends the same few URLs thousands of times a second.
+ * Every cache layer behind this one still costs a security chain, a handler
+ * lookup and a serialization per request. This filter shares each complete
+ * {@code 200} response for {@code ttl} (a second by default), and a request
+ * arriving while an identical one is still being served waits for that
+ * response instead of starting its own — one request does the work for the
+ * whole burst.</p>
+ *
+ * <p>Requests are identical when they agree on path, query parameters (in
+ * any order of names), {@code Origin}, which CORS headers depend on, and
+ * whether they accept gzip. Requests carrying a bearer token skip the filter
+ * entirely; so do responses that set a cookie or are {@code private} or
+ * {@code no-store}. A conditional request is answered from a shared
+ * response but never starts one, since its own answer may be a
+ * {@code 304}.</p>
+ *
+ * <p>Every committed write flushes everything, and a response that was
+ * being produced while that happened is not shared. Other methods pass
+ * through untouched, so a request that is rejected or rolled back — an
+ * anonymous {@code POST} turned away by Spring Security, say — leaves the
+ * shared responses in place. Other instances keep theirs for at most
+ * {@code ttl}.</p>
+ *
+ * <p>Requests are counted as {@code profile.http.micro-cache} with
+ * {@code result=hit|collapsed|miss}, where {@code collapsed} waited on an
+ * in-flight request.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public class MicroCacheFilter extends OncePerRequestFilter {
+
+    private final BearerTokenResolver bearerTokenResolver;
+    private final Duration maxWait;
+    private final Cache<String, CompletableFuture<SharedResponse>> responses;
+    /** Bumped by every flush, so responses begun before it are not shared after it. */
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter collapsed;
+    private final Counter misses;
+
+    /**
+     * @param settings            TTL, size bound and longest wait
+     * @param bearerTokenResolver the resolver Spring Security authenticates with
+     * @param meterRegistry       registry for the request counters
+     */
+    public MicroCacheFilter(HttpCacheProperties.MicroCache settings,
+                            BearerTokenResolver bearerTokenResolver,
+                            MeterRegistry meterRegistry) {
+        this.bearerTokenResolver = bearerTokenResolver;
+        this.maxWait = settings.getMaxWait();
+        this.responses = Caffeine.newBuilder()
+                .expireAfterWrite(settings.getTtl())
+                .maximumSize(settings.getMaximumSize())
+                .build();
+        this.hits = Counter.builder("profile.http.micro-cache").tag("result", "hit").register(meterRegistry);
+        this.collapsed = Counter.builder("profile.http.micro-cache").tag("result", "collapsed").register(meterRegistry);
+        this.misses = Counter.builder("profile.http.micro-cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!"GET".equals(request.getMethod()) || bearerTokenResolver.resolve(request) != null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String key = key(request);
+        boolean conditional = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+        CompletableFuture<SharedResponse> own = new CompletableFuture<>();
+        CompletableFuture<SharedResponse> shared = conditional
+                ? responses.getIfPresent(key)
+                : responses.asMap().putIfAbsent(key, own);
+        if (shared != null) {
+            (shared.isDone() ? hits : collapsed).increment();
+            SharedResponse sharedResponse = await(shared);
+            if (sharedResponse != null) {
+                sharedResponse.replay(request, response);
+            } else {
+                chain.doFilter(request, response);
+            }
+            return;
+        }
+        misses.increment();
+        if (conditional) {
+            chain.doFilter(request, response);
+            return;
+        }
+        produce(key, own, request, response, chain);
+    }
+
+    /** Serves the request and completes {@code own} with its response if it can be shared, else {@code null}. */
+    private void produce(String key, CompletableFuture<SharedResponse> own, HttpServletRequest request,
+                         HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        long startedIn = generation.get();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        SharedResponse sharedResponse = null;
+        try {
+            chain.doFilter(request, wrapper);
+            if (isShareable(wrapper)) {
+                sharedResponse = SharedResponse.of(wrapper);
+            }
+        } finally {
+            own.complete(sharedResponse);
+            if (sharedResponse == null || generation.get() != startedIn) {
+                responses.asMap().remove(key, own);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Flushes every shared response once a write has committed.
+     *
+     * @param event the committed write
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileDataChanged(ProfileDataChangedEvent event) {
+        flush();
+    }
+
+    /** Drops every shared response. */
+    public void flush() {
+        generation.incrementAndGet();
+        responses.invalidateAll();
+    }
+
+    /** The in-flight or shared response, or {@code null} if there is none to use within {@code maxWait}. */
+    @Nullable
+    private SharedResponse await(CompletableFuture<SharedResponse> shared) {
+        try {
+            return shared.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException ex) {
+            return null;
+        }
+    }
+
+    private static boolean isShareable(HttpServletResponse response) {
+        if (response.getStatus() != HttpStatus.OK.value() || response.getHeader(HttpHeaders.SET_COOKIE) != null) {
+            return false;
+        }
+        String cacheControl = response.getHeader(HttpHeaders.CACHE_CONTROL);
+        return cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    /**
+     * The normalized request: path without repeated slashes, query parameters
+     * ordered by name (values of one name keep their order), then what the
+     * response varies on.
+     */
+    static String key(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURI().replaceAll("/{2,}", "/"));
+        String query = request.getQueryString();
+        if (query != null && !query.isEmpty()) {
+            key.append('?').append(Arrays.stream(query.split("&"))
+                    .filter(parameter -> !parameter.isEmpty())
+                    .sorted(Comparator.comparing(parameter -> parameter.split("=", 2)[0]))
+                    .collect(Collectors.joining("&")));
+        }
+        String origin = request.getHeader(HttpHeaders.ORIGIN);
+        if (origin != null) {
+            key.append(" origin=").append(origin);
+        }
+        if (ResponseBytesCacheFilter.acceptsGzip(request)) {
+            key.append(" gzip");
+        }
+        return key.toString();
+    }
+
+    /** A complete response, as its producer sent it. */
+    private record SharedResponse(String contentType, List<Map.Entry<String, String>> headers, byte[] body) {
+
+        static SharedResponse of(ContentCachingResponseWrapper response) {
+            List<Map.Entry<String, String>> headers = new ArrayList<>();
+            for (String name : response.getHeaderNames()) {
+                if (!name.equalsIgnoreCase(HttpHeaders.CONTENT_TYPE)
+                        && !name.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH)) {
+                    response.getHeaders(name).forEach(value -> headers.add(Map.entry(name, value)));
+                }
+            }
+            return new SharedResponse(response.getContentType(), List.copyOf(headers),
+                    response.getContentAsByteArray());
+        }
+
+        void replay(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            headers.forEach(header -> response.addHeader(header.getKey(), header.getValue()));
+            String etag = response.getHeader(HttpHeaders.ETAG);
+            if (etag != null && new ServletWebRequest(request, response).checkNotModified(etag)) {
+                return;
+            }
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+}
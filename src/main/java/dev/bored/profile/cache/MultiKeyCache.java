@@ -0,0 +1,30 @@
+package dev.bored.profile.cache;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A remote cache that reads and writes many keys in one round trip.
+ *
+ * <p>{@link TwoTierCache#getAll} uses it for the keys its L1 doesn't hold;
+ * with a remote cache that isn't one, it falls back to a read per key.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public interface MultiKeyCache {
+
+    /**
+     * @param keys the cache keys to read
+     * @return the stored value of every key that has one, keyed by the
+     *         instance passed in; keys without a value are left out
+     */
+    Map<Object, Object> getAll(Collection<?> keys);
+
+    /**
+     * Stores every entry, each with the TTL the cache would give it on its own.
+     *
+     * @param entries the values to store, by cache key
+     */
+    void putAll(Map<?, ?> entries);
+}
@@ -0,0 +1,131 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.ProfileCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deletes cache keys written under a schema version other than the current
+ * one (see {@link CacheSchemaVersions}), including keys from before
+ * versioning. They would expire on their TTL anyway; sweeping just gives the
+ * memory back sooner.
+ *
+ * <p>For each versioned name it {@code SCAN}s {@code <prefix><name>::*}
+ * and {@code UNLINK}s what doesn't start with the current version's prefix,
+ * {@code batch-size} keys at a time with a pause in between, so a sweep never
+ * competes with request traffic for long. The first sweep waits
+ * {@code initial-delay} after startup, leaving time for the previous
+ * revision's instances to drain — they would only rewrite their keys.
+ * Failures are logged; the next sweep starts over.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public class OrphanedKeySweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(OrphanedKeySweeper.class);
+
+    private final RedisConnectionFactory connectionFactory;
+    private final String keyPrefix;
+    private final CacheSchemaVersions versions;
+    private final ProfileCacheProperties.SchemaVersion.Cleanup settings;
+    private final Counter deleted;
+
+    /**
+     * @param connectionFactory the Redis connection factory
+     * @param keyPrefix         prefix of every cache key, e.g. {@code profile-svc::}
+     * @param versions          the current schema versions
+     * @param settings          batch size and pacing
+     * @param meterRegistry     registry the deleted-keys counter goes to
+     */
+    public OrphanedKeySweeper(RedisConnectionFactory connectionFactory,
+                              String keyPrefix,
+                              CacheSchemaVersions versions,
+                              ProfileCacheProperties.SchemaVersion.Cleanup settings,
+                              MeterRegistry meterRegistry) {
+        this.connectionFactory = connectionFactory;
+        this.keyPrefix = keyPrefix;
+        this.versions = versions;
+        this.settings = settings;
+        this.deleted = Counter.builder("profile.cache.orphans.deleted")
+                .description("Cache keys of old schema versions removed by the sweeper")
+                .register(meterRegistry);
+    }
+
+    /** Scheduled entry point; see the class docs for timing. */
+    @Scheduled(initialDelayString = "${profile.cache.schema-version.cleanup.initial-delay:15m}",
+            fixedDelayString = "${profile.cache.schema-version.cleanup.interval:24h}")
+    public void sweepQuietly() {
+        try {
+            long total = sweep();
+            log.info("Orphaned cache key sweep removed {} keys", total);
+        } catch (RuntimeException ex) {
+            log.warn("Orphaned cache key sweep failed", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return how many keys were removed
+     * @throws InterruptedException if interrupted while pausing between batches
+     */
+    long sweep() throws InterruptedException {
+        long total = 0;
+        for (Map.Entry<String, String> version : versions.getVersions().entrySet()) {
+            total += sweep(version.getKey());
+        }
+        return total;
+    }
+
+    private long sweep(String name) throws InterruptedException {
+        String current = versions.currentPrefix(keyPrefix, name);
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(keyPrefix + name + "::*")
+                .count(settings.getBatchSize())
+                .build();
+        long removed = 0;
+        List<byte[]> batch = new ArrayList<>(settings.getBatchSize());
+        try (RedisConnection connection = connectionFactory.getConnection();
+             Cursor<byte[]> keys = connection.keyCommands().scan(options)) {
+            while (keys.hasNext()) {
+                byte[] key = keys.next();
+                if (!new String(key, StandardCharsets.UTF_8).startsWith(current)) {
+                    batch.add(key);
+                }
+                if (batch.size() >= settings.getBatchSize()) {
+                    removed += unlink(connection, batch);
+                    Thread.sleep(settings.getPauseBetweenBatches());
+                }
+            }
+            removed += unlink(connection, batch);
+        }
+        if (removed > 0) {
+            log.info("Removed {} {} keys of old schema versions (current {})", removed, name, current);
+        }
+        return removed;
+    }
+
+    private long unlink(RedisConnection connection, List<byte[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Long count = connection.keyCommands().unlink(batch.toArray(new byte[0][]));
+        batch.clear();
+        long removed = count != null ? count : 0;
+        deleted.increment(removed);
+        return removed;
+    }
+}
@@ -0,0 +1,188 @@
+package dev.bored.profile.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.lang.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * One profile-keyed cache stored as a field of the profile's Redis hash.
+ *
+ * <p>Every cache {@link ProfileHashCacheManager} packs shares the hash
+ * {@code <prefix>profile::<profileId>}, one field per cache name. A read is
+ * a single {@code HGETALL}: this cache's field is returned, and the sibling
+ * fields are handed to their caches' L1 (see {@link #onSiblingFields}), so
+ * the rest of the page's section reads don't go back to Redis. Writes are an
+ * {@code HSET} plus {@code PEXPIRE}, pipelined; evictions are an
+ * {@code HDEL}.</p>
+ *
+ * <p>The hash expires as a whole, so each write resets the TTL for every
+ * field; explicit evictions and the soft TTL keep fields fresh regardless.
+ * Negative-cache markers are not written: their short TTL would cut the
+ * whole hash short. They still live in L1.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public class ProfileHashCache implements Cache {
+
+    private final String name;
+    private final byte[] field;
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisCacheConfiguration configuration;
+    private final Function<Object, byte[]> hashKey;
+    private final String hashPattern;
+    private final Map<String, ProfileHashCache> siblings;
+    private volatile BiConsumer<Object, Object> localFill = (key, value) -> { };
+
+    /**
+     * @param name              the cache name, used as the hash field
+     * @param connectionFactory the Redis connection factory
+     * @param configuration     the cache's Redis configuration, for its value codec and TTL
+     * @param hashKey           maps a profile id to its hash key
+     * @param hashPattern       {@code SCAN} pattern matching every profile hash
+     * @param siblings          every packed cache by name, this one included
+     */
+    ProfileHashCache(String name,
+                     RedisConnectionFactory connectionFactory,
+                     RedisCacheConfiguration configuration,
+                     Function<Object, byte[]> hashKey,
+                     String hashPattern,
+                     Map<String, ProfileHashCache> siblings) {
+        this.name = name;
+        this.field = name.getBytes(StandardCharsets.UTF_8);
+        this.connectionFactory = connectionFactory;
+        this.configuration = configuration;
+        this.hashKey = hashKey;
+        this.hashPattern = hashPattern;
+        this.siblings = siblings;
+    }
+
+    /**
+     * Registers where this cache's field goes when a sibling's read brings it
+     * back — normally the owning {@link TwoTierCache}'s L1.
+     *
+     * @param localFill receives the profile id and the stored value
+     */
+    public void onSiblingFields(BiConsumer<Object, Object> localFill) {
+        this.localFill = localFill;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return connectionFactory;
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        Map<byte[], byte[]> fields;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            fields = connection.hashCommands().hGetAll(hashKey.apply(key));
+        }
+        if (fields == null || fields.isEmpty()) {
+            return null;
+        }
+        Object own = null;
+        for (Map.Entry<byte[], byte[]> entry : fields.entrySet()) {
+            if (Arrays.equals(field, entry.getKey())) {
+                own = read(entry.getValue());
+            } else {
+                ProfileHashCache sibling = siblings.get(new String(entry.getKey(), StandardCharsets.UTF_8));
+                if (sibling != null) {
+                    sibling.localFill.accept(key, sibling.read(entry.getValue()));
+                }
+            }
+        }
+        return own != null ? new SimpleValueWrapper(own) : null;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        if (value == null || (value instanceof CacheEntry entry && entry.isAbsent())) {
+            return;
+        }
+        byte[] hash = hashKey.apply(key);
+        byte[] bytes = ByteUtils.getBytes(configuration.getValueSerializationPair().write(value));
+        Duration ttl = configuration.getTtlFunction().getTimeToLive(key, value);
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            connection.hashCommands().hSet(hash, field, bytes);
+            if (!ttl.isZero() && !ttl.isNegative()) {
+                connection.keyCommands().pExpire(hash, ttl.toMillis());
+            }
+            connection.closePipeline();
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.hashCommands().hDel(hashKey.apply(key), field);
+        }
+    }
+
+    /** Removes this cache's field from every profile hash. Rare: a {@code SCAN} over all of them. */
+    @Override
+    public void clear() {
+        try (RedisConnection connection = connectionFactory.getConnection();
+             Cursor<byte[]> hashes = connection.keyCommands()
+                     .scan(ScanOptions.scanOptions().match(hashPattern).count(1000).build())) {
+            hashes.forEachRemaining(hash -> connection.hashCommands().hDel(hash, field));
+        }
+    }
+
+    @Nullable
+    private Object read(byte[] bytes) {
+        return configuration.getValueSerializationPair().read(ByteBuffer.wrap(bytes));
+    }
+}
@@ -0,0 +1,97 @@
+package dev.bored.profile.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remote {@link CacheManager} for the {@code profile-hash} layout: the
+ * profile-keyed caches in {@code packed} become fields of one Redis hash per
+ * profile ({@link ProfileHashCache}); every other cache is the delegate's
+ * plain {@link RedisCache}.
+ *
+ * <p>Each packed cache keeps its own Redis configuration — value codec,
+ * compression and TTL — taken from the delegate, so switching layouts
+ * changes where entries live, not how they are encoded.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public class ProfileHashCacheManager implements CacheManager {
+
+    /** Hash key segment between the configured prefix and the profile id. */
+    public static final String HASH_NAME = "profile";
+
+    private final RedisCacheManager delegate;
+    private final RedisConnectionFactory connectionFactory;
+    private final String hashPrefix;
+    private final Map<String, ProfileHashCache> packed = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate          the Redis cache manager for every cache, packed or not
+     * @param connectionFactory the Redis connection factory
+     * @param packedCacheNames  caches keyed by profile id to pack into the hash
+     */
+    public ProfileHashCacheManager(RedisCacheManager delegate,
+                                   RedisConnectionFactory connectionFactory,
+                                   List<String> packedCacheNames) {
+        this.delegate = delegate;
+        this.connectionFactory = connectionFactory;
+        this.hashPrefix = configurationOf(packedCacheNames.get(0)).getKeyPrefixFor(HASH_NAME);
+        for (String name : packedCacheNames) {
+            packed.put(name, new ProfileHashCache(name, connectionFactory, configurationOf(name),
+                    this::hashKey, hashPrefix + "*", packed));
+        }
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(String name) {
+        ProfileHashCache cache = packed.get(name);
+        return cache != null ? cache : delegate.getCache(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        Set<String> names = new LinkedHashSet<>(delegate.getCacheNames());
+        names.addAll(packed.keySet());
+        return names;
+    }
+
+    /**
+     * Drops everything cached for a profile in Redis with one {@code DEL}.
+     *
+     * @param profileId the profile whose hash to delete
+     */
+    public void evictProfile(Object profileId) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.keyCommands().del(hashKey(profileId));
+        }
+    }
+
+    /** @return whether {@code cacheName} is stored in the profile hash */
+    public boolean packs(String cacheName) {
+        return packed.containsKey(cacheName);
+    }
+
+    byte[] hashKey(Object profileId) {
+        return (hashPrefix + profileId).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private RedisCacheConfiguration configurationOf(String cacheName) {
+        return ((RedisCache) delegate.getCache(cacheName)).getCacheConfiguration();
+    }
+}
@@ -0,0 +1,222 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.ProfileCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.lang.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Races a slow L2 read against the loader.
+ *
+ * <p>{@link #read} starts the L2 read and waits up to the hedge delay for it.
+ * If it hasn't answered by then, the loader starts in parallel and whichever
+ * answers first wins: an L2 hit, or the loaded value. An L2 miss means waiting
+ * for the loader anyway, which by then has a head start.</p>
+ *
+ * <p>The delay is either fixed ({@code profile.cache.hedging.delay}) or, with
+ * {@code delay-percentile} set, that percentile of recent L2 read times,
+ * never below {@code min-delay}. At most {@code max-concurrent} hedged loads
+ * run at once across every cache, so a Redis incident can't turn into a
+ * Hikari pool exhaustion; past that budget a read just waits for L2.</p>
+ *
+ * <p>Both sides run on virtual threads, so a hedged read costs the caller
+ * no pool thread while it waits. A losing loader is left to finish and its
+ * result dropped; it keeps its budget permit until then.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public class ReadHedger implements AutoCloseable {
+
+    private static final int SAMPLES = 512;
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final ProfileCacheProperties.Hedging settings;
+    private final ExecutorService executor;
+    private final Semaphore budget;
+    private final Counter budgetExhausted;
+    private final long[] samples = new long[SAMPLES];
+    private int nextSample;
+    private int filled;
+    private int sinceRecompute;
+    private volatile long delayNanos;
+
+    /**
+     * @param settings      delay, percentile and budget
+     * @param meterRegistry registry the hedge delay and budget metrics go to
+     */
+    public ReadHedger(ProfileCacheProperties.Hedging settings, MeterRegistry meterRegistry) {
+        this(settings, meterRegistry, Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("cache-hedge-", 0).factory()));
+    }
+
+    ReadHedger(ProfileCacheProperties.Hedging settings, MeterRegistry meterRegistry, ExecutorService executor) {
+        if (settings.getDelayPercentile() < 0 || settings.getDelayPercentile() >= 100) {
+            throw new IllegalArgumentException("Hedge delay percentile must be 0 (fixed) or 1-99, got "
+                    + settings.getDelayPercentile());
+        }
+        this.settings = settings;
+        this.executor = executor;
+        this.budget = new Semaphore(settings.getMaxConcurrent());
+        this.delayNanos = settings.getDelay().toNanos();
+        Gauge.builder("profile.cache.hedge.delay", this, hedger -> hedger.delayNanos / 1_000_000.0)
+                .description("Current wait for an L2 read before the loader is hedged, in milliseconds")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("profile.cache.hedge.in.flight", budget,
+                        permits -> settings.getMaxConcurrent() - permits.availablePermits())
+                .description("Hedged loads currently running")
+                .register(meterRegistry);
+        this.budgetExhausted = Counter.builder("profile.cache.hedge.budget.exhausted")
+                .description("Slow L2 reads that were not hedged because the hedge budget was used up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The outcome of one hedged read. Exactly one of these holds:
+     * {@code hit != null} (L2 answered with an entry), {@code loaded} (the
+     * loader ran and produced {@code value} or {@code failure}), or neither
+     * (L2 missed in time and nothing was loaded yet).
+     *
+     * @param hit     the L2 entry, if L2 won
+     * @param hedged  whether the loader was started in parallel
+     * @param loaded  whether the result comes from the loader
+     * @param value   the loaded value
+     * @param failure the loader's exception
+     * @param <T>     the L2 entry type
+     */
+    public record Outcome<T>(@Nullable T hit,
+                             boolean hedged,
+                             boolean loaded,
+                             @Nullable Object value,
+                             @Nullable Exception failure) {
+
+        /** @return the loaded value, or the loader's exception rethrown */
+        @Nullable
+        public Object loadedValue() throws Exception {
+            if (failure != null) {
+                throw failure;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * @param remoteRead the L2 read; must not throw, {@code null} meaning a miss
+     * @param loader     the loader to hedge with
+     * @param <T>        the L2 entry type
+     * @return which side answered, and with what
+     */
+    public <T> Outcome<T> read(Supplier<T> remoteRead, Callable<?> loader) {
+        long start = System.nanoTime();
+        CompletableFuture<T> remote = CompletableFuture.supplyAsync(remoteRead, executor);
+        remote.whenComplete((entry, ex) -> recordLatency(System.nanoTime() - start));
+        try {
+            return new Outcome<>(remote.get(delayNanos, TimeUnit.NANOSECONDS), false, false, null, null);
+        } catch (TimeoutException slow) {
+            return hedge(remote, loader);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return new Outcome<>(null, false, false, null, null);
+        } catch (ExecutionException ex) {
+            // the read is meant to be quiet; treat anything it leaks as a miss
+            return new Outcome<>(null, false, false, null, null);
+        }
+    }
+
+    /** @return the current hedge delay in nanoseconds */
+    long delayNanos() {
+        return delayNanos;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> Outcome<T> hedge(CompletableFuture<T> remote, Callable<?> loader) {
+        if (!budget.tryAcquire()) {
+            budgetExhausted.increment();
+            return new Outcome<>(joinQuietly(remote), false, false, null, null);
+        }
+        CompletableFuture<Object> load;
+        try {
+            load = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return loader.call();
+                } catch (Exception ex) {
+                    throw new CompletionException(ex);
+                }
+            }, executor);
+        } catch (RuntimeException rejected) {
+            budget.release();
+            return new Outcome<>(joinQuietly(remote), false, false, null, null);
+        }
+        load.whenComplete((value, ex) -> budget.release());
+
+        CompletableFuture.anyOf(remote, load).exceptionally(ex -> null).join();
+        T hit = remote.isDone() ? joinQuietly(remote) : null;
+        if (hit != null && !isDoneOk(load)) {
+            return new Outcome<>(hit, true, false, null, null);
+        }
+        try {
+            return new Outcome<>(null, true, true, load.join(), null);
+        } catch (CompletionException ex) {
+            T late = joinQuietly(remote);
+            if (late != null) {
+                return new Outcome<>(late, true, false, null, null);
+            }
+            Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+            return new Outcome<>(null, true, true, null,
+                    cause instanceof Exception exception ? exception : new CompletionException(cause));
+        }
+    }
+
+    private static boolean isDoneOk(CompletableFuture<?> future) {
+        return future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    @Nullable
+    private static <T> T joinQuietly(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private void recordLatency(long nanos) {
+        if (settings.getDelayPercentile() == 0) {
+            return;
+        }
+        long[] snapshot = null;
+        synchronized (samples) {
+            samples[nextSample] = nanos;
+            nextSample = (nextSample + 1) % SAMPLES;
+            filled = Math.min(filled + 1, SAMPLES);
+            if (++sinceRecompute >= RECOMPUTE_EVERY) {
+                sinceRecompute = 0;
+                snapshot = Arrays.copyOf(samples, filled);
+            }
+        }
+        if (snapshot != null) {
+            Arrays.sort(snapshot);
+            long observed = snapshot[Math.min(snapshot.length - 1,
+                    snapshot.length * settings.getDelayPercentile() / 100)];
+            delayNanos = Math.max(settings.getMinDelay().toNanos(), observed);
+        }
+    }
+}
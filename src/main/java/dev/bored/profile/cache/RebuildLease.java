@@ -0,0 +1,165 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.ProfileCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Cross-instance lease on rebuilding one cache entry, so a key that misses
+ * on several instances at once — typically right after a scale-out — is
+ * loaded from Postgres by only one of them.
+ *
+ * <p>A lease is a Redis key {@code <prefix>lease::<cache>::<key>} set with
+ * {@code SET NX PX}; its value names the holding instance, and only that
+ * instance's {@link #release} deletes it. If the holder dies, the lease
+ * expires after {@code lease-time}. {@link TwoTierCache} decides what the
+ * instances that don't get it do: poll L2 for the result, or keep serving a
+ * stale copy.</p>
+ *
+ * <p>The lease fails open. When Redis errors, times out or the
+ * {@link RedisCircuitBreaker} is open, {@link #tryAcquire} answers
+ * {@link Grant#UNAVAILABLE} and the caller loads directly, exactly as it
+ * would without a lease.</p>
+ *
+ * <p>Metrics: {@code profile.cache.lease{grant=acquired|held.elsewhere|unavailable}}.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public class RebuildLease {
+
+    private static final Logger log = LoggerFactory.getLogger(RebuildLease.class);
+
+    /** Deletes the lease only if this instance still holds it. */
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    /** Answer to {@link #tryAcquire}. */
+    public enum Grant {
+
+        /** This instance holds the lease and should rebuild, then {@link #release}. */
+        ACQUIRED,
+
+        /** Another instance is rebuilding the entry. */
+        HELD_ELSEWHERE,
+
+        /** Redis couldn't be asked; rebuild without a lease. */
+        UNAVAILABLE;
+
+        String tag() {
+            return name().toLowerCase().replace('_', '.');
+        }
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final ProfileCacheProperties.RebuildLease settings;
+    @Nullable
+    private final RedisCircuitBreaker circuitBreaker;
+    private final String owner = UUID.randomUUID().toString();
+    private final Map<Grant, Counter> grants = new EnumMap<>(Grant.class);
+
+    /**
+     * @param connectionFactory the Redis connection factory shared with the cache
+     * @param keyPrefix         prefix of every cache key, e.g. {@code profile-svc::}
+     * @param settings          lease time and polling
+     * @param circuitBreaker    breaker lease calls go through, or {@code null}
+     * @param meterRegistry     registry the grant counters go to
+     */
+    public RebuildLease(RedisConnectionFactory connectionFactory,
+                        String keyPrefix,
+                        ProfileCacheProperties.RebuildLease settings,
+                        @Nullable RedisCircuitBreaker circuitBreaker,
+                        MeterRegistry meterRegistry) {
+        this(new StringRedisTemplate(connectionFactory), keyPrefix, settings, circuitBreaker, meterRegistry);
+    }
+
+    RebuildLease(StringRedisTemplate redisTemplate,
+                 String keyPrefix,
+                 ProfileCacheProperties.RebuildLease settings,
+                 @Nullable RedisCircuitBreaker circuitBreaker,
+                 MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix + "lease::";
+        this.settings = settings;
+        this.circuitBreaker = circuitBreaker;
+        for (Grant grant : Grant.values()) {
+            grants.put(grant, Counter.builder("profile.cache.lease")
+                    .description("Rebuild lease requests by answer")
+                    .tag("grant", grant.tag())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * @param cacheName the cache the entry belongs to
+     * @param key       the entry's cache key
+     * @return whether this instance should rebuild the entry
+     */
+    public Grant tryAcquire(String cacheName, Object key) {
+        Grant grant = call(() -> Boolean.TRUE.equals(redisTemplate.opsForValue()
+                        .setIfAbsent(leaseKey(cacheName, key), owner, settings.getLeaseTime()))
+                        ? Grant.ACQUIRED : Grant.HELD_ELSEWHERE,
+                Grant.UNAVAILABLE, cacheName, key);
+        grants.get(grant).increment();
+        return grant;
+    }
+
+    /**
+     * Gives up a lease taken with {@link #tryAcquire}, once the rebuilt entry
+     * is in L2 (or the rebuild failed). A lease that has meanwhile expired
+     * and been taken by another instance is left alone.
+     */
+    public void release(String cacheName, Object key) {
+        call(() -> redisTemplate.execute(RELEASE, List.of(leaseKey(cacheName, key)), owner), 0L, cacheName, key);
+    }
+
+    /** @return how often a waiting instance re-reads L2 */
+    public Duration getPollInterval() {
+        return settings.getPollInterval();
+    }
+
+    /** @return how long a waiting instance polls before loading itself */
+    public Duration getMaxWait() {
+        return settings.getMaxWait();
+    }
+
+    String leaseKey(String cacheName, Object key) {
+        return keyPrefix + cacheName + "::" + TwoTierCache.localKey(key);
+    }
+
+    /** Runs one Redis call through the breaker, answering {@code fallback} when it can't. */
+    private <T> T call(Supplier<T> redisCall, T fallback, String cacheName, Object key) {
+        if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+            return fallback;
+        }
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            return redisCall.get();
+        } catch (RuntimeException ex) {
+            failed = true;
+            log.warn("Rebuild lease call failed for {}[{}]", cacheName, key, ex);
+            return fallback;
+        } finally {
+            if (circuitBreaker != null) {
+                circuitBreaker.record(System.nanoTime() - start, failed);
+            }
+        }
+    }
+}
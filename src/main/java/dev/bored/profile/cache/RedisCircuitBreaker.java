@@ -0,0 +1,261 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.ProfileCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker shared by every Redis call the caches make.
+ *
+ * <p>While {@link State#CLOSED} every call goes through and its outcome lands
+ * in a sliding window of the last {@code window-size} calls. A call that
+ * throws, or that takes at least {@code slow-call-threshold}, counts as
+ * failed. Once the window holds {@code minimum-calls} and the failed share
+ * reaches {@code failure-rate-threshold}, the breaker opens.</p>
+ *
+ * <p>While {@link State#OPEN} callers skip Redis straight away and work from
+ * L1 and the database, instead of each waiting out the Lettuce timeout. After
+ * {@code wait-in-open-state} the breaker goes {@link State#HALF_OPEN} and lets
+ * {@code half-open-probes} calls through: if all succeed it closes, if any
+ * fails it opens for another wait.</p>
+ *
+ * <p>Callers bracket each Redis call with {@link #tryAcquire()} and
+ * {@link #record(long, boolean)}. The closed-state check is a volatile read;
+ * only outcomes and transitions take the lock.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public class RedisCircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCircuitBreaker.class);
+
+    /** Breaker states. */
+    public enum State {
+
+        /** Calls go to Redis and their outcomes are tracked. */
+        CLOSED,
+
+        /** Calls skip Redis until the wait is over. */
+        OPEN,
+
+        /** A few probe calls decide between closing and reopening. */
+        HALF_OPEN;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final ProfileCacheProperties.CircuitBreaker settings;
+    private final LongSupplier nanoClock;
+    private final Executor listenerExecutor;
+    private final long slowCallNanos;
+    private final long waitNanos;
+    private final boolean[] window;
+    private final List<Consumer<State>> listeners = new CopyOnWriteArrayList<>();
+    private final MeterRegistry meterRegistry;
+    private final Counter shortCircuited;
+    private final Counter successes;
+    private final Counter failures;
+
+    private volatile State state = State.CLOSED;
+    private int windowNext;
+    private int windowCalls;
+    private int windowFailures;
+    private long openedAt;
+    private int probesIssued;
+    private int probeSuccesses;
+
+    /**
+     * @param settings      thresholds and timings
+     * @param meterRegistry registry the breaker's state and counters go to
+     */
+    public RedisCircuitBreaker(ProfileCacheProperties.CircuitBreaker settings, MeterRegistry meterRegistry) {
+        this(settings, meterRegistry, System::nanoTime,
+                task -> Thread.ofVirtual().name("cache-circuit-listener").start(task));
+    }
+
+    RedisCircuitBreaker(ProfileCacheProperties.CircuitBreaker settings,
+                        MeterRegistry meterRegistry,
+                        LongSupplier nanoClock,
+                        Executor listenerExecutor) {
+        if (settings.getWindowSize() <= 0 || settings.getHalfOpenProbes() <= 0) {
+            throw new IllegalArgumentException("Circuit breaker window size and half-open probes must be positive");
+        }
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+        this.listenerExecutor = listenerExecutor;
+        this.slowCallNanos = settings.getSlowCallThreshold().toNanos();
+        this.waitNanos = settings.getWaitInOpenState().toNanos();
+        this.window = new boolean[settings.getWindowSize()];
+        this.meterRegistry = meterRegistry;
+        for (State each : State.values()) {
+            Gauge.builder("profile.cache.circuit.state", this, breaker -> breaker.state == each ? 1 : 0)
+                    .description("1 for the Redis circuit breaker's current state, 0 otherwise")
+                    .tag("state", each.tag())
+                    .register(meterRegistry);
+        }
+        this.shortCircuited = Counter.builder("profile.cache.circuit.short.circuited")
+                .description("Redis calls skipped because the circuit breaker was open")
+                .register(meterRegistry);
+        this.successes = Counter.builder("profile.cache.circuit.calls")
+                .description("Redis calls made through the circuit breaker")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.failures = Counter.builder("profile.cache.circuit.calls")
+                .description("Redis calls made through the circuit breaker")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return {@code true} if the caller may call Redis now, in which case it
+     *         must {@link #record} the outcome; {@code false} to skip Redis
+     */
+    public boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= waitNanos) {
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.CLOSED
+                    || (state == State.HALF_OPEN && probesIssued < settings.getHalfOpenProbes())) {
+                if (state == State.HALF_OPEN) {
+                    probesIssued++;
+                }
+                return true;
+            }
+        }
+        shortCircuited.increment();
+        return false;
+    }
+
+    /**
+     * Records the outcome of a call {@link #tryAcquire()} allowed.
+     *
+     * @param elapsedNanos how long the call took
+     * @param failed       whether it threw
+     */
+    public void record(long elapsedNanos, boolean failed) {
+        boolean bad = failed || elapsedNanos >= slowCallNanos;
+        (bad ? failures : successes).increment();
+        synchronized (this) {
+            switch (state) {
+                case CLOSED -> recordClosed(bad);
+                case HALF_OPEN -> {
+                    if (bad) {
+                        transitionTo(State.OPEN);
+                    } else if (++probeSuccesses >= settings.getHalfOpenProbes()) {
+                        transitionTo(State.CLOSED);
+                    }
+                }
+                case OPEN -> {
+                    // a call that started before the breaker opened; nothing left to decide
+                }
+            }
+        }
+    }
+
+    /** @return the current state */
+    public State getState() {
+        return state;
+    }
+
+    /** @return the failed share of the current window, 0–100, or -1 while it holds too few calls */
+    public synchronized int getFailureRate() {
+        return windowCalls < settings.getMinimumCalls() ? -1 : windowFailures * 100 / windowCalls;
+    }
+
+    /** @return calls currently held in the sliding window */
+    public synchronized int getBufferedCalls() {
+        return windowCalls;
+    }
+
+    /** @return how many evictions each cache may defer while open, see {@link CircuitBreakingCache} */
+    public int getMaxDeferredEvictions() {
+        return settings.getMaxDeferredEvictions();
+    }
+
+    /**
+     * Registers a callback run after every state change. Callbacks run on a
+     * virtual thread of their own, so slow work such as replaying deferred
+     * evictions neither holds the breaker's lock nor delays the request whose
+     * call caused the change. Two quick changes may be delivered out of
+     * order; check {@link #getState()} before acting.
+     *
+     * @param listener receives the new state
+     */
+    public void onStateChange(Consumer<State> listener) {
+        listeners.add(listener);
+    }
+
+    private void recordClosed(boolean bad) {
+        if (windowCalls == window.length) {
+            if (window[windowNext]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowNext] = bad;
+        if (bad) {
+            windowFailures++;
+        }
+        windowNext = (windowNext + 1) % window.length;
+        if (windowCalls >= settings.getMinimumCalls()
+                && windowFailures * 100 >= settings.getFailureRateThreshold() * windowCalls) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    /** Must hold the lock. */
+    private void transitionTo(State next) {
+        State previous = state;
+        state = next;
+        windowNext = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+        probesIssued = 0;
+        probeSuccesses = 0;
+        if (next == State.OPEN) {
+            openedAt = nanoClock.getAsLong();
+        }
+        meterRegistry.counter("profile.cache.circuit.transitions", "from", previous.tag(), "to", next.tag())
+                .increment();
+        if (next == State.OPEN) {
+            log.warn("Redis circuit breaker opened ({} -> {}) — serving from L1 and the database for {}",
+                    previous, next, settings.getWaitInOpenState());
+        } else {
+            log.info("Redis circuit breaker {} -> {}", previous, next);
+        }
+        notifyListeners(next);
+    }
+
+    private void notifyListeners(State next) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        listenerExecutor.execute(() -> listeners.forEach(listener -> deliver(listener, next)));
+    }
+
+    private static void deliver(Consumer<State> listener, State next) {
+        try {
+            listener.accept(next);
+        } catch (RuntimeException ex) {
+            log.warn("Circuit breaker listener failed on {}", next, ex);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package dev.bored.profile.cache;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * Reports the {@link RedisCircuitBreaker} under {@code /actuator/health}.
+ *
+ * <p>An open breaker reports {@code CIRCUIT_OPEN} rather than {@code DOWN}:
+ * the service keeps answering from L1 and the database, so Cloud Run
+ * shouldn't pull the instance. The default status aggregator ignores codes
+ * it doesn't know, so the overall status stays {@code UP}.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public class RedisCircuitBreakerHealthIndicator implements HealthIndicator {
+
+    /** Status reported while the breaker is open. */
+    public static final Status CIRCUIT_OPEN = new Status("CIRCUIT_OPEN", "Redis is being skipped");
+
+    private final RedisCircuitBreaker breaker;
+
+    /**
+     * @param breaker the breaker to report on
+     */
+    public RedisCircuitBreakerHealthIndicator(RedisCircuitBreaker breaker) {
+        this.breaker = breaker;
+    }
+
+    @Override
+    public Health health() {
+        RedisCircuitBreaker.State state = breaker.getState();
+        return Health.status(state == RedisCircuitBreaker.State.OPEN ? CIRCUIT_OPEN : Status.UP)
+                .withDetail("state", state)
+                .withDetail("failureRate", breaker.getFailureRate())
+                .withDetail("bufferedCalls", breaker.getBufferedCalls())
+                .build();
+    }
+}
@@ -0,0 +1,192 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.ProfileCacheProperties;
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.event.command.CommandListener;
+import io.lettuce.core.event.command.CommandStartedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coalesces writes on the shared Lettuce connection.
+ *
+ * <p>Lettuce already pipelines a shared connection — concurrent callers
+ * don't wait for each other's replies — but by default every command is
+ * its own socket write. Once {@linkplain #attach attached}, the connection
+ * stops flushing per command: commands queue in Lettuce's buffer and go out
+ * together when {@code flush-batch-size} are waiting, or at the latest after
+ * {@code flush-interval}.</p>
+ *
+ * <p>The timer only runs while commands are arriving and stops after a
+ * millisecond of quiet, so an idle instance doesn't wake up every interval.
+ * Every tick flushes, busy or not: a command is counted just before Lettuce
+ * buffers it, and the tick after a busy one picks up any that landed late.</p>
+ *
+ * <p>Lettuce reports commands per client, not per connection, and its
+ * events don't say which connection a command went out on. So commands on
+ * the client's dedicated connections are counted as well: the pub/sub
+ * subscription of {@link CacheInvalidationBus}, and any transaction or
+ * blocking command. That is harmless. A count only decides when the shared
+ * connection is flushed, and flushing it early writes what is already
+ * queued there, in order. At worst a size flush comes a few commands early,
+ * or the timer ticks for another millisecond. Those connections carry a
+ * handful of commands (a {@code SUBSCRIBE} on every connect) against the
+ * shared connection's steady traffic. Nothing in this service opens a
+ * transaction or blocks.</p>
+ *
+ * <p>Metrics: {@code profile.cache.redis.flushes{trigger=size|timer}}.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public class RedisCommandBatcher implements CommandListener, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCommandBatcher.class);
+    private static final Duration KEEP_TICKING = Duration.ofMillis(1);
+
+    private final int batchSize;
+    private final long intervalNanos;
+    private final long idleTicksBeforeStop;
+    private final ScheduledExecutorService timer;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean ticking = new AtomicBoolean();
+    private final Counter sizeFlushes;
+    private final Counter timerFlushes;
+    private volatile StatefulConnection<?, ?> connection;
+    /** Consecutive ticks without a new command; only touched by the timer thread. */
+    private long idleTicks;
+
+    /**
+     * @param settings      batch size and flush interval
+     * @param meterRegistry registry the flush counters go to
+     */
+    public RedisCommandBatcher(ProfileCacheProperties.Connection settings, MeterRegistry meterRegistry) {
+        this(settings, meterRegistry, Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("redis-flush").daemon().factory()));
+    }
+
+    RedisCommandBatcher(ProfileCacheProperties.Connection settings,
+                        MeterRegistry meterRegistry,
+                        ScheduledExecutorService timer) {
+        if (settings.getFlushBatchSize() < 1 || settings.getFlushInterval().isZero()
+                || settings.getFlushInterval().isNegative()) {
+            throw new IllegalArgumentException("Flush batch size and interval must be positive, got "
+                    + settings.getFlushBatchSize() + " / " + settings.getFlushInterval());
+        }
+        this.batchSize = settings.getFlushBatchSize();
+        this.intervalNanos = settings.getFlushInterval().toNanos();
+        this.idleTicksBeforeStop = Math.max(1, KEEP_TICKING.toNanos() / intervalNanos);
+        this.timer = timer;
+        this.sizeFlushes = flushCounter(meterRegistry, "size");
+        this.timerFlushes = flushCounter(meterRegistry, "timer");
+    }
+
+    /**
+     * Starts batching {@code connectionFactory}'s shared connection. Call it
+     * before the factory hands out its first connection: Lettuce only reports
+     * commands of connections opened after the listener is added. The
+     * listener goes on the whole client, so it hears the dedicated
+     * connections too; see the class comment for why that is harmless.
+     *
+     * @param connectionFactory a started factory sharing its native connection
+     */
+    public void attach(LettuceConnectionFactory connectionFactory) {
+        AbstractRedisClient client = connectionFactory.getNativeClient();
+        if (client == null || !connectionFactory.getShareNativeConnection()) {
+            log.warn("Redis connection is not shared — commands are flushed one by one");
+            return;
+        }
+        client.addListener(this);
+        try (RedisConnection redisConnection = connectionFactory.getConnection()) {
+            if (redisConnection.getNativeConnection() instanceof RedisAsyncCommands<?, ?> shared) {
+                attach(shared.getStatefulConnection());
+            } else {
+                log.warn("Shared Redis connection is not a standalone connection — commands are flushed one by one");
+            }
+        }
+    }
+
+    void attach(StatefulConnection<?, ?> shared) {
+        shared.setAutoFlushCommands(false);
+        this.connection = shared;
+        log.info("Batching Redis commands: flush at {} queued or every {}µs",
+                batchSize, intervalNanos / 1_000);
+    }
+
+    /** Counts a command on any of the client's connections towards the next flush of the shared one. */
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        StatefulConnection<?, ?> shared = connection;
+        if (shared == null) {
+            return;
+        }
+        if (pending.incrementAndGet() >= batchSize) {
+            pending.set(0);
+            shared.flushCommands();
+            sizeFlushes.increment();
+        }
+        // this command is buffered after we return; a size flush may have
+        // just missed it, so the timer has to be running either way
+        if (ticking.compareAndSet(false, true)) {
+            schedule();
+        }
+    }
+
+    /** Flushes whatever is queued and stops batching. */
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        StatefulConnection<?, ?> shared = connection;
+        if (shared != null) {
+            shared.flushCommands();
+            shared.setAutoFlushCommands(true);
+        }
+    }
+
+    void tick() {
+        StatefulConnection<?, ?> shared = connection;
+        boolean busy = pending.getAndSet(0) > 0;
+        shared.flushCommands();
+        if (busy) {
+            timerFlushes.increment();
+            idleTicks = 0;
+        } else if (++idleTicks >= idleTicksBeforeStop) {
+            idleTicks = 0;
+            ticking.set(false);
+            // a command counted after getAndSet found the timer still on
+            if (pending.get() == 0 || !ticking.compareAndSet(false, true)) {
+                return;
+            }
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        try {
+            timer.schedule(this::tick, intervalNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException closed) {
+            ticking.set(false);
+        }
+    }
+
+    private static Counter flushCounter(MeterRegistry meterRegistry, String trigger) {
+        return Counter.builder("profile.cache.redis.flushes")
+                .description("Writes of queued commands on the shared Redis connection")
+                .tag("trigger", trigger)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,148 @@
+package dev.bored.profile.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.lang.Nullable;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * A {@link RedisCache} that can also read many keys with one {@code MGET}
+ * and write many with one pipelined round of {@code SET ... PX}.
+ *
+ * <p>Single-key calls go to the wrapped cache unchanged. The batch calls
+ * build keys and encode values from the same {@link RedisCacheConfiguration}
+ * — prefix, key conversion, value codec and TTL function — so either path
+ * reads what the other wrote.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public class RedisMultiKeyCache implements Cache, MultiKeyCache {
+
+    private final RedisCache delegate;
+    private final RedisCacheConfiguration configuration;
+    private final RedisConnectionFactory connectionFactory;
+
+    /**
+     * @param delegate          the cache single-key calls go to
+     * @param connectionFactory the connection factory the batch commands are sent through
+     */
+    public RedisMultiKeyCache(RedisCache delegate, RedisConnectionFactory connectionFactory) {
+        this.delegate = delegate;
+        this.configuration = delegate.getCacheConfiguration();
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        List<Object> requested = new ArrayList<>(keys);
+        byte[][] redisKeys = requested.stream().map(this::redisKey).toArray(byte[][]::new);
+        List<byte[]> stored;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            stored = connection.stringCommands().mGet(redisKeys);
+        }
+        Map<Object, Object> values = new HashMap<>();
+        for (int i = 0; stored != null && i < stored.size(); i++) {
+            if (stored.get(i) != null) {
+                values.put(requested.get(i), configuration.getValueSerializationPair().read(ByteBuffer.wrap(stored.get(i))));
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            entries.forEach((key, value) -> {
+                Duration ttl = configuration.getTtlFunction().getTimeToLive(key, value);
+                connection.stringCommands().set(redisKey(key),
+                        ByteUtils.getBytes(configuration.getValueSerializationPair().write(value)),
+                        ttl.isZero() || ttl.isNegative() ? Expiration.persistent() : Expiration.from(ttl),
+                        RedisStringCommands.SetOption.upsert());
+            });
+            connection.closePipeline();
+        }
+    }
+
+    /** The key {@link RedisCache} stores {@code key} under. */
+    private byte[] redisKey(Object key) {
+        String converted = convertKey(key);
+        String redisKey = configuration.usePrefix() ? configuration.getKeyPrefixFor(getName()) + converted : converted;
+        return ByteUtils.getBytes(configuration.getKeySerializationPair().write(redisKey));
+    }
+
+    private String convertKey(Object key) {
+        if (key instanceof String string) {
+            return string;
+        }
+        TypeDescriptor source = TypeDescriptor.forObject(key);
+        return configuration.getConversionService().canConvert(source, TypeDescriptor.valueOf(String.class))
+                ? configuration.getConversionService().convert(key, String.class)
+                : String.valueOf(key);
+    }
+}
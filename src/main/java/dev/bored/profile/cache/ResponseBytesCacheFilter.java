@@ -0,0 +1,259 @@
+package dev.bored.profile.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.bored.profile.config.ProfileCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves repeated GETs of cached reads from their rendered JSON.
+ *
+ * <p>A cache hit still deserializes the cached value into DTOs, and an
+ * {@code HttpMessageConverter} then serializes them to JSON again — two full
+ * conversions for bytes that only change on writes. This filter keeps the
+ * finished body of a read in a direct {@link ByteBuffer}, keyed by request
+ * URI and query string, and the next time writes it straight to the servlet
+ * output stream without reaching the dispatcher.</p>
+ *
+ * <p>Only responses marked with {@link #capture} are stored: those whose body
+ * is the entry cached under one of the {@code CacheNames} caches, together
+ * with that entry's entity tag. A stored response is served only while the
+ * same entry, with the same tag, is still cached and fresh, so it goes with
+ * every eviction, peer invalidation, write-through replacement or expiry of
+ * that entry. A matching {@code If-None-Match} is answered {@code 304}.</p>
+ *
+ * <p>Bodies of at least {@code gzip-threshold} bytes are gzip-compressed
+ * once, when they are stored, and that variant goes to clients whose
+ * {@code Accept-Encoding} allows it — compressing per request would spend
+ * the same CPU on every hit. The compressed variant carries the weak form of
+ * the entity tag, which still matches the plain one on revalidation, and
+ * every response the filter handles says {@code Vary: Accept-Encoding}.</p>
+ *
+ * <p>Requests are counted as {@code profile.http.response-bytes} with
+ * {@code result=hit|miss}.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public class ResponseBytesCacheFilter extends OncePerRequestFilter {
+
+    private static final String SOURCE_ATTRIBUTE = ResponseBytesCacheFilter.class.getName() + ".source";
+
+    /** Attribute value while the request's response may still be captured. */
+    private static final Object PENDING = new Object();
+
+    private final CacheManager cacheManager;
+    private final int gzipThreshold;
+    private final List<String> storedHeaders;
+    private final Cache<String, StoredResponse> responses;
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * @param cacheManager  the cache manager holding the {@code CacheNames} caches
+     * @param settings      size bound and gzip threshold
+     * @param storedHeaders response headers kept and replayed with the body
+     * @param meterRegistry registry for the hit and miss counters
+     */
+    public ResponseBytesCacheFilter(CacheManager cacheManager,
+                                    ProfileCacheProperties.ResponseBytes settings,
+                                    List<String> storedHeaders,
+                                    MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.gzipThreshold = settings.getGzipThreshold();
+        this.storedHeaders = List.copyOf(storedHeaders);
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(settings.getMaximumWeight())
+                .weigher((String route, StoredResponse stored) -> route.length() * 2 + stored.weight())
+                .build();
+        this.hits = Counter.builder("profile.http.response-bytes").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("profile.http.response-bytes").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * @param request the current request
+     * @return whether this filter is waiting for the request's response to be {@link #capture captured}
+     */
+    public static boolean isCapturing(WebRequest request) {
+        return request.getAttribute(SOURCE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    /**
+     * Marks the response to {@code request} as the rendering of the entry
+     * cached in {@code cacheName} under {@code key}. A no-op unless the
+     * request came through this filter.
+     *
+     * @param request   the current request
+     * @param cacheName the cache the body was read from
+     * @param key       the body's cache key
+     * @param etag      the entity tag of the cached entry
+     */
+    public static void capture(WebRequest request, String cacheName, Object key, String etag) {
+        if (isCapturing(request)) {
+            request.setAttribute(SOURCE_ATTRIBUTE, new Source(cacheName, key, etag), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String route = route(request);
+        StoredResponse stored = responses.getIfPresent(route);
+        if (stored != null) {
+            if (isCurrent(stored.source())) {
+                hits.increment();
+                write(stored, request, response);
+                return;
+            }
+            responses.asMap().remove(route, stored);
+        }
+        misses.increment();
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        request.setAttribute(SOURCE_ATTRIBUTE, PENDING);
+        try {
+            chain.doFilter(request, wrapper);
+            if (request.getAttribute(SOURCE_ATTRIBUTE) instanceof Source source
+                    && wrapper.getStatus() == HttpStatus.OK.value()) {
+                responses.put(route, store(source, wrapper));
+            }
+        } finally {
+            request.removeAttribute(SOURCE_ATTRIBUTE);
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    /** Whether the entry {@code source} was rendered from is still cached, fresh and unchanged. */
+    private boolean isCurrent(Source source) {
+        return cacheManager.getCache(source.cacheName()) instanceof TwoTierCache cache
+                && source.etag().equals(cache.entityTag(source.key()));
+    }
+
+    private StoredResponse store(Source source, ContentCachingResponseWrapper wrapper) throws IOException {
+        byte[] content = wrapper.getContentAsByteArray();
+        byte[] gzipped = content.length >= gzipThreshold ? gzip(content) : null;
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : storedHeaders) {
+            String value = wrapper.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        return new StoredResponse(source, wrapper.getContentType(), headers, direct(content),
+                gzipped != null && gzipped.length < content.length ? direct(gzipped) : null);
+    }
+
+    private static void write(StoredResponse stored, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        boolean gzip = stored.gzipBody() != null && acceptsGzip(request);
+        String etag = stored.source().etag();
+        stored.headers().forEach(response::setHeader);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.ETAG, gzip ? "W/\"" + etag + "\"" : "\"" + etag + "\"");
+        // If-None-Match is compared weakly, so either form of the tag matches
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+        ByteBuffer body = (gzip ? stored.gzipBody() : stored.body()).duplicate();
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentType(stored.contentType());
+        response.setContentLength(body.remaining());
+        // the channel copies the direct buffer out in small chunks, never the whole body at once
+        Channels.newChannel(response.getOutputStream()).write(body);
+    }
+
+    /**
+     * Whether the request's {@code Accept-Encoding} allows gzip: names it, or
+     * failing that {@code *}, without {@code q=0}.
+     */
+    static boolean acceptsGzip(HttpServletRequest request) {
+        double gzip = -1;
+        double any = -1;
+        for (Enumeration<String> values = request.getHeaders(HttpHeaders.ACCEPT_ENCODING); values.hasMoreElements(); ) {
+            for (String coding : values.nextElement().split(",")) {
+                String[] parts = coding.split(";");
+                String name = parts[0].trim();
+                if (name.equalsIgnoreCase("gzip")) {
+                    gzip = quality(parts);
+                } else if (name.equals("*")) {
+                    any = quality(parts);
+                }
+            }
+        }
+        return gzip >= 0 ? gzip > 0 : any > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 4 + 32);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ByteBuffer direct(byte[] content) {
+        return ByteBuffer.allocateDirect(content.length).put(content).flip().asReadOnlyBuffer();
+    }
+
+    private static String route(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query != null ? request.getRequestURI() + '?' + query : request.getRequestURI();
+    }
+
+    /** The cached entry a stored response was rendered from. */
+    private record Source(String cacheName, Object key, String etag) { }
+
+    /** A rendered response: its body, and gzip variant if worth one, off-heap, plus what is needed to replay it. */
+    private record StoredResponse(Source source, String contentType, Map<String, String> headers, ByteBuffer body,
+                                  @Nullable ByteBuffer gzipBody) {
+
+        int weight() {
+            return body.capacity() + (gzipBody != null ? gzipBody.capacity() : 0);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package dev.bored.profile.cache;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.bored.profile.dto.AchievementDTO;
+import dev.bored.profile.dto.AspirationDTO;
+import dev.bored.profile.dto.ExperienceDTO;
+import dev.bored.profile.dto.PageDTO;
+import dev.bored.profile.dto.PortfolioDTO;
+import dev.bored.profile.dto.ProfileDTO;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary {@link RedisSerializer} for cached DTOs.
+ *
+ * <p>The default-typed JSON serializer writes an {@code @class} string into
+ * every object and list, and resolves it polymorphically on every read. Our
+ * cached values are always a {@link CacheEntry} around one DTO or a list of
+ * one DTO type, so this codec writes that shape as a fixed header plus a
+ * type-free Smile payload:</p>
+ *
+ * <pre>
+ * [version:1][shape:1][type tag:1][softExpiresAt:8][etag length:1][etag][Smile payload]
+ * </pre>
+ *
+ * <p>Empty lists and negative-cache markers are header-only. A page of
+ * DTOs is tagged with its item type, like a list.</p>
+ *
+ * <p>The type tag indexes {@link #TYPES}, so the reader knows the target
+ * class without any type resolution. Smile also back-references repeated
+ * property names, which keeps a list of DTOs close to its raw field data.
+ * Entries that don't start with {@link #FORMAT_VERSION} — JSON written
+ * before the switch — go to the fallback serializer, so both formats can
+ * live in Redis side by side until the old ones expire. Version 1 entries,
+ * written before entries carried an entity tag, are still read; they come
+ * back untagged.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-16
+ */
+public class SmileCacheValueSerializer implements RedisSerializer<Object> {
+
+    /**
+     * Leading byte of every entry this codec writes. Bump on layout changes,
+     * staying clear of {@link CompressingValueSerializer#DEFLATE_MARKER}.
+     */
+    static final byte FORMAT_VERSION = 2;
+
+    /** The layout before {@link CacheEntry#getEtag()} was stored: no etag length or etag. */
+    static final byte UNTAGGED_FORMAT_VERSION = 1;
+
+    private static final byte SHAPE_SINGLE = 0;
+    private static final byte SHAPE_LIST = 1;
+    private static final byte SHAPE_EMPTY_LIST = 2;
+    private static final byte SHAPE_ABSENT = 3;
+    /** A {@link PageDTO}; the type tag names the type of its items. */
+    private static final byte SHAPE_PAGE = 4;
+
+    private static final int UNTAGGED_HEADER_LENGTH = 3 + Long.BYTES;
+    private static final int HEADER_LENGTH = UNTAGGED_HEADER_LENGTH + 1;
+
+    /**
+     * Cacheable DTO types, indexed by type tag. Tags are persisted in Redis:
+     * only ever append to this list, never reorder or remove.
+     */
+    static final List<Class<?>> TYPES = List.of(
+            ProfileDTO.class,
+            ExperienceDTO.class,
+            AchievementDTO.class,
+            AspirationDTO.class,
+            PortfolioDTO.class,
+            String.class);
+
+    private final ObjectMapper smile = SmileMapper.builder()
+            .addModule(new JavaTimeModule())
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private final RedisSerializer<Object> fallback;
+
+    /**
+     * @param fallback serializer for entries in any other format — the JSON
+     *                 serializer this codec replaces
+     */
+    public SmileCacheValueSerializer(RedisSerializer<Object> fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] serialize(@Nullable Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        CacheEntry entry = value instanceof CacheEntry cacheEntry ? cacheEntry : new CacheEntry(value, 0L);
+        Object payload = entry.getValue();
+        byte shape;
+        Class<?> type;
+        if (entry.isAbsent()) {
+            shape = SHAPE_ABSENT;
+            type = null;
+        } else if (payload instanceof PageDTO<?> page) {
+            shape = SHAPE_PAGE;
+            // an empty page reads back the same whatever its item type
+            type = page.getItems() == null || page.getItems().isEmpty() ? TYPES.get(0) : elementType(page.getItems());
+        } else if (payload instanceof List<?> list) {
+            shape = list.isEmpty() ? SHAPE_EMPTY_LIST : SHAPE_LIST;
+            type = list.isEmpty() ? null : elementType(list);
+        } else {
+            shape = SHAPE_SINGLE;
+            type = payload != null ? payload.getClass() : null;
+        }
+        boolean headerOnly = shape == SHAPE_EMPTY_LIST || shape == SHAPE_ABSENT;
+        int tag = headerOnly ? 0 : TYPES.indexOf(type);
+        if (tag < 0) {
+            throw new SerializationException("No cache type tag for " + type);
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(FORMAT_VERSION);
+            out.writeByte(shape);
+            out.writeByte(tag);
+            out.writeLong(entry.getSoftExpiresAt());
+            byte[] etag = entry.getEtag() != null ? entry.getEtag().getBytes(StandardCharsets.US_ASCII) : new byte[0];
+            out.writeByte(etag.length);
+            out.write(etag);
+            if (!headerOnly) {
+                smile.writeValue(out, payload);
+            }
+            return bytes.toByteArray();
+        } catch (IOException ex) {
+            throw new SerializationException("Could not write cache entry as Smile", ex);
+        }
+    }
+
+    @Override
+    @Nullable
+    public Object deserialize(@Nullable byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        boolean tagged = bytes[0] == FORMAT_VERSION;
+        if (!tagged && bytes[0] != UNTAGGED_FORMAT_VERSION) {
+            return fallback.deserialize(bytes);
+        }
+        int headerLength = tagged ? HEADER_LENGTH : UNTAGGED_HEADER_LENGTH;
+        if (bytes.length < headerLength || tagged && bytes.length < headerLength + bytes[headerLength - 1]) {
+            throw new SerializationException("Truncated cache entry: " + bytes.length + " bytes");
+        }
+        ByteBuffer header = ByteBuffer.wrap(bytes, 1, headerLength - 1);
+        byte shape = header.get();
+        int tag = header.get();
+        long softExpiresAt = header.getLong();
+        String etag = null;
+        int payloadOffset = headerLength;
+        if (tagged && bytes[headerLength - 1] > 0) {
+            etag = new String(bytes, headerLength, bytes[headerLength - 1], StandardCharsets.US_ASCII);
+            payloadOffset += bytes[headerLength - 1];
+        }
+        if (shape == SHAPE_EMPTY_LIST) {
+            return new CacheEntry(new ArrayList<>(), softExpiresAt, false, etag);
+        }
+        if (shape == SHAPE_ABSENT) {
+            return CacheEntry.absentMarker();
+        }
+        if (tag < 0 || tag >= TYPES.size()) {
+            throw new SerializationException("Unknown cache type tag " + tag);
+        }
+        JavaType type = switch (shape) {
+            case SHAPE_LIST -> smile.getTypeFactory().constructCollectionType(ArrayList.class, TYPES.get(tag));
+            case SHAPE_PAGE -> smile.getTypeFactory().constructParametricType(PageDTO.class, TYPES.get(tag));
+            default -> smile.getTypeFactory().constructType(TYPES.get(tag));
+        };
+        try {
+            Object value = smile.readValue(bytes, payloadOffset, bytes.length - payloadOffset, type);
+            return new CacheEntry(value, softExpiresAt, false, etag);
+        } catch (IOException ex) {
+            throw new SerializationException("Could not read Smile cache entry", ex);
+        }
+    }
+
+    private static Class<?> elementType(List<?> list) {
+        Class<?> type = list.get(0).getClass();
+        for (Object element : list) {
+            if (element == null || element.getClass() != type) {
+                throw new SerializationException("Cached lists must hold a single DTO type, got " + list);
+            }
+        }
+        return type;
+    }
+}
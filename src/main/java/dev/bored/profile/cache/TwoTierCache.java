@@ -0,0 +1,728 @@
+package dev.bored.profile.cache;
+
+import io.micrometer.core.instrument.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * A {@link Cache} that checks a bounded in-process L1 before a shared remote L2.
+ *
+ * <p>Reads fill L1 from L2 on the way back; writes go to both tiers. Evictions
+ * drop the entry from both tiers and are broadcast on the
+ * {@link CacheInvalidationBus} so every other instance drops its L1 copy too.
+ * With no remote tier (local dev) the cache is simply a bounded L1.</p>
+ *
+ * <p>Misses through {@link #get(Object, Callable)} — what {@code @Cacheable(sync = true)}
+ * calls — are single-flight per key: the first caller runs the L2 lookup and
+ * the loader, concurrent callers for the same key wait on its result instead
+ * of each taking a Hikari connection for the same query. L2 failures inside
+ * that path go to the context's {@code CacheErrorHandler} and are treated as
+ * a miss, the same fail-open behaviour the interceptor applies elsewhere.</p>
+ *
+ * <p>Values are stored in both tiers wrapped in a {@link CacheEntry} carrying a
+ * soft expiry. Redis still enforces the hard TTL; once the soft expiry passes,
+ * {@link #get(Object, Callable)} keeps returning the stale value and hands the
+ * same loader to the context's refresh executor, at most one reload per key
+ * at a time. A reload that can't be scheduled or fails leaves the stale
+ * entry in place for the next read to retry. Bare values written before the
+ * envelope existed read as already stale, so they migrate on first use.</p>
+ *
+ * <p>With an {@link AbsentKeyPolicy} in the context, a loader failure that
+ * means "not found" is remembered as a short-lived {@linkplain
+ * CacheEntry#absentMarker() absent marker}, and later reads rethrow it without
+ * running the loader. Keys the {@link IdExistenceFilters} rule out are
+ * rejected before L1 is even consulted. Both are reported to the caller as
+ * the policy's exception.</p>
+ *
+ * <p>With a {@link ReadHedger} in the context, the leader's L2 read is raced
+ * against the loader once it has taken longer than the hedge delay, and the
+ * first answer is used.</p>
+ *
+ * <p>With a {@link RebuildLease} in the context, the leader takes a
+ * cross-instance lease before running the loader on an L2 miss. If another
+ * instance holds it, the leader polls L2 for that instance's result for up
+ * to the lease's max wait, then loads anyway; a stale-entry reload is simply
+ * skipped, and the stale copy served until the holder's result arrives.</p>
+ *
+ * <p>{@link #getAll} reads many keys at once: L1 first, then one batch read
+ * of L2 for the rest (see {@link MultiKeyCache}), then one loader call for
+ * what is still missing, whose results go back to L2 in one batch write.
+ * A batch isn't single-flight, and it reloads stale entries with the rest
+ * of its misses instead of serving them stale.</p>
+ *
+ * <p>Every value is {@linkplain EntityTags tagged} as it is wrapped, and
+ * {@link #entityTag(Object)} reads the tag back without touching the value;
+ * {@link #entityTagOfAll} does the same for a batch.</p>
+ *
+ * <p>L1 keys are the string form of the Spring cache key — the same form
+ * {@code RedisCache} uses — so a key received over pub/sub maps straight back
+ * onto the local entry.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-16
+ */
+public class TwoTierCache implements Cache {
+
+    private static final Logger log = LoggerFactory.getLogger(TwoTierCache.class);
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    @Nullable
+    private final Cache remote;
+    private final TwoTierCacheContext context;
+    private final long softTtlMillis;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final Counter loads;
+    private final Counter coalesced;
+    private final Counter staleHits;
+    private final Counter refreshFailures;
+    private final Counter negativeHits;
+    private final Counter filterRejections;
+    private final Counter hedges;
+    private final Counter hedgeWins;
+    private final Counter leaseWaits;
+
+    /**
+     * @param name    the cache name
+     * @param local   the bounded L1 store
+     * @param remote  the shared L2, or {@code null} for local-only mode
+     * @param context collaborators shared across the manager's caches
+     */
+    public TwoTierCache(String name,
+                        com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                        @Nullable Cache remote,
+                        TwoTierCacheContext context) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.context = context;
+        this.softTtlMillis = context.getSoftTtl().apply(name).toMillis();
+        this.loads = Counter.builder("profile.cache.loads")
+                .description("Cache misses that ran the loader")
+                .tag("cache", name)
+                .register(context.getMeterRegistry());
+        this.coalesced = Counter.builder("profile.cache.coalesced")
+                .description("Cache misses that waited on another caller's in-flight load")
+                .tag("cache", name)
+                .register(context.getMeterRegistry());
+        this.staleHits = Counter.builder("profile.cache.stale")
+                .description("Hits past their soft expiry, served while a reload was scheduled")
+                .tag("cache", name)
+                .register(context.getMeterRegistry());
+        this.refreshFailures = Counter.builder("profile.cache.refresh.failures")
+                .description("Background reloads of stale entries that failed or were rejected")
+                .tag("cache", name)
+                .register(context.getMeterRegistry());
+        this.negativeHits = Counter.builder("profile.cache.negative.hits")
+                .description("Reads answered from a cached not-found marker")
+                .tag("cache", name)
+                .register(context.getMeterRegistry());
+        this.filterRejections = Counter.builder("profile.cache.filter.rejections")
+                .description("Reads the existence filter ruled out before any I/O")
+                .tag("cache", name)
+                .register(context.getMeterRegistry());
+        this.hedges = Counter.builder("profile.cache.hedges")
+                .description("Slow L2 reads the loader was started alongside")
+                .tag("cache", name)
+                .register(context.getMeterRegistry());
+        this.hedgeWins = Counter.builder("profile.cache.hedge.wins")
+                .description("Hedged reads answered by the loader rather than L2")
+                .tag("cache", name)
+                .register(context.getMeterRegistry());
+        this.leaseWaits = Counter.builder("profile.cache.lease.waits")
+                .description("Misses answered by another instance's rebuild instead of the loader")
+                .tag("cache", name)
+                .register(context.getMeterRegistry());
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        CacheEntry entry = unwrap(local.getIfPresent(localKey));
+        if (entry == null && remote != null) {
+            ValueWrapper remoteValue = remote.get(key);
+            entry = unwrap(remoteValue != null ? remoteValue.get() : null);
+            if (entry != null) {
+                local.put(localKey, entry);
+            }
+        }
+        return entry != null && !entry.isAbsent() ? new SimpleValueWrapper(entry.getValue()) : null;
+    }
+
+    /**
+     * The {@linkplain CacheEntry#getEtag() entity tag} of the value cached
+     * under {@code key}, looked up the way {@link #get(Object)} looks up the
+     * value but without handing it out, so a conditional GET can be answered
+     * before any loader or serializer runs.
+     *
+     * <p>Answers {@code null} when there is nothing fresh to vouch for: a
+     * miss, an absent marker, or a stale entry, which has to go through
+     * {@link #get(Object, Callable)} so its reload gets scheduled. An entry
+     * read from Redis without a tag is tagged here, once.</p>
+     *
+     * @param key the cache key
+     * @return the tag without quotes, or {@code null}
+     */
+    @Nullable
+    public String entityTag(Object key) {
+        String localKey = localKey(key);
+        CacheEntry entry = usable(unwrap(local.getIfPresent(localKey)));
+        if (entry == null) {
+            entry = usable(unwrap(remoteGetQuietly(key)));
+            if (entry != null) {
+                local.put(localKey, entry);
+            }
+        }
+        if (entry == null || entry.isAbsent() || entry.isStale(System.currentTimeMillis())) {
+            return null;
+        }
+        if (entry.getEtag() == null) {
+            entry.setEtag(EntityTags.of(entry.getValue()));
+        }
+        return entry.getEtag();
+    }
+
+    /**
+     * One entity tag for the values cached under all of {@code keys}, looked
+     * up the way {@link #getAll} looks up the values: L1 first, then one
+     * batch read of L2 for the rest.
+     *
+     * <p>It is derived from the keys' own tags in order, absent markers
+     * included, so it changes whenever a response built from those entries
+     * would. It is {@code null} as soon as one key has no fresh entry.</p>
+     *
+     * @param keys the cache keys; duplicates count once
+     * @return the tag without quotes, or {@code null}
+     */
+    @Nullable
+    public String entityTagOfAll(Collection<?> keys) {
+        long now = System.currentTimeMillis();
+        Set<?> requested = new LinkedHashSet<>(keys);
+        Map<Object, CacheEntry> entries = new HashMap<>();
+        Set<Object> missing = new LinkedHashSet<>();
+        for (Object key : requested) {
+            CacheEntry entry = usable(unwrap(local.getIfPresent(localKey(key))));
+            if (entry == null || entry.isStale(now)) {
+                missing.add(key);
+            } else {
+                entries.put(key, entry);
+            }
+        }
+        remoteGetAllQuietly(missing).forEach((key, stored) -> {
+            CacheEntry entry = usable(unwrap(stored));
+            if (entry != null && !entry.isStale(now)) {
+                local.put(localKey(key), entry);
+                entries.put(key, entry);
+            }
+        });
+        if (entries.size() < requested.size()) {
+            return null;
+        }
+        StringBuilder tags = new StringBuilder();
+        for (Object key : requested) {
+            CacheEntry entry = entries.get(key);
+            if (!entry.isAbsent() && entry.getEtag() == null) {
+                entry.setEtag(EntityTags.of(entry.getValue()));
+            }
+            tags.append(entry.isAbsent() ? "-" : entry.getEtag()).append(' ');
+        }
+        return EntityTags.of(tags.toString());
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        AbsentKeyPolicy absentKeys = context.getAbsentKeyPolicy();
+        IdExistenceFilters filters = context.getExistenceFilters();
+        if (absentKeys != null && filters != null && !filters.mightContain(name, key)) {
+            filterRejections.increment();
+            throw new ValueRetrievalException(key, valueLoader, absentKeys.absent(name, key));
+        }
+        String localKey = localKey(key);
+        CacheEntry cached = usable(unwrap(local.getIfPresent(localKey)));
+        if (cached != null) {
+            return (T) serve(key, localKey, cached, valueLoader);
+        }
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(localKey, flight);
+        if (leader != null) {
+            coalesced.increment();
+            return (T) await(leader, key, valueLoader);
+        }
+        try {
+            CacheEntry entry = lookupOrLoad(key, localKey, valueLoader);
+            Object value = entry != null ? serve(key, localKey, entry, valueLoader) : null;
+            flight.complete(value);
+            return (T) value;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(localKey, flight);
+        }
+    }
+
+    /**
+     * Reads every key in {@code keys}, loading the ones neither tier holds
+     * fresh with a single call to {@code loader}.
+     *
+     * <p>Keys the existence filter rules out, or cached as absent, are not
+     * passed to the loader; keys the loader leaves out are cached as absent
+     * when negative caching is on. Either way they are missing from the
+     * result.</p>
+     *
+     * @param keys   the cache keys; duplicates are read once
+     * @param loader loads the values of the keys it is given, leaving out the ones that don't exist
+     * @param <K>    the key type
+     * @param <V>    the value type
+     * @return the value of every key that has one, in the order of {@code keys}
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> Map<K, V> getAll(Collection<K> keys, Function<Set<K>, Map<K, V>> loader) {
+        AbsentKeyPolicy absentKeys = context.getAbsentKeyPolicy();
+        IdExistenceFilters filters = context.getExistenceFilters();
+        long now = System.currentTimeMillis();
+        Set<K> requested = new LinkedHashSet<>(keys);
+        Map<K, V> values = new HashMap<>();
+        Set<K> missing = new LinkedHashSet<>();
+        for (K key : requested) {
+            if (absentKeys != null && filters != null && !filters.mightContain(name, key)) {
+                filterRejections.increment();
+                continue;
+            }
+            CacheEntry entry = usable(unwrap(local.getIfPresent(localKey(key))));
+            if (entry == null || entry.isStale(now)) {
+                missing.add(key);
+            } else if (entry.isAbsent()) {
+                negativeHits.increment();
+            } else {
+                values.put(key, (V) entry.getValue());
+            }
+        }
+        remoteGetAllQuietly(missing).forEach((key, stored) -> {
+            CacheEntry entry = usable(unwrap(stored));
+            if (entry == null || entry.isStale(now)) {
+                return;
+            }
+            local.put(localKey(key), entry);
+            missing.remove(key);
+            if (entry.isAbsent()) {
+                negativeHits.increment();
+            } else {
+                values.put((K) key, (V) entry.getValue());
+            }
+        });
+        if (!missing.isEmpty()) {
+            loads.increment(missing.size());
+            Map<K, V> loaded = loader.apply(Collections.unmodifiableSet(missing));
+            Map<Object, CacheEntry> fills = new LinkedHashMap<>();
+            for (K key : missing) {
+                V value = loaded.get(key);
+                CacheEntry entry = value != null ? wrap(value) : absentKeys != null ? CacheEntry.absentMarker() : null;
+                if (entry != null) {
+                    local.put(localKey(key), entry);
+                    fills.put(key, entry);
+                }
+                if (value != null) {
+                    values.put(key, value);
+                }
+            }
+            remotePutAllQuietly(fills);
+        }
+        Map<K, V> result = new LinkedHashMap<>();
+        for (K key : requested) {
+            V value = values.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        if (value == null) {
+            return;
+        }
+        CacheEntry entry = wrap(value);
+        local.put(localKey(key), entry);
+        if (remote != null) {
+            remote.put(key, entry);
+        }
+    }
+
+    /**
+     * Writes {@code value} to both tiers and tells peers to drop their L1
+     * copy, so they pick the new value up from L2. Unlike {@link #put}, which
+     * fills a miss, this replaces a value other instances may hold.
+     */
+    public void replace(Object key, Object value) {
+        put(key, value);
+        publish(localKey(key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.invalidate(localKey(key));
+        if (remote != null) {
+            remote.evict(key);
+        }
+        publish(localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        if (remote != null) {
+            remote.clear();
+        }
+        publish(null);
+    }
+
+    /**
+     * Drops one L1 entry without touching L2 — used for peer invalidations.
+     * A peer write may have created the key, so the existence filter learns it.
+     */
+    void evictLocal(String localKey) {
+        local.invalidate(localKey);
+        if (context.getExistenceFilters() != null) {
+            context.getExistenceFilters().onPeerWrite(name, localKey);
+        }
+    }
+
+    /**
+     * Drops {@code key} from this L1 and every peer's, leaving L2 alone — for
+     * when L2 was already cleared some other way.
+     */
+    void dropLocal(Object key) {
+        local.invalidate(localKey(key));
+        publish(localKey(key));
+    }
+
+    /**
+     * Seeds L1 with a value L2 returned alongside another cache's read (see
+     * {@link ProfileHashCache}). An entry L1 already holds is kept.
+     */
+    void fillLocal(Object key, @Nullable Object stored) {
+        CacheEntry entry = usable(unwrap(stored));
+        if (entry != null) {
+            local.asMap().putIfAbsent(localKey(key), entry);
+        }
+    }
+
+    /** Drops every L1 entry without touching L2 — used for peer invalidations. */
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    /**
+     * The leader's half of a miss: L2 (raced against the loader when it is
+     * slow and hedging is on), then the loader under the rebuild lease, then
+     * fill both tiers.
+     * Returns {@code null} only when the loader itself returned {@code null}.
+     */
+    @Nullable
+    private CacheEntry lookupOrLoad(Object key, String localKey, Callable<?> valueLoader) {
+        Callable<Object> load = () -> {
+            loads.increment();
+            return valueLoader.call();
+        };
+        ReadHedger.Outcome<CacheEntry> read = remote != null && context.getReadHedger() != null
+                ? context.getReadHedger().read(() -> usable(unwrap(remoteGetQuietly(key))), load)
+                : new ReadHedger.Outcome<>(usable(unwrap(remoteGetQuietly(key))), false, false, null, null);
+        if (read.hedged()) {
+            hedges.increment();
+        }
+        if (read.hit() != null) {
+            local.put(localKey, read.hit());
+            return read.hit();
+        }
+        RebuildLease lease = read.loaded() ? null : context.getRebuildLease();
+        RebuildLease.Grant grant = lease != null ? lease.tryAcquire(name, key) : null;
+        if (grant == RebuildLease.Grant.HELD_ELSEWHERE) {
+            CacheEntry rebuilt = awaitRebuild(key, localKey, lease);
+            if (rebuilt != null) {
+                leaseWaits.increment();
+                return rebuilt;
+            }
+        }
+        try {
+            return loadAndStore(key, localKey, valueLoader, read, load);
+        } finally {
+            if (grant == RebuildLease.Grant.ACQUIRED) {
+                lease.release(name, key);
+            }
+        }
+    }
+
+    /** Runs the loader (unless the hedge already did) and fills both tiers. */
+    @Nullable
+    private CacheEntry loadAndStore(Object key,
+                                    String localKey,
+                                    Callable<?> valueLoader,
+                                    ReadHedger.Outcome<CacheEntry> read,
+                                    Callable<Object> load) {
+        Object value;
+        try {
+            if (read.loaded()) {
+                hedgeWins.increment();
+                value = read.loadedValue();
+            } else {
+                value = load.call();
+            }
+        } catch (Exception ex) {
+            if (context.getAbsentKeyPolicy() != null && context.getAbsentKeyPolicy().isAbsent(ex)) {
+                CacheEntry marker = CacheEntry.absentMarker();
+                local.put(localKey, marker);
+                remotePutQuietly(key, marker);
+            }
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        if (value == null) {
+            return null;
+        }
+        CacheEntry entry = wrap(value);
+        local.put(localKey, entry);
+        remotePutQuietly(key, entry);
+        return entry;
+    }
+
+    /**
+     * Polls L2 while another instance holds the rebuild lease. Returns its
+     * result — possibly an absent marker — or {@code null} once the max wait
+     * is up, and the caller loads after all.
+     */
+    @Nullable
+    private CacheEntry awaitRebuild(Object key, String localKey, RebuildLease lease) {
+        long deadline = System.nanoTime() + lease.getMaxWait().toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(lease.getPollInterval());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            CacheEntry entry = usable(unwrap(remoteGetQuietly(key)));
+            if (entry != null) {
+                local.put(localKey, entry);
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the entry's value, scheduling a reload first if it is stale.
+     * An absent marker is rethrown as the policy's not-found exception.
+     */
+    private Object serve(Object key, String localKey, CacheEntry entry, Callable<?> valueLoader) {
+        if (entry.isAbsent()) {
+            negativeHits.increment();
+            throw new ValueRetrievalException(key, valueLoader, context.getAbsentKeyPolicy().absent(name, key));
+        }
+        if (entry.isStale(System.currentTimeMillis())) {
+            staleHits.increment();
+            scheduleRefresh(key, localKey, valueLoader);
+        }
+        return entry.getValue();
+    }
+
+    /**
+     * Reloads a stale entry on the refresh executor, unless a reload for the
+     * same key is already queued or running, here or (per the rebuild lease)
+     * on another instance. The fresh value replaces the entry in both tiers
+     * and peers drop their stale L1 copy.
+     */
+    private void scheduleRefresh(Object key, String localKey, Callable<?> valueLoader) {
+        if (!refreshing.add(localKey)) {
+            return;
+        }
+        try {
+            context.getRefreshExecutor().execute(() -> {
+                RebuildLease lease = context.getRebuildLease();
+                RebuildLease.Grant grant = lease != null ? lease.tryAcquire(name, key) : null;
+                try {
+                    if (grant == RebuildLease.Grant.HELD_ELSEWHERE) {
+                        log.debug("Another instance is reloading {}[{}] — serving stale meanwhile", name, key);
+                        return;
+                    }
+                    loads.increment();
+                    Object value = valueLoader.call();
+                    if (value != null) {
+                        replace(key, value);
+                    }
+                } catch (Exception ex) {
+                    refreshFailures.increment();
+                    log.warn("Background refresh failed for {}[{}] — keeping the stale entry", name, key, ex);
+                } finally {
+                    refreshing.remove(localKey);
+                    if (grant == RebuildLease.Grant.ACQUIRED) {
+                        lease.release(name, key);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            refreshing.remove(localKey);
+            refreshFailures.increment();
+            log.debug("Refresh queue full, skipped reload of {}[{}]", name, key);
+        }
+    }
+
+    private CacheEntry wrap(Object value) {
+        return CacheEntry.tagged(value, System.currentTimeMillis() + softTtlMillis);
+    }
+
+    /**
+     * Hides absent markers when negative caching is off, e.g. markers left in
+     * Redis after the policy was switched off, so they read as a miss.
+     */
+    @Nullable
+    private CacheEntry usable(@Nullable CacheEntry entry) {
+        return entry != null && entry.isAbsent() && context.getAbsentKeyPolicy() == null ? null : entry;
+    }
+
+    /** Normalises a stored value; a bare pre-envelope value reads as already stale. */
+    @Nullable
+    private static CacheEntry unwrap(@Nullable Object stored) {
+        if (stored == null || stored instanceof CacheEntry) {
+            return (CacheEntry) stored;
+        }
+        return new CacheEntry(stored, 0L);
+    }
+
+    @Nullable
+    private Object remoteGetQuietly(Object key) {
+        if (remote == null) {
+            return null;
+        }
+        try {
+            ValueWrapper wrapper = remote.get(key);
+            return wrapper != null ? wrapper.get() : null;
+        } catch (RuntimeException ex) {
+            context.getErrorHandler().handleCacheGetError(ex, this, key);
+            return null;
+        }
+    }
+
+    private void remotePutQuietly(Object key, CacheEntry entry) {
+        if (remote == null) {
+            return;
+        }
+        try {
+            remote.put(key, entry);
+        } catch (RuntimeException ex) {
+            context.getErrorHandler().handleCachePutError(ex, this, key, entry);
+        }
+    }
+
+    /** L2's values for {@code keys}, in one batch read when L2 supports it. */
+    private Map<?, Object> remoteGetAllQuietly(Collection<?> keys) {
+        if (remote == null || keys.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            if (remote instanceof MultiKeyCache multiKey) {
+                return multiKey.getAll(keys);
+            }
+            Map<Object, Object> values = new HashMap<>();
+            for (Object key : keys) {
+                ValueWrapper wrapper = remote.get(key);
+                if (wrapper != null && wrapper.get() != null) {
+                    values.put(key, wrapper.get());
+                }
+            }
+            return values;
+        } catch (RuntimeException ex) {
+            context.getErrorHandler().handleCacheGetError(ex, this, keys);
+            return Map.of();
+        }
+    }
+
+    private void remotePutAllQuietly(Map<Object, CacheEntry> entries) {
+        if (remote == null || entries.isEmpty()) {
+            return;
+        }
+        try {
+            if (remote instanceof MultiKeyCache multiKey) {
+                multiKey.putAll(entries);
+            } else {
+                entries.forEach(remote::put);
+            }
+        } catch (RuntimeException ex) {
+            context.getErrorHandler().handleCachePutError(ex, this, entries.keySet(), entries.values());
+        }
+    }
+
+    /** A follower's half of a miss: wait for the leader and share its outcome. */
+    @Nullable
+    private static Object await(CompletableFuture<Object> leader, Object key, Callable<?> valueLoader) {
+        try {
+            return leader.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+        }
+    }
+
+    private void publish(@Nullable String localKey) {
+        if (context.getInvalidationBus() != null) {
+            context.getInvalidationBus().publish(name, localKey);
+        }
+    }
+}
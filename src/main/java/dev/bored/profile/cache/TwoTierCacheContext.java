@@ -0,0 +1,101 @@
+package dev.bored.profile.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Collaborators shared by every {@link TwoTierCache} of one manager.
+ *
+ * <p>Kept in one place so adding a cross-cutting concern to the cache path
+ * doesn't ripple through every constructor.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-16
+ */
+@Getter
+@Builder
+public class TwoTierCacheContext {
+
+    /** Pub/sub bus for peer L1 invalidations; {@code null} without Redis. */
+    @Nullable
+    private final CacheInvalidationBus invalidationBus;
+
+    /**
+     * Handler for L2 failures that happen inside a coalesced load, where the
+     * exception can't reach Spring's cache interceptor without abandoning the
+     * callers waiting on the same key.
+     */
+    @Builder.Default
+    private final CacheErrorHandler errorHandler = new SimpleCacheErrorHandler();
+
+    /** Registry the cache metrics are published to. */
+    @Builder.Default
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * Soft TTL per cache name. Entries older than this are served stale
+     * while a background reload replaces them.
+     */
+    @Builder.Default
+    private final Function<String, Duration> softTtl = cacheName -> Duration.ofHours(12);
+
+    /**
+     * Runs stale-entry reloads. Defaults to the calling thread; the
+     * application wires a small bounded pool so a stale hit never waits.
+     */
+    @Builder.Default
+    private final Executor refreshExecutor = Runnable::run;
+
+    /**
+     * Existence filters consulted before any I/O; {@code null} leaves every
+     * key to the cache and the loader. Only used with an {@link #absentKeyPolicy}.
+     */
+    @Nullable
+    private final IdExistenceFilters existenceFilters;
+
+    /**
+     * Recognises and reproduces "not found" loader failures. {@code null}
+     * disables negative caching.
+     */
+    @Nullable
+    private final AbsentKeyPolicy absentKeyPolicy;
+
+    /**
+     * Breaker every remote cache is wrapped in; {@code null} calls Redis
+     * directly. See {@link CircuitBreakingCache}.
+     */
+    @Nullable
+    private final RedisCircuitBreaker circuitBreaker;
+
+    /**
+     * Races slow L2 reads on a miss against the loader; {@code null} reads
+     * L2 on the calling thread and only loads after it has answered.
+     */
+    @Nullable
+    private final ReadHedger readHedger;
+
+    /**
+     * Lets only one instance at a time rebuild a missing or stale entry;
+     * {@code null} leaves every instance to load on its own miss.
+     */
+    @Nullable
+    private final RebuildLease rebuildLease;
+
+    /**
+     * Connection factory for batch reads and writes of plain Redis caches
+     * (see {@link RedisMultiKeyCache}); {@code null} leaves batches to one
+     * command per key.
+     */
+    @Nullable
+    private final RedisConnectionFactory connectionFactory;
+}
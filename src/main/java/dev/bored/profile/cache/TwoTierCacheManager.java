@@ -0,0 +1,133 @@
+package dev.bored.profile.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * {@link CacheManager} that hands out {@link TwoTierCache}s: a Caffeine L1
+ * (W-TinyLFU eviction, weight-bounded) in front of the caches of a remote
+ * {@link CacheManager} — in prod, the {@code RedisCacheManager}.
+ *
+ * <p>Without a remote manager every cache is L1-only, which replaces the
+ * unbounded {@code ConcurrentMapCacheManager} Spring would otherwise fall
+ * back to when Redis is excluded.</p>
+ *
+ * <p>With a {@link RedisCircuitBreaker} in the context, each remote cache is
+ * wrapped in a {@link CircuitBreakingCache}, so an unhealthy Redis is skipped
+ * and the L1 carries the load until the breaker closes again.</p>
+ *
+ * <p>With a connection factory in the context, each plain {@link RedisCache}
+ * is wrapped in a {@link RedisMultiKeyCache}, so {@link TwoTierCache#getAll}
+ * reads and fills its misses in one round trip each.</p>
+ *
+ * <p>When the remote manager is a {@link ProfileHashCacheManager}, each packed
+ * cache's L1 is also filled with the sibling fields its Redis reads bring back.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-16
+ */
+public class TwoTierCacheManager implements CacheManager, InitializingBean, DisposableBean {
+
+    private final Caffeine<Object, Object> localSpec;
+    @Nullable
+    private final CacheManager remote;
+    private final TwoTierCacheContext context;
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param localSpec         Caffeine builder shared by every L1 cache
+     * @param remote            the L2 cache manager, or {@code null} for local-only mode
+     * @param context           collaborators shared by every cache
+     * @param initialCacheNames caches to create eagerly
+     */
+    public TwoTierCacheManager(Caffeine<Object, Object> localSpec,
+                               @Nullable CacheManager remote,
+                               TwoTierCacheContext context,
+                               Collection<String> initialCacheNames) {
+        this.localSpec = localSpec;
+        this.remote = remote;
+        this.context = context;
+        initialCacheNames.forEach(this::getCache);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(Set.copyOf(caches.keySet()));
+    }
+
+    /**
+     * With the {@code profile-hash} layout, drops a deleted profile's whole
+     * Redis hash with one {@code DEL}, plus the packed caches' L1 entries here
+     * and on every peer. Otherwise a no-op: the per-section evictions of the
+     * delete already cover every key.
+     *
+     * @param profileId the deleted profile
+     */
+    public void evictProfile(Object profileId) {
+        if (!(remote instanceof ProfileHashCacheManager hashLayout)) {
+            return;
+        }
+        hashLayout.evictProfile(profileId);
+        caches.forEach((name, cache) -> {
+            if (hashLayout.packs(name)) {
+                cache.dropLocal(profileId);
+            }
+        });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (context.getInvalidationBus() != null) {
+            context.getInvalidationBus().start();
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (context.getInvalidationBus() != null) {
+            context.getInvalidationBus().stop();
+        }
+        if (context.getRefreshExecutor() instanceof ExecutorService refreshPool) {
+            refreshPool.shutdown();
+        }
+        if (context.getReadHedger() != null) {
+            context.getReadHedger().close();
+        }
+    }
+
+    private TwoTierCache createCache(String name) {
+        Cache remoteCache = remote != null ? remote.getCache(name) : null;
+        ProfileHashCache packed = remoteCache instanceof ProfileHashCache hashField ? hashField : null;
+        if (remoteCache instanceof RedisCache redisCache && context.getConnectionFactory() != null) {
+            remoteCache = new RedisMultiKeyCache(redisCache, context.getConnectionFactory());
+        }
+        if (remoteCache != null && context.getCircuitBreaker() != null) {
+            remoteCache = new CircuitBreakingCache(remoteCache, context.getCircuitBreaker());
+        }
+        TwoTierCache cache = new TwoTierCache(name, localSpec.build(), remoteCache, context);
+        if (packed != null) {
+            packed.onSiblingFields(cache::fillLocal);
+        }
+        if (context.getInvalidationBus() != null) {
+            context.getInvalidationBus().register(cache);
+        }
+        return cache;
+    }
+}
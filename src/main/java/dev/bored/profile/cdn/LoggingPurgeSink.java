@@ -0,0 +1,23 @@
+package dev.bored.profile.cdn;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+
+/**
+ * {@link PurgeSink} that only logs the keys — the default while no CDN
+ * purge API is wired in, so responses age out on their {@code s-maxage}.
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public class LoggingPurgeSink implements PurgeSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingPurgeSink.class);
+
+    @Override
+    public void purge(Collection<String> surrogateKeys) {
+        log.info("CDN purge requested for surrogate keys {}", surrogateKeys);
+    }
+}
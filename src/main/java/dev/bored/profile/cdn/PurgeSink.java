@@ -0,0 +1,23 @@
+package dev.bored.profile.cdn;
+
+import java.util.Collection;
+
+/**
+ * Where surrogate-key purges go — a CDN's purge API in production.
+ *
+ * <p>Declaring a bean of this type replaces the default
+ * {@link LoggingPurgeSink}. Implementations are called after the write has
+ * committed, on the writing thread; they should be quick, and may throw —
+ * the {@link SurrogateKeyPurgeListener} logs the failure and the cached
+ * responses age out on their {@code s-maxage} instead.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public interface PurgeSink {
+
+    /**
+     * @param surrogateKeys keys whose cached responses are out of date, see {@link SurrogateKeys}
+     */
+    void purge(Collection<String> surrogateKeys);
+}
@@ -0,0 +1,71 @@
+package dev.bored.profile.cdn;
+
+import dev.bored.profile.service.ProfileDataChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Sends the surrogate keys a committed write affects (see
+ * {@link SurrogateKeys#affectedBy}) to the {@link PurgeSink}.
+ *
+ * <p>Runs after the service caches have been brought in line with the write,
+ * so a CDN that refetches as soon as it is purged gets the new data rather
+ * than the entry about to be evicted. A failing sink never fails the write.</p>
+ *
+ * <p>Metrics: {@code profile.http.purges{outcome=sent|failed}}.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+@Component
+public class SurrogateKeyPurgeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SurrogateKeyPurgeListener.class);
+
+    private final PurgeSink sink;
+    private final Counter sent;
+    private final Counter failed;
+
+    /**
+     * @param sink          where purges go
+     * @param meterRegistry registry the purge counters go to
+     */
+    public SurrogateKeyPurgeListener(PurgeSink sink, MeterRegistry meterRegistry) {
+        this.sink = sink;
+        this.sent = purges(meterRegistry, "sent");
+        this.failed = purges(meterRegistry, "failed");
+    }
+
+    /**
+     * Purges the responses {@code event} made stale.
+     *
+     * @param event the committed write
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileDataChanged(ProfileDataChangedEvent event) {
+        List<String> keys = SurrogateKeys.affectedBy(event);
+        try {
+            sink.purge(keys);
+            sent.increment();
+        } catch (RuntimeException ex) {
+            failed.increment();
+            log.warn("CDN purge of {} failed — cached responses will age out instead", keys, ex);
+        }
+    }
+
+    private static Counter purges(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("profile.http.purges")
+                .description("Surrogate-key purges sent after writes, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
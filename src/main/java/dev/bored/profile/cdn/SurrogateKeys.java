@@ -0,0 +1,153 @@
+package dev.bored.profile.cdn;
+
+import dev.bored.profile.dto.AchievementDTO;
+import dev.bored.profile.dto.AspirationDTO;
+import dev.bored.profile.dto.ExperienceDTO;
+import dev.bored.profile.service.ProfileDataChangedEvent;
+import dev.bored.profile.service.ProfileDataChangedEvent.Change;
+import dev.bored.profile.service.ProfileSection;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The surrogate keys a CDN tags cached responses with, and the keys a write
+ * has to purge.
+ *
+ * <ul>
+ *   <li>{@code profile-<profileId>} — every response belonging to a profile;
+ *       purged when the profile is deleted.</li>
+ *   <li>{@code profile-<profileId>-<section>} — a profile's section as a
+ *       whole: its list endpoint, or the profile card for {@code profile}.</li>
+ *   <li>{@code <section>-<id>} — a single row, e.g. {@code experiences-42}.</li>
+ *   <li>{@code profiles} — the profile directory; purged by any profile
+ *       write.</li>
+ * </ul>
+ *
+ * <p>A response names its profile and its section, so a write purges just
+ * the section list and rows it touched while the rest of the profile stays
+ * cached. The whole-portfolio response names every section, so it goes with
+ * any of them.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public final class SurrogateKeys {
+
+    private SurrogateKeys() { }
+
+    /** @return the key of the profile directory */
+    public static String directory() {
+        return "profiles";
+    }
+
+    /** @return the key of everything belonging to {@code profileId} */
+    public static String profile(Object profileId) {
+        return "profile-" + profileId;
+    }
+
+    /** @return the key of {@code section} of {@code profileId} as a whole */
+    public static String section(ProfileSection section, Object profileId) {
+        return profile(profileId) + "-" + slug(section);
+    }
+
+    /** @return the key of the {@code section} row with {@code id} */
+    public static String row(ProfileSection section, Object id) {
+        return slug(section) + "-" + id;
+    }
+
+    /**
+     * @param section   the section a list response belongs to
+     * @param profileId the profile it lists
+     * @return the keys to tag the response with
+     */
+    public static List<String> forList(ProfileSection section, Object profileId) {
+        return List.of(profile(profileId), section(section, profileId));
+    }
+
+    /**
+     * @param profileId the profile a portfolio response belongs to
+     * @return the keys to tag the response with: every section of the
+     *         profile, so a write to any of them purges it
+     */
+    public static List<String> forPortfolio(Object profileId) {
+        List<String> keys = new ArrayList<>();
+        keys.add(profile(profileId));
+        for (ProfileSection section : ProfileSection.values()) {
+            keys.add(section(section, profileId));
+        }
+        return keys;
+    }
+
+    /**
+     * @param section the section a single-row response belongs to
+     * @param id      the row's id
+     * @param body    the row, if at hand, to name its profile
+     * @return the keys to tag the response with
+     */
+    public static List<String> forRow(ProfileSection section, Object id, @Nullable Object body) {
+        if (section == ProfileSection.PROFILE) {
+            return forList(section, id);
+        }
+        Long profileId = profileIdOf(body);
+        return profileId != null ? List.of(profile(profileId), row(section, id)) : List.of(row(section, id));
+    }
+
+    /**
+     * @param section the section a batch response belongs to
+     * @param ids     the requested ids, found or not
+     * @param rows    the rows found
+     * @return the keys to tag the response with: every requested row, so
+     *         creating a missing one purges it too, and the profiles of the
+     *         rows found
+     */
+    public static List<String> forRows(ProfileSection section, Collection<Long> ids, List<?> rows) {
+        Set<String> keys = new LinkedHashSet<>();
+        rows.forEach(row -> {
+            Long profileId = profileIdOf(row);
+            if (profileId != null) {
+                keys.add(profile(profileId));
+            }
+        });
+        ids.forEach(id -> keys.add(row(section, id)));
+        return new ArrayList<>(keys);
+    }
+
+    /**
+     * @param event a committed write
+     * @return the keys of every cached response it may have changed
+     */
+    public static List<String> affectedBy(ProfileDataChangedEvent event) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (event.section() == ProfileSection.PROFILE) {
+            keys.add(directory());
+            keys.add(event.change() == Change.DELETED
+                    ? profile(event.profileId())
+                    : section(ProfileSection.PROFILE, event.profileId()));
+        } else {
+            keys.add(section(event.section(), event.profileId()));
+            event.ids().forEach(id -> keys.add(row(event.section(), id)));
+        }
+        return new ArrayList<>(keys);
+    }
+
+    private static String slug(ProfileSection section) {
+        return section.name().toLowerCase(Locale.ROOT);
+    }
+
+    @Nullable
+    private static Long profileIdOf(@Nullable Object body) {
+        if (body instanceof ExperienceDTO experience) {
+            return experience.getProfileId();
+        }
+        if (body instanceof AchievementDTO achievement) {
+            return achievement.getProfileId();
+        }
+        return body instanceof AspirationDTO aspiration ? aspiration.getProfileId() : null;
+    }
+}
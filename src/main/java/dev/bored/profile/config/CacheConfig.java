@@ -4,23 +4,123 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.bored.profile.cache.AbsentKeyPolicy;
+import dev.bored.profile.cache.CacheEntry;
+import dev.bored.profile.cache.CacheInvalidationBus;
+import dev.bored.profile.cache.CacheSchemaVersions;
+import dev.bored.profile.cache.CompressingValueSerializer;
+import dev.bored.profile.cache.IdExistenceFilters;
+import dev.bored.profile.cache.JitteredTtlFunction;
+import dev.bored.profile.cache.LocalEntryExpiry;
+import dev.bored.profile.cache.MicroCacheFilter;
+import dev.bored.profile.cache.OrphanedKeySweeper;
+import dev.bored.profile.cache.ProfileHashCacheManager;
+import dev.bored.profile.cache.ReadHedger;
+import dev.bored.profile.cache.RebuildLease;
+import dev.bored.profile.cache.RedisCircuitBreaker;
+import dev.bored.profile.cache.RedisCircuitBreakerHealthIndicator;
+import dev.bored.profile.cache.RedisCommandBatcher;
+import dev.bored.profile.cache.ResponseBytesCacheFilter;
+import dev.bored.profile.cache.SmileCacheValueSerializer;
+import dev.bored.profile.cache.TwoTierCacheContext;
+import dev.bored.profile.cache.TwoTierCacheManager;
+import dev.bored.profile.dto.PageDTO;
+import dev.bored.profile.dto.PortfolioDTO;
+import dev.bored.profile.exception.ResourceNotFoundException;
+import dev.bored.profile.service.CacheNames;
+import dev.bored.profile.service.ProfileSection;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
 import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
- * Enables Spring's cache abstraction + installs a fail-open error handler.
+ * Enables Spring's cache abstraction, wires the two-tier cache manager and
+ * installs a fail-open error handler.
+ *
+ * <p>Every cache is a bounded Caffeine L1 in front of Redis. Hot keys are
+ * served from the heap without an Upstash round trip; evictions are fanned
+ * out to the other instances over pub/sub so their L1 copies drop too.
+ * Service reads use {@code @Cacheable(sync = true)}, which lets the cache
+ * collapse concurrent misses on one key into a single load. Entries past
+ * their soft TTL are still served while a small bounded pool reloads them.</p>
+ *
+ * <p>By-id lookups that end in a 404 are remembered for a short negative TTL,
+ * and per-section existence filters turn away ids that can't exist before
+ * any cache or database I/O.</p>
+ *
+ * <p>Every Redis call goes through a circuit breaker. When Upstash is slow or
+ * down it opens after a burst of failed or slow calls, and requests skip Redis
+ * instead of each waiting out the Lettuce timeout; the L1 and the database
+ * carry the load until a half-open probe finds Redis healthy again. Its state
+ * shows up in {@code /actuator/health} and as {@code profile.cache.circuit.*}
+ * metrics.</p>
+ *
+ * <p>With {@code profile.cache.layout: profile-hash}, the caches keyed by
+ * profile id share one Redis hash per profile: the first section read of a
+ * page fetches all of them with one {@code HGETALL} and seeds L1 with the
+ * rest.</p>
+ *
+ * <p>By default ({@code profile.cache.connection.mode: shared}) cache calls
+ * multiplex over Lettuce's one shared connection and {@link RedisCommandBatcher}
+ * writes concurrently issued commands together; {@code pooled} gives each
+ * call its own pooled connection instead.</p>
+ *
+ * <p>Redis keys carry a per-cache {@link CacheSchemaVersions schema version},
+ * so a release that changes a DTO reads and writes fresh keys; the old ones
+ * age out, or are swept when {@code profile.cache.schema-version.cleanup}
+ * is on.</p>
+ *
+ * <p>An L2 miss takes a {@link RebuildLease} before loading, so a key that
+ * misses on several instances at once is loaded by one of them while the
+ * others poll Redis for its result.</p>
+ *
+ * <p>GET responses rendered from a cached entry are kept as off-heap bytes
+ * by {@link ResponseBytesCacheFilter} and replayed while the entry stays
+ * cached ({@code profile.cache.response-bytes}). In front of everything,
+ * {@link MicroCacheFilter} shares anonymous GET responses for about a second
+ * and collapses identical concurrent ones ({@code profile.http-cache.micro-cache}).</p>
+ *
+ * <p>Optionally ({@code profile.cache.hedging.enabled}), a Redis read that is
+ * slower than the hedge delay on a miss starts the database load in parallel,
+ * within a small global budget, and the first answer wins.</p>
  *
  * <p>With a Redis backend, any network hiccup between Cloud Run and Upstash
  * would normally propagate as a {@code RuntimeException} through the service
@@ -28,29 +128,312 @@ import java.time.Duration;
  * truth. The custom {@link CacheErrorHandler} swallows Redis read/write/evict
  * errors and lets the wrapped method run as if the cache were empty.</p>
  *
- * <p>When Redis is not configured (local dev, auto-configs excluded),
- * Spring falls back to {@code ConcurrentMapCacheManager} and this handler
- * is effectively a no-op.</p>
+ * <p>When Redis is not configured (local dev, auto-configs excluded), the
+ * L1 alone backs every cache — still bounded, unlike the
+ * {@code ConcurrentMapCacheManager} Spring would fall back to — and this
+ * handler is effectively a no-op.</p>
  */
 @Configuration
 @EnableCaching
+@EnableScheduling
+@EnableConfigurationProperties({
+        ProfileCacheProperties.class,
+        RedisCacheTtlProperties.class,
+        CacheProperties.class
+})
 public class CacheConfig {
 
     private static final Logger log = LoggerFactory.getLogger(CacheConfig.class);
 
+    /** Assumed L1 footprint of one cached row, in bytes: a card with a paragraph of text. */
+    private static final int ROW_WEIGHT = 1024;
+
+    /** Assumed L1 footprint of an absent marker, in bytes. */
+    private static final int ABSENT_WEIGHT = 64;
+
     @Bean
     public CacheErrorHandler cacheErrorHandler() {
         return new FailOpenCacheErrorHandler();
     }
 
     /**
-     * Swap the default JDK-serialization value serializer for JSON so cached
-     * values are readable in redis-cli and DTOs don't need {@code Serializable}.
-     * Polymorphic type info is written so Jackson can rebuild the concrete
-     * class on read (needed for {@code List<DTO>} return types).
+     * Two-tier cache manager. Declaring our own {@code CacheManager} makes
+     * Boot's cache auto-config back off, so the Redis tier is built here and
+     * the {@link RedisCacheManagerBuilderCustomizer}s are applied by hand.
+     */
+    @Bean
+    public TwoTierCacheManager cacheManager(ProfileCacheProperties properties,
+                                            CacheProperties cacheProperties,
+                                            CacheErrorHandler cacheErrorHandler,
+                                            MeterRegistry meterRegistry,
+                                            IdExistenceFilters existenceFilters,
+                                            ObjectProvider<RedisCircuitBreaker> circuitBreaker,
+                                            ObjectProvider<RedisCommandBatcher> commandBatcher,
+                                            ObjectProvider<RedisConnectionFactory> redisConnectionFactory,
+                                            ObjectProvider<RedisCacheManagerBuilderCustomizer> customizers) {
+        ProfileCacheProperties.Local local = properties.getLocal();
+        Caffeine<Object, Object> localSpec = Caffeine.newBuilder()
+                .maximumWeight(local.getMaximumWeight())
+                .weigher((key, value) -> approximateWeight(value))
+                .expireAfter(new LocalEntryExpiry(local.getExpireAfterWrite(), properties.getNegative().getTtl()));
+
+        ProfileCacheProperties.StaleWhileRevalidate swr = properties.getStaleWhileRevalidate();
+        TwoTierCacheContext.TwoTierCacheContextBuilder context = TwoTierCacheContext.builder()
+                .errorHandler(cacheErrorHandler)
+                .meterRegistry(meterRegistry)
+                .softTtl(swr::softTtlFor)
+                .refreshExecutor(refreshExecutor(swr));
+        if (properties.getNegative().isEnabled()) {
+            context.absentKeyPolicy(new NotFoundPolicy());
+            if (properties.getExistenceFilter().isEnabled()) {
+                context.existenceFilters(existenceFilters);
+            }
+        }
+
+        RedisConnectionFactory connectionFactory = redisConnectionFactory.getIfAvailable();
+        if (connectionFactory == null) {
+            log.info("No Redis connection factory — caches are L1-only");
+            return new TwoTierCacheManager(localSpec, null, context.build(), CacheNames.ALL);
+        }
+        if (properties.getConnection().getMode() == ProfileCacheProperties.Connection.Mode.POOLED
+                && connectionFactory instanceof LettuceConnectionFactory lettuce) {
+            lettuce.setShareNativeConnection(false);
+        }
+        // attaches to the shared connection before the first cache call opens it
+        commandBatcher.getIfAvailable();
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory);
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.afterPropertiesSet();
+        RedisCircuitBreaker breaker = circuitBreaker.getIfAvailable();
+        if (properties.getHedging().isEnabled()) {
+            context.readHedger(new ReadHedger(properties.getHedging(), meterRegistry));
+        }
+        if (properties.getRebuildLease().isEnabled()) {
+            context.rebuildLease(new RebuildLease(connectionFactory, cacheKeyPrefix(cacheProperties),
+                    properties.getRebuildLease(), breaker, meterRegistry));
+        }
+        CacheInvalidationBus invalidationBus = new CacheInvalidationBus(connectionFactory,
+                properties.getInvalidation().getChannel(), breaker);
+        // the filters learn peer creates from this bus, so a lost message must not leave them rejecting a row
+        invalidationBus.onPossiblyMissedMessages(existenceFilters::resync);
+        context.circuitBreaker(breaker)
+                .connectionFactory(connectionFactory)
+                .invalidationBus(invalidationBus);
+        CacheManager remote = properties.getLayout() == ProfileCacheProperties.Layout.PROFILE_HASH
+                ? new ProfileHashCacheManager(redisCacheManager, connectionFactory, CacheNames.BY_PROFILE_ID)
+                : redisCacheManager;
+        return new TwoTierCacheManager(localSpec, remote, context.build(), CacheNames.ALL);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "profile.cache.circuit-breaker", name = "enabled", matchIfMissing = true)
+    public RedisCircuitBreaker redisCircuitBreaker(ProfileCacheProperties properties, MeterRegistry meterRegistry) {
+        return new RedisCircuitBreaker(properties.getCircuitBreaker(), meterRegistry);
+    }
+
+    /**
+     * Write batching for the shared Lettuce connection. Without Redis (or
+     * with a non-Lettuce factory) it stays detached and does nothing.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "profile.cache.connection", name = "mode", havingValue = "shared", matchIfMissing = true)
+    public RedisCommandBatcher redisCommandBatcher(ProfileCacheProperties properties,
+                                                   MeterRegistry meterRegistry,
+                                                   ObjectProvider<RedisConnectionFactory> redisConnectionFactory) {
+        RedisCommandBatcher batcher = new RedisCommandBatcher(properties.getConnection(), meterRegistry);
+        if (redisConnectionFactory.getIfAvailable() instanceof LettuceConnectionFactory lettuce) {
+            batcher.attach(lettuce);
+        }
+        return batcher;
+    }
+
+    /**
+     * Serves repeated reads from their rendered bytes. Registered at the
+     * default (lowest) filter order, so Spring Security's chain still runs
+     * first for every request.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "profile.cache.response-bytes", name = "enabled", matchIfMissing = true)
+    public FilterRegistrationBean<ResponseBytesCacheFilter> responseBytesCacheFilter(CacheManager cacheManager,
+                                                                                     ProfileCacheProperties properties,
+                                                                                     HttpCacheProperties httpCacheProperties,
+                                                                                     MeterRegistry meterRegistry) {
+        ResponseBytesCacheFilter filter = new ResponseBytesCacheFilter(cacheManager,
+                properties.getResponseBytes(),
+                List.of(HttpHeaders.CACHE_CONTROL, httpCacheProperties.getSurrogateKeyHeader()),
+                meterRegistry);
+        FilterRegistrationBean<ResponseBytesCacheFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    /**
+     * Shares anonymous GET responses for about a second. A bean of its own,
+     * so it hears the committed writes that flush it.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "profile.http-cache.micro-cache", name = "enabled", matchIfMissing = true)
+    public MicroCacheFilter microCache(HttpCacheProperties httpCacheProperties,
+                                       BearerTokenResolver bearerTokenResolver,
+                                       MeterRegistry meterRegistry) {
+        return new MicroCacheFilter(httpCacheProperties.getMicroCache(), bearerTokenResolver, meterRegistry);
+    }
+
+    /**
+     * Registers {@link #microCache} just ahead of Spring Security's chain, so
+     * a burst of identical requests is answered without running it.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "profile.http-cache.micro-cache", name = "enabled", matchIfMissing = true)
+    public FilterRegistrationBean<MicroCacheFilter> microCacheFilter(MicroCacheFilter microCache) {
+        FilterRegistrationBean<MicroCacheFilter> registration = new FilterRegistrationBean<>(microCache);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    /** Shows up as {@code redisCircuitBreaker} under {@code /actuator/health}. */
+    @Bean
+    @ConditionalOnProperty(prefix = "profile.cache.circuit-breaker", name = "enabled", matchIfMissing = true)
+    public RedisCircuitBreakerHealthIndicator redisCircuitBreakerHealthIndicator(RedisCircuitBreaker breaker) {
+        return new RedisCircuitBreakerHealthIndicator(breaker);
+    }
+
+    /**
+     * Bounded pool for stale-entry reloads. The manager shuts it down on
+     * close. A full queue rejects the task (the cache then skips that reload)
+     * instead of running it on the request thread, which would defeat the
+     * point of serving stale.
+     */
+    private static ExecutorService refreshExecutor(ProfileCacheProperties.StaleWhileRevalidate swr) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-refresh-");
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(swr.getRefreshThreads(), swr.getRefreshThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(swr.getRefreshQueueCapacity()),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Per-cache Redis configuration. Because Boot's cache auto-config backs
+     * off, its {@code spring.cache.redis} settings (key prefix, null values,
+     * default TTL) are applied here by hand, plus our additions:
+     * <ul>
+     *   <li>TTL per cache from {@code spring.cache.redis.cache-ttl}, spread by
+     *       {@code ttl-jitter-percent} so entries written together don't expire
+     *       together.</li>
+     *   <li>Values go through our own codec so DTOs don't need
+     *       {@code Serializable}. {@code profile.cache.codec} picks compact
+     *       Smile (default), which still reads JSON entries, or plain JSON for
+     *       debugging in redis-cli.</li>
+     *   <li>Large values are Deflate-compressed, with metrics tagged per cache.</li>
+     * </ul>
+     */
+    @Bean
+    public RedisCacheManagerBuilderCustomizer redisCacheConfigurationCustomizer(ProfileCacheProperties properties,
+                                                                                CacheProperties cacheProperties,
+                                                                                RedisCacheTtlProperties ttlProperties,
+                                                                                CacheSchemaVersions schemaVersions,
+                                                                                MeterRegistry meterRegistry) {
+        RedisSerializer<Object> json = jsonValueSerializer();
+        RedisSerializer<Object> codec = properties.getCodec() == ProfileCacheProperties.Codec.SMILE
+                ? new SmileCacheValueSerializer(json)
+                : json;
+        CacheProperties.Redis redis = cacheProperties.getRedis();
+        Duration defaultTtl = redis.getTimeToLive() != null ? redis.getTimeToLive() : Duration.ofDays(7);
+        RedisCacheConfiguration base = redis.isUseKeyPrefix()
+                ? baseConfiguration(redis).computePrefixWith(schemaVersions.keyPrefix(cacheKeyPrefix(cacheProperties)))
+                : baseConfiguration(redis);
+        Function<String, RedisCacheConfiguration> perCache = cacheName -> base
+                .entryTtl(new JitteredTtlFunction(ttlProperties.ttlFor(cacheName, defaultTtl),
+                        ttlProperties.getTtlJitterPercent(), properties.getNegative().getTtl()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        compressing(codec, properties.getCompression(), cacheName, meterRegistry)));
+        return builder -> {
+            builder.cacheDefaults(perCache.apply("default"));
+            CacheNames.ALL.forEach(cacheName -> builder.withCacheConfiguration(cacheName, perCache.apply(cacheName)));
+        };
+    }
+
+    /**
+     * Schema version of each cache's DTOs and the {@link CacheEntry} envelope
+     * around them, folded into its Redis keys. The packed profile hash and the
+     * portfolio cache each get one version covering all four sections. With
+     * {@code profile.cache.schema-version.enabled: false} nothing is versioned.
      */
     @Bean
-    public RedisCacheManagerBuilderCustomizer jsonRedisCacheManagerCustomizer() {
+    public CacheSchemaVersions cacheSchemaVersions(ProfileCacheProperties properties) {
+        Map<String, List<Class<?>>> valueTypes = new LinkedHashMap<>();
+        if (properties.getSchemaVersion().isEnabled()) {
+            for (ProfileSection section : ProfileSection.values()) {
+                valueTypes.put(section.byIdCache(), List.of(CacheEntry.class, section.dtoType()));
+                if (section.byProfileCache() != null) {
+                    valueTypes.put(section.byProfileCache(), List.of(CacheEntry.class, section.dtoType()));
+                }
+                valueTypes.put(section.pageCache(), List.of(CacheEntry.class, PageDTO.class, section.dtoType()));
+            }
+            List<Class<?>> packed = new ArrayList<>(List.of(CacheEntry.class));
+            CacheNames.BY_PROFILE_ID.forEach(name -> packed.add(ProfileSection.forCache(name).dtoType()));
+            valueTypes.put(ProfileHashCacheManager.HASH_NAME, packed);
+            // the list element types aren't reached through PortfolioDTO's fields, so name them too
+            List<Class<?>> portfolio = new ArrayList<>(List.of(CacheEntry.class, PortfolioDTO.class));
+            portfolio.addAll(packed.subList(1, packed.size()));
+            valueTypes.put(CacheNames.PORTFOLIO_BY_PROFILE, portfolio);
+        }
+        return new CacheSchemaVersions(valueTypes);
+    }
+
+    /** Removes keys of old schema versions in the background. Needs Redis. */
+    @Bean
+    @ConditionalOnProperty(prefix = "profile.cache.schema-version.cleanup", name = "enabled", havingValue = "true")
+    public OrphanedKeySweeper orphanedKeySweeper(RedisConnectionFactory connectionFactory,
+                                                 CacheProperties cacheProperties,
+                                                 CacheSchemaVersions schemaVersions,
+                                                 ProfileCacheProperties properties,
+                                                 MeterRegistry meterRegistry) {
+        return new OrphanedKeySweeper(connectionFactory, cacheKeyPrefix(cacheProperties), schemaVersions,
+                properties.getSchemaVersion().getCleanup(), meterRegistry);
+    }
+
+    /** The {@code spring.cache.redis.key-prefix} cache keys start with, so leases sit next to them. */
+    private static String cacheKeyPrefix(CacheProperties cacheProperties) {
+        CacheProperties.Redis redis = cacheProperties.getRedis();
+        return redis.isUseKeyPrefix() && redis.getKeyPrefix() != null ? redis.getKeyPrefix() : "";
+    }
+
+    /** Mirrors what Boot's cache auto-config would derive from {@code spring.cache.redis}. */
+    private static RedisCacheConfiguration baseConfiguration(CacheProperties.Redis redis) {
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig();
+        if (redis.getKeyPrefix() != null) {
+            config = config.prefixCacheNameWith(redis.getKeyPrefix());
+        }
+        if (!redis.isCacheNullValues()) {
+            config = config.disableCachingNullValues();
+        }
+        if (!redis.isUseKeyPrefix()) {
+            config = config.disableKeyPrefix();
+        }
+        return config;
+    }
+
+    private static RedisSerializer<Object> compressing(RedisSerializer<Object> codec,
+                                                       ProfileCacheProperties.Compression compression,
+                                                       String cacheName,
+                                                       MeterRegistry meterRegistry) {
+        return compression.isEnabled()
+                ? new CompressingValueSerializer(codec, compression.getThreshold(), compression.getLevel(),
+                        cacheName, meterRegistry)
+                : codec;
+    }
+
+    /**
+     * JSON value serializer. Polymorphic type info is written so Jackson can
+     * rebuild the concrete class on read (needed for {@code List<DTO>} return
+     * types and the {@code CacheEntry} envelope).
+     */
+    public static GenericJackson2JsonRedisSerializer jsonValueSerializer() {
         ObjectMapper mapper = new ObjectMapper()
                 .registerModule(new JavaTimeModule())
                 .activateDefaultTyping(
@@ -61,11 +444,54 @@ public class CacheConfig {
                                 .build(),
                         ObjectMapper.DefaultTyping.NON_FINAL,
                         JsonTypeInfo.As.PROPERTY);
-        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(mapper);
-        RedisCacheConfiguration jsonConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofDays(7))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
-        return builder -> builder.cacheDefaults(jsonConfig);
+        return new GenericJackson2JsonRedisSerializer(mapper);
+    }
+
+    /**
+     * Rough heap footprint of a cached value: {@link #ROW_WEIGHT} per row it
+     * holds, and {@link #ABSENT_WEIGHT} for an absent marker. Counting rows
+     * costs nothing on the insert path, where rendering the value would walk
+     * its whole object graph, and still weighs a long list above a single card.
+     */
+    private static int approximateWeight(Object value) {
+        Object payload = value instanceof CacheEntry entry ? entry.getValue() : value;
+        if (payload == null) {
+            return ABSENT_WEIGHT;
+        }
+        return Math.max(1, rows(payload)) * ROW_WEIGHT;
+    }
+
+    private static int rows(Object payload) {
+        if (payload instanceof Collection<?> list) {
+            return list.size();
+        }
+        if (payload instanceof PageDTO<?> page) {
+            return rows(page.getItems());
+        }
+        if (payload instanceof PortfolioDTO portfolio) {
+            return 1 + rows(portfolio.getExperiences()) + rows(portfolio.getAchievements())
+                    + rows(portfolio.getAspirations());
+        }
+        return 1;
+    }
+
+    /** Treats {@link ResourceNotFoundException} as "absent" and rebuilds it per section. */
+    static final class NotFoundPolicy implements AbsentKeyPolicy {
+        @Override
+        public boolean isAbsent(Throwable loaderFailure) {
+            for (Throwable t = loaderFailure; t != null; t = t.getCause() != t ? t.getCause() : null) {
+                if (t instanceof ResourceNotFoundException) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public RuntimeException absent(String cacheName, Object key) {
+            ProfileSection section = ProfileSection.forIdKeyedCache(cacheName);
+            return section != null ? section.notFound(key) : new ResourceNotFoundException("Not found: " + key);
+        }
     }
 
     /** Logs cache backend errors at WARN + continues as if the cache were empty. */
@@ -0,0 +1,27 @@
+package dev.bored.profile.config;
+
+import dev.bored.profile.cdn.LoggingPurgeSink;
+import dev.bored.profile.cdn.PurgeSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * HTTP caching in front of the service: the caching headers of the read
+ * endpoints and the CDN purge sink.
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+@Configuration
+@EnableConfigurationProperties(HttpCacheProperties.class)
+public class HttpCacheConfig {
+
+    /** Logs purges until a CDN-backed {@link PurgeSink} bean is declared. */
+    @Bean
+    @ConditionalOnMissingBean(PurgeSink.class)
+    public PurgeSink purgeSink() {
+        return new LoggingPurgeSink();
+    }
+}
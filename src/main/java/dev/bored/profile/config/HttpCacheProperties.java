@@ -0,0 +1,72 @@
+package dev.bored.profile.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.CacheControl;
+
+import java.time.Duration;
+
+/**
+ * Caching headers on the public read endpoints, bound from {@code profile.http-cache.*}.
+ *
+ * <p>Browsers are told to revalidate (cheap, thanks to the ETags); shared
+ * caches in front of Cloud Run may keep a response for {@code s-max-age},
+ * and a write purges the affected responses by surrogate key before that.</p>
+ *
+ * <p>Inside the service, a {@link MicroCache} absorbs bursts of identical
+ * anonymous GETs.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "profile.http-cache")
+public class HttpCacheProperties {
+
+    /** How long a browser may reuse a response without revalidating it. */
+    private Duration maxAge = Duration.ZERO;
+
+    /** How long a shared cache (the CDN) may serve a response. */
+    private Duration sMaxAge = Duration.ofMinutes(1);
+
+    /** How long past its freshness a cache may serve a response while refetching it. */
+    private Duration staleWhileRevalidate = Duration.ofMinutes(1);
+
+    /** How long past its freshness a cache may serve a response while the origin errors. */
+    private Duration staleIfError = Duration.ofDays(1);
+
+    /** Header the surrogate keys go in — {@code Cache-Tag} for some CDNs. */
+    private String surrogateKeyHeader = "Surrogate-Key";
+
+    /** Short-lived in-process cache of whole GET responses, ahead of the security chain. */
+    private final MicroCache microCache = new MicroCache();
+
+    /** @return the {@code Cache-Control} the read endpoints send */
+    public CacheControl cacheControl() {
+        return CacheControl.maxAge(maxAge)
+                .cachePublic()
+                .sMaxAge(sMaxAge)
+                .staleWhileRevalidate(staleWhileRevalidate)
+                .staleIfError(staleIfError);
+    }
+
+    /** Settings for the burst-absorbing micro-cache. */
+    @Getter
+    @Setter
+    public static class MicroCache {
+
+        /** Whether anonymous GET responses are shared for {@link #ttl}. */
+        private boolean enabled = true;
+
+        /** How long a response is shared, from when the request that produced it started. */
+        private Duration ttl = Duration.ofSeconds(1);
+
+        /** Most responses held at once. */
+        private long maximumSize = 1_000;
+
+        /** Longest a request waits on an identical in-flight one before running itself. */
+        private Duration maxWait = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,406 @@
+package dev.bored.profile.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tuning knobs for the service-side cache layers, bound from {@code profile.cache.*}.
+ *
+ * <p>Redis connection + default TTL settings stay under Spring's own
+ * {@code spring.data.redis} / {@code spring.cache.redis} namespaces; this
+ * class only covers what we layer on top of them.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-16
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "profile.cache")
+public class ProfileCacheProperties {
+
+    /** Wire format for values stored in Redis. */
+    private Codec codec = Codec.SMILE;
+
+    /** How entries are laid out in Redis. */
+    private Layout layout = Layout.KEYS;
+
+    /** Compression of large Redis values. */
+    private final Compression compression = new Compression();
+
+    /** In-process L1 tier that fronts Redis (or stands alone without it). */
+    private final Local local = new Local();
+
+    /** Cross-instance L1 invalidation over Redis pub/sub. */
+    private final Invalidation invalidation = new Invalidation();
+
+    /** Post-commit repopulation of caches instead of eviction. */
+    private final WriteThrough writeThrough = new WriteThrough();
+
+    /** Soft expiry + background refresh of cached entries. */
+    private final StaleWhileRevalidate staleWhileRevalidate = new StaleWhileRevalidate();
+
+    /** Short-lived caching of "not found" answers. */
+    private final Negative negative = new Negative();
+
+    /** In-process filter that turns away ids that can't exist. */
+    private final ExistenceFilter existenceFilter = new ExistenceFilter();
+
+    /** Circuit breaker in front of every Redis call the caches make. */
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    /** Racing slow Redis reads against the database. */
+    private final Hedging hedging = new Hedging();
+
+    /** How cache calls share Lettuce connections. */
+    private final Connection connection = new Connection();
+
+    /** Cross-instance lease on rebuilding a missing or stale entry. */
+    private final RebuildLease rebuildLease = new RebuildLease();
+
+    /** DTO schema versions in Redis keys, and cleanup of old versions. */
+    private final SchemaVersion schemaVersion = new SchemaVersion();
+
+    /** Off-heap cache of rendered read responses. */
+    private final ResponseBytes responseBytes = new ResponseBytes();
+
+    /** Formats the Redis tier can store cached values in. */
+    public enum Codec {
+
+        /** Default-typed JSON, readable in {@code redis-cli} but roughly twice the size. */
+        JSON,
+
+        /** Versioned binary header + Smile payload; still reads JSON entries. */
+        SMILE
+    }
+
+    /** Ways the Redis tier can lay out cached entries. */
+    public enum Layout {
+
+        /** One Redis string per cache entry. */
+        KEYS,
+
+        /**
+         * The caches keyed by profile id share one Redis hash per profile, so
+         * a page's sections come back with a single {@code HGETALL}. Other
+         * caches stay one key per entry.
+         */
+        PROFILE_HASH
+    }
+
+    /** Settings for compressing values on their way into Redis. */
+    @Getter
+    @Setter
+    public static class Compression {
+
+        /** Whether values over {@link #threshold} are Deflate-compressed. */
+        private boolean enabled = true;
+
+        /**
+         * Smallest serialized value, in bytes, worth compressing. Below this
+         * the saved bandwidth doesn't pay for the CPU.
+         */
+        private int threshold = 1024;
+
+        /** Deflate level: 1 is fastest, 9 smallest. */
+        private int level = 1;
+    }
+
+    /** Settings for the bounded in-process L1 caches. */
+    @Getter
+    @Setter
+    public static class Local {
+
+        /**
+         * Approximate upper bound, in bytes, on what each L1 cache may hold.
+         * Entries are weighed at about a kilobyte per row they hold, so one
+         * long experience list counts for more than a single profile card.
+         */
+        private long maximumWeight = 8L * 1024 * 1024;
+
+        /**
+         * Safety-net expiry for L1 entries. Pub/sub is fire-and-forget, so a
+         * dropped invalidation must not leave an instance stale forever.
+         */
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+    }
+
+    /** Settings for the Redis pub/sub invalidation channel. */
+    @Getter
+    @Setter
+    public static class Invalidation {
+
+        /** Channel every instance publishes evictions to and listens on. */
+        private String channel = "profile-svc:cache-invalidation";
+    }
+
+    /** Settings for write-through cache maintenance. */
+    @Getter
+    @Setter
+    public static class WriteThrough {
+
+        /**
+         * When {@code true}, a committed write reloads the owning profile's
+         * section list and stores the returned DTO instead of evicting them,
+         * so the next visitor after an edit still gets a cache hit.
+         */
+        private boolean enabled = false;
+    }
+
+    /** Settings for serving stale entries while they are reloaded in the background. */
+    @Getter
+    @Setter
+    public static class StaleWhileRevalidate {
+
+        /**
+         * Age after which a cached entry is considered stale. It is still
+         * served, but the read also schedules a reload. Keep this well below
+         * the Redis hard TTL ({@code spring.cache.redis.time-to-live}), or
+         * entries will hard-expire before they ever get refreshed.
+         */
+        private Duration softTtl = Duration.ofHours(12);
+
+        /** Per-cache overrides of {@link #softTtl}, keyed by cache name. */
+        private Map<String, Duration> caches = new LinkedHashMap<>();
+
+        /** Threads reloading stale entries. Kept small — reloads share the Hikari pool. */
+        private int refreshThreads = 2;
+
+        /**
+         * Reloads that may queue behind the refresh threads. Past this, a stale
+         * hit skips scheduling and the next one tries again.
+         */
+        private int refreshQueueCapacity = 64;
+
+        /**
+         * @param cacheName the cache to resolve
+         * @return the override for {@code cacheName}, or the default soft TTL
+         */
+        public Duration softTtlFor(String cacheName) {
+            return caches.getOrDefault(cacheName, softTtl);
+        }
+    }
+
+    /** Settings for negative caching of by-id lookups. */
+    @Getter
+    @Setter
+    public static class Negative {
+
+        /** Whether "not found" answers are cached at all. */
+        private boolean enabled = true;
+
+        /**
+         * How long a "not found" is remembered, in L1 and Redis alike. Creates
+         * evict the marker right away; this only bounds how long a probe for
+         * a missing id stays cheap.
+         */
+        private Duration ttl = Duration.ofSeconds(60);
+    }
+
+    /** Settings for the per-section id existence filters. */
+    @Getter
+    @Setter
+    public static class ExistenceFilter {
+
+        /** Whether by-id reads are checked against the filter first. Needs {@link Negative#enabled}. */
+        private boolean enabled = true;
+
+        /** Ids each filter is sized for; grown to twice the row count on rebuild if needed. */
+        private long expectedInsertions = 10_000;
+
+        /** Share of unknown ids the filter lets through to the cache and database. */
+        private double falsePositiveRate = 0.01;
+
+        /** How often the filters are rebuilt from the database. */
+        private Duration rebuildInterval = Duration.ofHours(6);
+    }
+
+    /** Settings for the Redis circuit breaker. */
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+
+        /** Whether Redis calls go through the breaker at all. */
+        private boolean enabled = true;
+
+        /** Number of most recent Redis calls the failure rate is computed over. */
+        private int windowSize = 20;
+
+        /** Calls the window must hold before the breaker may open. */
+        private int minimumCalls = 10;
+
+        /** Percentage of failed or slow calls in the window that opens the breaker. */
+        private int failureRateThreshold = 50;
+
+        /**
+         * A call that takes at least this long counts as failed, so a Redis
+         * that answers only just inside the Lettuce timeout still trips the breaker.
+         */
+        private Duration slowCallThreshold = Duration.ofMillis(250);
+
+        /** How long the breaker stays open before letting probe calls through. */
+        private Duration waitInOpenState = Duration.ofSeconds(30);
+
+        /** Probe calls allowed while half-open; all must succeed to close again. */
+        private int halfOpenProbes = 3;
+
+        /**
+         * Evictions skipped while open are replayed on close, so Redis doesn't
+         * keep serving what the database has since changed. Past this many per
+         * cache the whole cache is cleared instead.
+         */
+        private int maxDeferredEvictions = 1_000;
+    }
+
+    /** Settings for hedged L2 reads. */
+    @Getter
+    @Setter
+    public static class Hedging {
+
+        /** Whether a slow Redis read starts the loader in parallel. Off by default. */
+        private boolean enabled = false;
+
+        /**
+         * How long a Redis read may take before the loader is started too.
+         * With {@link #delayPercentile} set, only used until enough reads have
+         * been timed.
+         */
+        private Duration delay = Duration.ofMillis(50);
+
+        /**
+         * When 1-99, the hedge delay tracks this percentile of recent Redis read
+         * times (e.g. 95 hedges the slowest 5%). 0 keeps {@link #delay} fixed.
+         */
+        private int delayPercentile = 95;
+
+        /** Floor for the tracked delay, so a very fast Redis doesn't hedge on noise. */
+        private Duration minDelay = Duration.ofMillis(5);
+
+        /**
+         * Hedged loads allowed at once across all caches. Keep it well under
+         * the Hikari pool size ({@code spring.datasource.hikari.maximum-pool-size}).
+         */
+        private int maxConcurrent = 2;
+    }
+
+    /** Settings for the cross-instance rebuild lease. */
+    @Getter
+    @Setter
+    public static class RebuildLease {
+
+        /** Whether an L2 miss takes a Redis lease before running the loader. */
+        private boolean enabled = true;
+
+        /**
+         * How long a lease lives if its holder never releases it, e.g. because
+         * the instance was stopped mid-load. Keep it above a slow load.
+         */
+        private Duration leaseTime = Duration.ofSeconds(5);
+
+        /** How often an instance that lost the lease re-reads Redis for the result. */
+        private Duration pollInterval = Duration.ofMillis(25);
+
+        /**
+         * How long an instance that lost the lease waits for the result
+         * before running the loader itself.
+         */
+        private Duration maxWait = Duration.ofMillis(500);
+    }
+
+    /** Settings for schema-versioned cache keys. */
+    @Getter
+    @Setter
+    public static class SchemaVersion {
+
+        /**
+         * Whether each cache's keys carry a fingerprint of its DTOs, so a
+         * release that changes them starts on fresh keys.
+         */
+        private boolean enabled = true;
+
+        /** Background removal of keys written under other versions. */
+        private final Cleanup cleanup = new Cleanup();
+
+        /** Settings for the orphaned key sweeper. */
+        @Getter
+        @Setter
+        public static class Cleanup {
+
+            /** Whether old-version keys are swept. Off by default: the TTL removes them too. */
+            private boolean enabled = false;
+
+            /** Keys requested per {@code SCAN} and removed per {@code UNLINK}. */
+            private int batchSize = 100;
+
+            /** Pause after each removed batch. */
+            private Duration pauseBetweenBatches = Duration.ofMillis(100);
+
+            /** Delay before the first sweep, so the previous revision has drained. */
+            private Duration initialDelay = Duration.ofMinutes(15);
+
+            /** Delay between the end of one sweep and the start of the next. */
+            private Duration interval = Duration.ofHours(24);
+        }
+    }
+
+    /** Settings for how cache calls use Lettuce connections. */
+    @Getter
+    @Setter
+    public static class Connection {
+
+        /** Whether cache calls share one connection or borrow from the pool. */
+        private Mode mode = Mode.SHARED;
+
+        /**
+         * Flush the shared connection once this many commands are waiting,
+         * without waiting for {@link #flushInterval}.
+         */
+        private int flushBatchSize = 32;
+
+        /**
+         * Longest a command waits on the shared connection for others to
+         * share its write. Bounds the latency batching can add.
+         */
+        private Duration flushInterval = Duration.ofNanos(100_000);
+
+        /** Ways cache calls can get a Lettuce connection. */
+        public enum Mode {
+
+            /**
+             * Each call borrows a connection from the Lettuce pool
+             * ({@code spring.data.redis.lettuce.pool}) and holds it until the
+             * reply arrives.
+             */
+            POOLED,
+
+            /**
+             * Every call goes over one thread-safe connection; commands issued
+             * concurrently are written together and flushed on size or time.
+             * Pipelines and transactions still use the pool.
+             */
+            SHARED
+        }
+    }
+
+    /** Settings for the off-heap cache of rendered JSON responses. */
+    @Getter
+    @Setter
+    public static class ResponseBytes {
+
+        /** Whether cached GET responses are served from their stored bytes. */
+        private boolean enabled = true;
+
+        /** Upper bound, in bytes, on the direct memory the stored responses take. */
+        private long maximumWeight = 16L * 1024 * 1024;
+
+        /**
+         * Bodies at least this many bytes are also stored gzip-compressed,
+         * for clients that accept it. Smaller ones aren't worth the header.
+         */
+        private int gzipThreshold = 1024;
+    }
+}
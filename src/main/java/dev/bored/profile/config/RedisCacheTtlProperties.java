@@ -0,0 +1,44 @@
+package dev.bored.profile.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-cache TTL settings, bound next to Boot's own keys under
+ * {@code spring.cache.redis}.
+ *
+ * <p>Boot's {@code CacheProperties} only has one {@code time-to-live} for
+ * every cache; this adds per-cache overrides and the jitter applied on top.
+ * Caches without an override use {@code spring.cache.redis.time-to-live}.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "spring.cache.redis")
+public class RedisCacheTtlProperties {
+
+    /** TTL overrides keyed by cache name. */
+    private Map<String, Duration> cacheTtl = new LinkedHashMap<>();
+
+    /**
+     * Each entry's TTL is drawn uniformly from {@code ttl ± this percent}, so
+     * entries written together don't all expire together.
+     */
+    private int ttlJitterPercent = 10;
+
+    /**
+     * @param cacheName  the cache to resolve
+     * @param defaultTtl TTL for caches without an override
+     * @return the override for {@code cacheName}, or {@code defaultTtl}
+     */
+    public Duration ttlFor(String cacheName, Duration defaultTtl) {
+        return cacheTtl.getOrDefault(cacheName, defaultTtl);
+    }
+}
@@ -1,10 +1,22 @@
 package dev.bored.profile.controller;
 
+import dev.bored.profile.dto.BatchDTO;
 import dev.bored.profile.dto.AchievementDTO;
+import dev.bored.profile.dto.PageDTO;
+import dev.bored.profile.dto.SectionBatchDTO;
+import dev.bored.profile.dto.SectionOrderDTO;
 import dev.bored.profile.service.AchievementService;
+import dev.bored.profile.service.BatchReads;
+import dev.bored.profile.service.CacheNames;
+import dev.bored.profile.service.PageKey;
+import dev.bored.profile.service.PageScopes;
+import dev.bored.profile.service.ProfileSection;
+import dev.bored.profile.service.SectionBatches;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -12,7 +24,9 @@ import java.util.List;
  * REST controller for managing achievement records associated with user profiles.
  * <p>
  * Exposes endpoints under {@code /api/v1/achievements} to create, read,
- * update, and delete achievement entries.
+ * update, and delete achievement entries, singly or as a batch, and to
+ * reorder them. A profile's achievements can be read whole, a keyset-paginated
+ * page at a time, or picked out by id.
  * </p>
  *
  * @author Bored Software Developer
@@ -24,29 +38,79 @@ import java.util.List;
 public class AchievementController {
 
     private final AchievementService achievementService;
+    private final PageScopes pageScopes;
+    private final ConditionalResponses conditionalResponses;
 
     /**
      * Retrieves all achievements belonging to a given profile.
      *
      * @param profileId the ID of the profile whose achievements are requested
      *                  (defaults to {@code 1})
-     * @return a list of {@link AchievementDTO} objects for the specified profile
+     * @param request   the current request, for conditional GET
+     * @return a list of {@link AchievementDTO} objects for the specified profile, or
+     *         {@code 304} if the client's copy is current
+     */
+    @GetMapping(params = {"!ids", "!limit", "!after"})
+    public ResponseEntity<List<AchievementDTO>> getAchievementsByProfileId(
+            @RequestParam(defaultValue = "1") Long profileId, WebRequest request) {
+        return conditionalResponses.get(CacheNames.ACHIEVEMENTS_BY_PROFILE, profileId, request,
+                () -> achievementService.getAchievementsByProfileId(profileId));
+    }
+
+    /**
+     * Retrieves one page of the achievements belonging to a given profile, ordered
+     * by sort order. Chosen over the full list when {@code limit} or
+     * {@code after} is given.
+     *
+     * @param profileId the ID of the profile whose achievements are requested
+     *                  (defaults to {@code 1})
+     * @param limit     the most achievements to return (defaults to {@value PageScopes#DEFAULT_LIMIT},
+     *                  at most {@value PageScopes#MAX_LIMIT})
+     * @param after     the {@code nextCursor} of the previous page; omitted for the first page
+     * @param request   the current request, for conditional GET
+     * @return the page of {@link AchievementDTO} objects with the cursor of the next one, or
+     *         {@code 304} if the client's copy is current
      */
     @GetMapping
-    public List<AchievementDTO> getAchievementsByProfileId(
-            @RequestParam(defaultValue = "1") Long profileId) {
-        return achievementService.getAchievementsByProfileId(profileId);
+    public ResponseEntity<PageDTO<AchievementDTO>> getAchievementsPage(
+            @RequestParam(defaultValue = "1") Long profileId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) {
+        PageKey page = pageScopes.keyFor(ProfileSection.ACHIEVEMENTS, profileId, limit, after);
+        return conditionalResponses.get(CacheNames.ACHIEVEMENT_PAGES_BY_PROFILE, page, request,
+                () -> achievementService.getAchievementsPage(page));
+    }
+
+    /**
+     * Retrieves several achievements by their IDs, e.g. {@code ?ids=3,1,2}. Chosen over
+     * the list and page endpoints when {@code ids} is given.
+     *
+     * @param ids     the IDs of the achievements to retrieve, at most {@value BatchReads#MAX_IDS}
+     * @param request the current request, for conditional GET
+     * @return the {@link AchievementDTO} objects found, in the order of {@code ids}, and the IDs
+     *         with no achievement; {@code 304} if the client's copy is current, {@code 400} if no IDs
+     *         or too many are given
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchDTO<AchievementDTO>> getAchievementsByIds(@RequestParam List<Long> ids,
+                                                                         WebRequest request) {
+        return conditionalResponses.batch(ProfileSection.ACHIEVEMENTS, ids, request,
+                () -> achievementService.getAchievementsByIds(ids));
     }
 
     /**
      * Retrieves a single achievement by its ID.
      *
      * @param achievementId the ID of the achievement to retrieve
-     * @return the {@link AchievementDTO} corresponding to the given ID
+     * @param request       the current request, for conditional GET
+     * @return the {@link AchievementDTO} corresponding to the given ID, or
+     *         {@code 304} if the client's copy is current
      */
     @GetMapping("/{achievementId}")
-    public AchievementDTO getAchievementById(@PathVariable Long achievementId) {
-        return achievementService.getAchievementById(achievementId);
+    public ResponseEntity<AchievementDTO> getAchievementById(@PathVariable Long achievementId, WebRequest request) {
+        return conditionalResponses.get(CacheNames.ACHIEVEMENT_BY_ID, achievementId, request,
+                () -> achievementService.getAchievementById(achievementId));
     }
 
     /**
@@ -85,4 +149,29 @@ public class AchievementController {
     public boolean deleteAchievement(@PathVariable Long achievementId) {
         return achievementService.deleteAchievement(achievementId);
     }
+
+    /**
+     * Moves a profile's achievements into the given order in one statement.
+     *
+     * @param order the profile ID and every one of its achievement IDs, in their new order
+     * @return the profile's achievements in their new order
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PutMapping("/order")
+    public List<AchievementDTO> reorderAchievements(@RequestBody SectionOrderDTO order) {
+        return achievementService.reorderAchievements(order);
+    }
+
+    /**
+     * Applies creates, updates and deletes of one profile's achievements together, in
+     * one transaction.
+     *
+     * @param batch the changes, at most {@value SectionBatches#MAX_OPERATIONS} in all
+     * @return the changes made, with the IDs given to the created achievements
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/batch")
+    public SectionBatchDTO<AchievementDTO> applyAchievementBatch(@RequestBody SectionBatchDTO<AchievementDTO> batch) {
+        return achievementService.applyAchievementBatch(batch);
+    }
 }
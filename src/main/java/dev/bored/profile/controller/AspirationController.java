@@ -1,10 +1,22 @@
 package dev.bored.profile.controller;
 
+import dev.bored.profile.dto.BatchDTO;
 import dev.bored.profile.dto.AspirationDTO;
+import dev.bored.profile.dto.PageDTO;
+import dev.bored.profile.dto.SectionBatchDTO;
+import dev.bored.profile.dto.SectionOrderDTO;
 import dev.bored.profile.service.AspirationService;
+import dev.bored.profile.service.BatchReads;
+import dev.bored.profile.service.CacheNames;
+import dev.bored.profile.service.PageKey;
+import dev.bored.profile.service.PageScopes;
+import dev.bored.profile.service.ProfileSection;
+import dev.bored.profile.service.SectionBatches;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -12,7 +24,9 @@ import java.util.List;
  * REST controller for managing aspiration records associated with user profiles.
  * <p>
  * Exposes endpoints under {@code /api/v1/aspirations} to create, read,
- * update, and delete aspiration entries.
+ * update, and delete aspiration entries, singly or as a batch, and to
+ * reorder them. A profile's aspirations can be read whole, a keyset-paginated
+ * page at a time, or picked out by id.
  * </p>
  *
  * @author Bored Software Developer
@@ -24,29 +38,79 @@ import java.util.List;
 public class AspirationController {
 
     private final AspirationService aspirationService;
+    private final PageScopes pageScopes;
+    private final ConditionalResponses conditionalResponses;
 
     /**
      * Retrieves all aspirations belonging to a given profile.
      *
      * @param profileId the ID of the profile whose aspirations are requested
      *                  (defaults to {@code 1})
-     * @return a list of {@link AspirationDTO} objects for the specified profile
+     * @param request   the current request, for conditional GET
+     * @return a list of {@link AspirationDTO} objects for the specified profile, or
+     *         {@code 304} if the client's copy is current
+     */
+    @GetMapping(params = {"!ids", "!limit", "!after"})
+    public ResponseEntity<List<AspirationDTO>> getAspirationsByProfileId(
+            @RequestParam(defaultValue = "1") Long profileId, WebRequest request) {
+        return conditionalResponses.get(CacheNames.ASPIRATIONS_BY_PROFILE, profileId, request,
+                () -> aspirationService.getAspirationsByProfileId(profileId));
+    }
+
+    /**
+     * Retrieves one page of the aspirations belonging to a given profile, ordered
+     * by sort order. Chosen over the full list when {@code limit} or
+     * {@code after} is given.
+     *
+     * @param profileId the ID of the profile whose aspirations are requested
+     *                  (defaults to {@code 1})
+     * @param limit     the most aspirations to return (defaults to {@value PageScopes#DEFAULT_LIMIT},
+     *                  at most {@value PageScopes#MAX_LIMIT})
+     * @param after     the {@code nextCursor} of the previous page; omitted for the first page
+     * @param request   the current request, for conditional GET
+     * @return the page of {@link AspirationDTO} objects with the cursor of the next one, or
+     *         {@code 304} if the client's copy is current
      */
     @GetMapping
-    public List<AspirationDTO> getAspirationsByProfileId(
-            @RequestParam(defaultValue = "1") Long profileId) {
-        return aspirationService.getAspirationsByProfileId(profileId);
+    public ResponseEntity<PageDTO<AspirationDTO>> getAspirationsPage(
+            @RequestParam(defaultValue = "1") Long profileId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) {
+        PageKey page = pageScopes.keyFor(ProfileSection.ASPIRATIONS, profileId, limit, after);
+        return conditionalResponses.get(CacheNames.ASPIRATION_PAGES_BY_PROFILE, page, request,
+                () -> aspirationService.getAspirationsPage(page));
+    }
+
+    /**
+     * Retrieves several aspirations by their IDs, e.g. {@code ?ids=3,1,2}. Chosen over
+     * the list and page endpoints when {@code ids} is given.
+     *
+     * @param ids     the IDs of the aspirations to retrieve, at most {@value BatchReads#MAX_IDS}
+     * @param request the current request, for conditional GET
+     * @return the {@link AspirationDTO} objects found, in the order of {@code ids}, and the IDs
+     *         with no aspiration; {@code 304} if the client's copy is current, {@code 400} if no IDs
+     *         or too many are given
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchDTO<AspirationDTO>> getAspirationsByIds(@RequestParam List<Long> ids,
+                                                                       WebRequest request) {
+        return conditionalResponses.batch(ProfileSection.ASPIRATIONS, ids, request,
+                () -> aspirationService.getAspirationsByIds(ids));
     }
 
     /**
      * Retrieves a single aspiration by its ID.
      *
      * @param aspirationId the ID of the aspiration to retrieve
-     * @return the {@link AspirationDTO} corresponding to the given ID
+     * @param request      the current request, for conditional GET
+     * @return the {@link AspirationDTO} corresponding to the given ID, or
+     *         {@code 304} if the client's copy is current
      */
     @GetMapping("/{aspirationId}")
-    public AspirationDTO getAspirationById(@PathVariable Long aspirationId) {
-        return aspirationService.getAspirationById(aspirationId);
+    public ResponseEntity<AspirationDTO> getAspirationById(@PathVariable Long aspirationId, WebRequest request) {
+        return conditionalResponses.get(CacheNames.ASPIRATION_BY_ID, aspirationId, request,
+                () -> aspirationService.getAspirationById(aspirationId));
     }
 
     /**
@@ -85,4 +149,29 @@ public class AspirationController {
     public boolean deleteAspiration(@PathVariable Long aspirationId) {
         return aspirationService.deleteAspiration(aspirationId);
     }
+
+    /**
+     * Moves a profile's aspirations into the given order in one statement.
+     *
+     * @param order the profile ID and every one of its aspiration IDs, in their new order
+     * @return the profile's aspirations in their new order
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PutMapping("/order")
+    public List<AspirationDTO> reorderAspirations(@RequestBody SectionOrderDTO order) {
+        return aspirationService.reorderAspirations(order);
+    }
+
+    /**
+     * Applies creates, updates and deletes of one profile's aspirations together, in
+     * one transaction.
+     *
+     * @param batch the changes, at most {@value SectionBatches#MAX_OPERATIONS} in all
+     * @return the changes made, with the IDs given to the created aspirations
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/batch")
+    public SectionBatchDTO<AspirationDTO> applyAspirationBatch(@RequestBody SectionBatchDTO<AspirationDTO> batch) {
+        return aspirationService.applyAspirationBatch(batch);
+    }
 }
@@ -0,0 +1,169 @@
+package dev.bored.profile.controller;
+
+import dev.bored.profile.cache.ResponseBytesCacheFilter;
+import dev.bored.profile.cache.TwoTierCache;
+import dev.bored.profile.cdn.SurrogateKeys;
+import dev.bored.profile.config.HttpCacheProperties;
+import dev.bored.profile.dto.BatchDTO;
+import dev.bored.profile.service.CacheNames;
+import dev.bored.profile.service.PageKey;
+import dev.bored.profile.service.ProfileSection;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET and caching headers for the read endpoints, driven by the
+ * entity tags {@link TwoTierCache} keeps next to each cached value.
+ *
+ * <p>A request whose {@code If-None-Match} matches the tag of the fresh
+ * entry cached under the endpoint's key is answered {@code 304} straight
+ * away: the service isn't called, so nothing is loaded from the database or
+ * serialized. Otherwise the service runs as usual (filling the cache) and the
+ * response carries the tag of the entry it left cached. When no fresh entry
+ * is cached — a cache that keeps no tags, or a value that wasn't cached — the
+ * response has no tag: one hashed from the body could never be matched here,
+ * so it would only cost a serialization per request. Writes through the services
+ * evict or replace the entry, so the next GET is tagged with the new
+ * content.</p>
+ *
+ * <p>Both carry the {@code Cache-Control} of {@link HttpCacheProperties} and
+ * the {@link SurrogateKeys} naming the response's profile and section, which
+ * the {@code SurrogateKeyPurgeListener} purges after writes.</p>
+ *
+ * <p>Batch reads by id span many entries, so they are tagged with a tag
+ * combined from the tags of every requested row (see
+ * {@link TwoTierCache#entityTagOfAll}), looked up in one batch read, and
+ * answered {@code 304} the same way. A batch with an id that isn't cached
+ * goes out untagged.</p>
+ *
+ * <p>A {@code 200} served from a cached entry — one whose tag is the same
+ * before and after the service call — is handed to the
+ * {@link ResponseBytesCacheFilter}, which serves its rendered bytes to the
+ * next requests for as long as that entry stays cached.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+@Component
+@AllArgsConstructor
+public class ConditionalResponses {
+
+    private final CacheManager cacheManager;
+    private final HttpCacheProperties properties;
+
+    /**
+     * @param cacheName the cache the service method reads through
+     * @param key       the service method's cache key
+     * @param request   the current request, for its {@code If-None-Match}
+     * @param read      the cached service call
+     * @param <T>       the response body type
+     * @return {@code 304} with no body, or {@code 200} with the body and the cached entry's {@code ETag}, if any
+     */
+    public <T> ResponseEntity<T> get(String cacheName, Object key, WebRequest request, Supplier<T> read) {
+        String cachedTag = cachedTag(cacheName, key);
+        if (cachedTag != null && request.checkNotModified(cachedTag)) {
+            // checkNotModified has already set the ETag header
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(properties.cacheControl())
+                    .header(properties.getSurrogateKeyHeader(), surrogateKeys(cacheName, key, null))
+                    .build();
+        }
+        T body = read.get();
+        String tag = cachedTag(cacheName, key);
+        if (tag != null && tag.equals(cachedTag) && ResponseBytesCacheFilter.isCapturing(request)) {
+            // the same fresh entry was cached before and after the read, so the body is that entry and its
+            // rendering can stand in for it until the entry changes; a miss is captured by the next request
+            ResponseBytesCacheFilter.capture(request, cacheName, key, tag);
+        }
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .cacheControl(properties.cacheControl())
+                .header(properties.getSurrogateKeyHeader(), surrogateKeys(cacheName, key, body));
+        if (tag != null) {
+            ok.eTag(tag);
+        }
+        return ok.body(body);
+    }
+
+    /**
+     * @param section the section the rows belong to
+     * @param ids     the requested ids
+     * @param request the current request, for its {@code If-None-Match}
+     * @param read    the batch service call
+     * @param <T>     the row type
+     * @return {@code 304} with no body, or {@code 200} with the rows and, when every requested id is cached,
+     *         their combined {@code ETag}; either way with the caching headers and the surrogate keys of
+     *         every requested row
+     */
+    public <T> ResponseEntity<BatchDTO<T>> batch(ProfileSection section, Collection<Long> ids, WebRequest request,
+                                                 Supplier<BatchDTO<T>> read) {
+        String cachedTag = cachedTagOfAll(section.byIdCache(), ids);
+        if (cachedTag != null && request.checkNotModified(cachedTag)) {
+            // checkNotModified has already set the ETag header
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(properties.cacheControl())
+                    .header(properties.getSurrogateKeyHeader(),
+                            String.join(" ", SurrogateKeys.forRows(section, ids, List.of())))
+                    .build();
+        }
+        BatchDTO<T> body = read.get();
+        String tag = cachedTagOfAll(section.byIdCache(), ids);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .cacheControl(properties.cacheControl())
+                .header(properties.getSurrogateKeyHeader(),
+                        String.join(" ", SurrogateKeys.forRows(section, ids, body.getItems())));
+        if (tag != null) {
+            ok.eTag(tag);
+        }
+        return ok.body(body);
+    }
+
+    /** The tag of the fresh entry cached under {@code key}, if there is one. */
+    @Nullable
+    private String cachedTag(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        return cache instanceof TwoTierCache twoTier ? twoTier.entityTag(key) : null;
+    }
+
+    /** The combined tag of the fresh entries cached under every one of {@code keys}, if they all have one. */
+    @Nullable
+    private String cachedTagOfAll(String cacheName, Collection<?> keys) {
+        Cache cache = cacheManager.getCache(cacheName);
+        return cache instanceof TwoTierCache twoTier ? twoTier.entityTagOfAll(keys) : null;
+    }
+
+    /**
+     * The surrogate keys of the response read through {@code cacheName}
+     * under {@code key}, as one space-separated header value; no value for
+     * caches outside the profile sections, their pages and the portfolio.
+     * A page is tagged like the whole list it is part of.
+     */
+    private static String[] surrogateKeys(String cacheName, Object key, @Nullable Object body) {
+        if (CacheNames.PORTFOLIO_BY_PROFILE.equals(cacheName)) {
+            return new String[]{String.join(" ", SurrogateKeys.forPortfolio(key))};
+        }
+        if (key instanceof PageKey page) {
+            ProfileSection section = ProfileSection.forPageCache(cacheName);
+            return page.profileId() == null || section == null
+                    ? new String[]{SurrogateKeys.directory()}
+                    : new String[]{String.join(" ", SurrogateKeys.forList(section, page.profileId()))};
+        }
+        ProfileSection section = ProfileSection.forCache(cacheName);
+        if (section == null) {
+            return new String[0];
+        }
+        List<String> keys = cacheName.equals(section.byProfileCache())
+                ? SurrogateKeys.forList(section, key)
+                : SurrogateKeys.forRow(section, key, body);
+        return new String[]{String.join(" ", keys)};
+    }
+}
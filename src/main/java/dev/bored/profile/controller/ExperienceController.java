@@ -1,10 +1,22 @@
 package dev.bored.profile.controller;
 
+import dev.bored.profile.dto.BatchDTO;
 import dev.bored.profile.dto.ExperienceDTO;
+import dev.bored.profile.dto.PageDTO;
+import dev.bored.profile.dto.SectionBatchDTO;
+import dev.bored.profile.dto.SectionOrderDTO;
+import dev.bored.profile.service.BatchReads;
+import dev.bored.profile.service.CacheNames;
 import dev.bored.profile.service.ExperienceService;
+import dev.bored.profile.service.PageKey;
+import dev.bored.profile.service.PageScopes;
+import dev.bored.profile.service.ProfileSection;
+import dev.bored.profile.service.SectionBatches;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -12,7 +24,9 @@ import java.util.List;
  * REST controller for managing experience records associated with user profiles.
  * <p>
  * Exposes endpoints under {@code /api/v1/experiences} to create, read,
- * update, and delete experience entries.
+ * update, and delete experience entries, singly or as a batch, and to
+ * reorder them. A profile's experiences can be read whole, a keyset-paginated
+ * page at a time, or picked out by id.
  * </p>
  *
  * @author Bored Software Developer
@@ -24,29 +38,79 @@ import java.util.List;
 public class ExperienceController {
 
     private final ExperienceService experienceService;
+    private final PageScopes pageScopes;
+    private final ConditionalResponses conditionalResponses;
 
     /**
      * Retrieves all experiences belonging to a given profile.
      *
      * @param profileId the ID of the profile whose experiences are requested
      *                  (defaults to {@code 1})
-     * @return a list of {@link ExperienceDTO} objects for the specified profile
+     * @param request   the current request, for conditional GET
+     * @return a list of {@link ExperienceDTO} objects for the specified profile, or
+     *         {@code 304} if the client's copy is current
+     */
+    @GetMapping(params = {"!ids", "!limit", "!after"})
+    public ResponseEntity<List<ExperienceDTO>> getExperiencesByProfileId(
+            @RequestParam(defaultValue = "1") Long profileId, WebRequest request) {
+        return conditionalResponses.get(CacheNames.EXPERIENCES_BY_PROFILE, profileId, request,
+                () -> experienceService.getExperiencesByProfileId(profileId));
+    }
+
+    /**
+     * Retrieves one page of the experiences belonging to a given profile, ordered
+     * by sort order. Chosen over the full list when {@code limit} or
+     * {@code after} is given.
+     *
+     * @param profileId the ID of the profile whose experiences are requested
+     *                  (defaults to {@code 1})
+     * @param limit     the most experiences to return (defaults to {@value PageScopes#DEFAULT_LIMIT},
+     *                  at most {@value PageScopes#MAX_LIMIT})
+     * @param after     the {@code nextCursor} of the previous page; omitted for the first page
+     * @param request   the current request, for conditional GET
+     * @return the page of {@link ExperienceDTO} objects with the cursor of the next one, or
+     *         {@code 304} if the client's copy is current
      */
     @GetMapping
-    public List<ExperienceDTO> getExperiencesByProfileId(
-            @RequestParam(defaultValue = "1") Long profileId) {
-        return experienceService.getExperiencesByProfileId(profileId);
+    public ResponseEntity<PageDTO<ExperienceDTO>> getExperiencesPage(
+            @RequestParam(defaultValue = "1") Long profileId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) {
+        PageKey page = pageScopes.keyFor(ProfileSection.EXPERIENCES, profileId, limit, after);
+        return conditionalResponses.get(CacheNames.EXPERIENCE_PAGES_BY_PROFILE, page, request,
+                () -> experienceService.getExperiencesPage(page));
+    }
+
+    /**
+     * Retrieves several experiences by their IDs, e.g. {@code ?ids=3,1,2}. Chosen over
+     * the list and page endpoints when {@code ids} is given.
+     *
+     * @param ids     the IDs of the experiences to retrieve, at most {@value BatchReads#MAX_IDS}
+     * @param request the current request, for conditional GET
+     * @return the {@link ExperienceDTO} objects found, in the order of {@code ids}, and the IDs
+     *         with no experience; {@code 304} if the client's copy is current, {@code 400} if no IDs
+     *         or too many are given
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchDTO<ExperienceDTO>> getExperiencesByIds(@RequestParam List<Long> ids,
+                                                                       WebRequest request) {
+        return conditionalResponses.batch(ProfileSection.EXPERIENCES, ids, request,
+                () -> experienceService.getExperiencesByIds(ids));
     }
 
     /**
      * Retrieves a single experience by its ID.
      *
      * @param experienceId the ID of the experience to retrieve
-     * @return the {@link ExperienceDTO} corresponding to the given ID
+     * @param request      the current request, for conditional GET
+     * @return the {@link ExperienceDTO} corresponding to the given ID, or
+     *         {@code 304} if the client's copy is current
      */
     @GetMapping("/{experienceId}")
-    public ExperienceDTO getExperienceById(@PathVariable Long experienceId) {
-        return experienceService.getExperienceById(experienceId);
+    public ResponseEntity<ExperienceDTO> getExperienceById(@PathVariable Long experienceId, WebRequest request) {
+        return conditionalResponses.get(CacheNames.EXPERIENCE_BY_ID, experienceId, request,
+                () -> experienceService.getExperienceById(experienceId));
     }
 
     /**
@@ -85,4 +149,29 @@ public class ExperienceController {
     public boolean deleteExperience(@PathVariable Long experienceId) {
         return experienceService.deleteExperience(experienceId);
     }
+
+    /**
+     * Moves a profile's experiences into the given order in one statement.
+     *
+     * @param order the profile ID and every one of its experience IDs, in their new order
+     * @return the profile's experiences in their new order
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PutMapping("/order")
+    public List<ExperienceDTO> reorderExperiences(@RequestBody SectionOrderDTO order) {
+        return experienceService.reorderExperiences(order);
+    }
+
+    /**
+     * Applies creates, updates and deletes of one profile's experiences together, in
+     * one transaction.
+     *
+     * @param batch the changes, at most {@value SectionBatches#MAX_OPERATIONS} in all
+     * @return the changes made, with the IDs given to the created experiences
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/batch")
+    public SectionBatchDTO<ExperienceDTO> applyExperienceBatch(@RequestBody SectionBatchDTO<ExperienceDTO> batch) {
+        return experienceService.applyExperienceBatch(batch);
+    }
 }
@@ -1,16 +1,26 @@
 package dev.bored.profile.controller;
 
+import dev.bored.profile.dto.PageDTO;
+import dev.bored.profile.dto.PortfolioDTO;
 import dev.bored.profile.dto.ProfileDTO;
+import dev.bored.profile.service.CacheNames;
+import dev.bored.profile.service.PageKey;
+import dev.bored.profile.service.PageScopes;
+import dev.bored.profile.service.PortfolioService;
+import dev.bored.profile.service.ProfileSection;
 import dev.bored.profile.service.ProfileService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST controller for managing profile data via CRUD operations.
  * <p>
  * Exposes endpoints under {@code /api/v1/profiles} to create, read,
- * update, and delete user profiles.
+ * update, and delete user profiles, to page through the profile directory,
+ * and to read a whole portfolio page.
  * </p>
  *
  * @author Bored Software Developer
@@ -22,16 +32,52 @@ import org.springframework.web.bind.annotation.*;
 public class ProfileController {
 
     private final ProfileService profileService;
+    private final PortfolioService portfolioService;
+    private final PageScopes pageScopes;
+    private final ConditionalResponses conditionalResponses;
+
+    /**
+     * Retrieves one page of the profile directory, ordered by ID.
+     *
+     * @param limit   the most profiles to return (defaults to {@value PageScopes#DEFAULT_LIMIT},
+     *                at most {@value PageScopes#MAX_LIMIT})
+     * @param after   the {@code nextCursor} of the previous page; omitted for the first page
+     * @param request the current request, for conditional GET
+     * @return the page of ProfileDTOs with the cursor of the next one, or 304 if the client's copy is current
+     */
+    @GetMapping
+    public ResponseEntity<PageDTO<ProfileDTO>> getProfiles(@RequestParam(required = false) Integer limit,
+                                                           @RequestParam(required = false) String after,
+                                                           WebRequest request) {
+        PageKey page = pageScopes.keyFor(ProfileSection.PROFILE, null, limit, after);
+        return conditionalResponses.get(CacheNames.PROFILE_PAGES, page, request,
+                () -> profileService.getProfilesPage(page));
+    }
 
     /**
      * Retrieves a Profile by its ID.
      *
      * @param profileId the ID of the profile to retrieve
-     * @return the ProfileDTO corresponding to the given ID
+     * @param request   the current request, for conditional GET
+     * @return the ProfileDTO corresponding to the given ID, or 304 if the client's copy is current
      */
     @GetMapping("/{profileId}")
-    public ProfileDTO getProfileById(@PathVariable Long profileId) {
-        return profileService.getProfileById(profileId);
+    public ResponseEntity<ProfileDTO> getProfileById(@PathVariable Long profileId, WebRequest request) {
+        return conditionalResponses.get(CacheNames.PROFILE_BY_ID, profileId, request,
+                () -> profileService.getProfileById(profileId));
+    }
+
+    /**
+     * Retrieves a Profile with all of its experiences, achievements and aspirations.
+     *
+     * @param profileId the ID of the profile to retrieve
+     * @param request   the current request, for conditional GET
+     * @return the PortfolioDTO of the given profile, or 304 if the client's copy is current
+     */
+    @GetMapping("/{profileId}/full")
+    public ResponseEntity<PortfolioDTO> getPortfolio(@PathVariable Long profileId, WebRequest request) {
+        return conditionalResponses.get(CacheNames.PORTFOLIO_BY_PROFILE, profileId, request,
+                () -> portfolioService.getPortfolio(profileId));
     }
 
     /**
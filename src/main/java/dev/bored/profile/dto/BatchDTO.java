@@ -0,0 +1,32 @@
+package dev.bored.profile.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for rows requested together by id.
+ *
+ * <p>Every requested id ends up in exactly one of the two lists: in
+ * {@link #items} if the row exists, in {@link #missingIds} if it doesn't.
+ * Both keep the order of the request, with repeated ids listed once.</p>
+ *
+ * @param <T> the type of the requested rows
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchDTO<T> {
+
+    /** The rows found, in the order their ids were requested. */
+    private List<T> items;
+
+    /** The requested ids with no row, in request order. */
+    private List<Long> missingIds;
+}
@@ -0,0 +1,31 @@
+package dev.bored.profile.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of a keyset-paginated listing.
+ *
+ * <p>Pass {@link #nextCursor} back as {@code after} to get the page that
+ * follows; it is {@code null} on the last page.</p>
+ *
+ * @param <T> the type of the listed rows
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageDTO<T> {
+
+    /** The rows of this page, in listing order. */
+    private List<T> items;
+
+    /** Opaque cursor of the last row on this page, or {@code null} if no rows follow. */
+    private String nextCursor;
+}
@@ -0,0 +1,36 @@
+package dev.bored.profile.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a whole portfolio page: a profile and its
+ * experiences, achievements and aspirations, each list ordered by sort order.
+ *
+ * <p>Lets the front end render the page from one request instead of four.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioDTO {
+
+    /** The profile card. */
+    private ProfileDTO profile;
+
+    /** The profile's experiences, ordered by sort order ascending. */
+    private List<ExperienceDTO> experiences;
+
+    /** The profile's achievements, ordered by sort order ascending. */
+    private List<AchievementDTO> achievements;
+
+    /** The profile's aspirations, ordered by sort order ascending. */
+    private List<AspirationDTO> aspirations;
+}
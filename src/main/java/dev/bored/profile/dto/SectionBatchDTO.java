@@ -0,0 +1,39 @@
+package dev.bored.profile.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for creates, updates and deletes of one profile's
+ * section, applied together in one transaction.
+ *
+ * <p>As a request it lists the changes to make; as a response, the changes
+ * made, with {@link #creates} carrying the ids the new rows were given.
+ * Missing lists count as empty.</p>
+ *
+ * @param <T> the section's row type
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SectionBatchDTO<T> {
+
+    /** Identifier of the profile every row in the batch belongs to. */
+    private Long profileId;
+
+    /** Rows to insert; their ids are assigned on insert. */
+    private List<T> creates;
+
+    /** Rows to overwrite, each identified by its id. */
+    private List<T> updates;
+
+    /** Ids of the rows to delete. */
+    private List<Long> deletes;
+}
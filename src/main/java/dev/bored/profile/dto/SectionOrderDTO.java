@@ -0,0 +1,30 @@
+package dev.bored.profile.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a new display order of one profile's section.
+ *
+ * <p>{@link #ids} lists every row of the section exactly once; each row's
+ * sort order becomes its zero-based position in the list.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SectionOrderDTO {
+
+    /** Identifier of the profile whose section is reordered. */
+    private Long profileId;
+
+    /** Ids of the profile's rows, in their new order. */
+    private List<Long> ids;
+}
@@ -32,7 +32,8 @@ public class Achievement implements Serializable {
 
     /** Unique auto-generated identifier for the achievement. */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "achievement_seq")
+    @SequenceGenerator(name = "achievement_seq", sequenceName = "achievement_seq", allocationSize = 50)
     @Column(name = "achievement_id")
     private Long achievementId;
 
@@ -32,7 +32,8 @@ public class Aspiration implements Serializable {
 
     /** Unique auto-generated identifier for the aspiration. */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "aspiration_seq")
+    @SequenceGenerator(name = "aspiration_seq", sequenceName = "aspiration_seq", allocationSize = 50)
     @Column(name = "aspiration_id")
     private Long aspirationId;
 
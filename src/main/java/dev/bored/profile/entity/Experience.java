@@ -34,7 +34,8 @@ public class Experience implements Serializable {
 
     /** Unique auto-generated identifier for the experience entry. */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "experience_seq")
+    @SequenceGenerator(name = "experience_seq", sequenceName = "experience_seq", allocationSize = 50)
     @Column(name = "experience_id")
     private Long experienceId;
 
@@ -32,7 +32,8 @@ public class Profile implements Serializable {
 
     /** Unique auto-generated identifier for the profile. */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "profile_seq")
+    @SequenceGenerator(name = "profile_seq", sequenceName = "profile_seq", allocationSize = 50)
     @Column(name = "profile_id")
     private Long profileId;
 
@@ -0,0 +1,24 @@
+package dev.bored.profile.exception;
+
+import dev.bored.common.exception.GenericException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * A {@link GenericException} for lookups of rows that don't exist (HTTP 404).
+ *
+ * <p>A distinct type so the cache layer can recognise a "not found" from a
+ * loader and remember it as a negative entry, without parsing messages or
+ * statuses.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public class ResourceNotFoundException extends GenericException {
+
+    /**
+     * @param message the client-facing error message
+     */
+    public ResourceNotFoundException(String message) {
+        super(message, HttpStatus.NOT_FOUND);
+    }
+}
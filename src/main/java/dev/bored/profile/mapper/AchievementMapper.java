@@ -50,4 +50,12 @@ public interface AchievementMapper {
     @Mapping(source = "id", target = "slug")
     @Mapping(source = "profileId", target = "profile.profileId")
     Achievement toEntity(AchievementDTO dto);
+
+    /**
+     * Converts a list of {@link AchievementDTO} objects to a list of {@link Achievement} entities.
+     *
+     * @param dtos the list of achievement data-transfer objects to convert
+     * @return the corresponding list of achievement entities
+     */
+    List<Achievement> toEntityList(List<AchievementDTO> dtos);
 }
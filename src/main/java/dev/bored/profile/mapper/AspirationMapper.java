@@ -50,4 +50,12 @@ public interface AspirationMapper {
     @Mapping(source = "id", target = "slug")
     @Mapping(source = "profileId", target = "profile.profileId")
     Aspiration toEntity(AspirationDTO dto);
+
+    /**
+     * Converts a list of {@link AspirationDTO} objects to a list of {@link Aspiration} entities.
+     *
+     * @param dtos the list of aspiration data-transfer objects to convert
+     * @return the corresponding list of aspiration entities
+     */
+    List<Aspiration> toEntityList(List<AspirationDTO> dtos);
 }
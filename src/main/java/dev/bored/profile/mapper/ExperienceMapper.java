@@ -50,4 +50,12 @@ public interface ExperienceMapper {
     @Mapping(source = "id", target = "slug")
     @Mapping(source = "profileId", target = "profile.profileId")
     Experience toEntity(ExperienceDTO dto);
+
+    /**
+     * Converts a list of {@link ExperienceDTO} objects to a list of {@link Experience} entities.
+     *
+     * @param dtos the list of experience data-transfer objects to convert
+     * @return the corresponding list of experience entities
+     */
+    List<Experience> toEntityList(List<ExperienceDTO> dtos);
 }
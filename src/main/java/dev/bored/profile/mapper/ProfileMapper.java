@@ -5,6 +5,8 @@ import dev.bored.profile.entity.Profile;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingConstants;
 
+import java.util.List;
+
 /**
  * MapStruct mapper that converts between {@link Profile} entities and {@link ProfileDTO} objects.
  *
@@ -25,6 +27,14 @@ public interface ProfileMapper {
      */
     ProfileDTO toDTO(Profile profile);
 
+    /**
+     * Converts a list of {@link Profile} entities to a list of {@link ProfileDTO} objects.
+     *
+     * @param profiles the list of profile entities to convert
+     * @return the corresponding list of profile data-transfer objects
+     */
+    List<ProfileDTO> toDTOList(List<Profile> profiles);
+
     /**
      * Converts a {@link ProfileDTO} to a {@link Profile} entity.
      *
@@ -1,7 +1,11 @@
 package dev.bored.profile.repository;
 
 import dev.bored.profile.entity.Achievement;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,7 +14,8 @@ import java.util.List;
  * Spring Data JPA repository for {@link Achievement} entities.
  *
  * <p>Extends {@link JpaRepository} to provide standard CRUD operations and adds
- * a derived query method for retrieving achievements by profile, ordered by sort order.</p>
+ * query methods for retrieving achievements by profile, ordered by sort order, whole or
+ * a keyset page at a time, or just their ids, plus a single-statement reorder.</p>
  *
  * @author Bored Software Developer
  * @since 2026-02-15
@@ -26,4 +31,68 @@ public interface AchievementRepository extends JpaRepository<Achievement, Long>
      * @return a list of achievements sorted by {@code sortOrder} in ascending order
      */
     List<Achievement> findByProfile_ProfileIdOrderBySortOrderAsc(Long profileId);
+
+    /**
+     * Retrieves the first {@code limit} achievements of the specified profile in
+     * keyset order: {@code sortOrder}, then id.
+     *
+     * @param profileId the ID of the profile whose achievements are requested
+     * @param limit     the most achievements to return
+     * @return the first page of the profile's achievements
+     */
+    List<Achievement> findByProfile_ProfileIdOrderBySortOrderAscAchievementIdAsc(Long profileId, Limit limit);
+
+    /**
+     * Retrieves up to {@code limit} achievements of the specified profile that
+     * come after {@code (sortOrder, id)} in keyset order, seeking straight to
+     * that position in the {@code (profile_id, sort_order, achievement_id)} index.
+     *
+     * @param profileId the ID of the profile whose achievements are requested
+     * @param sortOrder the sort order of the last achievement already returned
+     * @param id        the id of the last achievement already returned
+     * @param limit     the most achievements to return
+     * @return the next page of the profile's achievements
+     */
+    @Query("""
+            select a from Achievement a
+            where a.profile.profileId = :profileId
+              and (a.sortOrder, a.achievementId) > (:sortOrder, :id)
+            order by a.sortOrder, a.achievementId""")
+    List<Achievement> findPageAfter(@Param("profileId") Long profileId, @Param("sortOrder") int sortOrder,
+                                    @Param("id") long id, Limit limit);
+
+    /**
+     * Retrieves only the ids of the achievements belonging to the specified profile.
+     *
+     * @param profileId the ID of the profile whose achievement ids are requested
+     * @return the ids of the profile's achievements, in no particular order
+     */
+    @Query("select e.achievementId from Achievement e where e.profile.profileId = :profileId")
+    List<Long> findIdsByProfileId(@Param("profileId") Long profileId);
+
+    /**
+     * Sets the {@code sortOrder} of the specified profile's achievements to their
+     * zero-based position in {@code ids}, in one statement. Rows already in
+     * place, and ids that aren't the profile's, are left alone.
+     *
+     * @param profileId the ID of the profile whose achievements are reordered
+     * @param ids       the profile's achievement ids, in their new order
+     * @return the number of achievements whose sort order changed
+     */
+    @Modifying
+    @Query(value = """
+            update achievement t set sort_order = o.position - 1
+            from unnest(cast(:ids as bigint[])) with ordinality as o(id, position)
+            where t.achievement_id = o.id
+              and t.profile_id = :profileId
+              and t.sort_order <> o.position - 1""", nativeQuery = true)
+    int updateSortOrders(@Param("profileId") Long profileId, @Param("ids") Long[] ids);
+
+    /**
+     * Retrieves the ids of every achievement, for seeding the existence filter.
+     *
+     * @return all achievement ids, in no particular order
+     */
+    @Query("select e.achievementId from Achievement e")
+    List<Long> findAllIds();
 }
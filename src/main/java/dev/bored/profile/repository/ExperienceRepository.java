@@ -1,7 +1,11 @@
 package dev.bored.profile.repository;
 
 import dev.bored.profile.entity.Experience;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,7 +14,8 @@ import java.util.List;
  * Spring Data JPA repository for {@link Experience} entities.
  *
  * <p>Extends {@link JpaRepository} to provide standard CRUD operations and adds
- * a derived query method for retrieving experiences by profile, ordered by sort order.</p>
+ * query methods for retrieving experiences by profile, ordered by sort order, whole or
+ * a keyset page at a time, or just their ids, plus a single-statement reorder.</p>
  *
  * @author Bored Software Developer
  * @since 2026-02-15
@@ -26,4 +31,68 @@ public interface ExperienceRepository extends JpaRepository<Experience, Long> {
      * @return a list of experiences sorted by {@code sortOrder} in ascending order
      */
     List<Experience> findByProfile_ProfileIdOrderBySortOrderAsc(Long profileId);
+
+    /**
+     * Retrieves the first {@code limit} experiences of the specified profile in
+     * keyset order: {@code sortOrder}, then id.
+     *
+     * @param profileId the ID of the profile whose experiences are requested
+     * @param limit     the most experiences to return
+     * @return the first page of the profile's experiences
+     */
+    List<Experience> findByProfile_ProfileIdOrderBySortOrderAscExperienceIdAsc(Long profileId, Limit limit);
+
+    /**
+     * Retrieves up to {@code limit} experiences of the specified profile that
+     * come after {@code (sortOrder, id)} in keyset order, seeking straight to
+     * that position in the {@code (profile_id, sort_order, experience_id)} index.
+     *
+     * @param profileId the ID of the profile whose experiences are requested
+     * @param sortOrder the sort order of the last experience already returned
+     * @param id        the id of the last experience already returned
+     * @param limit     the most experiences to return
+     * @return the next page of the profile's experiences
+     */
+    @Query("""
+            select e from Experience e
+            where e.profile.profileId = :profileId
+              and (e.sortOrder, e.experienceId) > (:sortOrder, :id)
+            order by e.sortOrder, e.experienceId""")
+    List<Experience> findPageAfter(@Param("profileId") Long profileId, @Param("sortOrder") int sortOrder,
+                                   @Param("id") long id, Limit limit);
+
+    /**
+     * Retrieves only the ids of the experiences belonging to the specified profile.
+     *
+     * @param profileId the ID of the profile whose experience ids are requested
+     * @return the ids of the profile's experiences, in no particular order
+     */
+    @Query("select e.experienceId from Experience e where e.profile.profileId = :profileId")
+    List<Long> findIdsByProfileId(@Param("profileId") Long profileId);
+
+    /**
+     * Sets the {@code sortOrder} of the specified profile's experiences to their
+     * zero-based position in {@code ids}, in one statement. Rows already in
+     * place, and ids that aren't the profile's, are left alone.
+     *
+     * @param profileId the ID of the profile whose experiences are reordered
+     * @param ids       the profile's experience ids, in their new order
+     * @return the number of experiences whose sort order changed
+     */
+    @Modifying
+    @Query(value = """
+            update experience t set sort_order = o.position - 1
+            from unnest(cast(:ids as bigint[])) with ordinality as o(id, position)
+            where t.experience_id = o.id
+              and t.profile_id = :profileId
+              and t.sort_order <> o.position - 1""", nativeQuery = true)
+    int updateSortOrders(@Param("profileId") Long profileId, @Param("ids") Long[] ids);
+
+    /**
+     * Retrieves the ids of every experience, for seeding the existence filter.
+     *
+     * @return all experience ids, in no particular order
+     */
+    @Query("select e.experienceId from Experience e")
+    List<Long> findAllIds();
 }
@@ -0,0 +1,111 @@
+package dev.bored.profile.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.bored.profile.dto.PortfolioDTO;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Loads a whole {@link PortfolioDTO} with one SQL statement.
+ *
+ * <p>On PostgreSQL the profile row and its three ordered sections are built
+ * into a single JSON document by {@code json_agg} subqueries, so a page costs
+ * one round trip to the database instead of four. The JSON keys are the DTO
+ * property names, which lets Jackson read the document straight into the
+ * DTO. Other databases (H2 in tests) don't have these functions; callers
+ * check {@link #isSingleQuerySupported()} and fall back to the JPA
+ * repositories.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+@Repository
+public class PortfolioRepository {
+
+    private static final String PORTFOLIO_QUERY = """
+            SELECT CAST(json_build_object(
+                'profile', json_build_object(
+                    'profileId', p.profile_id, 'firstName', p.first_name, 'lastName', p.last_name,
+                    'photoUrl', p.photo_url, 'status', p.status),
+                'experiences', COALESCE((
+                    SELECT json_agg(json_build_object(
+                        'experienceId', e.experience_id, 'profileId', e.profile_id, 'id', e.slug,
+                        'company', e.company, 'role', e.role, 'roleStyle', e.role_style,
+                        'description', e.description, 'startDate', e.start_date, 'endDate', e.end_date,
+                        'sortOrder', e.sort_order) ORDER BY e.sort_order)
+                    FROM experience e WHERE e.profile_id = p.profile_id), '[]'),
+                'achievements', COALESCE((
+                    SELECT json_agg(json_build_object(
+                        'achievementId', a.achievement_id, 'profileId', a.profile_id, 'id', a.slug,
+                        'title', a.title, 'subtitle', a.subtitle, 'emoji', a.emoji,
+                        'progressPercent', a.progress_percent, 'variant', a.variant,
+                        'statLabel', a.stat_label, 'statValue', a.stat_value,
+                        'sortOrder', a.sort_order) ORDER BY a.sort_order)
+                    FROM achievement a WHERE a.profile_id = p.profile_id), '[]'),
+                'aspirations', COALESCE((
+                    SELECT json_agg(json_build_object(
+                        'aspirationId', s.aspiration_id, 'profileId', s.profile_id, 'id', s.slug,
+                        'title', s.title, 'subtitle', s.subtitle, 'statusText', s.status_text,
+                        'progressPercent', s.progress_percent, 'variant', s.variant,
+                        'footerText', s.footer_text, 'animated', s.animated,
+                        'sortOrder', s.sort_order) ORDER BY s.sort_order)
+                    FROM aspiration s WHERE s.profile_id = p.profile_id), '[]')
+            ) AS text)
+            FROM profile p
+            WHERE p.profile_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /** Whether the database is PostgreSQL; looked up on first use. */
+    private volatile Boolean singleQuerySupported;
+
+    /**
+     * @param jdbcTemplate JDBC access to the profile tables
+     * @param objectMapper reads the JSON document the query returns
+     */
+    public PortfolioRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return {@code true} if {@link #findByProfileId} can run against this database
+     */
+    public boolean isSingleQuerySupported() {
+        Boolean supported = singleQuerySupported;
+        if (supported == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            supported = "PostgreSQL".equals(product);
+            singleQuerySupported = supported;
+        }
+        return supported;
+    }
+
+    /**
+     * Retrieves a profile and all of its sections in one statement.
+     *
+     * @param profileId the ID of the profile whose portfolio is requested
+     * @return the portfolio, or empty if no profile has {@code profileId}
+     * @throws DataRetrievalFailureException if the returned document can't be read
+     */
+    public Optional<PortfolioDTO> findByProfileId(Long profileId) {
+        List<String> documents = jdbcTemplate.queryForList(PORTFOLIO_QUERY, String.class, profileId);
+        if (documents.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(documents.get(0), PortfolioDTO.class));
+        } catch (JsonProcessingException ex) {
+            throw new DataRetrievalFailureException("Could not read portfolio of profile " + profileId, ex);
+        }
+    }
+}
@@ -1,19 +1,48 @@
 package dev.bored.profile.repository;
 
 import dev.bored.profile.entity.Profile;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Spring Data JPA repository for {@link Profile} entities.
  *
- * <p>Provides standard CRUD operations inherited from {@link JpaRepository}.
- * No custom query methods are defined; all persistence operations use the
- * built-in JPA repository methods.</p>
+ * <p>Provides standard CRUD operations inherited from {@link JpaRepository},
+ * plus a projection of every profile id for the existence filter and pages
+ * of the profile directory.</p>
  *
  * @author Bored Software Developer
  * @since 2026-02-15
  */
 @Repository
 public interface ProfileRepository extends JpaRepository<Profile, Long> {
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the ids of every profile, for seeding the existence filter.
+     *
+     * @return all profile ids, in no particular order
+     */
+    @Query("select p.profileId from Profile p")
+    List<Long> findAllIds();
+
+    /**
+     * Retrieves the first {@code limit} profiles in id order.
+     *
+     * @param limit the most profiles to return
+     * @return the first page of the profile directory
+     */
+    List<Profile> findAllByOrderByProfileIdAsc(Limit limit);
+
+    /**
+     * Retrieves up to {@code limit} profiles with ids above {@code profileId}, in id order.
+     *
+     * @param profileId the id of the last profile already returned
+     * @param limit     the most profiles to return
+     * @return the next page of the profile directory
+     */
+    List<Profile> findByProfileIdGreaterThanOrderByProfileIdAsc(Long profileId, Limit limit);
+}
@@ -1,26 +1,35 @@
 package dev.bored.profile.service;
 
+import dev.bored.profile.dto.BatchDTO;
 import dev.bored.profile.dto.AchievementDTO;
+import dev.bored.profile.dto.PageDTO;
+import dev.bored.profile.dto.SectionBatchDTO;
+import dev.bored.profile.dto.SectionOrderDTO;
 import dev.bored.profile.entity.Achievement;
+import dev.bored.profile.entity.Profile;
 import dev.bored.common.exception.GenericException;
 import dev.bored.profile.mapper.AchievementMapper;
 import dev.bored.profile.repository.AchievementRepository;
+import dev.bored.profile.repository.ProfileRepository;
+import dev.bored.profile.service.ProfileDataChangedEvent.Change;
 import lombok.AllArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
-import org.springframework.http.HttpStatus;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service for managing {@link Achievement} entities.
  * <p>
  * Provides CRUD operations for achievements associated with a profile,
  * including retrieval by profile, individual lookup, creation, update, and deletion.
- * All mutating operations are executed within a transactional context.
+ * All mutating operations are executed within a transactional context and
+ * publish a {@link ProfileDataChangedEvent} naming the owning profile, so
+ * cache eviction is scoped to that profile's entries.
  * </p>
  *
  * @author Bored Software Developer
@@ -28,10 +37,13 @@ import java.util.List;
  */
 @Service
 @AllArgsConstructor
-public class AchievementService {
+public class AchievementService implements ProfileSectionReader, SectionIdSource {
 
     private final AchievementRepository achievementRepository;
+    private final ProfileRepository profileRepository;
     private final AchievementMapper achievementMapper;
+    private final BatchReads batchReads;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Retrieves all achievements associated with a given profile, ordered by sort order ascending.
@@ -40,12 +52,65 @@ public class AchievementService {
      * @return a list of {@link AchievementDTO} instances for the specified profile
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = CacheNames.ACHIEVEMENTS_BY_PROFILE, key = "#profileId")
+    @Cacheable(value = CacheNames.ACHIEVEMENTS_BY_PROFILE, key = "#profileId", sync = true)
     public List<AchievementDTO> getAchievementsByProfileId(Long profileId) {
         return achievementMapper.toDTOList(
                 achievementRepository.findByProfile_ProfileIdOrderBySortOrderAsc(profileId));
     }
 
+    /**
+     * Retrieves one page of a profile's achievements, ordered by sort order ascending
+     * with ties broken by id.
+     *
+     * @param page the profile, page size and position, from {@link PageScopes#keyFor}
+     * @return the page, with the cursor of the next one if more achievements follow
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheNames.ACHIEVEMENT_PAGES_BY_PROFILE, key = "#page", sync = true)
+    public PageDTO<AchievementDTO> getAchievementsPage(PageKey page) {
+        PageCursor after = page.after();
+        List<Achievement> window = after == null
+                ? achievementRepository.findByProfile_ProfileIdOrderBySortOrderAscAchievementIdAsc(
+                        page.profileId(), page.window())
+                : achievementRepository.findPageAfter(page.profileId(), after.sortOrder(), after.id(), page.window());
+        return page.toPage(achievementMapper.toDTOList(window),
+                achievement -> new PageCursor(achievement.getSortOrder(), achievement.getAchievementId()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ProfileSection section() {
+        return ProfileSection.ACHIEVEMENTS;
+    }
+
+    /**
+     * Loads all achievements for a profile straight from the database.
+     * <p>
+     * Runs in its own read-only transaction so it can be called from
+     * after-commit cache maintenance, once the writing transaction is done.
+     * </p>
+     *
+     * @param profileId the unique identifier of the profile whose achievements are requested
+     * @return a list of {@link AchievementDTO} instances for the specified profile
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public List<AchievementDTO> loadByProfile(Long profileId) {
+        return achievementMapper.toDTOList(
+                achievementRepository.findByProfile_ProfileIdOrderBySortOrderAsc(profileId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> loadAllIds() {
+        return achievementRepository.findAllIds();
+    }
+
     /**
      * Retrieves a single achievement by its unique identifier.
      *
@@ -54,13 +119,28 @@ public class AchievementService {
      * @throws GenericException if no achievement exists with the specified id (HTTP 404)
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = CacheNames.ACHIEVEMENT_BY_ID, key = "#achievementId")
+    @Cacheable(value = CacheNames.ACHIEVEMENT_BY_ID, key = "#achievementId", sync = true)
     public AchievementDTO getAchievementById(Long achievementId) {
         Achievement achievement = achievementRepository.findById(achievementId)
-                .orElseThrow(() -> new GenericException("Achievement not found with id: " + achievementId, HttpStatus.NOT_FOUND));
+                .orElseThrow(() -> ProfileSection.ACHIEVEMENTS.notFound(achievementId));
         return achievementMapper.toDTO(achievement);
     }
 
+    /**
+     * Retrieves several achievements by their ids, through the same cache as
+     * {@link #getAchievementById}, loading the uncached ones with a single query.
+     *
+     * @param achievementIds the ids of the achievements to retrieve, in the order wanted
+     * @return the {@link AchievementDTO}s found and the ids not found, both in request order
+     * @throws GenericException if no ids or more than {@value BatchReads#MAX_IDS} are given (HTTP 400)
+     */
+    @Transactional(readOnly = true)
+    public BatchDTO<AchievementDTO> getAchievementsByIds(List<Long> achievementIds) {
+        return batchReads.byIds(ProfileSection.ACHIEVEMENTS, achievementIds,
+                ids -> achievementMapper.toDTOList(achievementRepository.findAllById(ids)),
+                AchievementDTO::getAchievementId);
+    }
+
     /**
      * Creates a new achievement record.
      *
@@ -68,10 +148,13 @@ public class AchievementService {
      * @return the newly created {@link AchievementDTO} with its persisted state
      */
     @Transactional
-    @CacheEvict(value = CacheNames.ACHIEVEMENTS_BY_PROFILE, allEntries = true)
     public AchievementDTO addAchievement(AchievementDTO dto) {
         Achievement entity = achievementMapper.toEntity(dto);
-        return achievementMapper.toDTO(achievementRepository.save(entity));
+        Achievement saved = achievementRepository.save(entity);
+        AchievementDTO result = achievementMapper.toDTO(saved);
+        eventPublisher.publishEvent(ProfileDataChangedEvent.of(ProfileSection.ACHIEVEMENTS, Change.CREATED,
+                saved.getProfile().getProfileId(), saved.getAchievementId(), result));
+        return result;
     }
 
     /**
@@ -83,25 +166,93 @@ public class AchievementService {
      * @throws GenericException if no achievement exists with the specified id (HTTP 404)
      */
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = CacheNames.ACHIEVEMENT_BY_ID, key = "#achievementId"),
-            @CacheEvict(value = CacheNames.ACHIEVEMENTS_BY_PROFILE, allEntries = true)
-    })
     public AchievementDTO updateAchievement(Long achievementId, AchievementDTO dto) {
         Achievement existing = achievementRepository.findById(achievementId)
-                .orElseThrow(() -> new GenericException("Achievement not found with id: " + achievementId, HttpStatus.NOT_FOUND));
-
-        existing.setSlug(dto.getId());
-        existing.setTitle(dto.getTitle());
-        existing.setSubtitle(dto.getSubtitle());
-        existing.setEmoji(dto.getEmoji());
-        existing.setProgressPercent(dto.getProgressPercent());
-        existing.setVariant(dto.getVariant());
-        existing.setStatLabel(dto.getStatLabel());
-        existing.setStatValue(dto.getStatValue());
-        existing.setSortOrder(dto.getSortOrder());
-
-        return achievementMapper.toDTO(achievementRepository.save(existing));
+                .orElseThrow(() -> ProfileSection.ACHIEVEMENTS.notFound(achievementId));
+
+        copyInto(dto, existing);
+
+        Achievement saved = achievementRepository.save(existing);
+        AchievementDTO result = achievementMapper.toDTO(saved);
+        eventPublisher.publishEvent(ProfileDataChangedEvent.of(ProfileSection.ACHIEVEMENTS, Change.UPDATED,
+                existing.getProfile().getProfileId(), achievementId, result));
+        return result;
+    }
+
+    /**
+     * Applies creates, updates and deletes of one profile's achievements in a single
+     * transaction: all of them or, if any fails, none.
+     * <p>
+     * The rows to update or delete are read with one query. New rows take
+     * their ids from a pooled sequence, so the inserts, like the updates and
+     * deletes, are flushed as JDBC batches. One {@link ProfileDataChangedEvent}
+     * covers the whole batch, so the profile's caches are brought in line once.
+     * </p>
+     *
+     * @param batch the changes, for the profile named by its {@code profileId}
+     * @return the changes made, with the ids of the created achievements
+     * @throws GenericException if the batch is empty, too large or malformed (HTTP 400)
+     * @throws GenericException if a row to update or delete isn't one of the profile's, or rows are
+     *         created for a profile that doesn't exist (HTTP 404)
+     */
+    @Transactional
+    public SectionBatchDTO<AchievementDTO> applyAchievementBatch(SectionBatchDTO<AchievementDTO> batch) {
+        SectionBatchDTO<AchievementDTO> changes = SectionBatches.validate(batch, AchievementDTO::getAchievementId,
+                AchievementDTO::getProfileId);
+        List<Long> targets = SectionBatches.targets(changes, AchievementDTO::getAchievementId);
+        Long profileId = changes.getProfileId();
+        Map<Long, Achievement> existing = SectionBatches.owned(ProfileSection.ACHIEVEMENTS, profileId, targets,
+                targets.isEmpty() ? List.of() : achievementRepository.findAllById(targets),
+                Achievement::getAchievementId, achievement -> achievement.getProfile().getProfileId());
+        if (!changes.getCreates().isEmpty() && !profileRepository.existsById(profileId)) {
+            throw ProfileSection.PROFILE.notFound(profileId);
+        }
+
+        achievementRepository.deleteAll(changes.getDeletes().stream().map(existing::get).toList());
+        List<Achievement> updated = changes.getUpdates().stream()
+                .map(dto -> {
+                    Achievement entity = existing.get(dto.getAchievementId());
+                    copyInto(dto, entity);
+                    return entity;
+                })
+                .toList();
+        List<Achievement> creates = achievementMapper.toEntityList(changes.getCreates());
+        if (!creates.isEmpty()) {
+            Profile owner = profileRepository.getReferenceById(profileId);
+            creates.forEach(entity -> entity.setProfile(owner));
+        }
+        List<Achievement> created = achievementRepository.saveAll(creates);
+
+        SectionBatchDTO<AchievementDTO> result = new SectionBatchDTO<>(profileId, achievementMapper.toDTOList(created),
+                achievementMapper.toDTOList(updated), changes.getDeletes());
+        eventPublisher.publishEvent(ProfileDataChangedEvent.ofBatch(ProfileSection.ACHIEVEMENTS, profileId,
+                created.stream().map(Achievement::getAchievementId).toList(),
+                updated.stream().map(Achievement::getAchievementId).toList(),
+                changes.getDeletes()));
+        return result;
+    }
+
+    /**
+     * Moves a profile's achievements into the given order with one set-based
+     * {@code UPDATE}, instead of a read-modify-write of every column per row.
+     * Only rows whose sort order actually changes are written, and one
+     * {@link ProfileDataChangedEvent} brings the profile's caches in line.
+     *
+     * @param order the profile and every one of its achievement ids, in their new order
+     * @return the profile's achievements in their new order
+     * @throws GenericException if the ids don't list each of the profile's achievements once (HTTP 400)
+     * @throws GenericException if an id isn't one of the profile's achievements (HTTP 404)
+     */
+    @Transactional
+    public List<AchievementDTO> reorderAchievements(SectionOrderDTO order) {
+        List<Long> ids = SectionBatches.validateOrder(ProfileSection.ACHIEVEMENTS, order,
+                achievementRepository::findIdsByProfileId);
+        Long profileId = order.getProfileId();
+        if (achievementRepository.updateSortOrders(profileId, ids.toArray(Long[]::new)) > 0) {
+            eventPublisher.publishEvent(
+                    new ProfileDataChangedEvent(ProfileSection.ACHIEVEMENTS, Change.UPDATED, profileId, ids));
+        }
+        return achievementMapper.toDTOList(achievementRepository.findByProfile_ProfileIdOrderBySortOrderAsc(profileId));
     }
 
     /**
@@ -112,15 +263,25 @@ public class AchievementService {
      * @throws GenericException if no achievement exists with the specified id (HTTP 404)
      */
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = CacheNames.ACHIEVEMENT_BY_ID, key = "#achievementId"),
-            @CacheEvict(value = CacheNames.ACHIEVEMENTS_BY_PROFILE, allEntries = true)
-    })
     public boolean deleteAchievement(Long achievementId) {
-        if (achievementRepository.existsById(achievementId)) {
-            achievementRepository.deleteById(achievementId);
-            return true;
-        }
-        throw new GenericException("Achievement not found with id: " + achievementId, HttpStatus.NOT_FOUND);
+        Achievement existing = achievementRepository.findById(achievementId)
+                .orElseThrow(() -> ProfileSection.ACHIEVEMENTS.notFound(achievementId));
+        achievementRepository.delete(existing);
+        eventPublisher.publishEvent(ProfileDataChangedEvent.of(ProfileSection.ACHIEVEMENTS, Change.DELETED,
+                existing.getProfile().getProfileId(), achievementId));
+        return true;
+    }
+
+    /** Overwrites the editable fields of {@code entity} with those of {@code dto}. */
+    private void copyInto(AchievementDTO dto, Achievement entity) {
+        entity.setSlug(dto.getId());
+        entity.setTitle(dto.getTitle());
+        entity.setSubtitle(dto.getSubtitle());
+        entity.setEmoji(dto.getEmoji());
+        entity.setProgressPercent(dto.getProgressPercent());
+        entity.setVariant(dto.getVariant());
+        entity.setStatLabel(dto.getStatLabel());
+        entity.setStatValue(dto.getStatValue());
+        entity.setSortOrder(dto.getSortOrder());
     }
 }
@@ -1,26 +1,35 @@
 package dev.bored.profile.service;
 
+import dev.bored.profile.dto.BatchDTO;
 import dev.bored.profile.dto.AspirationDTO;
+import dev.bored.profile.dto.PageDTO;
+import dev.bored.profile.dto.SectionBatchDTO;
+import dev.bored.profile.dto.SectionOrderDTO;
 import dev.bored.profile.entity.Aspiration;
+import dev.bored.profile.entity.Profile;
 import dev.bored.common.exception.GenericException;
 import dev.bored.profile.mapper.AspirationMapper;
 import dev.bored.profile.repository.AspirationRepository;
+import dev.bored.profile.repository.ProfileRepository;
+import dev.bored.profile.service.ProfileDataChangedEvent.Change;
 import lombok.AllArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
-import org.springframework.http.HttpStatus;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service for managing {@link Aspiration} entities.
  * <p>
  * Provides CRUD operations for aspirations associated with a profile,
  * including retrieval by profile, individual lookup, creation, update, and deletion.
- * All mutating operations are executed within a transactional context.
+ * All mutating operations are executed within a transactional context and
+ * publish a {@link ProfileDataChangedEvent} naming the owning profile, so
+ * cache eviction is scoped to that profile's entries.
  * </p>
  *
  * @author Bored Software Developer
@@ -28,10 +37,13 @@ import java.util.List;
  */
 @Service
 @AllArgsConstructor
-public class AspirationService {
+public class AspirationService implements ProfileSectionReader, SectionIdSource {
 
     private final AspirationRepository aspirationRepository;
+    private final ProfileRepository profileRepository;
     private final AspirationMapper aspirationMapper;
+    private final BatchReads batchReads;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Retrieves all aspirations associated with a given profile, ordered by sort order ascending.
@@ -40,12 +52,65 @@ public class AspirationService {
      * @return a list of {@link AspirationDTO} instances for the specified profile
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = CacheNames.ASPIRATIONS_BY_PROFILE, key = "#profileId")
+    @Cacheable(value = CacheNames.ASPIRATIONS_BY_PROFILE, key = "#profileId", sync = true)
     public List<AspirationDTO> getAspirationsByProfileId(Long profileId) {
         return aspirationMapper.toDTOList(
                 aspirationRepository.findByProfile_ProfileIdOrderBySortOrderAsc(profileId));
     }
 
+    /**
+     * Retrieves one page of a profile's aspirations, ordered by sort order ascending
+     * with ties broken by id.
+     *
+     * @param page the profile, page size and position, from {@link PageScopes#keyFor}
+     * @return the page, with the cursor of the next one if more aspirations follow
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheNames.ASPIRATION_PAGES_BY_PROFILE, key = "#page", sync = true)
+    public PageDTO<AspirationDTO> getAspirationsPage(PageKey page) {
+        PageCursor after = page.after();
+        List<Aspiration> window = after == null
+                ? aspirationRepository.findByProfile_ProfileIdOrderBySortOrderAscAspirationIdAsc(
+                        page.profileId(), page.window())
+                : aspirationRepository.findPageAfter(page.profileId(), after.sortOrder(), after.id(), page.window());
+        return page.toPage(aspirationMapper.toDTOList(window),
+                aspiration -> new PageCursor(aspiration.getSortOrder(), aspiration.getAspirationId()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ProfileSection section() {
+        return ProfileSection.ASPIRATIONS;
+    }
+
+    /**
+     * Loads all aspirations for a profile straight from the database.
+     * <p>
+     * Runs in its own read-only transaction so it can be called from
+     * after-commit cache maintenance, once the writing transaction is done.
+     * </p>
+     *
+     * @param profileId the unique identifier of the profile whose aspirations are requested
+     * @return a list of {@link AspirationDTO} instances for the specified profile
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public List<AspirationDTO> loadByProfile(Long profileId) {
+        return aspirationMapper.toDTOList(
+                aspirationRepository.findByProfile_ProfileIdOrderBySortOrderAsc(profileId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> loadAllIds() {
+        return aspirationRepository.findAllIds();
+    }
+
     /**
      * Retrieves a single aspiration by its unique identifier.
      *
@@ -54,13 +119,28 @@ public class AspirationService {
      * @throws GenericException if no aspiration exists with the specified id (HTTP 404)
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = CacheNames.ASPIRATION_BY_ID, key = "#aspirationId")
+    @Cacheable(value = CacheNames.ASPIRATION_BY_ID, key = "#aspirationId", sync = true)
     public AspirationDTO getAspirationById(Long aspirationId) {
         Aspiration aspiration = aspirationRepository.findById(aspirationId)
-                .orElseThrow(() -> new GenericException("Aspiration not found with id: " + aspirationId, HttpStatus.NOT_FOUND));
+                .orElseThrow(() -> ProfileSection.ASPIRATIONS.notFound(aspirationId));
         return aspirationMapper.toDTO(aspiration);
     }
 
+    /**
+     * Retrieves several aspirations by their ids, through the same cache as
+     * {@link #getAspirationById}, loading the uncached ones with a single query.
+     *
+     * @param aspirationIds the ids of the aspirations to retrieve, in the order wanted
+     * @return the {@link AspirationDTO}s found and the ids not found, both in request order
+     * @throws GenericException if no ids or more than {@value BatchReads#MAX_IDS} are given (HTTP 400)
+     */
+    @Transactional(readOnly = true)
+    public BatchDTO<AspirationDTO> getAspirationsByIds(List<Long> aspirationIds) {
+        return batchReads.byIds(ProfileSection.ASPIRATIONS, aspirationIds,
+                ids -> aspirationMapper.toDTOList(aspirationRepository.findAllById(ids)),
+                AspirationDTO::getAspirationId);
+    }
+
     /**
      * Creates a new aspiration record.
      *
@@ -68,10 +148,13 @@ public class AspirationService {
      * @return the newly created {@link AspirationDTO} with its persisted state
      */
     @Transactional
-    @CacheEvict(value = CacheNames.ASPIRATIONS_BY_PROFILE, allEntries = true)
     public AspirationDTO addAspiration(AspirationDTO dto) {
         Aspiration entity = aspirationMapper.toEntity(dto);
-        return aspirationMapper.toDTO(aspirationRepository.save(entity));
+        Aspiration saved = aspirationRepository.save(entity);
+        AspirationDTO result = aspirationMapper.toDTO(saved);
+        eventPublisher.publishEvent(ProfileDataChangedEvent.of(ProfileSection.ASPIRATIONS, Change.CREATED,
+                saved.getProfile().getProfileId(), saved.getAspirationId(), result));
+        return result;
     }
 
     /**
@@ -83,25 +166,93 @@ public class AspirationService {
      * @throws GenericException if no aspiration exists with the specified id (HTTP 404)
      */
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = CacheNames.ASPIRATION_BY_ID, key = "#aspirationId"),
-            @CacheEvict(value = CacheNames.ASPIRATIONS_BY_PROFILE, allEntries = true)
-    })
     public AspirationDTO updateAspiration(Long aspirationId, AspirationDTO dto) {
         Aspiration existing = aspirationRepository.findById(aspirationId)
-                .orElseThrow(() -> new GenericException("Aspiration not found with id: " + aspirationId, HttpStatus.NOT_FOUND));
-
-        existing.setSlug(dto.getId());
-        existing.setTitle(dto.getTitle());
-        existing.setSubtitle(dto.getSubtitle());
-        existing.setStatusText(dto.getStatusText());
-        existing.setProgressPercent(dto.getProgressPercent());
-        existing.setVariant(dto.getVariant());
-        existing.setFooterText(dto.getFooterText());
-        existing.setAnimated(dto.getAnimated());
-        existing.setSortOrder(dto.getSortOrder());
-
-        return aspirationMapper.toDTO(aspirationRepository.save(existing));
+                .orElseThrow(() -> ProfileSection.ASPIRATIONS.notFound(aspirationId));
+
+        copyInto(dto, existing);
+
+        Aspiration saved = aspirationRepository.save(existing);
+        AspirationDTO result = aspirationMapper.toDTO(saved);
+        eventPublisher.publishEvent(ProfileDataChangedEvent.of(ProfileSection.ASPIRATIONS, Change.UPDATED,
+                existing.getProfile().getProfileId(), aspirationId, result));
+        return result;
+    }
+
+    /**
+     * Applies creates, updates and deletes of one profile's aspirations in a single
+     * transaction: all of them or, if any fails, none.
+     * <p>
+     * The rows to update or delete are read with one query. New rows take
+     * their ids from a pooled sequence, so the inserts, like the updates and
+     * deletes, are flushed as JDBC batches. One {@link ProfileDataChangedEvent}
+     * covers the whole batch, so the profile's caches are brought in line once.
+     * </p>
+     *
+     * @param batch the changes, for the profile named by its {@code profileId}
+     * @return the changes made, with the ids of the created aspirations
+     * @throws GenericException if the batch is empty, too large or malformed (HTTP 400)
+     * @throws GenericException if a row to update or delete isn't one of the profile's, or rows are
+     *         created for a profile that doesn't exist (HTTP 404)
+     */
+    @Transactional
+    public SectionBatchDTO<AspirationDTO> applyAspirationBatch(SectionBatchDTO<AspirationDTO> batch) {
+        SectionBatchDTO<AspirationDTO> changes = SectionBatches.validate(batch, AspirationDTO::getAspirationId,
+                AspirationDTO::getProfileId);
+        List<Long> targets = SectionBatches.targets(changes, AspirationDTO::getAspirationId);
+        Long profileId = changes.getProfileId();
+        Map<Long, Aspiration> existing = SectionBatches.owned(ProfileSection.ASPIRATIONS, profileId, targets,
+                targets.isEmpty() ? List.of() : aspirationRepository.findAllById(targets),
+                Aspiration::getAspirationId, aspiration -> aspiration.getProfile().getProfileId());
+        if (!changes.getCreates().isEmpty() && !profileRepository.existsById(profileId)) {
+            throw ProfileSection.PROFILE.notFound(profileId);
+        }
+
+        aspirationRepository.deleteAll(changes.getDeletes().stream().map(existing::get).toList());
+        List<Aspiration> updated = changes.getUpdates().stream()
+                .map(dto -> {
+                    Aspiration entity = existing.get(dto.getAspirationId());
+                    copyInto(dto, entity);
+                    return entity;
+                })
+                .toList();
+        List<Aspiration> creates = aspirationMapper.toEntityList(changes.getCreates());
+        if (!creates.isEmpty()) {
+            Profile owner = profileRepository.getReferenceById(profileId);
+            creates.forEach(entity -> entity.setProfile(owner));
+        }
+        List<Aspiration> created = aspirationRepository.saveAll(creates);
+
+        SectionBatchDTO<AspirationDTO> result = new SectionBatchDTO<>(profileId, aspirationMapper.toDTOList(created),
+                aspirationMapper.toDTOList(updated), changes.getDeletes());
+        eventPublisher.publishEvent(ProfileDataChangedEvent.ofBatch(ProfileSection.ASPIRATIONS, profileId,
+                created.stream().map(Aspiration::getAspirationId).toList(),
+                updated.stream().map(Aspiration::getAspirationId).toList(),
+                changes.getDeletes()));
+        return result;
+    }
+
+    /**
+     * Moves a profile's aspirations into the given order with one set-based
+     * {@code UPDATE}, instead of a read-modify-write of every column per row.
+     * Only rows whose sort order actually changes are written, and one
+     * {@link ProfileDataChangedEvent} brings the profile's caches in line.
+     *
+     * @param order the profile and every one of its aspiration ids, in their new order
+     * @return the profile's aspirations in their new order
+     * @throws GenericException if the ids don't list each of the profile's aspirations once (HTTP 400)
+     * @throws GenericException if an id isn't one of the profile's aspirations (HTTP 404)
+     */
+    @Transactional
+    public List<AspirationDTO> reorderAspirations(SectionOrderDTO order) {
+        List<Long> ids = SectionBatches.validateOrder(ProfileSection.ASPIRATIONS, order,
+                aspirationRepository::findIdsByProfileId);
+        Long profileId = order.getProfileId();
+        if (aspirationRepository.updateSortOrders(profileId, ids.toArray(Long[]::new)) > 0) {
+            eventPublisher.publishEvent(
+                    new ProfileDataChangedEvent(ProfileSection.ASPIRATIONS, Change.UPDATED, profileId, ids));
+        }
+        return aspirationMapper.toDTOList(aspirationRepository.findByProfile_ProfileIdOrderBySortOrderAsc(profileId));
     }
 
     /**
@@ -112,15 +263,25 @@ public class AspirationService {
      * @throws GenericException if no aspiration exists with the specified id (HTTP 404)
      */
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = CacheNames.ASPIRATION_BY_ID, key = "#aspirationId"),
-            @CacheEvict(value = CacheNames.ASPIRATIONS_BY_PROFILE, allEntries = true)
-    })
     public boolean deleteAspiration(Long aspirationId) {
-        if (aspirationRepository.existsById(aspirationId)) {
-            aspirationRepository.deleteById(aspirationId);
-            return true;
-        }
-        throw new GenericException("Aspiration not found with id: " + aspirationId, HttpStatus.NOT_FOUND);
+        Aspiration existing = aspirationRepository.findById(aspirationId)
+                .orElseThrow(() -> ProfileSection.ASPIRATIONS.notFound(aspirationId));
+        aspirationRepository.delete(existing);
+        eventPublisher.publishEvent(ProfileDataChangedEvent.of(ProfileSection.ASPIRATIONS, Change.DELETED,
+                existing.getProfile().getProfileId(), aspirationId));
+        return true;
+    }
+
+    /** Overwrites the editable fields of {@code entity} with those of {@code dto}. */
+    private void copyInto(AspirationDTO dto, Aspiration entity) {
+        entity.setSlug(dto.getId());
+        entity.setTitle(dto.getTitle());
+        entity.setSubtitle(dto.getSubtitle());
+        entity.setStatusText(dto.getStatusText());
+        entity.setProgressPercent(dto.getProgressPercent());
+        entity.setVariant(dto.getVariant());
+        entity.setFooterText(dto.getFooterText());
+        entity.setAnimated(dto.getAnimated());
+        entity.setSortOrder(dto.getSortOrder());
     }
 }
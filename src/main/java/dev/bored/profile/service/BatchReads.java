@@ -0,0 +1,67 @@
+package dev.bored.profile.service;
+
+import dev.bored.common.exception.GenericException;
+import dev.bored.profile.cache.TwoTierCache;
+import dev.bored.profile.dto.BatchDTO;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads many rows of one section by id through its {@code *_BY_ID} cache.
+ *
+ * <p>A card grid would otherwise cost one request, one cache read and, on a
+ * miss, one query per card. Here the ids the local tier doesn't hold are
+ * read from Redis together, the rows still missing are loaded with one
+ * query, and those are written back to Redis together (see
+ * {@link TwoTierCache#getAll}). Entries are shared with the single-row
+ * reads, so either warms the cache for the other.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+@Component
+@AllArgsConstructor
+public class BatchReads {
+
+    /** Most ids one request can ask for. */
+    public static final int MAX_IDS = 100;
+
+    private final CacheManager cacheManager;
+
+    /**
+     * @param section the section the rows belong to
+     * @param ids     the requested ids, in the order the caller wants the rows back
+     * @param loader  loads the rows with the given ids from the database, in any order
+     * @param idOf    the id of a row
+     * @param <D>     the row DTO type
+     * @return the rows found and the ids without one, both in request order
+     * @throws GenericException if no ids, more than {@link #MAX_IDS} or a blank id are given (HTTP 400)
+     */
+    public <D> BatchDTO<D> byIds(ProfileSection section, List<Long> ids,
+                                 Function<Collection<Long>, List<D>> loader, Function<D, Long> idOf) {
+        if (ids.isEmpty() || ids.size() > MAX_IDS || ids.stream().anyMatch(Objects::isNull)) {
+            throw new GenericException("Between 1 and " + MAX_IDS + " ids are required, got " + ids,
+                    HttpStatus.BAD_REQUEST);
+        }
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Function<Set<Long>, Map<Long, D>> load = missing -> loader.apply(missing).stream()
+                .collect(Collectors.toMap(idOf, Function.identity()));
+        Map<Long, D> found = cacheManager.getCache(section.byIdCache()) instanceof TwoTierCache cache
+                ? cache.getAll(requested, load)
+                : load.apply(requested);
+        return new BatchDTO<>(
+                requested.stream().map(found::get).filter(Objects::nonNull).toList(),
+                requested.stream().filter(id -> !found.containsKey(id)).toList());
+    }
+}
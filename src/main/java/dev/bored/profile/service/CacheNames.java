@@ -1,8 +1,10 @@
 package dev.bored.profile.service;
 
+import java.util.List;
+
 /**
- * Cache names used by {@code @Cacheable} / {@code @CacheEvict} annotations
- * across profile-service. Centralised so the Redis key prefix + TTL config
+ * Cache names used by {@code @Cacheable} annotations and the post-commit
+ * eviction of {@link ProfileSection} writes across profile-service. Centralised so the Redis key prefix + TTL config
  * in application.yml can reference the same strings.
  */
 public final class CacheNames {
@@ -13,6 +15,37 @@ public final class CacheNames {
     public static final String ACHIEVEMENT_BY_ID = "achievement-by-id";
     public static final String ASPIRATIONS_BY_PROFILE = "aspirations-by-profile";
     public static final String ASPIRATION_BY_ID = "aspiration-by-id";
+    /** A whole {@code PortfolioDTO}, keyed by profile id; evicted on any write to the profile. */
+    public static final String PORTFOLIO_BY_PROFILE = "portfolio-by-profile";
+    /** Pages of the profile directory, keyed by {@link PageKey}. */
+    public static final String PROFILE_PAGES = "profile-pages";
+    /** Pages of a profile's experiences, keyed by {@link PageKey}. */
+    public static final String EXPERIENCE_PAGES_BY_PROFILE = "experience-pages-by-profile";
+    /** Pages of a profile's achievements, keyed by {@link PageKey}. */
+    public static final String ACHIEVEMENT_PAGES_BY_PROFILE = "achievement-pages-by-profile";
+    /** Pages of a profile's aspirations, keyed by {@link PageKey}. */
+    public static final String ASPIRATION_PAGES_BY_PROFILE = "aspiration-pages-by-profile";
+    /** The current scope of each paginated listing; see {@link PageScopes}. */
+    public static final String PAGE_SCOPES = "page-scopes";
+
+    /** Every name above — the cache manager creates these eagerly at startup. */
+    public static final List<String> ALL = List.of(
+            PROFILE_BY_ID,
+            EXPERIENCES_BY_PROFILE, EXPERIENCE_BY_ID,
+            ACHIEVEMENTS_BY_PROFILE, ACHIEVEMENT_BY_ID,
+            ASPIRATIONS_BY_PROFILE, ASPIRATION_BY_ID,
+            PORTFOLIO_BY_PROFILE,
+            PROFILE_PAGES, EXPERIENCE_PAGES_BY_PROFILE, ACHIEVEMENT_PAGES_BY_PROFILE, ASPIRATION_PAGES_BY_PROFILE,
+            PAGE_SCOPES);
+
+    /**
+     * The caches keyed by profile id — everything a portfolio page reads. The
+     * {@code profile-hash} layout stores these as one Redis hash per profile.
+     * {@link #PORTFOLIO_BY_PROFILE} repeats their content, so it stays out of
+     * the hash rather than doubling what each {@code HGETALL} returns.
+     */
+    public static final List<String> BY_PROFILE_ID = List.of(
+            PROFILE_BY_ID, EXPERIENCES_BY_PROFILE, ACHIEVEMENTS_BY_PROFILE, ASPIRATIONS_BY_PROFILE);
 
     private CacheNames() { }
 }
@@ -1,26 +1,35 @@
 package dev.bored.profile.service;
 
+import dev.bored.profile.dto.BatchDTO;
 import dev.bored.profile.dto.ExperienceDTO;
+import dev.bored.profile.dto.PageDTO;
+import dev.bored.profile.dto.SectionBatchDTO;
+import dev.bored.profile.dto.SectionOrderDTO;
 import dev.bored.profile.entity.Experience;
+import dev.bored.profile.entity.Profile;
 import dev.bored.common.exception.GenericException;
 import dev.bored.profile.mapper.ExperienceMapper;
 import dev.bored.profile.repository.ExperienceRepository;
+import dev.bored.profile.repository.ProfileRepository;
+import dev.bored.profile.service.ProfileDataChangedEvent.Change;
 import lombok.AllArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
-import org.springframework.http.HttpStatus;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service for managing {@link Experience} entities.
  * <p>
  * Provides CRUD operations for work experiences associated with a profile,
  * including retrieval by profile, individual lookup, creation, update, and deletion.
- * All mutating operations are executed within a transactional context.
+ * All mutating operations are executed within a transactional context and
+ * publish a {@link ProfileDataChangedEvent} naming the owning profile, so
+ * cache eviction is scoped to that profile's entries.
  * </p>
  *
  * @author Bored Software Developer
@@ -28,10 +37,13 @@ import java.util.List;
  */
 @Service
 @AllArgsConstructor
-public class ExperienceService {
+public class ExperienceService implements ProfileSectionReader, SectionIdSource {
 
     private final ExperienceRepository experienceRepository;
+    private final ProfileRepository profileRepository;
     private final ExperienceMapper experienceMapper;
+    private final BatchReads batchReads;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Retrieves all experiences associated with a given profile, ordered by sort order ascending.
@@ -40,12 +52,65 @@ public class ExperienceService {
      * @return a list of {@link ExperienceDTO} instances for the specified profile
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = CacheNames.EXPERIENCES_BY_PROFILE, key = "#profileId")
+    @Cacheable(value = CacheNames.EXPERIENCES_BY_PROFILE, key = "#profileId", sync = true)
     public List<ExperienceDTO> getExperiencesByProfileId(Long profileId) {
         return experienceMapper.toDTOList(
                 experienceRepository.findByProfile_ProfileIdOrderBySortOrderAsc(profileId));
     }
 
+    /**
+     * Retrieves one page of a profile's experiences, ordered by sort order ascending
+     * with ties broken by id.
+     *
+     * @param page the profile, page size and position, from {@link PageScopes#keyFor}
+     * @return the page, with the cursor of the next one if more experiences follow
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheNames.EXPERIENCE_PAGES_BY_PROFILE, key = "#page", sync = true)
+    public PageDTO<ExperienceDTO> getExperiencesPage(PageKey page) {
+        PageCursor after = page.after();
+        List<Experience> window = after == null
+                ? experienceRepository.findByProfile_ProfileIdOrderBySortOrderAscExperienceIdAsc(
+                        page.profileId(), page.window())
+                : experienceRepository.findPageAfter(page.profileId(), after.sortOrder(), after.id(), page.window());
+        return page.toPage(experienceMapper.toDTOList(window),
+                experience -> new PageCursor(experience.getSortOrder(), experience.getExperienceId()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ProfileSection section() {
+        return ProfileSection.EXPERIENCES;
+    }
+
+    /**
+     * Loads all experiences for a profile straight from the database.
+     * <p>
+     * Runs in its own read-only transaction so it can be called from
+     * after-commit cache maintenance, once the writing transaction is done.
+     * </p>
+     *
+     * @param profileId the unique identifier of the profile whose experiences are requested
+     * @return a list of {@link ExperienceDTO} instances for the specified profile
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public List<ExperienceDTO> loadByProfile(Long profileId) {
+        return experienceMapper.toDTOList(
+                experienceRepository.findByProfile_ProfileIdOrderBySortOrderAsc(profileId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> loadAllIds() {
+        return experienceRepository.findAllIds();
+    }
+
     /**
      * Retrieves a single experience by its unique identifier.
      *
@@ -54,13 +119,28 @@ public class ExperienceService {
      * @throws GenericException if no experience exists with the specified id (HTTP 404)
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = CacheNames.EXPERIENCE_BY_ID, key = "#experienceId")
+    @Cacheable(value = CacheNames.EXPERIENCE_BY_ID, key = "#experienceId", sync = true)
     public ExperienceDTO getExperienceById(Long experienceId) {
         Experience experience = experienceRepository.findById(experienceId)
-                .orElseThrow(() -> new GenericException("Experience not found with id: " + experienceId, HttpStatus.NOT_FOUND));
+                .orElseThrow(() -> ProfileSection.EXPERIENCES.notFound(experienceId));
         return experienceMapper.toDTO(experience);
     }
 
+    /**
+     * Retrieves several experiences by their ids, through the same cache as
+     * {@link #getExperienceById}, loading the uncached ones with a single query.
+     *
+     * @param experienceIds the ids of the experiences to retrieve, in the order wanted
+     * @return the {@link ExperienceDTO}s found and the ids not found, both in request order
+     * @throws GenericException if no ids or more than {@value BatchReads#MAX_IDS} are given (HTTP 400)
+     */
+    @Transactional(readOnly = true)
+    public BatchDTO<ExperienceDTO> getExperiencesByIds(List<Long> experienceIds) {
+        return batchReads.byIds(ProfileSection.EXPERIENCES, experienceIds,
+                ids -> experienceMapper.toDTOList(experienceRepository.findAllById(ids)),
+                ExperienceDTO::getExperienceId);
+    }
+
     /**
      * Creates a new experience record.
      *
@@ -68,10 +148,13 @@ public class ExperienceService {
      * @return the newly created {@link ExperienceDTO} with its persisted state
      */
     @Transactional
-    @CacheEvict(value = CacheNames.EXPERIENCES_BY_PROFILE, allEntries = true)
     public ExperienceDTO addExperience(ExperienceDTO dto) {
         Experience entity = experienceMapper.toEntity(dto);
-        return experienceMapper.toDTO(experienceRepository.save(entity));
+        Experience saved = experienceRepository.save(entity);
+        ExperienceDTO result = experienceMapper.toDTO(saved);
+        eventPublisher.publishEvent(ProfileDataChangedEvent.of(ProfileSection.EXPERIENCES, Change.CREATED,
+                saved.getProfile().getProfileId(), saved.getExperienceId(), result));
+        return result;
     }
 
     /**
@@ -83,24 +166,93 @@ public class ExperienceService {
      * @throws GenericException if no experience exists with the specified id (HTTP 404)
      */
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = CacheNames.EXPERIENCE_BY_ID, key = "#experienceId"),
-            @CacheEvict(value = CacheNames.EXPERIENCES_BY_PROFILE, allEntries = true)
-    })
     public ExperienceDTO updateExperience(Long experienceId, ExperienceDTO dto) {
         Experience existing = experienceRepository.findById(experienceId)
-                .orElseThrow(() -> new GenericException("Experience not found with id: " + experienceId, HttpStatus.NOT_FOUND));
-
-        existing.setSlug(dto.getId());
-        existing.setCompany(dto.getCompany());
-        existing.setRole(dto.getRole());
-        existing.setRoleStyle(dto.getRoleStyle());
-        existing.setDescription(dto.getDescription());
-        existing.setStartDate(dto.getStartDate());
-        existing.setEndDate(dto.getEndDate());
-        existing.setSortOrder(dto.getSortOrder());
-
-        return experienceMapper.toDTO(experienceRepository.save(existing));
+                .orElseThrow(() -> ProfileSection.EXPERIENCES.notFound(experienceId));
+
+        copyInto(dto, existing);
+
+        Experience saved = experienceRepository.save(existing);
+        ExperienceDTO result = experienceMapper.toDTO(saved);
+        eventPublisher.publishEvent(ProfileDataChangedEvent.of(ProfileSection.EXPERIENCES, Change.UPDATED,
+                existing.getProfile().getProfileId(), experienceId, result));
+        return result;
+    }
+
+    /**
+     * Applies creates, updates and deletes of one profile's experiences in a single
+     * transaction: all of them or, if any fails, none.
+     * <p>
+     * The rows to update or delete are read with one query. New rows take
+     * their ids from a pooled sequence, so the inserts, like the updates and
+     * deletes, are flushed as JDBC batches. One {@link ProfileDataChangedEvent}
+     * covers the whole batch, so the profile's caches are brought in line once.
+     * </p>
+     *
+     * @param batch the changes, for the profile named by its {@code profileId}
+     * @return the changes made, with the ids of the created experiences
+     * @throws GenericException if the batch is empty, too large or malformed (HTTP 400)
+     * @throws GenericException if a row to update or delete isn't one of the profile's, or rows are
+     *         created for a profile that doesn't exist (HTTP 404)
+     */
+    @Transactional
+    public SectionBatchDTO<ExperienceDTO> applyExperienceBatch(SectionBatchDTO<ExperienceDTO> batch) {
+        SectionBatchDTO<ExperienceDTO> changes = SectionBatches.validate(batch, ExperienceDTO::getExperienceId,
+                ExperienceDTO::getProfileId);
+        List<Long> targets = SectionBatches.targets(changes, ExperienceDTO::getExperienceId);
+        Long profileId = changes.getProfileId();
+        Map<Long, Experience> existing = SectionBatches.owned(ProfileSection.EXPERIENCES, profileId, targets,
+                targets.isEmpty() ? List.of() : experienceRepository.findAllById(targets),
+                Experience::getExperienceId, experience -> experience.getProfile().getProfileId());
+        if (!changes.getCreates().isEmpty() && !profileRepository.existsById(profileId)) {
+            throw ProfileSection.PROFILE.notFound(profileId);
+        }
+
+        experienceRepository.deleteAll(changes.getDeletes().stream().map(existing::get).toList());
+        List<Experience> updated = changes.getUpdates().stream()
+                .map(dto -> {
+                    Experience entity = existing.get(dto.getExperienceId());
+                    copyInto(dto, entity);
+                    return entity;
+                })
+                .toList();
+        List<Experience> creates = experienceMapper.toEntityList(changes.getCreates());
+        if (!creates.isEmpty()) {
+            Profile owner = profileRepository.getReferenceById(profileId);
+            creates.forEach(entity -> entity.setProfile(owner));
+        }
+        List<Experience> created = experienceRepository.saveAll(creates);
+
+        SectionBatchDTO<ExperienceDTO> result = new SectionBatchDTO<>(profileId, experienceMapper.toDTOList(created),
+                experienceMapper.toDTOList(updated), changes.getDeletes());
+        eventPublisher.publishEvent(ProfileDataChangedEvent.ofBatch(ProfileSection.EXPERIENCES, profileId,
+                created.stream().map(Experience::getExperienceId).toList(),
+                updated.stream().map(Experience::getExperienceId).toList(),
+                changes.getDeletes()));
+        return result;
+    }
+
+    /**
+     * Moves a profile's experiences into the given order with one set-based
+     * {@code UPDATE}, instead of a read-modify-write of every column per row.
+     * Only rows whose sort order actually changes are written, and one
+     * {@link ProfileDataChangedEvent} brings the profile's caches in line.
+     *
+     * @param order the profile and every one of its experience ids, in their new order
+     * @return the profile's experiences in their new order
+     * @throws GenericException if the ids don't list each of the profile's experiences once (HTTP 400)
+     * @throws GenericException if an id isn't one of the profile's experiences (HTTP 404)
+     */
+    @Transactional
+    public List<ExperienceDTO> reorderExperiences(SectionOrderDTO order) {
+        List<Long> ids = SectionBatches.validateOrder(ProfileSection.EXPERIENCES, order,
+                experienceRepository::findIdsByProfileId);
+        Long profileId = order.getProfileId();
+        if (experienceRepository.updateSortOrders(profileId, ids.toArray(Long[]::new)) > 0) {
+            eventPublisher.publishEvent(
+                    new ProfileDataChangedEvent(ProfileSection.EXPERIENCES, Change.UPDATED, profileId, ids));
+        }
+        return experienceMapper.toDTOList(experienceRepository.findByProfile_ProfileIdOrderBySortOrderAsc(profileId));
     }
 
     /**
@@ -111,15 +263,24 @@ public class ExperienceService {
      * @throws GenericException if no experience exists with the specified id (HTTP 404)
      */
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = CacheNames.EXPERIENCE_BY_ID, key = "#experienceId"),
-            @CacheEvict(value = CacheNames.EXPERIENCES_BY_PROFILE, allEntries = true)
-    })
     public boolean deleteExperience(Long experienceId) {
-        if (experienceRepository.existsById(experienceId)) {
-            experienceRepository.deleteById(experienceId);
-            return true;
-        }
-        throw new GenericException("Experience not found with id: " + experienceId, HttpStatus.NOT_FOUND);
+        Experience existing = experienceRepository.findById(experienceId)
+                .orElseThrow(() -> ProfileSection.EXPERIENCES.notFound(experienceId));
+        experienceRepository.delete(existing);
+        eventPublisher.publishEvent(ProfileDataChangedEvent.of(ProfileSection.EXPERIENCES, Change.DELETED,
+                existing.getProfile().getProfileId(), experienceId));
+        return true;
+    }
+
+    /** Overwrites the editable fields of {@code entity} with those of {@code dto}. */
+    private void copyInto(ExperienceDTO dto, Experience entity) {
+        entity.setSlug(dto.getId());
+        entity.setCompany(dto.getCompany());
+        entity.setRole(dto.getRole());
+        entity.setRoleStyle(dto.getRoleStyle());
+        entity.setDescription(dto.getDescription());
+        entity.setStartDate(dto.getStartDate());
+        entity.setEndDate(dto.getEndDate());
+        entity.setSortOrder(dto.getSortOrder());
     }
 }
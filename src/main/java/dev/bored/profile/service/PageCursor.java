@@ -0,0 +1,64 @@
+package dev.bored.profile.service;
+
+import dev.bored.common.exception.GenericException;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of a row in a keyset-paginated listing: its {@code sort_order}
+ * and id, the listing's sort key.
+ *
+ * <p>Clients see it only as an opaque token, so the encoding can change
+ * without breaking the API contract beyond invalidating cursors in flight.
+ * Profiles have no sort order and list by id alone, with {@code sortOrder}
+ * fixed at {@code 0}. The token also names the listing it was issued for,
+ * so a cursor of one listing is rejected by any other instead of seeking
+ * into the wrong rows.</p>
+ *
+ * @param sortOrder the row's sort order
+ * @param id        the row's id, which breaks ties between equal sort orders
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public record PageCursor(int sortOrder, long id) {
+
+    /**
+     * @param section   the listed section; {@link ProfileSection#PROFILE} for the profile directory
+     * @param profileId the profile whose rows are listed, or {@code null} for the profile directory
+     * @return the cursor as an opaque, URL-safe token, accepted only by the same listing
+     */
+    public String encode(ProfileSection section, @Nullable Long profileId) {
+        String cursor = PageScopes.scopeKey(section, profileId) + "/" + sortOrder + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @param token     a token from {@link #encode}
+     * @param section   the listed section; {@link ProfileSection#PROFILE} for the profile directory
+     * @param profileId the profile whose rows are listed, or {@code null} for the profile directory
+     * @return the cursor it encodes
+     * @throws GenericException if {@code token} is not a cursor, or is one of another listing (HTTP 400)
+     */
+    public static PageCursor decode(String token, ProfileSection section, @Nullable Long profileId) {
+        String listing;
+        PageCursor cursor;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int slash = decoded.lastIndexOf('/');
+            int separator = decoded.indexOf(':', slash);
+            listing = decoded.substring(0, slash);
+            cursor = new PageCursor(Integer.parseInt(decoded.substring(slash + 1, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new GenericException("Invalid page cursor: " + token, HttpStatus.BAD_REQUEST);
+        }
+        if (!listing.equals(PageScopes.scopeKey(section, profileId))) {
+            throw new GenericException("Page cursor " + token + " belongs to another listing",
+                    HttpStatus.BAD_REQUEST);
+        }
+        return cursor;
+    }
+}
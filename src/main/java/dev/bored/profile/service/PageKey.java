@@ -0,0 +1,53 @@
+package dev.bored.profile.service;
+
+import dev.bored.profile.dto.PageDTO;
+import org.springframework.data.domain.Limit;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One requested page of a listing, and its cache key.
+ *
+ * <p>The {@code scope} comes from {@link PageScopes} and changes whenever a
+ * write touches the listing, so every page cached before the write drops out
+ * of reach at once, whatever its cursor.</p>
+ *
+ * @param section   the listed section; {@link ProfileSection#PROFILE} for the profile directory
+ * @param profileId the profile whose rows are listed, or {@code null} for the profile directory
+ * @param scope     the listing's current page scope
+ * @param limit     the most rows on the page
+ * @param after     the position the page starts after, or {@code null} for the first page
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public record PageKey(ProfileSection section, @Nullable Long profileId, String scope, int limit,
+                      @Nullable PageCursor after) {
+
+    /** @return how many rows to read: one past {@link #limit}, to tell whether another page follows */
+    public Limit window() {
+        return Limit.of(limit + 1);
+    }
+
+    /**
+     * @param window   the rows read with {@link #window()}, in listing order
+     * @param cursorOf the position of a row
+     * @param <T>      the row type
+     * @return the page: at most {@link #limit} rows, and the cursor of the last one if more follow
+     */
+    public <T> PageDTO<T> toPage(List<T> window, Function<T, PageCursor> cursorOf) {
+        if (window.size() <= limit) {
+            return new PageDTO<>(window, null);
+        }
+        List<T> items = window.subList(0, limit);
+        return new PageDTO<>(List.copyOf(items), cursorOf.apply(items.get(limit - 1)).encode(section, profileId));
+    }
+
+    /** The cache key, e.g. {@code 1:9f3c0a7e12b45d68:20:3.12}; each section's pages have a cache of their own. */
+    @Override
+    public String toString() {
+        return (profileId != null ? profileId : "all") + ":" + scope + ":" + limit + ":"
+                + (after != null ? after.sortOrder() + "." + after.id() : "");
+    }
+}
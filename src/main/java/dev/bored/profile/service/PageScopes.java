@@ -0,0 +1,101 @@
+package dev.bored.profile.service;
+
+import dev.bored.common.exception.GenericException;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hands out the {@link PageKey}s paginated reads are cached under.
+ *
+ * <p>Pages can't be evicted one by one after a write: any page of the
+ * listing may have shifted, and their cursors are whatever clients sent.
+ * Instead every key carries the listing's current scope, a random token
+ * cached in {@link CacheNames#PAGE_SCOPES}. A write evicts the scope, the
+ * next read draws a new one, and the old pages are never read again; they
+ * expire on their TTL. Only a write moves a listing to a new scope.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+@Component
+@AllArgsConstructor
+public class PageScopes {
+
+    /** Page size when the client doesn't ask for one. */
+    public static final int DEFAULT_LIMIT = 20;
+
+    /** Largest page a client can ask for; bigger limits are cut down to it. */
+    public static final int MAX_LIMIT = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(PageScopes.class);
+
+    private final CacheManager cacheManager;
+
+    /**
+     * @param section   the listed section; {@link ProfileSection#PROFILE} for the profile directory
+     * @param profileId the profile whose rows are listed, or {@code null} for the profile directory
+     * @param limit     the requested page size, or {@code null} for {@link #DEFAULT_LIMIT}
+     * @param after     the {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @return the key to read the page with
+     * @throws GenericException if {@code limit} is not positive or {@code after} is not a cursor of this
+     *         listing (HTTP 400)
+     */
+    public PageKey keyFor(ProfileSection section, @Nullable Long profileId, @Nullable Integer limit,
+                          @Nullable String after) {
+        int size = limit != null ? limit : DEFAULT_LIMIT;
+        if (size < 1) {
+            throw new GenericException("Page limit must be positive, got " + size, HttpStatus.BAD_REQUEST);
+        }
+        PageCursor cursor = after != null ? PageCursor.decode(after, section, profileId) : null;
+        return new PageKey(section, profileId, scope(scopeKey(section, profileId)), Math.min(size, MAX_LIMIT),
+                cursor);
+    }
+
+    /**
+     * @param section   the listed section
+     * @param profileId the profile whose rows are listed, or {@code null} for the profile directory
+     * @return the {@link CacheNames#PAGE_SCOPES} key of the listing's scope
+     */
+    public static String scopeKey(ProfileSection section, @Nullable Long profileId) {
+        return profileId != null ? section.name() + ":" + profileId : section.name();
+    }
+
+    /**
+     * The listing's current scope, drawing one if it has none. Read with a
+     * plain get and stored with {@code putIfAbsent} rather than through a
+     * loader, so the scope is never refreshed behind a write's back (a new
+     * token would drop every cached page of the listing) and a miss takes no
+     * rebuild lease. Two instances drawing at once may keep different scopes
+     * until the next write; each only caches pages the other won't read.
+     */
+    private String scope(String scopeKey) {
+        Cache scopes = cacheManager.getCache(CacheNames.PAGE_SCOPES);
+        if (scopes == null) {
+            return newScope();
+        }
+        try {
+            Cache.ValueWrapper cached = scopes.get(scopeKey);
+            if (cached != null && cached.get() instanceof String scope) {
+                return scope;
+            }
+            String drawn = newScope();
+            Cache.ValueWrapper raced = scopes.putIfAbsent(scopeKey, drawn);
+            return raced != null && raced.get() instanceof String scope ? scope : drawn;
+        } catch (RuntimeException ex) {
+            log.warn("Page scope lookup failed for {} — serving the page under a fresh scope", scopeKey, ex);
+            return newScope();
+        }
+    }
+
+    private static String newScope() {
+        return Long.toHexString(ThreadLocalRandom.current().nextLong());
+    }
+}
@@ -0,0 +1,73 @@
+package dev.bored.profile.service;
+
+import dev.bored.profile.dto.PortfolioDTO;
+import dev.bored.profile.entity.Profile;
+import dev.bored.common.exception.GenericException;
+import dev.bored.profile.mapper.AchievementMapper;
+import dev.bored.profile.mapper.AspirationMapper;
+import dev.bored.profile.mapper.ExperienceMapper;
+import dev.bored.profile.mapper.ProfileMapper;
+import dev.bored.profile.repository.AchievementRepository;
+import dev.bored.profile.repository.AspirationRepository;
+import dev.bored.profile.repository.ExperienceRepository;
+import dev.bored.profile.repository.PortfolioRepository;
+import dev.bored.profile.repository.ProfileRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for reading a whole portfolio page in one call.
+ * <p>
+ * The portfolio is cached as one entry per profile, which the post-commit
+ * cache maintenance evicts on any write to the profile or its sections. On
+ * PostgreSQL a miss is loaded with a single statement by
+ * {@link PortfolioRepository}; elsewhere (H2) it falls back to the four
+ * JPA repository reads.
+ * </p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+@Service
+@AllArgsConstructor
+public class PortfolioService {
+
+    private final PortfolioRepository portfolioRepository;
+    private final ProfileRepository profileRepository;
+    private final ExperienceRepository experienceRepository;
+    private final AchievementRepository achievementRepository;
+    private final AspirationRepository aspirationRepository;
+    private final ProfileMapper profileMapper;
+    private final ExperienceMapper experienceMapper;
+    private final AchievementMapper achievementMapper;
+    private final AspirationMapper aspirationMapper;
+
+    /**
+     * Retrieves a profile together with its ordered experiences, achievements and aspirations.
+     *
+     * @param profileId the unique identifier of the profile to retrieve
+     * @return the {@link PortfolioDTO} of the given profile
+     * @throws GenericException if no profile exists with the specified id (HTTP 404)
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheNames.PORTFOLIO_BY_PROFILE, key = "#profileId", sync = true)
+    public PortfolioDTO getPortfolio(Long profileId) {
+        if (portfolioRepository.isSingleQuerySupported()) {
+            return portfolioRepository.findByProfileId(profileId)
+                    .orElseThrow(() -> ProfileSection.PROFILE.notFound(profileId));
+        }
+        Profile profile = profileRepository.findById(profileId)
+                .orElseThrow(() -> ProfileSection.PROFILE.notFound(profileId));
+        return PortfolioDTO.builder()
+                .profile(profileMapper.toDTO(profile))
+                .experiences(experienceMapper.toDTOList(
+                        experienceRepository.findByProfile_ProfileIdOrderBySortOrderAsc(profileId)))
+                .achievements(achievementMapper.toDTOList(
+                        achievementRepository.findByProfile_ProfileIdOrderBySortOrderAsc(profileId)))
+                .aspirations(aspirationMapper.toDTOList(
+                        aspirationRepository.findByProfile_ProfileIdOrderBySortOrderAsc(profileId)))
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package dev.bored.profile.service;
+
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Published by the services whenever a write touches a profile's data.
+ *
+ * <p>Carries the owning profile resolved from the persisted entity, so
+ * listeners can act on exactly the keys that changed instead of whole
+ * caches. Listeners run after the surrounding transaction commits.</p>
+ *
+ * @param section   the section that was written
+ * @param change    what kind of write it was
+ * @param profileId the profile the written rows belong to
+ * @param ids       ids of the written rows (the profile id itself for {@link ProfileSection#PROFILE})
+ * @param value     the DTO the write returned, for single-row creates and updates; the
+ *                  {@link BatchedRows} of a {@link Change#BATCH}; {@code null} otherwise
+ * @author Bored Software Developer
+ * @since 2026-10-16
+ */
+public record ProfileDataChangedEvent(ProfileSection section, Change change, Long profileId, List<Long> ids,
+                                      @Nullable Object value) {
+
+    /** The kind of write behind an event. */
+    public enum Change { CREATED, UPDATED, DELETED, BATCH }
+
+    /**
+     * What a {@link Change#BATCH} did, row by row.
+     *
+     * @param created ids of the rows it inserted
+     * @param updated ids of the rows it updated
+     * @param deleted ids of the rows it deleted
+     */
+    public record BatchedRows(List<Long> created, List<Long> updated, List<Long> deleted) {
+    }
+
+    /** Event for a write touching several rows, with no single resulting DTO. */
+    public ProfileDataChangedEvent(ProfileSection section, Change change, Long profileId, List<Long> ids) {
+        this(section, change, profileId, ids, null);
+    }
+
+    /** Event for a write touching a single row, with no resulting DTO (deletes). */
+    public static ProfileDataChangedEvent of(ProfileSection section, Change change, Long profileId, Long id) {
+        return new ProfileDataChangedEvent(section, change, profileId, List.of(id), null);
+    }
+
+    /** Event for a single-row create or update that returned {@code value}. */
+    public static ProfileDataChangedEvent of(ProfileSection section, Change change, Long profileId, Long id,
+                                             Object value) {
+        return new ProfileDataChangedEvent(section, change, profileId, List.of(id), value);
+    }
+
+    /**
+     * Event for creates, updates and deletes of one profile's section applied
+     * together, so listeners act once for the lot; {@code ids} lists every row touched.
+     */
+    public static ProfileDataChangedEvent ofBatch(ProfileSection section, Long profileId, List<Long> created,
+                                                  List<Long> updated, List<Long> deleted) {
+        List<Long> ids = new ArrayList<>(created);
+        ids.addAll(updated);
+        ids.addAll(deleted);
+        return new ProfileDataChangedEvent(section, Change.BATCH, profileId, List.copyOf(ids),
+                new BatchedRows(List.copyOf(created), List.copyOf(updated), List.copyOf(deleted)));
+    }
+
+    /** Ids of the rows this write inserted. */
+    public List<Long> createdIds() {
+        if (value instanceof BatchedRows rows) {
+            return rows.created();
+        }
+        return change == Change.CREATED ? ids : List.of();
+    }
+
+    /** Ids of the rows this write deleted. */
+    public List<Long> deletedIds() {
+        if (value instanceof BatchedRows rows) {
+            return rows.deleted();
+        }
+        return change == Change.DELETED ? ids : List.of();
+    }
+}
@@ -0,0 +1,126 @@
+package dev.bored.profile.service;
+
+import dev.bored.profile.dto.AchievementDTO;
+import dev.bored.profile.dto.AspirationDTO;
+import dev.bored.profile.dto.ExperienceDTO;
+import dev.bored.profile.dto.ProfileDTO;
+import dev.bored.profile.exception.ResourceNotFoundException;
+import org.springframework.lang.Nullable;
+
+/**
+ * The parts of a portfolio that are cached and mutated independently, with
+ * the caches each one is read through.
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-16
+ */
+public enum ProfileSection {
+
+    PROFILE("Profile", ProfileDTO.class, CacheNames.PROFILE_BY_ID, null, CacheNames.PROFILE_PAGES),
+    EXPERIENCES("Experience", ExperienceDTO.class, CacheNames.EXPERIENCE_BY_ID, CacheNames.EXPERIENCES_BY_PROFILE,
+            CacheNames.EXPERIENCE_PAGES_BY_PROFILE),
+    ACHIEVEMENTS("Achievement", AchievementDTO.class, CacheNames.ACHIEVEMENT_BY_ID, CacheNames.ACHIEVEMENTS_BY_PROFILE,
+            CacheNames.ACHIEVEMENT_PAGES_BY_PROFILE),
+    ASPIRATIONS("Aspiration", AspirationDTO.class, CacheNames.ASPIRATION_BY_ID, CacheNames.ASPIRATIONS_BY_PROFILE,
+            CacheNames.ASPIRATION_PAGES_BY_PROFILE);
+
+    private final String label;
+    private final Class<?> dtoType;
+    private final String byIdCache;
+    @Nullable
+    private final String byProfileCache;
+    private final String pageCache;
+
+    ProfileSection(String label, Class<?> dtoType, String byIdCache, @Nullable String byProfileCache,
+                   String pageCache) {
+        this.label = label;
+        this.dtoType = dtoType;
+        this.byIdCache = byIdCache;
+        this.byProfileCache = byProfileCache;
+        this.pageCache = pageCache;
+    }
+
+    /**
+     * @param cacheName a cache name
+     * @return the section whose by-id or by-profile cache is {@code cacheName}, or {@code null}
+     */
+    @Nullable
+    public static ProfileSection forCache(String cacheName) {
+        for (ProfileSection section : values()) {
+            if (section.byIdCache.equals(cacheName) || cacheName.equals(section.byProfileCache)) {
+                return section;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param cacheName a cache name
+     * @return the section whose by-id cache is {@code cacheName}, or {@code null}
+     */
+    @Nullable
+    public static ProfileSection forByIdCache(String cacheName) {
+        for (ProfileSection section : values()) {
+            if (section.byIdCache.equals(cacheName)) {
+                return section;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param cacheName a cache name
+     * @return the section whose pages {@code cacheName} holds, or {@code null}
+     */
+    @Nullable
+    public static ProfileSection forPageCache(String cacheName) {
+        for (ProfileSection section : values()) {
+            if (section.pageCache.equals(cacheName)) {
+                return section;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param cacheName a cache name
+     * @return the section whose ids are the keys of {@code cacheName}: that of
+     *         a by-id cache, {@link #PROFILE} for the portfolio cache, otherwise {@code null}
+     */
+    @Nullable
+    public static ProfileSection forIdKeyedCache(String cacheName) {
+        return CacheNames.PORTFOLIO_BY_PROFILE.equals(cacheName) ? PROFILE : forByIdCache(cacheName);
+    }
+
+    /**
+     * @param id the id that was looked up
+     * @return the 404 raised when no row of this section has {@code id}
+     */
+    public ResourceNotFoundException notFound(Object id) {
+        return new ResourceNotFoundException(label + " not found with id: " + id);
+    }
+
+    /** The DTO this section's caches hold, alone or in a list. */
+    public Class<?> dtoType() {
+        return dtoType;
+    }
+
+    /** Cache holding single rows of this section, keyed by row id. */
+    public String byIdCache() {
+        return byIdCache;
+    }
+
+    /** Cache holding a profile's ordered list, keyed by profile id; {@code null} for {@link #PROFILE}. */
+    @Nullable
+    public String byProfileCache() {
+        return byProfileCache;
+    }
+
+    /**
+     * Cache holding pages of this section, keyed by {@link PageKey}: a
+     * profile's rows, or the profile directory for {@link #PROFILE}.
+     */
+    public String pageCache() {
+        return pageCache;
+    }
+}
@@ -0,0 +1,29 @@
+package dev.bored.profile.service;
+
+import java.util.List;
+
+/**
+ * Uncached read of one section's ordered list for a profile.
+ *
+ * <p>Implemented by the section services so cache maintenance can rebuild a
+ * {@code *_BY_PROFILE} entry straight from the database, without going
+ * through (and being answered by) the {@code @Cacheable} read it replaces.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-16
+ */
+public interface ProfileSectionReader {
+
+    /**
+     * @return the section this reader loads
+     */
+    ProfileSection section();
+
+    /**
+     * Loads the section's rows for a profile, ordered by sort order, bypassing the cache.
+     *
+     * @param profileId the profile whose rows are requested
+     * @return the profile's rows as DTOs, ordered by sort order ascending
+     */
+    List<?> loadByProfile(Long profileId);
+}
@@ -1,23 +1,31 @@
 package dev.bored.profile.service;
 
+import dev.bored.profile.dto.PageDTO;
 import dev.bored.profile.dto.ProfileDTO;
 import dev.bored.profile.entity.Profile;
 import dev.bored.common.exception.GenericException;
 import dev.bored.profile.mapper.ProfileMapper;
+import dev.bored.profile.repository.AchievementRepository;
+import dev.bored.profile.repository.AspirationRepository;
+import dev.bored.profile.repository.ExperienceRepository;
 import dev.bored.profile.repository.ProfileRepository;
+import dev.bored.profile.service.ProfileDataChangedEvent.Change;
 import lombok.AllArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.http.HttpStatus;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 /**
  * Service for managing {@link Profile} entities.
  * <p>
  * Provides CRUD operations for user profiles, including retrieval,
  * creation, update, and deletion. All mutating operations are
- * executed within a transactional context.
+ * executed within a transactional context and publish a
+ * {@link ProfileDataChangedEvent} so cache eviction is scoped to the
+ * affected profile.
  * </p>
  *
  * @author Bored Software Developer
@@ -25,10 +33,14 @@ import org.springframework.transaction.annotation.Transactional;
  */
 @Service
 @AllArgsConstructor
-public class ProfileService {
+public class ProfileService implements SectionIdSource {
 
     private final ProfileRepository profileRepository;
     private final ProfileMapper profileMapper;
+    private final ExperienceRepository experienceRepository;
+    private final AchievementRepository achievementRepository;
+    private final AspirationRepository aspirationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Retrieves a profile by its unique identifier.
@@ -38,13 +50,46 @@ public class ProfileService {
      * @throws GenericException if no profile exists with the specified id (HTTP 404)
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = CacheNames.PROFILE_BY_ID, key = "#profileId")
+    @Cacheable(value = CacheNames.PROFILE_BY_ID, key = "#profileId", sync = true)
     public ProfileDTO getProfileById(Long profileId) {
         Profile profile = profileRepository.findById(profileId)
-                .orElseThrow(() -> new GenericException("Profile not found with id: " + profileId, HttpStatus.NOT_FOUND));
+                .orElseThrow(() -> ProfileSection.PROFILE.notFound(profileId));
         return profileMapper.toDTO(profile);
     }
 
+    /**
+     * Retrieves one page of the profile directory, ordered by id.
+     *
+     * @param page the page size and position, from {@link PageScopes#keyFor}
+     * @return the page, with the cursor of the next one if more profiles follow
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheNames.PROFILE_PAGES, key = "#page", sync = true)
+    public PageDTO<ProfileDTO> getProfilesPage(PageKey page) {
+        PageCursor after = page.after();
+        List<Profile> window = after == null
+                ? profileRepository.findAllByOrderByProfileIdAsc(page.window())
+                : profileRepository.findByProfileIdGreaterThanOrderByProfileIdAsc(after.id(), page.window());
+        return page.toPage(profileMapper.toDTOList(window), profile -> new PageCursor(0, profile.getProfileId()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ProfileSection section() {
+        return ProfileSection.PROFILE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> loadAllIds() {
+        return profileRepository.findAllIds();
+    }
+
     /**
      * Creates a new profile.
      *
@@ -55,7 +100,10 @@ public class ProfileService {
     public ProfileDTO addProfile(ProfileDTO profileDTO) {
         Profile profile = profileMapper.toEntity(profileDTO);
         Profile savedProfile = profileRepository.save(profile);
-        return profileMapper.toDTO(savedProfile);
+        ProfileDTO result = profileMapper.toDTO(savedProfile);
+        eventPublisher.publishEvent(ProfileDataChangedEvent.of(ProfileSection.PROFILE, Change.CREATED,
+                savedProfile.getProfileId(), savedProfile.getProfileId(), result));
+        return result;
     }
 
     /**
@@ -67,10 +115,9 @@ public class ProfileService {
      * @throws GenericException if no profile exists with the specified id (HTTP 404)
      */
     @Transactional
-    @CacheEvict(value = CacheNames.PROFILE_BY_ID, key = "#profileId")
     public ProfileDTO updateProfile(Long profileId, ProfileDTO profileDTO) {
         Profile existing = profileRepository.findById(profileId)
-                .orElseThrow(() -> new GenericException("Profile not found with id: " + profileId, HttpStatus.NOT_FOUND));
+                .orElseThrow(() -> ProfileSection.PROFILE.notFound(profileId));
 
         existing.setFirstName(profileDTO.getFirstName());
         existing.setLastName(profileDTO.getLastName());
@@ -78,24 +125,40 @@ public class ProfileService {
         existing.setStatus(profileDTO.getStatus());
 
         Profile updated = profileRepository.save(existing);
-        return profileMapper.toDTO(updated);
+        ProfileDTO result = profileMapper.toDTO(updated);
+        eventPublisher.publishEvent(ProfileDataChangedEvent.of(ProfileSection.PROFILE, Change.UPDATED, profileId, profileId, result));
+        return result;
     }
 
     /**
      * Deletes a profile by its unique identifier.
+     * <p>
+     * The database cascades the delete to the profile's experiences,
+     * achievements and aspirations, so their ids are collected first and
+     * published alongside the profile itself — otherwise their cached lists
+     * and single-row entries would outlive the rows.
+     * </p>
      *
      * @param profileId the unique identifier of the profile to delete
      * @return {@code true} if the profile was successfully deleted
      * @throws GenericException if no profile exists with the specified id (HTTP 404)
      */
     @Transactional
-    @CacheEvict(value = CacheNames.PROFILE_BY_ID, key = "#profileId")
     public boolean deleteProfile(Long profileId) {
         if (profileRepository.existsById(profileId)) {
+            List<ProfileDataChangedEvent> cascaded = List.of(
+                    new ProfileDataChangedEvent(ProfileSection.EXPERIENCES, Change.DELETED, profileId,
+                            experienceRepository.findIdsByProfileId(profileId)),
+                    new ProfileDataChangedEvent(ProfileSection.ACHIEVEMENTS, Change.DELETED, profileId,
+                            achievementRepository.findIdsByProfileId(profileId)),
+                    new ProfileDataChangedEvent(ProfileSection.ASPIRATIONS, Change.DELETED, profileId,
+                            aspirationRepository.findIdsByProfileId(profileId)));
             profileRepository.deleteById(profileId);
+            cascaded.forEach(eventPublisher::publishEvent);
+            eventPublisher.publishEvent(ProfileDataChangedEvent.of(ProfileSection.PROFILE, Change.DELETED, profileId, profileId));
             return true;
         } else {
-            throw new GenericException("Profile not found with id: " + profileId, HttpStatus.NOT_FOUND);
+            throw ProfileSection.PROFILE.notFound(profileId);
         }
     }
 }
\ No newline at end of file
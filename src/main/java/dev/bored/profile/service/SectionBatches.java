@@ -0,0 +1,169 @@
+package dev.bored.profile.service;
+
+import dev.bored.common.exception.GenericException;
+import dev.bored.profile.dto.SectionBatchDTO;
+import dev.bored.profile.dto.SectionOrderDTO;
+import dev.bored.profile.exception.ResourceNotFoundException;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Checks shared by the section services' batch writes and reorders.
+ *
+ * <p>A batch is all or nothing: every check runs before the first row is
+ * written, and the write itself runs in one transaction, so a batch that
+ * fails any of them leaves the section as it was.</p>
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public final class SectionBatches {
+
+    /** Most creates, updates and deletes one batch can hold together. */
+    public static final int MAX_OPERATIONS = 100;
+
+    private SectionBatches() {
+    }
+
+    /**
+     * Checks that {@code batch} names a profile, holds 1 to
+     * {@link #MAX_OPERATIONS} changes and no {@code null} rows, gives an id
+     * for every update and none for a create, touches no row twice, and
+     * creates no row for another profile. {@code batch} itself is left as it
+     * was.
+     *
+     * @param batch       the requested changes
+     * @param idOf        the id of a row
+     * @param profileIdOf the profile id of a row
+     * @param <D>         the row DTO type
+     * @return a copy of {@code batch} with unmodifiable lists, missing ones replaced by empty ones
+     * @throws GenericException if any check fails (HTTP 400)
+     */
+    public static <D> SectionBatchDTO<D> validate(SectionBatchDTO<D> batch, Function<D, Long> idOf,
+                                                  Function<D, Long> profileIdOf) {
+        List<D> creates = Objects.requireNonNullElse(batch.getCreates(), List.of());
+        List<D> updates = Objects.requireNonNullElse(batch.getUpdates(), List.of());
+        List<Long> deletes = Objects.requireNonNullElse(batch.getDeletes(), List.of());
+        if (batch.getProfileId() == null) {
+            throw badRequest("A batch needs a profileId");
+        }
+        int operations = creates.size() + updates.size() + deletes.size();
+        if (operations == 0 || operations > MAX_OPERATIONS) {
+            throw badRequest("Between 1 and " + MAX_OPERATIONS + " changes are required, got " + operations);
+        }
+        if (creates.stream().anyMatch(Objects::isNull) || updates.stream().anyMatch(Objects::isNull)) {
+            throw badRequest("A batch can't hold a null row");
+        }
+        for (D create : creates) {
+            if (idOf.apply(create) != null) {
+                throw badRequest("A create can't carry an id, got " + idOf.apply(create));
+            }
+            Long profileId = profileIdOf.apply(create);
+            if (profileId != null && !profileId.equals(batch.getProfileId())) {
+                throw badRequest("A create for profile " + profileId + " in a batch for profile "
+                        + batch.getProfileId());
+            }
+        }
+        if (deletes.stream().anyMatch(Objects::isNull)) {
+            throw badRequest("Every update and delete needs an id");
+        }
+        SectionBatchDTO<D> copy = new SectionBatchDTO<>(batch.getProfileId(), List.copyOf(creates),
+                List.copyOf(updates), List.copyOf(deletes));
+        List<Long> targets = targets(copy, idOf);
+        if (targets.stream().anyMatch(Objects::isNull)) {
+            throw badRequest("Every update and delete needs an id");
+        }
+        Set<Long> seen = new HashSet<>();
+        for (Long id : targets) {
+            if (!seen.add(id)) {
+                throw badRequest("Row " + id + " is changed more than once");
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * @param batch a batch returned by {@link #validate}
+     * @param idOf  the id of a row
+     * @param <D>   the row DTO type
+     * @return the ids of the rows to update or delete, in that order
+     */
+    public static <D> List<Long> targets(SectionBatchDTO<D> batch, Function<D, Long> idOf) {
+        List<Long> targets = new ArrayList<>(batch.getUpdates().stream().map(idOf).toList());
+        targets.addAll(batch.getDeletes());
+        return targets;
+    }
+
+    /**
+     * @param section     the section the rows belong to
+     * @param profileId   the profile the batch is for
+     * @param ids         the ids the batch updates or deletes
+     * @param rows        the rows loaded for {@code ids}
+     * @param idOf        the id of a row
+     * @param profileIdOf the profile id of a row
+     * @param <E>         the entity type
+     * @return {@code rows} by id
+     * @throws ResourceNotFoundException for the first id with no row of
+     *         {@code profileId}, so rows of other profiles aren't revealed (HTTP 404)
+     */
+    public static <E> Map<Long, E> owned(ProfileSection section, Long profileId, List<Long> ids, List<E> rows,
+                                         Function<E, Long> idOf, Function<E, Long> profileIdOf) {
+        Map<Long, E> byId = rows.stream()
+                .filter(row -> profileId.equals(profileIdOf.apply(row)))
+                .collect(Collectors.toMap(idOf, Function.identity()));
+        ids.stream()
+                .filter(id -> !byId.containsKey(id))
+                .findFirst()
+                .ifPresent(id -> {
+                    throw section.notFound(id);
+                });
+        return byId;
+    }
+
+    /**
+     * Checks that {@code order} names a profile and lists each of that
+     * profile's rows once, and no others.
+     *
+     * @param section      the section being reordered
+     * @param order        the requested order
+     * @param idsOfProfile loads the ids of a profile's rows
+     * @return the ids in their new order
+     * @throws GenericException if the profile or the ids are missing, an id is
+     *         repeated, or a row of the profile is left out (HTTP 400)
+     * @throws ResourceNotFoundException for the first id that isn't a row of the profile (HTTP 404)
+     */
+    public static List<Long> validateOrder(ProfileSection section, SectionOrderDTO order,
+                                           Function<Long, List<Long>> idsOfProfile) {
+        List<Long> ids = Objects.requireNonNullElse(order.getIds(), List.of());
+        if (order.getProfileId() == null || ids.isEmpty() || ids.stream().anyMatch(Objects::isNull)) {
+            throw badRequest("A reorder needs a profileId and the ids in their new order");
+        }
+        Set<Long> current = new HashSet<>(idsOfProfile.apply(order.getProfileId()));
+        Set<Long> seen = new HashSet<>();
+        for (Long id : ids) {
+            if (!current.contains(id)) {
+                throw section.notFound(id);
+            }
+            if (!seen.add(id)) {
+                throw badRequest("Row " + id + " is listed more than once");
+            }
+        }
+        if (seen.size() < current.size()) {
+            throw badRequest("Every row of profile " + order.getProfileId() + " must be listed, got "
+                    + seen.size() + " of " + current.size());
+        }
+        return ids;
+    }
+
+    private static GenericException badRequest(String message) {
+        return new GenericException(message, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,23 @@
+package dev.bored.profile.service;
+
+import java.util.List;
+
+/**
+ * Lists every primary key of one {@link ProfileSection}, for seeding the
+ * in-process existence filters that turn away probes for unknown ids.
+ *
+ * @author Bored Software Developer
+ * @since 2026-10-17
+ */
+public interface SectionIdSource {
+
+    /** The section whose ids this source lists. */
+    ProfileSection section();
+
+    /**
+     * Loads all ids of the section straight from the database.
+     *
+     * @return every existing primary key of the section
+     */
+    List<Long> loadAllIds();
+}
@@ -0,0 +1,14 @@
+-- ============================================================
+-- V2: Indexes for keyset pagination of the section lists
+-- ============================================================
+
+-- Pages are read in (sort_order, id) order within a profile and seek past the
+-- previous page's last row, so index exactly that key. The leading profile_id
+-- still serves every lookup the old single-column indexes did.
+CREATE INDEX idx_experience_profile_order  ON experience(profile_id, sort_order, experience_id);
+CREATE INDEX idx_achievement_profile_order ON achievement(profile_id, sort_order, achievement_id);
+CREATE INDEX idx_aspiration_profile_order  ON aspiration(profile_id, sort_order, aspiration_id);
+
+DROP INDEX idx_experience_profile;
+DROP INDEX idx_achievement_profile;
+DROP INDEX idx_aspiration_profile;
@@ -0,0 +1,33 @@
+-- ============================================================
+-- V3: Sequence-generated ids, allocated 50 at a time
+-- ============================================================
+
+-- IDENTITY columns make Hibernate insert rows one statement at a time, since
+-- it needs each generated id back before it can go on. With a sequence the
+-- pooled optimizer reserves a block of 50 ids per nextval and the inserts go
+-- out as JDBC batches. INCREMENT BY must match allocationSize on the entities.
+--
+-- The pooled optimizer reads nextval as the top of its block, so each
+-- sequence starts 50 above the highest existing id. The columns keep a
+-- default for rows inserted outside the application; a raw nextval is the
+-- top of a block nobody else is handed out, so the two never collide.
+CREATE SEQUENCE profile_seq     INCREMENT BY 50 OWNED BY profile.profile_id;
+CREATE SEQUENCE experience_seq  INCREMENT BY 50 OWNED BY experience.experience_id;
+CREATE SEQUENCE achievement_seq INCREMENT BY 50 OWNED BY achievement.achievement_id;
+CREATE SEQUENCE aspiration_seq  INCREMENT BY 50 OWNED BY aspiration.aspiration_id;
+
+SELECT setval('profile_seq',     COALESCE((SELECT MAX(profile_id)     FROM profile), 0) + 50, false);
+SELECT setval('experience_seq',  COALESCE((SELECT MAX(experience_id)  FROM experience), 0) + 50, false);
+SELECT setval('achievement_seq', COALESCE((SELECT MAX(achievement_id) FROM achievement), 0) + 50, false);
+SELECT setval('aspiration_seq',  COALESCE((SELECT MAX(aspiration_id)  FROM aspiration), 0) + 50, false);
+
+ALTER TABLE profile     ALTER COLUMN profile_id     SET DEFAULT nextval('profile_seq');
+ALTER TABLE experience  ALTER COLUMN experience_id  SET DEFAULT nextval('experience_seq');
+ALTER TABLE achievement ALTER COLUMN achievement_id SET DEFAULT nextval('achievement_seq');
+ALTER TABLE aspiration  ALTER COLUMN aspiration_id  SET DEFAULT nextval('aspiration_seq');
+
+-- The BIGSERIAL sequences are owned by their columns and no longer used.
+DROP SEQUENCE profile_profile_id_seq;
+DROP SEQUENCE experience_experience_id_seq;
+DROP SEQUENCE achievement_achievement_id_seq;
+DROP SEQUENCE aspiration_aspiration_id_seq;
@@ -0,0 +1,124 @@
+package dev.bored.profile.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link CacheInvalidationBus}.
+ */
+class CacheInvalidationBusTest {
+
+    private TwoTierCache cache;
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        bus = new CacheInvalidationBus(mock(RedisConnectionFactory.class), "test-channel");
+        cache = mock(TwoTierCache.class);
+        when(cache.getName()).thenReturn("experiences-by-profile");
+        bus.register(cache);
+    }
+
+    @Test
+    void onMessage_ShouldEvictLocalKey_WhenPeerEvicts() {
+        bus.onMessage(message("peer\nexperiences-by-profile\n1"), null);
+
+        verify(cache).evictLocal("1");
+    }
+
+    @Test
+    void onMessage_ShouldClearLocal_WhenPeerClears() {
+        bus.onMessage(message("peer\nexperiences-by-profile"), null);
+
+        verify(cache).clearLocal();
+    }
+
+    @Test
+    void onMessage_ShouldIgnoreUnknownCachesAndMalformedPayloads() {
+        bus.onMessage(message("peer\nsome-other-cache\n1"), null);
+        bus.onMessage(message("garbage"), null);
+
+        verify(cache, never()).evictLocal(anyString());
+        verify(cache, never()).clearLocal();
+    }
+
+    @Test
+    void publish_ShouldSwallowRedisFailures() {
+        bus.publish("experiences-by-profile", "1");
+    }
+
+    @Test
+    void publish_ShouldGoThroughCircuitBreaker() {
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        RedisCircuitBreaker breaker = mock(RedisCircuitBreaker.class);
+        when(breaker.tryAcquire()).thenReturn(true, false);
+        CacheInvalidationBus guarded = new CacheInvalidationBus(connectionFactory, "test-channel", breaker);
+
+        guarded.publish("experiences-by-profile", "1");
+        verify(breaker).record(anyLong(), eq(true));
+        clearInvocations(connectionFactory);
+
+        guarded.publish("experiences-by-profile", "2");
+        verifyNoInteractions(connectionFactory);
+        verify(breaker, times(1)).record(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void peerResync_ShouldReportPossiblyMissedMessages() {
+        AtomicInteger missed = new AtomicInteger();
+        bus.onPossiblyMissedMessages(missed::incrementAndGet);
+
+        bus.onMessage(message("peer\n*"), null);
+
+        assertEquals(1, missed.get());
+        verify(cache, never()).clearLocal();
+    }
+
+    @Test
+    void resubscribe_ShouldReportPossiblyMissedMessages_ButTheFirstSubscribeShouldNot() {
+        AtomicInteger missed = new AtomicInteger();
+        bus.onPossiblyMissedMessages(missed::incrementAndGet);
+        byte[] channel = "test-channel".getBytes(StandardCharsets.UTF_8);
+
+        bus.onChannelSubscribed(channel, 1);
+        assertEquals(0, missed.get());
+        bus.onChannelSubscribed(channel, 1);
+        assertEquals(1, missed.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void skippedPublish_ShouldBeFollowedByAResync_OnceTheBreakerCloses() {
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        RedisCircuitBreaker breaker = mock(RedisCircuitBreaker.class);
+        when(breaker.tryAcquire()).thenReturn(false, true);
+        CacheInvalidationBus guarded = new CacheInvalidationBus(connectionFactory, "test-channel", breaker);
+        AtomicInteger missed = new AtomicInteger();
+        guarded.onPossiblyMissedMessages(missed::incrementAndGet);
+        ArgumentCaptor<Consumer<RedisCircuitBreaker.State>> stateListener = ArgumentCaptor.forClass(Consumer.class);
+        verify(breaker).onStateChange(stateListener.capture());
+
+        guarded.publish("experiences-by-profile", "1");
+        verifyNoInteractions(connectionFactory);
+        stateListener.getValue().accept(RedisCircuitBreaker.State.CLOSED);
+
+        assertEquals(1, missed.get());
+        verify(breaker, times(2)).tryAcquire();
+        verify(connectionFactory, atLeastOnce()).getConnection();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage("test-channel".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,216 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.ProfileCacheProperties;
+import dev.bored.profile.service.CacheNames;
+import dev.bored.profile.service.PageScopes;
+import dev.bored.profile.service.ProfileDataChangedEvent;
+import dev.bored.profile.service.ProfileDataChangedEvent.Change;
+import dev.bored.profile.service.ProfileSection;
+import dev.bored.profile.service.ProfileSectionReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link CacheMaintenanceListener}.
+ */
+class CacheMaintenanceListenerTest {
+
+    private CacheManager cacheManager;
+    private CacheErrorHandler errorHandler;
+    private ProfileSectionReader experienceReader;
+    private ProfileCacheProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        errorHandler = mock(CacheErrorHandler.class);
+        experienceReader = mock(ProfileSectionReader.class);
+        when(experienceReader.section()).thenReturn(ProfileSection.EXPERIENCES);
+        properties = new ProfileCacheProperties();
+    }
+
+    private CacheMaintenanceListener listener() {
+        return new CacheMaintenanceListener(cacheManager, errorHandler, properties, List.of(experienceReader));
+    }
+
+    @Test
+    void sectionWrite_ShouldEvictOnlyTheOwningProfile() {
+        Cache lists = cacheManager.getCache(CacheNames.EXPERIENCES_BY_PROFILE);
+        Cache rows = cacheManager.getCache(CacheNames.EXPERIENCE_BY_ID);
+        lists.put(1L, List.of("profile-1"));
+        lists.put(2L, List.of("profile-2"));
+        rows.put(10L, "row-10");
+        rows.put(11L, "row-11");
+
+        listener().onProfileDataChanged(ProfileDataChangedEvent.of(ProfileSection.EXPERIENCES, Change.UPDATED, 1L, 10L));
+
+        assertNull(lists.get(1L));
+        assertNotNull(lists.get(2L));
+        assertNull(rows.get(10L));
+        assertNotNull(rows.get(11L));
+        verify(experienceReader, never()).loadByProfile(any());
+    }
+
+    @Test
+    void anyWrite_ShouldEvictTheOwningProfilesPortfolio() {
+        properties.getWriteThrough().setEnabled(true);
+        doReturn(List.of("fresh")).when(experienceReader).loadByProfile(1L);
+        Cache portfolios = cacheManager.getCache(CacheNames.PORTFOLIO_BY_PROFILE);
+        portfolios.put(1L, "portfolio-1");
+        portfolios.put(2L, "portfolio-2");
+
+        listener().onProfileDataChanged(
+                ProfileDataChangedEvent.of(ProfileSection.EXPERIENCES, Change.UPDATED, 1L, 10L, "dto-10"));
+
+        assertNull(portfolios.get(1L));
+        assertNotNull(portfolios.get(2L));
+    }
+
+    @Test
+    void sectionWrite_ShouldMoveOnlyThatListingToANewPageScope() {
+        Cache scopes = cacheManager.getCache(CacheNames.PAGE_SCOPES);
+        scopes.put(PageScopes.scopeKey(ProfileSection.EXPERIENCES, 1L), "old");
+        scopes.put(PageScopes.scopeKey(ProfileSection.ACHIEVEMENTS, 1L), "kept");
+        scopes.put(PageScopes.scopeKey(ProfileSection.EXPERIENCES, 2L), "kept");
+        scopes.put(PageScopes.scopeKey(ProfileSection.PROFILE, null), "kept");
+
+        listener().onProfileDataChanged(ProfileDataChangedEvent.of(ProfileSection.EXPERIENCES, Change.CREATED, 1L, 10L));
+
+        assertNull(scopes.get(PageScopes.scopeKey(ProfileSection.EXPERIENCES, 1L)));
+        assertNotNull(scopes.get(PageScopes.scopeKey(ProfileSection.ACHIEVEMENTS, 1L)));
+        assertNotNull(scopes.get(PageScopes.scopeKey(ProfileSection.EXPERIENCES, 2L)));
+        assertNotNull(scopes.get(PageScopes.scopeKey(ProfileSection.PROFILE, null)));
+    }
+
+    @Test
+    void profileDelete_ShouldMoveTheDirectoryAndEverySectionOfTheProfileToNewPageScopes() {
+        Cache scopes = cacheManager.getCache(CacheNames.PAGE_SCOPES);
+        scopes.put(PageScopes.scopeKey(ProfileSection.PROFILE, null), "old");
+        scopes.put(PageScopes.scopeKey(ProfileSection.ASPIRATIONS, 1L), "old");
+        scopes.put(PageScopes.scopeKey(ProfileSection.ASPIRATIONS, 2L), "kept");
+
+        listener().onProfileDataChanged(ProfileDataChangedEvent.of(ProfileSection.PROFILE, Change.DELETED, 1L, 1L));
+
+        assertNull(scopes.get(PageScopes.scopeKey(ProfileSection.PROFILE, null)));
+        assertNull(scopes.get(PageScopes.scopeKey(ProfileSection.ASPIRATIONS, 1L)));
+        assertNotNull(scopes.get(PageScopes.scopeKey(ProfileSection.ASPIRATIONS, 2L)));
+    }
+
+    @Test
+    void profileWrite_ShouldEvictProfileById() {
+        Cache profiles = cacheManager.getCache(CacheNames.PROFILE_BY_ID);
+        profiles.put(1L, "profile-1");
+
+        listener().onProfileDataChanged(ProfileDataChangedEvent.of(ProfileSection.PROFILE, Change.UPDATED, 1L, 1L));
+
+        assertNull(profiles.get(1L));
+    }
+
+    @Test
+    void profileDelete_ShouldDropTheWholeProfileFromATwoTierManager() {
+        TwoTierCacheManager twoTier = mock(TwoTierCacheManager.class);
+        cacheManager = twoTier;
+
+        listener().onProfileDataChanged(ProfileDataChangedEvent.of(ProfileSection.PROFILE, Change.DELETED, 1L, 1L));
+        listener().onProfileDataChanged(ProfileDataChangedEvent.of(ProfileSection.PROFILE, Change.UPDATED, 2L, 2L));
+
+        verify(twoTier).evictProfile(1L);
+        verify(twoTier, never()).evictProfile(2L);
+    }
+
+    @Test
+    void writeThrough_ShouldReloadListAndStoreReturnedDto() {
+        properties.getWriteThrough().setEnabled(true);
+        doReturn(List.of("fresh")).when(experienceReader).loadByProfile(1L);
+
+        listener().onProfileDataChanged(
+                ProfileDataChangedEvent.of(ProfileSection.EXPERIENCES, Change.UPDATED, 1L, 10L, "dto-10"));
+
+        assertEquals(List.of("fresh"), cacheManager.getCache(CacheNames.EXPERIENCES_BY_PROFILE).get(1L).get());
+        assertEquals("dto-10", cacheManager.getCache(CacheNames.EXPERIENCE_BY_ID).get(10L).get());
+    }
+
+    @Test
+    void writeThrough_ShouldStillEvictDeletedRows() {
+        properties.getWriteThrough().setEnabled(true);
+        doReturn(List.of()).when(experienceReader).loadByProfile(1L);
+        Cache rows = cacheManager.getCache(CacheNames.EXPERIENCE_BY_ID);
+        rows.put(10L, "row-10");
+
+        listener().onProfileDataChanged(ProfileDataChangedEvent.of(ProfileSection.EXPERIENCES, Change.DELETED, 1L, 10L));
+
+        assertNull(rows.get(10L));
+        assertEquals(List.of(), cacheManager.getCache(CacheNames.EXPERIENCES_BY_PROFILE).get(1L).get());
+    }
+
+    @Test
+    void writeThrough_ShouldReloadTheListOnce_AndEvictEveryRowOfABatch() {
+        properties.getWriteThrough().setEnabled(true);
+        doReturn(List.of("fresh")).when(experienceReader).loadByProfile(1L);
+        Cache rows = cacheManager.getCache(CacheNames.EXPERIENCE_BY_ID);
+        rows.put(10L, "row-10");
+        rows.put(11L, "row-11");
+        rows.put(12L, "row-12");
+
+        listener().onProfileDataChanged(ProfileDataChangedEvent.ofBatch(ProfileSection.EXPERIENCES, 1L,
+                List.of(10L), List.of(11L), List.of(12L)));
+
+        assertNull(rows.get(10L));
+        assertNull(rows.get(11L));
+        assertNull(rows.get(12L));
+        assertEquals(List.of("fresh"), cacheManager.getCache(CacheNames.EXPERIENCES_BY_PROFILE).get(1L).get());
+        verify(experienceReader, times(1)).loadByProfile(1L);
+    }
+
+    @Test
+    void writeThrough_ShouldFallBackToEvict_WhenReloadFails() {
+        properties.getWriteThrough().setEnabled(true);
+        when(experienceReader.loadByProfile(1L)).thenThrow(new IllegalStateException("db down"));
+        Cache lists = cacheManager.getCache(CacheNames.EXPERIENCES_BY_PROFILE);
+        lists.put(1L, List.of("stale"));
+
+        listener().onProfileDataChanged(
+                ProfileDataChangedEvent.of(ProfileSection.EXPERIENCES, Change.UPDATED, 1L, 10L, "dto-10"));
+
+        assertNull(lists.get(1L));
+    }
+
+    @Test
+    void evictFailure_ShouldBeHandedToErrorHandler() {
+        Cache failing = mock(Cache.class);
+        CacheManager failingManager = mock(CacheManager.class);
+        RuntimeException boom = new IllegalStateException("redis down");
+        when(failingManager.getCache(anyString())).thenReturn(failing);
+        doThrow(boom).when(failing).evict(any());
+
+        new CacheMaintenanceListener(failingManager, errorHandler, properties, List.of())
+                .onProfileDataChanged(ProfileDataChangedEvent.of(ProfileSection.ASPIRATIONS, Change.DELETED, 1L, 5L));
+
+        verify(errorHandler).handleCacheEvictError(boom, failing, 5L);
+        verify(errorHandler).handleCacheEvictError(boom, failing, 1L);
+    }
+
+    @Test
+    void putFailure_ShouldBeHandedToErrorHandler() {
+        properties.getWriteThrough().setEnabled(true);
+        Cache failing = mock(Cache.class);
+        CacheManager failingManager = mock(CacheManager.class);
+        RuntimeException boom = new IllegalStateException("redis down");
+        when(failingManager.getCache(anyString())).thenReturn(failing);
+        doThrow(boom).when(failing).put(any(), any());
+
+        new CacheMaintenanceListener(failingManager, errorHandler, properties, List.of())
+                .onProfileDataChanged(ProfileDataChangedEvent.of(ProfileSection.PROFILE, Change.UPDATED, 1L, 1L, "dto"));
+
+        verify(errorHandler).handleCachePutError(boom, failing, 1L, "dto");
+    }
+}
@@ -0,0 +1,71 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.dto.AchievementDTO;
+import dev.bored.profile.dto.ExperienceDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CacheSchemaVersions}.
+ */
+class CacheSchemaVersionsTest {
+
+    /** {@link ExperienceDTO} as the previous release had it, minus {@code roleStyle}. */
+    static class ExperienceV1 {
+        private Long experienceId;
+        private String company;
+    }
+
+    /** {@link ExperienceV1} with one field added. */
+    static class ExperienceV2 {
+        private Long experienceId;
+        private String company;
+        private String roleStyle;
+    }
+
+    /** {@link ExperienceV1} with a field's type changed. */
+    static class ExperienceV1WideId {
+        private String experienceId;
+        private String company;
+    }
+
+    @Test
+    void fingerprint_ShouldBeStableAndShort() {
+        assertEquals(CacheSchemaVersions.fingerprint(List.of(ExperienceV1.class)),
+                CacheSchemaVersions.fingerprint(List.of(ExperienceV1.class)));
+        assertEquals(8, CacheSchemaVersions.fingerprint(List.of(ExperienceV1.class)).length());
+    }
+
+    @Test
+    void fingerprint_ShouldChange_WhenAFieldIsAddedOrRetyped() {
+        String v1 = CacheSchemaVersions.fingerprint(List.of(ExperienceV1.class));
+
+        assertNotEquals(v1, CacheSchemaVersions.fingerprint(List.of(ExperienceV2.class)));
+        assertNotEquals(v1, CacheSchemaVersions.fingerprint(List.of(ExperienceV1WideId.class)));
+    }
+
+    @Test
+    void versions_ShouldBePerCache() {
+        CacheSchemaVersions versions = new CacheSchemaVersions(Map.of(
+                "experience-by-id", List.of(ExperienceDTO.class),
+                "achievement-by-id", List.of(AchievementDTO.class)));
+
+        assertTrue(versions.versionOf("experience-by-id").matches("v[0-9a-f]{8}"));
+        assertNotEquals(versions.versionOf("experience-by-id"), versions.versionOf("achievement-by-id"));
+        assertNull(versions.versionOf("lease"));
+    }
+
+    @Test
+    void keyPrefix_ShouldInsertTheVersion_OnlyForVersionedNames() {
+        CacheSchemaVersions versions = new CacheSchemaVersions(Map.of("experience-by-id", List.of(ExperienceDTO.class)));
+        String version = versions.versionOf("experience-by-id");
+
+        assertEquals("profile-svc::experience-by-id::" + version + "::",
+                versions.keyPrefix("profile-svc::").compute("experience-by-id"));
+        assertEquals("profile-svc::other::", versions.keyPrefix("profile-svc::").compute("other"));
+    }
+}
@@ -0,0 +1,106 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.CacheConfig;
+import dev.bored.profile.dto.ExperienceDTO;
+import dev.bored.profile.dto.ProfileDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bytes per entry and encode/decode time of the Redis value codecs, for a
+ * profile card and a typical experience list.
+ *
+ * <p>Not part of {@code test}; run with {@code ./gradlew benchmark}. Numbers
+ * are wall-clock averages after a warm-up — good enough to compare codecs on
+ * one machine, not to quote as absolutes.</p>
+ */
+@Tag("benchmark")
+class CacheValueCodecBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 50_000;
+
+    /** Keeps the JIT from discarding the measured work. */
+    private static volatile long blackhole;
+
+    private final RedisSerializer<Object> json = CacheConfig.jsonValueSerializer();
+    private final RedisSerializer<Object> smile = new SmileCacheValueSerializer(json);
+    private final RedisSerializer<Object> deflated =
+            new CompressingValueSerializer(smile, 1024, 1, "benchmark", new SimpleMeterRegistry());
+
+    @Test
+    void compareCodecs() {
+        Map<String, CacheEntry> payloads = Map.of(
+                "profile", new CacheEntry(profile(), System.currentTimeMillis()),
+                "experiences x12", new CacheEntry(experiences(12), System.currentTimeMillis()));
+
+        System.out.printf("%-16s %-13s %8s %12s %12s%n", "payload", "codec", "bytes", "encode ns", "decode ns");
+        payloads.forEach((name, entry) -> {
+            int jsonBytes = report(name, "json", json, entry);
+            int smileBytes = report(name, "smile", smile, entry);
+            report(name, "smile+deflate", deflated, entry);
+            assertTrue(smileBytes < jsonBytes, name + ": smile should be smaller than json");
+        });
+    }
+
+    private static int report(String payload, String codec, RedisSerializer<Object> serializer, CacheEntry entry) {
+        byte[] bytes = serializer.serialize(entry);
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += serializer.serialize(entry).length;
+            sink += serializer.deserialize(bytes).hashCode();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += serializer.serialize(entry).length;
+        }
+        long encodeNs = (System.nanoTime() - start) / ITERATIONS;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += serializer.deserialize(bytes).hashCode();
+        }
+        long decodeNs = (System.nanoTime() - start) / ITERATIONS;
+        blackhole = sink;
+        System.out.printf("%-16s %-13s %8d %12d %12d%n", payload, codec, bytes.length, encodeNs, decodeNs);
+        return bytes.length;
+    }
+
+    private static ProfileDTO profile() {
+        return ProfileDTO.builder()
+                .profileId(1L)
+                .firstName("Ada")
+                .lastName("Lovelace")
+                .photoUrl("https://cdn.example.com/photos/ada-lovelace.jpg")
+                .status("ACTIVE")
+                .build();
+    }
+
+    private static List<ExperienceDTO> experiences(int count) {
+        List<ExperienceDTO> experiences = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            experiences.add(ExperienceDTO.builder()
+                    .experienceId((long) i)
+                    .profileId(1L)
+                    .id("experience-" + i)
+                    .company("Company " + i)
+                    .role("Senior Software Engineer")
+                    .roleStyle("badge-primary")
+                    .description("Led the platform team through a migration to event-driven services, "
+                            + "cut p99 latency by a third and mentored four engineers. ".repeat(3))
+                    .startDate(LocalDate.of(2015 + i % 8, 1 + i % 12, 1))
+                    .endDate(i == 0 ? null : LocalDate.of(2016 + i % 8, 1 + i % 12, 1))
+                    .sortOrder(i)
+                    .build());
+        }
+        return experiences;
+    }
+}
@@ -0,0 +1,165 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.ProfileCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link CircuitBreakingCache}, with a {@link ConcurrentMapCache}
+ * standing in for Redis.
+ */
+class CircuitBreakingCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private ConcurrentMapCache remote;
+    private RedisCircuitBreaker breaker;
+    private CircuitBreakingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ProfileCacheProperties.CircuitBreaker settings = new ProfileCacheProperties.CircuitBreaker();
+        settings.setMinimumCalls(2);
+        settings.setHalfOpenProbes(1);
+        settings.setMaxDeferredEvictions(2);
+        breaker = new RedisCircuitBreaker(settings, new SimpleMeterRegistry(), clock::get, Runnable::run);
+        remote = new ConcurrentMapCache("test", false);
+        cache = new CircuitBreakingCache(remote, breaker);
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 2; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.record(0L, true);
+        }
+        assertEquals(RedisCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    /** Waits out the open state and sends one successful probe, which closes the breaker. */
+    private void closeBreaker() {
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+        cache.get("probe");
+        assertEquals(RedisCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void shouldPassCallsThrough_WhileClosed() {
+        cache.put(1L, "value");
+
+        assertEquals("value", cache.get(1L).get());
+        assertEquals("value", cache.get(1L, String.class));
+        cache.evict(1L);
+        assertNull(remote.get(1L));
+        assertEquals(4, breaker.getBufferedCalls());
+    }
+
+    @Test
+    void shouldSkipRedis_WhileOpen() {
+        remote.put(1L, "value");
+        openBreaker();
+
+        assertNull(cache.get(1L));
+        cache.put(2L, "other");
+
+        assertNull(remote.get(2L));
+        assertEquals("loaded", cache.get(3L, () -> "loaded"));
+    }
+
+    @Test
+    void batchCalls_ShouldPassThroughAsOneCallEach_WhileClosed() {
+        cache.putAll(Map.of(1L, "one", 2L, "two"));
+
+        assertEquals(Map.of(1L, "one", 2L, "two"), cache.getAll(List.of(1L, 2L, 3L)));
+        assertEquals(2, breaker.getBufferedCalls());
+    }
+
+    @Test
+    void batchCalls_ShouldSkipRedis_WhileOpen() {
+        remote.put(1L, "value");
+        openBreaker();
+
+        cache.putAll(Map.of(2L, "other"));
+
+        assertEquals(Map.of(), cache.getAll(List.of(1L, 2L)));
+        assertNull(remote.get(2L));
+    }
+
+    @Test
+    void shouldReplayDeferredEvictions_OnClose() {
+        remote.put(1L, "old");
+        remote.put(2L, "kept");
+        openBreaker();
+
+        cache.evict(1L);
+        assertEquals("old", remote.get(1L).get());
+        closeBreaker();
+
+        assertNull(remote.get(1L));
+        assertEquals("kept", remote.get(2L).get());
+    }
+
+    @Test
+    void shouldClearOnClose_WhenTooManyEvictionsWereDeferred() {
+        remote.put(9L, "untouched key");
+        openBreaker();
+
+        cache.evict(1L);
+        cache.evict(2L);
+        cache.evict(3L);
+        closeBreaker();
+
+        assertNull(remote.get(9L));
+    }
+
+    @Test
+    void shouldReplayDeferredClear_OnClose() {
+        remote.put(1L, "value");
+        openBreaker();
+
+        cache.clear();
+        assertNotNull(remote.get(1L));
+        closeBreaker();
+
+        assertNull(remote.get(1L));
+    }
+
+    @Test
+    void shouldRecordFailuresAndRethrow() {
+        Cache failing = mock(Cache.class);
+        when(failing.get(any())).thenThrow(new IllegalStateException("redis down"));
+        CircuitBreakingCache guarded = new CircuitBreakingCache(failing, breaker);
+
+        assertThrows(IllegalStateException.class, () -> guarded.get(1L));
+        assertThrows(IllegalStateException.class, () -> guarded.get(1L));
+
+        assertEquals(RedisCircuitBreaker.State.OPEN, breaker.getState());
+        assertNull(guarded.get(1L));
+        verify(failing, times(2)).get(any());
+    }
+
+    @Test
+    void getWithLoader_ShouldLoadAndFill_OnMiss() {
+        assertEquals("loaded", cache.get(1L, () -> "loaded"));
+        assertEquals("loaded", cache.get(1L, () -> fail("should be cached")));
+
+        assertThrows(Cache.ValueRetrievalException.class,
+                () -> cache.get(2L, () -> { throw new IllegalStateException("db down"); }));
+    }
+
+    @Test
+    void shouldExposeDelegateIdentity() {
+        assertEquals("test", cache.getName());
+        assertSame(remote.getNativeCache(), cache.getNativeCache());
+    }
+}
@@ -0,0 +1,55 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.CacheConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CompressingValueSerializer}.
+ */
+class CompressingValueSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer json = CacheConfig.jsonValueSerializer();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CompressingValueSerializer serializer =
+            new CompressingValueSerializer(json, 256, 1, "test", meterRegistry);
+
+    private static final String LARGE = "Led the platform team through a migration. ".repeat(40);
+
+    @Test
+    void serialize_ShouldLeaveSmallValuesUncompressed() {
+        assertArrayEquals(json.serialize("short"), serializer.serialize("short"));
+        assertEquals(0, meterRegistry.summary("profile.cache.compression.ratio", "cache", "test").count());
+    }
+
+    @Test
+    void serialize_ShouldCompressLargeValuesBehindMarker() {
+        byte[] bytes = serializer.serialize(LARGE);
+
+        assertEquals(CompressingValueSerializer.DEFLATE_MARKER, bytes[0]);
+        assertTrue(bytes.length < json.serialize(LARGE).length);
+        assertEquals(LARGE, serializer.deserialize(bytes));
+        assertEquals(1, meterRegistry.summary("profile.cache.compression.ratio", "cache", "test").count());
+        assertEquals(1, meterRegistry.timer("profile.cache.compression.time", "cache", "test", "op", "decompress").count());
+    }
+
+    @Test
+    void deserialize_ShouldReadUncompressedEntries() {
+        assertEquals(LARGE, serializer.deserialize(json.serialize(LARGE)));
+        assertNull(serializer.deserialize(null));
+    }
+
+    @Test
+    void deserialize_ShouldRejectTruncatedEntries() {
+        byte[] bytes = serializer.serialize(LARGE);
+
+        assertThrows(SerializationException.class,
+                () -> serializer.deserialize(Arrays.copyOf(bytes, bytes.length / 2)));
+    }
+}
@@ -0,0 +1,41 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.dto.ExperienceDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link EntityTags}.
+ */
+class EntityTagsTest {
+
+    private static ExperienceDTO experience(String role) {
+        return ExperienceDTO.builder()
+                .experienceId(1L)
+                .profileId(1L)
+                .company("Bored Software")
+                .role(role)
+                .startDate(LocalDate.of(2020, 1, 1))
+                .build();
+    }
+
+    @Test
+    void of_ShouldBeSixteenHexDigits() {
+        assertTrue(EntityTags.of(experience("Engineer")).matches("[0-9a-f]{" + EntityTags.LENGTH + "}"));
+    }
+
+    @Test
+    void of_ShouldDependOnContentOnly() {
+        assertEquals(EntityTags.of(List.of(experience("Engineer"))), EntityTags.of(List.of(experience("Engineer"))));
+    }
+
+    @Test
+    void of_ShouldChange_WhenAnyFieldChanges() {
+        assertNotEquals(EntityTags.of(experience("Engineer")), EntityTags.of(experience("Staff Engineer")));
+        assertNotEquals(EntityTags.of(List.of(experience("Engineer"))), EntityTags.of(List.of()));
+    }
+}
@@ -0,0 +1,70 @@
+package dev.bored.profile.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link IdExistenceFilter}.
+ */
+class IdExistenceFilterTest {
+
+    @Test
+    void mightContain_ShouldNeverMissAddedIds() {
+        IdExistenceFilter filter = new IdExistenceFilter(1_000, 0.01);
+
+        for (long id = 1; id <= 1_000; id++) {
+            filter.add(id);
+        }
+
+        for (long id = 1; id <= 1_000; id++) {
+            assertTrue(filter.mightContain(id), "id " + id);
+        }
+    }
+
+    @Test
+    void mightContain_ShouldRejectMostUnknownIds() {
+        IdExistenceFilter filter = new IdExistenceFilter(1_000, 0.01);
+        for (long id = 1; id <= 1_000; id++) {
+            filter.add(id);
+        }
+
+        int falsePositives = 0;
+        for (long id = 1_000_001; id <= 1_010_000; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void remove_ShouldForgetIdWithoutHidingOthers() {
+        IdExistenceFilter filter = new IdExistenceFilter(100, 0.01);
+        filter.add(1L);
+        filter.add(2L);
+
+        filter.remove(1L);
+
+        assertFalse(filter.mightContain(1L));
+        assertTrue(filter.mightContain(2L));
+    }
+
+    @Test
+    void remove_ShouldIgnoreIdsThatWereNeverAdded() {
+        IdExistenceFilter filter = new IdExistenceFilter(100, 0.01);
+        filter.add(2L);
+
+        filter.remove(1L);
+
+        assertTrue(filter.mightContain(2L));
+    }
+
+    @Test
+    void constructor_ShouldRejectBadSizing() {
+        assertThrows(IllegalArgumentException.class, () -> new IdExistenceFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new IdExistenceFilter(100, 1.0));
+        assertTrue(new IdExistenceFilter(100, 0.01).sizeInBytes() > 0);
+    }
+}
@@ -0,0 +1,183 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.ProfileCacheProperties;
+import dev.bored.profile.service.CacheNames;
+import dev.bored.profile.service.ProfileDataChangedEvent;
+import dev.bored.profile.service.ProfileDataChangedEvent.Change;
+import dev.bored.profile.service.ProfileSection;
+import dev.bored.profile.service.SectionIdSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link IdExistenceFilters}.
+ */
+@ExtendWith(MockitoExtension.class)
+class IdExistenceFiltersTest {
+
+    private static final byte[] CHANNEL = "test-channel".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private ObjectProvider<SectionIdSource> sources;
+
+    @Mock
+    private SectionIdSource experiences;
+
+    private ProfileCacheProperties properties;
+    private IdExistenceFilters filters;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProfileCacheProperties();
+        filters = new IdExistenceFilters(sources, properties);
+    }
+
+    private void rebuildWith(List<Long> ids) {
+        when(sources.orderedStream()).thenReturn(Stream.of(experiences));
+        when(experiences.section()).thenReturn(ProfileSection.EXPERIENCES);
+        when(experiences.loadAllIds()).thenReturn(ids);
+        filters.rebuild();
+    }
+
+    @Test
+    void mightContain_ShouldLetEverythingThrough_BeforeFirstBuild() {
+        assertTrue(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, 42L));
+    }
+
+    @Test
+    void mightContain_ShouldRejectUnknownIds_AfterBuild() {
+        rebuildWith(List.of(1L, 2L));
+
+        assertTrue(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, 1L));
+        assertFalse(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, 999_999L));
+        assertTrue(filters.mightContain(CacheNames.EXPERIENCES_BY_PROFILE, 999_999L));
+        assertTrue(filters.mightContain(CacheNames.ACHIEVEMENT_BY_ID, 999_999L));
+        assertTrue(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, "not-an-id"));
+    }
+
+    @Test
+    void onWrite_ShouldAddCreatedIds() {
+        rebuildWith(List.of(1L));
+
+        filters.onWrite(ProfileDataChangedEvent.of(ProfileSection.EXPERIENCES, Change.CREATED, 1L, 500L));
+        filters.onWrite(ProfileDataChangedEvent.of(ProfileSection.EXPERIENCES, Change.UPDATED, 1L, 600L));
+
+        assertTrue(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, 500L));
+        assertFalse(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, 600L));
+    }
+
+    @Test
+    void afterCommit_ShouldRemoveDeletedIds() {
+        rebuildWith(List.of(1L, 2L));
+
+        filters.afterCommit(ProfileDataChangedEvent.of(ProfileSection.EXPERIENCES, Change.DELETED, 1L, 1L));
+
+        assertFalse(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, 1L));
+        assertTrue(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, 2L));
+    }
+
+    @Test
+    void batchWrite_ShouldAddItsCreatedIds_AndRemoveItsDeletedOnesOnCommit() {
+        rebuildWith(List.of(1L, 2L));
+        ProfileDataChangedEvent batch = ProfileDataChangedEvent.ofBatch(ProfileSection.EXPERIENCES, 1L,
+                List.of(500L), List.of(1L), List.of(2L));
+
+        filters.onWrite(batch);
+        filters.afterCommit(batch);
+
+        assertTrue(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, 500L));
+        assertTrue(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, 1L));
+        assertFalse(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, 2L));
+    }
+
+    @Test
+    void onPeerWrite_ShouldAddIdKeysOfByIdCaches() {
+        rebuildWith(List.of(1L));
+
+        filters.onPeerWrite(CacheNames.EXPERIENCE_BY_ID, "700");
+        filters.onPeerWrite(CacheNames.EXPERIENCE_BY_ID, "not-an-id");
+        filters.onPeerWrite(CacheNames.EXPERIENCES_BY_PROFILE, "800");
+
+        assertTrue(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, 700L));
+        assertFalse(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, 800L));
+    }
+
+    @Test
+    void peerCreateNeverDelivered_ShouldStopBeingRejected_OnceTheBusReportsPossiblyMissedMessages() {
+        filters = new IdExistenceFilters(sources, properties, Runnable::run);
+        rebuildWith(List.of(1L));
+        // a peer creates 500, and its eviction is lost while this instance's subscription reconnects
+        when(sources.orderedStream()).thenAnswer(invocation -> Stream.of(experiences));
+        when(experiences.loadAllIds()).thenReturn(List.of(1L, 500L));
+        assertFalse(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, 500L));
+        CacheInvalidationBus bus = new CacheInvalidationBus(mock(RedisConnectionFactory.class), "test-channel");
+        bus.onPossiblyMissedMessages(filters::resync);
+
+        bus.onChannelSubscribed(CHANNEL, 1);
+        bus.onChannelSubscribed(CHANNEL, 1);
+
+        assertTrue(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, 500L));
+        assertFalse(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, 999_999L));
+    }
+
+    @Test
+    void resync_ShouldLetEveryIdThrough_UntilTheRebuildFinishes() {
+        List<Runnable> queued = new ArrayList<>();
+        filters = new IdExistenceFilters(sources, properties, queued::add);
+        rebuildWith(List.of(1L));
+
+        filters.resync();
+
+        assertTrue(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, 999_999L));
+        when(sources.orderedStream()).thenAnswer(invocation -> Stream.of(experiences));
+        queued.forEach(Runnable::run);
+        assertFalse(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, 999_999L));
+    }
+
+    @Test
+    void rebuild_ShouldBeDiscarded_WhenAResyncHappensDuringTheLoad() {
+        filters = new IdExistenceFilters(sources, properties, task -> { });
+        when(experiences.section()).thenReturn(ProfileSection.EXPERIENCES);
+        when(experiences.loadAllIds()).thenAnswer(invocation -> {
+            filters.resync();
+            return List.of(1L);
+        });
+
+        filters.rebuild(experiences);
+
+        assertTrue(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, 999_999L));
+    }
+
+    @Test
+    void rebuild_ShouldKeepPreviousFilter_WhenLoadFails() {
+        rebuildWith(List.of(1L));
+        when(experiences.loadAllIds()).thenThrow(new IllegalStateException("db down"));
+
+        filters.rebuild(experiences);
+
+        assertTrue(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, 1L));
+        assertFalse(filters.mightContain(CacheNames.EXPERIENCE_BY_ID, 999_999L));
+    }
+
+    @Test
+    void rebuild_ShouldDoNothing_WhenDisabled() {
+        properties.getExistenceFilter().setEnabled(false);
+
+        filters.rebuild();
+
+        verifyNoInteractions(sources);
+    }
+}
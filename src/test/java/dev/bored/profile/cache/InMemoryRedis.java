@@ -0,0 +1,215 @@
+package dev.bored.profile.cache;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Just enough of Redis, in memory, for the cache writer and
+ * {@link ProfileHashCache} to run against: strings (with {@code MGET}),
+ * hashes, {@code DEL}, {@code UNLINK}, {@code SCAN} and expiry calls. Every data command is logged, so tests can count round trips
+ * the way Upstash bills them. Anything else throws, which flags a code path
+ * the fake doesn't model.
+ */
+class InMemoryRedis {
+
+    private final Map<String, byte[]> strings = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, byte[]>> hashes = new ConcurrentHashMap<>();
+    private final Map<String, Long> ttlMillis = new ConcurrentHashMap<>();
+    private final List<String> commands = Collections.synchronizedList(new ArrayList<>());
+
+    /** @return a connection factory whose connections all share this store */
+    RedisConnectionFactory connectionFactory() {
+        return proxy(RedisConnectionFactory.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getConnection" -> connection();
+            default -> objectMethod(proxy, method, args);
+        });
+    }
+
+    /** @return the commands sent so far, e.g. {@code GET}, {@code HGETALL} */
+    List<String> commands() {
+        return List.copyOf(commands);
+    }
+
+    void resetCommands() {
+        commands.clear();
+    }
+
+    /** @return the fields of hash {@code key}, or an empty map */
+    Map<String, byte[]> hash(String key) {
+        return hashes.getOrDefault(key, Map.of());
+    }
+
+    boolean exists(String key) {
+        return strings.containsKey(key) || hashes.containsKey(key);
+    }
+
+    Long ttlMillis(String key) {
+        return ttlMillis.get(key);
+    }
+
+    private RedisConnection connection() {
+        RedisStringCommands stringCommands = proxy(RedisStringCommands.class, this::stringCommand);
+        RedisHashCommands hashCommands = proxy(RedisHashCommands.class, this::hashCommand);
+        RedisKeyCommands keyCommands = proxy(RedisKeyCommands.class, this::keyCommand);
+        return proxy(RedisConnection.class, (proxy, method, args) -> switch (method.getName()) {
+            case "stringCommands" -> stringCommands;
+            case "hashCommands" -> hashCommands;
+            case "keyCommands" -> keyCommands;
+            case "close", "openPipeline" -> null;
+            case "closePipeline" -> List.of();
+            case "isClosed", "isPipelined", "isQueueing" -> false;
+            // the deprecated connection-level shortcuts (connection.get(key), …)
+            case "get", "getEx", "set" -> stringCommand(proxy, method, args);
+            case "hGetAll", "hSet", "hDel" -> hashCommand(proxy, method, args);
+            case "del", "unlink", "scan", "pExpire" -> keyCommand(proxy, method, args);
+            default -> objectMethod(proxy, method, args);
+        });
+    }
+
+    private Object stringCommand(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "get", "getEx" -> {
+                log("GET");
+                yield strings.get(key(args[0]));
+            }
+            case "mGet" -> {
+                log("MGET");
+                List<byte[]> values = new ArrayList<>();
+                for (byte[] key : (byte[][]) args[0]) {
+                    values.add(strings.get(key(key)));
+                }
+                yield values;
+            }
+            case "set" -> {
+                log("SET");
+                strings.put(key(args[0]), (byte[]) args[1]);
+                if (args.length > 2 && args[2] instanceof Expiration expiration && !expiration.isPersistent()) {
+                    ttlMillis.put(key(args[0]), expiration.getExpirationTimeInMilliseconds());
+                }
+                yield true;
+            }
+            default -> objectMethod(proxy, method, args);
+        };
+    }
+
+    private Object hashCommand(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "hGetAll" -> {
+                log("HGETALL");
+                Map<byte[], byte[]> result = new LinkedHashMap<>();
+                hash(key(args[0])).forEach((field, value) -> result.put(field.getBytes(StandardCharsets.UTF_8), value));
+                yield result;
+            }
+            case "hSet" -> {
+                log("HSET");
+                hashes.computeIfAbsent(key(args[0]), k -> new ConcurrentHashMap<>()).put(key(args[1]), (byte[]) args[2]);
+                yield true;
+            }
+            case "hDel" -> {
+                log("HDEL");
+                Map<String, byte[]> hash = hashes.getOrDefault(key(args[0]), new ConcurrentHashMap<>());
+                long removed = 0;
+                for (byte[] field : (byte[][]) args[1]) {
+                    removed += hash.remove(key(field)) != null ? 1 : 0;
+                }
+                if (hash.isEmpty()) {
+                    hashes.remove(key(args[0]));
+                }
+                yield removed;
+            }
+            default -> objectMethod(proxy, method, args);
+        };
+    }
+
+    private Object keyCommand(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "del", "unlink" -> {
+                log(method.getName().toUpperCase());
+                long removed = 0;
+                for (byte[] key : (byte[][]) args[0]) {
+                    removed += (strings.remove(key(key)) != null || hashes.remove(key(key)) != null) ? 1 : 0;
+                }
+                yield removed;
+            }
+            case "scan" -> {
+                log("SCAN");
+                yield cursor(((ScanOptions) args[0]).getPattern());
+            }
+            case "pExpire" -> {
+                log("PEXPIRE");
+                ttlMillis.put(key(args[0]), (Long) args[1]);
+                yield true;
+            }
+            default -> objectMethod(proxy, method, args);
+        };
+    }
+
+    /** A cursor over a snapshot of the keys matching a glob with only {@code *} wildcards. */
+    @SuppressWarnings("unchecked")
+    private Cursor<byte[]> cursor(String pattern) {
+        Pattern regex = Pattern.compile(Arrays.stream(pattern.split("\\*", -1))
+                .map(Pattern::quote)
+                .collect(Collectors.joining(".*")));
+        Iterator<byte[]> keys = Stream.concat(strings.keySet().stream(), hashes.keySet().stream())
+                .filter(key -> regex.matcher(key).matches())
+                .sorted()
+                .map(key -> key.getBytes(StandardCharsets.UTF_8))
+                .toList()
+                .iterator();
+        return proxy(Cursor.class, (proxy, method, args) -> switch (method.getName()) {
+            case "hasNext" -> keys.hasNext();
+            case "next" -> keys.next();
+            case "forEachRemaining" -> {
+                keys.forEachRemaining((Consumer<byte[]>) args[0]);
+                yield null;
+            }
+            case "close" -> null;
+            default -> objectMethod(proxy, method, args);
+        });
+    }
+
+    private void log(String command) {
+        commands.add(command);
+    }
+
+    private static String key(Object bytes) {
+        return new String((byte[]) bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Object objectMethod(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "toString" -> "InMemoryRedis proxy";
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> throw new UnsupportedOperationException("InMemoryRedis does not model " + method);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(InMemoryRedis.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
@@ -0,0 +1,49 @@
+package dev.bored.profile.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link JitteredTtlFunction}.
+ */
+class JitteredTtlFunctionTest {
+
+    @Test
+    void getTimeToLive_ShouldStayWithinJitterBounds() {
+        JitteredTtlFunction ttl = new JitteredTtlFunction(Duration.ofDays(10), 10);
+        Set<Duration> seen = new HashSet<>();
+
+        for (int i = 0; i < 1_000; i++) {
+            Duration value = ttl.getTimeToLive("key", "value");
+            assertTrue(value.compareTo(Duration.ofDays(9)) >= 0, value::toString);
+            assertTrue(value.compareTo(Duration.ofDays(11)) <= 0, value::toString);
+            seen.add(value);
+        }
+
+        assertTrue(seen.size() > 1, "TTLs should be spread out");
+    }
+
+    @Test
+    void getTimeToLive_ShouldReturnBase_WithoutJitterOrExpiry() {
+        assertEquals(Duration.ofDays(7), new JitteredTtlFunction(Duration.ofDays(7), 0).getTimeToLive("key", null));
+        assertEquals(Duration.ZERO, new JitteredTtlFunction(Duration.ZERO, 10).getTimeToLive("key", null));
+    }
+
+    @Test
+    void getTimeToLive_ShouldUseNegativeTtlForAbsentMarkers() {
+        JitteredTtlFunction ttl = new JitteredTtlFunction(Duration.ofDays(7), 10, Duration.ofSeconds(60));
+
+        assertEquals(Duration.ofSeconds(60), ttl.getTimeToLive("key", CacheEntry.absentMarker()));
+    }
+
+    @Test
+    void constructor_ShouldRejectOutOfRangePercent() {
+        assertThrows(IllegalArgumentException.class, () -> new JitteredTtlFunction(Duration.ofDays(1), 101));
+        assertThrows(IllegalArgumentException.class, () -> new JitteredTtlFunction(Duration.ofDays(1), -1));
+    }
+}
@@ -0,0 +1,27 @@
+package dev.bored.profile.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link LocalEntryExpiry}.
+ */
+class LocalEntryExpiryTest {
+
+    private final LocalEntryExpiry expiry = new LocalEntryExpiry(Duration.ofMinutes(10), Duration.ofSeconds(60));
+
+    @Test
+    void shouldGiveAbsentMarkersTheNegativeTtl() {
+        assertEquals(Duration.ofSeconds(60).toNanos(), expiry.expireAfterCreate("1", CacheEntry.absentMarker(), 0L));
+        assertEquals(Duration.ofSeconds(60).toNanos(), expiry.expireAfterUpdate("1", CacheEntry.absentMarker(), 0L, 5L));
+    }
+
+    @Test
+    void shouldGiveValuesTheWriteTtl_AndNotExtendOnRead() {
+        assertEquals(Duration.ofMinutes(10).toNanos(), expiry.expireAfterCreate("1", new CacheEntry("v", 0L), 0L));
+        assertEquals(5L, expiry.expireAfterRead("1", new CacheEntry("v", 0L), 0L, 5L));
+    }
+}
@@ -0,0 +1,218 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.HttpCacheProperties;
+import dev.bored.profile.service.ProfileDataChangedEvent;
+import dev.bored.profile.service.ProfileDataChangedEvent.Change;
+import dev.bored.profile.service.ProfileSection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link MicroCacheFilter}.
+ */
+class MicroCacheFilterTest {
+
+    private static final String BODY = "{\"profileId\":1,\"firstName\":\"Ada\"}";
+    private static final String TAG = "\"0123456789abcdef\"";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger renders = new AtomicInteger();
+    private MicroCacheFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        HttpCacheProperties.MicroCache settings = new HttpCacheProperties.MicroCache();
+        settings.setTtl(Duration.ofMinutes(1));
+        filter = new MicroCacheFilter(settings, request -> request.getHeader("Authorization"), meterRegistry);
+    }
+
+    /** Renders {@link #BODY} the way the application would, with {@code status}. */
+    private FilterChain controller(int status) {
+        return (request, servletResponse) -> {
+            renders.incrementAndGet();
+            HttpServletResponse response = (HttpServletResponse) servletResponse;
+            response.setStatus(status);
+            response.setContentType("application/json");
+            response.setHeader("Cache-Control", "max-age=0, public");
+            response.setHeader("ETag", TAG);
+            response.addHeader("Vary", "Origin");
+            response.getWriter().write(BODY);
+        };
+    }
+
+    private MockHttpServletResponse request(String method, String uri, FilterChain chain,
+                                            String... headerNamesAndValues) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        int query = uri.indexOf('?');
+        if (query >= 0) {
+            request.setRequestURI(uri.substring(0, query));
+            request.setQueryString(uri.substring(query + 1));
+        }
+        for (int i = 0; i < headerNamesAndValues.length; i += 2) {
+            request.addHeader(headerNamesAndValues[i], headerNamesAndValues[i + 1]);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private MockHttpServletResponse get(String uri, String... headerNamesAndValues) throws Exception {
+        return request("GET", uri, controller(200), headerNamesAndValues);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("profile.http.micro-cache").tag("result", result).counter().count();
+    }
+
+    @Test
+    void repeatedGet_ShouldBeAnsweredFromTheSharedResponse() throws Exception {
+        get("/api/v1/profiles/1");
+
+        MockHttpServletResponse shared = get("/api/v1/profiles/1");
+
+        assertEquals(1, renders.get());
+        assertEquals(200, shared.getStatus());
+        assertEquals(BODY, shared.getContentAsString());
+        assertEquals("application/json", shared.getContentType());
+        assertEquals("max-age=0, public", shared.getHeader("Cache-Control"));
+        assertEquals(TAG, shared.getHeader("ETag"));
+        assertEquals(1.0, requests("hit"));
+        assertEquals(1.0, requests("miss"));
+    }
+
+    @Test
+    void key_ShouldNormalizePathAndParameterNameOrder_ButKeepValueOrder() throws Exception {
+        get("/api/v1/experiences?profileId=1&size=20");
+        get("/api/v1/experiences?size=20&profileId=1");
+        get("/api//v1/experiences?size=20&profileId=1");
+        assertEquals(1, renders.get());
+
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/api/v1/profiles");
+        first.setQueryString("ids=1&ids=2");
+        MockHttpServletRequest second = new MockHttpServletRequest("GET", "/api/v1/profiles");
+        second.setQueryString("ids=2&ids=1");
+        assertNotEquals(MicroCacheFilter.key(first), MicroCacheFilter.key(second));
+    }
+
+    @Test
+    void key_ShouldSeparateOriginsAndEncodings() throws Exception {
+        get("/api/v1/profiles/1");
+        get("/api/v1/profiles/1", "Origin", "https://bored.dev");
+        get("/api/v1/profiles/1", "Accept-Encoding", "gzip");
+
+        assertEquals(3, renders.get());
+    }
+
+    @Test
+    void authenticatedGet_ShouldBypassTheMicroCache() throws Exception {
+        get("/api/v1/profiles/1", "Authorization", "Bearer token");
+        get("/api/v1/profiles/1", "Authorization", "Bearer token");
+
+        assertEquals(2, renders.get());
+        assertEquals(0.0, requests("miss"));
+    }
+
+    @Test
+    void committedWrite_ShouldFlushSharedResponses() throws Exception {
+        get("/api/v1/profiles/1");
+        filter.onProfileDataChanged(ProfileDataChangedEvent.of(ProfileSection.PROFILE, Change.UPDATED, 1L, 1L));
+
+        get("/api/v1/profiles/1");
+
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void rejectedPost_ShouldLeaveSharedResponsesInPlace() throws Exception {
+        get("/api/v1/profiles/1");
+        MockHttpServletResponse rejected = request("POST", "/api/v1/experiences", controller(401));
+
+        get("/api/v1/profiles/1");
+
+        assertEquals(401, rejected.getStatus());
+        assertEquals(2, renders.get());
+        assertEquals(1.0, requests("hit"));
+    }
+
+    @Test
+    void errorResponse_ShouldNotBeShared() throws Exception {
+        request("GET", "/api/v1/profiles/999", controller(404));
+        MockHttpServletResponse second = request("GET", "/api/v1/profiles/999", controller(404));
+
+        assertEquals(2, renders.get());
+        assertEquals(404, second.getStatus());
+    }
+
+    @Test
+    void privateResponse_ShouldNotBeShared() throws Exception {
+        FilterChain privateController = (request, response) -> {
+            renders.incrementAndGet();
+            ((HttpServletResponse) response).setHeader("Cache-Control", "private, no-store");
+            response.getWriter().write(BODY);
+        };
+        request("GET", "/api/v1/profiles/1", privateController);
+        request("GET", "/api/v1/profiles/1", privateController);
+
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void conditionalGet_ShouldBeAnswered304FromTheSharedResponse_ButNotStartOne() throws Exception {
+        MockHttpServletResponse unshared = get("/api/v1/profiles/1", "If-None-Match", TAG);
+        get("/api/v1/profiles/1");
+
+        MockHttpServletResponse notModified = get("/api/v1/profiles/1", "If-None-Match", TAG);
+
+        assertEquals(BODY, unshared.getContentAsString());
+        assertEquals(2, renders.get());
+        assertEquals(304, notModified.getStatus());
+        assertEquals("", notModified.getContentAsString());
+    }
+
+    @Test
+    void concurrentIdenticalGets_ShouldCollapseOntoOneInFlightRequest() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slowController = (request, response) -> {
+            try {
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            controller(200).doFilter(request, response);
+        };
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> call(slowController));
+        while (requests("miss") < 1) {
+            Thread.onSpinWait();
+        }
+        CompletableFuture<MockHttpServletResponse> second = CompletableFuture.supplyAsync(() -> call(slowController));
+        while (requests("collapsed") < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertEquals(BODY, first.get(5, TimeUnit.SECONDS).getContentAsString());
+        assertEquals(BODY, second.get(5, TimeUnit.SECONDS).getContentAsString());
+        assertEquals(1, renders.get());
+    }
+
+    private MockHttpServletResponse call(FilterChain chain) {
+        try {
+            return request("GET", "/api/v1/profiles/1", chain);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
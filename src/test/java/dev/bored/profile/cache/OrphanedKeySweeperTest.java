@@ -0,0 +1,73 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.ProfileCacheProperties;
+import dev.bored.profile.dto.ExperienceDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link OrphanedKeySweeper}, against {@link InMemoryRedis}.
+ */
+class OrphanedKeySweeperTest {
+
+    private final InMemoryRedis redis = new InMemoryRedis();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CacheSchemaVersions versions =
+            new CacheSchemaVersions(Map.of("experience-by-id", List.of(ExperienceDTO.class)));
+    private OrphanedKeySweeper sweeper;
+    private String current;
+
+    @BeforeEach
+    void setUp() {
+        ProfileCacheProperties.SchemaVersion.Cleanup settings = new ProfileCacheProperties.SchemaVersion.Cleanup();
+        settings.setBatchSize(2);
+        settings.setPauseBetweenBatches(Duration.ZERO);
+        sweeper = new OrphanedKeySweeper(redis.connectionFactory(), "profile-svc::", versions, settings, meterRegistry);
+        current = versions.currentPrefix("profile-svc::", "experience-by-id");
+    }
+
+    private void set(String key) {
+        try (RedisConnection connection = redis.connectionFactory().getConnection()) {
+            connection.stringCommands().set(key.getBytes(StandardCharsets.UTF_8), new byte[]{1});
+        }
+    }
+
+    @Test
+    void sweep_ShouldRemoveUnversionedAndOldVersionKeys_InBatches() throws InterruptedException {
+        set("profile-svc::experience-by-id::1");
+        set("profile-svc::experience-by-id::2");
+        set("profile-svc::experience-by-id::v00000000::3");
+        set(current + "1");
+        redis.resetCommands();
+
+        assertEquals(3, sweeper.sweep());
+
+        assertTrue(redis.exists(current + "1"));
+        assertFalse(redis.exists("profile-svc::experience-by-id::1"));
+        assertFalse(redis.exists("profile-svc::experience-by-id::v00000000::3"));
+        assertEquals(List.of("SCAN", "UNLINK", "UNLINK"), redis.commands());
+        assertEquals(3.0, meterRegistry.counter("profile.cache.orphans.deleted").count());
+    }
+
+    @Test
+    void sweep_ShouldLeaveOtherCachesAndLeasesAlone() throws InterruptedException {
+        set("profile-svc::experience-by-id-legacy::1");
+        set("profile-svc::experiences-by-profile::1");
+        set("profile-svc::lease::experience-by-id::1");
+
+        assertEquals(0, sweeper.sweep());
+
+        assertTrue(redis.exists("profile-svc::experience-by-id-legacy::1"));
+        assertTrue(redis.exists("profile-svc::experiences-by-profile::1"));
+        assertTrue(redis.exists("profile-svc::lease::experience-by-id::1"));
+    }
+}
@@ -0,0 +1,108 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.dto.AchievementDTO;
+import dev.bored.profile.dto.AspirationDTO;
+import dev.bored.profile.dto.ExperienceDTO;
+import dev.bored.profile.dto.PortfolioDTO;
+import dev.bored.profile.dto.ProfileDTO;
+import dev.bored.profile.service.CacheNames;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Redis commands per portfolio page view when the page makes the four
+ * section calls, under the {@code keys} and {@code profile-hash} layouts,
+ * against one {@code /full} call reading the portfolio cache. Every entry is
+ * cached in Redis and L1 is cold.
+ *
+ * <p>Not part of {@code test}; run with {@code ./gradlew benchmark}. Runs
+ * against {@link InMemoryRedis}, so the timings only cover the client side;
+ * against Upstash each command is also a network round trip. On a miss the
+ * four calls also cost four SQL statements where the portfolio costs one.</p>
+ */
+@Tag("benchmark")
+class PortfolioReadBenchmark {
+
+    private static final int PROFILES = 200;
+    private static final int VIEWS = 2_000;
+    private static final int ROWS_PER_SECTION = 5;
+
+    /** Keeps the JIT from discarding the measured work. */
+    private static volatile long blackhole;
+
+    @Test
+    void compareFourCallsWithOnePortfolio() {
+        System.out.printf("%-22s %14s %14s%n", "reads", "commands/view", "us/view");
+        double keys = report("4 calls, keys", ProfileHashCacheTest::redisManager, CacheNames.BY_PROFILE_ID);
+        report("4 calls, profile-hash", ProfileHashCacheTest::hashManager, CacheNames.BY_PROFILE_ID);
+        double full = report("portfolio", ProfileHashCacheTest::redisManager,
+                List.of(CacheNames.PORTFOLIO_BY_PROFILE));
+        assertTrue(full < keys, "the portfolio should need fewer commands per view than four calls");
+    }
+
+    private static double report(String label, Function<InMemoryRedis, CacheManager> remote, List<String> caches) {
+        InMemoryRedis redis = new InMemoryRedis();
+        CacheManager redisLayout = remote.apply(redis);
+        TwoTierCacheManager warm = ProfileHashCacheTest.twoTier(redisLayout);
+        for (long id = 0; id < PROFILES; id++) {
+            PortfolioDTO portfolio = portfolio(id);
+            caches.forEach(name -> warm.getCache(name).get(portfolio.getProfile().getProfileId(),
+                    () -> part(name, portfolio)));
+        }
+        redis.resetCommands();
+
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int view = 0; view < VIEWS; view++) {
+            // a fresh manager per view: nothing in L1, everything in Redis
+            TwoTierCacheManager cold = ProfileHashCacheTest.twoTier(redisLayout);
+            long profileId = view % PROFILES;
+            for (String name : caches) {
+                sink += cold.getCache(name).get(profileId, () -> List.of()).hashCode();
+            }
+        }
+        long micros = (System.nanoTime() - start) / 1_000 / VIEWS;
+        blackhole = sink;
+        double commandsPerView = (double) redis.commands().size() / VIEWS;
+        System.out.printf("%-22s %14.1f %14d%n", label, commandsPerView, micros);
+        return commandsPerView;
+    }
+
+    /** What {@code cacheName} holds for the profile of {@code portfolio}. */
+    private static Object part(String cacheName, PortfolioDTO portfolio) {
+        return switch (cacheName) {
+            case CacheNames.PROFILE_BY_ID -> portfolio.getProfile();
+            case CacheNames.EXPERIENCES_BY_PROFILE -> portfolio.getExperiences();
+            case CacheNames.ACHIEVEMENTS_BY_PROFILE -> portfolio.getAchievements();
+            case CacheNames.ASPIRATIONS_BY_PROFILE -> portfolio.getAspirations();
+            default -> portfolio;
+        };
+    }
+
+    private static PortfolioDTO portfolio(long profileId) {
+        List<Long> rows = LongStream.range(0, ROWS_PER_SECTION).boxed().toList();
+        return PortfolioDTO.builder()
+                .profile(ProfileDTO.builder().profileId(profileId).firstName("Ada").lastName("Lovelace").build())
+                .experiences(new ArrayList<>(rows.stream()
+                        .map(i -> ExperienceDTO.builder().experienceId(i).profileId(profileId)
+                                .company("Bored Software").role("Engineer").sortOrder(i.intValue()).build())
+                        .toList()))
+                .achievements(new ArrayList<>(rows.stream()
+                        .map(i -> AchievementDTO.builder().achievementId(i).profileId(profileId)
+                                .title("Shipped").sortOrder(i.intValue()).build())
+                        .toList()))
+                .aspirations(new ArrayList<>(rows.stream()
+                        .map(i -> AspirationDTO.builder().aspirationId(i).profileId(profileId)
+                                .title("Learn Rust").sortOrder(i.intValue()).build())
+                        .toList()))
+                .build();
+    }
+}
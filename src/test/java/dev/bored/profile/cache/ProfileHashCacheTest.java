@@ -0,0 +1,161 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.CacheConfig;
+import dev.bored.profile.service.CacheNames;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ProfileHashCacheManager} and {@link ProfileHashCache},
+ * against {@link InMemoryRedis}.
+ */
+class ProfileHashCacheTest {
+
+    private static final String HASH = "profile-svc::profile::1";
+
+    private InMemoryRedis redis;
+    private ProfileHashCacheManager manager;
+
+    @BeforeEach
+    void setUp() {
+        redis = new InMemoryRedis();
+        manager = hashManager(redis);
+    }
+
+    static ProfileHashCacheManager hashManager(InMemoryRedis redis) {
+        return new ProfileHashCacheManager(redisManager(redis), redis.connectionFactory(), CacheNames.BY_PROFILE_ID);
+    }
+
+    static RedisCacheManager redisManager(InMemoryRedis redis) {
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+                .prefixCacheNameWith("profile-svc::")
+                .entryTtl(Duration.ofDays(7))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        CacheConfig.jsonValueSerializer()));
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redis.connectionFactory())
+                .cacheDefaults(config)
+                .initialCacheNames(new LinkedHashSet<>(CacheNames.ALL))
+                .build();
+        redisCacheManager.afterPropertiesSet();
+        return redisCacheManager;
+    }
+
+    private static CacheEntry entry(Object value) {
+        return new CacheEntry(value, Long.MAX_VALUE);
+    }
+
+    @Test
+    void put_ShouldStoreSectionsAsFieldsOfOneHash() {
+        manager.getCache(CacheNames.PROFILE_BY_ID).put(1L, entry("Ada"));
+        manager.getCache(CacheNames.EXPERIENCES_BY_PROFILE).put(1L, entry(new ArrayList<>(List.of("job"))));
+
+        assertEquals(java.util.Set.of(CacheNames.PROFILE_BY_ID, CacheNames.EXPERIENCES_BY_PROFILE), redis.hash(HASH).keySet());
+        assertEquals(Duration.ofDays(7).toMillis(), redis.ttlMillis(HASH));
+        assertEquals(List.of("HSET", "PEXPIRE", "HSET", "PEXPIRE"), redis.commands());
+    }
+
+    @Test
+    void get_ShouldReadEverySectionWithOneCommand_AndHandSiblingsToTheirL1() {
+        manager.getCache(CacheNames.PROFILE_BY_ID).put(1L, entry("Ada"));
+        manager.getCache(CacheNames.EXPERIENCES_BY_PROFILE).put(1L, entry(new ArrayList<>(List.of("job"))));
+        Map<Object, Object> experiencesL1 = new HashMap<>();
+        ((ProfileHashCache) manager.getCache(CacheNames.EXPERIENCES_BY_PROFILE)).onSiblingFields(experiencesL1::put);
+        redis.resetCommands();
+
+        Cache.ValueWrapper profile = manager.getCache(CacheNames.PROFILE_BY_ID).get(1L);
+
+        assertEquals(entry("Ada"), profile.get());
+        assertEquals(entry(List.of("job")), experiencesL1.get(1L));
+        assertEquals(List.of("HGETALL"), redis.commands());
+    }
+
+    @Test
+    void get_ShouldMiss_WhenTheFieldIsAbsent() {
+        manager.getCache(CacheNames.PROFILE_BY_ID).put(1L, entry("Ada"));
+
+        assertNull(manager.getCache(CacheNames.ASPIRATIONS_BY_PROFILE).get(1L));
+        assertNull(manager.getCache(CacheNames.PROFILE_BY_ID).get(2L));
+    }
+
+    @Test
+    void evict_ShouldDropOnlyItsOwnField() {
+        manager.getCache(CacheNames.PROFILE_BY_ID).put(1L, entry("Ada"));
+        manager.getCache(CacheNames.EXPERIENCES_BY_PROFILE).put(1L, entry(new ArrayList<>(List.of("job"))));
+
+        manager.getCache(CacheNames.EXPERIENCES_BY_PROFILE).evict(1L);
+
+        assertEquals(java.util.Set.of(CacheNames.PROFILE_BY_ID), redis.hash(HASH).keySet());
+    }
+
+    @Test
+    void evictProfile_ShouldDeleteTheWholeHashWithOneCommand() {
+        manager.getCache(CacheNames.PROFILE_BY_ID).put(1L, entry("Ada"));
+        redis.resetCommands();
+
+        manager.evictProfile(1L);
+
+        assertFalse(redis.exists(HASH));
+        assertEquals(List.of("DEL"), redis.commands());
+    }
+
+    @Test
+    void put_ShouldSkipAbsentMarkers() {
+        manager.getCache(CacheNames.PROFILE_BY_ID).put(1L, CacheEntry.absentMarker());
+
+        assertTrue(redis.commands().isEmpty());
+    }
+
+    @Test
+    void getCache_ShouldLeaveOtherCachesToTheDelegate() {
+        assertInstanceOf(RedisCache.class, manager.getCache(CacheNames.EXPERIENCE_BY_ID));
+        assertTrue(manager.packs(CacheNames.ASPIRATIONS_BY_PROFILE));
+        assertFalse(manager.packs(CacheNames.ASPIRATION_BY_ID));
+        assertTrue(manager.getCacheNames().containsAll(CacheNames.ALL));
+    }
+
+    @Test
+    void twoTier_ShouldServeAPageViewFromOneRedisRead() {
+        TwoTierCacheManager warm = twoTier(manager);
+        CacheNames.BY_PROFILE_ID.forEach(name -> warm.getCache(name).get(1L, () -> name + "-value"));
+        TwoTierCacheManager cold = twoTier(manager);
+        redis.resetCommands();
+
+        CacheNames.BY_PROFILE_ID.forEach(name ->
+                assertEquals(name + "-value", cold.getCache(name).get(1L, () -> fail("should be cached"))));
+
+        assertEquals(List.of("HGETALL"), redis.commands());
+    }
+
+    @Test
+    void twoTier_ShouldDropDeletedProfileEverywhere() {
+        TwoTierCacheManager twoTier = twoTier(manager);
+        twoTier.getCache(CacheNames.PROFILE_BY_ID).get(1L, () -> "Ada");
+
+        twoTier.evictProfile(1L);
+
+        assertFalse(redis.exists(HASH));
+        assertEquals("reloaded", twoTier.getCache(CacheNames.PROFILE_BY_ID).get(1L, () -> "reloaded"));
+    }
+
+    static TwoTierCacheManager twoTier(org.springframework.cache.CacheManager remote) {
+        return new TwoTierCacheManager(Caffeine.newBuilder().maximumSize(100), remote,
+                TwoTierCacheContext.builder().meterRegistry(new SimpleMeterRegistry()).build(), CacheNames.ALL);
+    }
+}
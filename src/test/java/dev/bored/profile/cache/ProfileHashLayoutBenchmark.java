@@ -0,0 +1,67 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.service.CacheNames;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Redis commands per profile page view under the {@code keys} and
+ * {@code profile-hash} layouts, with every section cached in Redis and a cold
+ * L1 — a fresh instance, or a view after the L1 entries expired.
+ *
+ * <p>Not part of {@code test}; run with {@code ./gradlew benchmark}. Runs
+ * against {@link InMemoryRedis}, so the timings only cover the client side;
+ * against Upstash each command is also a network round trip, which is what
+ * the command count stands in for.</p>
+ */
+@Tag("benchmark")
+class ProfileHashLayoutBenchmark {
+
+    private static final int PROFILES = 200;
+    private static final int VIEWS = 2_000;
+
+    /** Keeps the JIT from discarding the measured work. */
+    private static volatile long blackhole;
+
+    @Test
+    void compareLayouts() {
+        System.out.printf("%-14s %14s %14s%n", "layout", "commands/view", "us/view");
+        double keys = report("keys", ProfileHashCacheTest::redisManager);
+        double hash = report("profile-hash", ProfileHashCacheTest::hashManager);
+        assertTrue(hash < keys, "profile-hash should need fewer commands per view than keys");
+    }
+
+    private static double report(String layout, Function<InMemoryRedis, CacheManager> remote) {
+        InMemoryRedis redis = new InMemoryRedis();
+        CacheManager redisLayout = remote.apply(redis);
+        TwoTierCacheManager warm = ProfileHashCacheTest.twoTier(redisLayout);
+        for (long id = 0; id < PROFILES; id++) {
+            long profileId = id;
+            CacheNames.BY_PROFILE_ID.forEach(name ->
+                    warm.getCache(name).get(profileId, () -> List.of(name, profileId)));
+        }
+        redis.resetCommands();
+
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int view = 0; view < VIEWS; view++) {
+            // a fresh manager per view: nothing in L1, everything in Redis
+            TwoTierCacheManager cold = ProfileHashCacheTest.twoTier(redisLayout);
+            long profileId = view % PROFILES;
+            for (String name : CacheNames.BY_PROFILE_ID) {
+                sink += cold.getCache(name).get(profileId, () -> List.of()).hashCode();
+            }
+        }
+        long micros = (System.nanoTime() - start) / 1_000 / VIEWS;
+        blackhole = sink;
+        double commandsPerView = (double) redis.commands().size() / VIEWS;
+        System.out.printf("%-14s %14.1f %14d%n", layout, commandsPerView, micros);
+        return commandsPerView;
+    }
+}
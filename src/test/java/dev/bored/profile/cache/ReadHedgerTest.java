@@ -0,0 +1,167 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.ProfileCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ReadHedger}. Slow L2 reads are simulated with latches.
+ */
+class ReadHedgerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    private ReadHedger hedger(int percentile, int maxConcurrent) {
+        ProfileCacheProperties.Hedging settings = new ProfileCacheProperties.Hedging();
+        settings.setDelay(Duration.ofMillis(100));
+        settings.setDelayPercentile(percentile);
+        settings.setMinDelay(Duration.ofMillis(1));
+        settings.setMaxConcurrent(maxConcurrent);
+        return new ReadHedger(settings, meterRegistry, executor);
+    }
+
+    /** An L2 read that only answers once {@link #release} is counted down. */
+    private Supplier<String> blockedRemote(String answer) {
+        return () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return answer;
+        };
+    }
+
+    @Test
+    void read_ShouldReturnFastHit_WithoutLoading() {
+        AtomicInteger loads = new AtomicInteger();
+
+        ReadHedger.Outcome<String> outcome = hedger(0, 2).read(() -> "cached", () -> loads.incrementAndGet());
+
+        assertEquals("cached", outcome.hit());
+        assertFalse(outcome.hedged());
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void read_ShouldReportFastMiss_WithoutLoading() {
+        ReadHedger.Outcome<String> outcome = hedger(0, 2).read(() -> null, () -> fail("no hedge on a fast miss"));
+
+        assertNull(outcome.hit());
+        assertFalse(outcome.loaded());
+    }
+
+    @Test
+    void read_ShouldLetTheLoaderWin_WhenL2IsSlow() throws Exception {
+        ReadHedger.Outcome<String> outcome = hedger(0, 2).read(blockedRemote("cached"), () -> "db");
+
+        assertTrue(outcome.hedged());
+        assertTrue(outcome.loaded());
+        assertEquals("db", outcome.loadedValue());
+    }
+
+    @Test
+    void read_ShouldLetL2Win_WhenItAnswersBeforeTheLoader() {
+        CountDownLatch loaderGate = new CountDownLatch(1);
+        ReadHedger.Outcome<String> outcome = hedger(0, 2).read(() -> {
+            sleep(300);
+            return "cached";
+        }, () -> loaderGate.await(5, TimeUnit.SECONDS));
+        loaderGate.countDown();
+
+        assertEquals("cached", outcome.hit());
+        assertTrue(outcome.hedged());
+        assertFalse(outcome.loaded());
+    }
+
+    @Test
+    void read_ShouldFallBackToL2_WhenTheHedgedLoaderFails() {
+        ReadHedger.Outcome<String> outcome = hedger(0, 2).read(() -> {
+            sleep(300);
+            return "cached";
+        }, () -> { throw new IllegalStateException("db down"); });
+
+        assertEquals("cached", outcome.hit());
+    }
+
+    @Test
+    void read_ShouldSurfaceLoaderFailure_WhenL2AlsoMisses() {
+        ReadHedger.Outcome<String> outcome = hedger(0, 2).read(() -> {
+            sleep(300);
+            return null;
+        }, () -> { throw new IllegalStateException("db down"); });
+
+        assertTrue(outcome.loaded());
+        assertEquals("db down", assertThrows(IllegalStateException.class, outcome::loadedValue).getMessage());
+    }
+
+    @Test
+    void read_ShouldWaitForL2_WhenTheBudgetIsUsedUp() throws Exception {
+        ReadHedger hedger = hedger(0, 1);
+        CountDownLatch firstLoaderStarted = new CountDownLatch(1);
+        Future<?> first = executor.submit(() -> hedger.read(blockedRemote("a"), () -> {
+            firstLoaderStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "db";
+        }));
+        assertTrue(firstLoaderStarted.await(5, TimeUnit.SECONDS));
+
+        ReadHedger.Outcome<String> second = hedger.read(() -> {
+            sleep(300);
+            return "cached";
+        }, () -> fail("over budget"));
+
+        assertEquals("cached", second.hit());
+        assertFalse(second.hedged());
+        assertEquals(1.0, meterRegistry.counter("profile.cache.hedge.budget.exhausted").count());
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void read_ShouldTrackThePercentileOfRecentReads() throws Exception {
+        ReadHedger hedger = hedger(95, 2);
+        assertEquals(Duration.ofMillis(100).toNanos(), hedger.delayNanos());
+
+        for (int i = 0; i < 64; i++) {
+            hedger.read(() -> "cached", () -> "db");
+        }
+        TimeUnit.MILLISECONDS.sleep(50); // latencies are recorded as the reads complete
+
+        assertTrue(hedger.delayNanos() < Duration.ofMillis(100).toNanos(), () -> "delay " + hedger.delayNanos());
+        assertTrue(hedger.delayNanos() >= Duration.ofMillis(1).toNanos());
+    }
+
+    @Test
+    void constructor_ShouldRejectOutOfRangePercentile() {
+        assertThrows(IllegalArgumentException.class, () -> hedger(100, 2));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
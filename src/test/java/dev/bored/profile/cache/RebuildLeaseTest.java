@@ -0,0 +1,108 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.ProfileCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link RebuildLease}, against a mocked {@link StringRedisTemplate}.
+ */
+class RebuildLeaseTest {
+
+    private static final String LEASE_KEY = "profile-svc::lease::experiences-by-profile::1";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+    private final RedisCircuitBreaker breaker = mock(RedisCircuitBreaker.class);
+    private RebuildLease lease;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(breaker.tryAcquire()).thenReturn(true);
+        lease = new RebuildLease(redisTemplate, "profile-svc::", new ProfileCacheProperties.RebuildLease(),
+                breaker, meterRegistry);
+    }
+
+    private double grants(String grant) {
+        return meterRegistry.get("profile.cache.lease").tag("grant", grant).counter().count();
+    }
+
+    @Test
+    void tryAcquire_ShouldGrant_WhenSetNxSucceeds() {
+        when(values.setIfAbsent(eq(LEASE_KEY), anyString(), eq(Duration.ofSeconds(5)))).thenReturn(true);
+
+        assertEquals(RebuildLease.Grant.ACQUIRED, lease.tryAcquire("experiences-by-profile", 1L));
+
+        assertEquals(1.0, grants("acquired"));
+        verify(breaker).record(anyLong(), eq(false));
+    }
+
+    @Test
+    void tryAcquire_ShouldReportHeldElsewhere_WhenTheKeyExists() {
+        when(values.setIfAbsent(eq(LEASE_KEY), anyString(), any(Duration.class))).thenReturn(false);
+
+        assertEquals(RebuildLease.Grant.HELD_ELSEWHERE, lease.tryAcquire("experiences-by-profile", 1L));
+
+        assertEquals(1.0, grants("held.elsewhere"));
+    }
+
+    @Test
+    void tryAcquire_ShouldFailOpen_WhenRedisFails() {
+        when(values.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertEquals(RebuildLease.Grant.UNAVAILABLE, lease.tryAcquire("experiences-by-profile", 1L));
+
+        assertEquals(1.0, grants("unavailable"));
+        verify(breaker).record(anyLong(), eq(true));
+    }
+
+    @Test
+    void tryAcquire_ShouldFailOpen_WithoutCallingRedis_WhenTheBreakerIsOpen() {
+        when(breaker.tryAcquire()).thenReturn(false);
+
+        assertEquals(RebuildLease.Grant.UNAVAILABLE, lease.tryAcquire("experiences-by-profile", 1L));
+
+        verifyNoInteractions(values);
+        verify(breaker, never()).record(anyLong(), anyBoolean());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void release_ShouldOnlyDeleteALeaseThisInstanceHolds() {
+        when(values.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        lease.tryAcquire("experiences-by-profile", 1L);
+
+        lease.release("experiences-by-profile", 1L);
+
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(LEASE_KEY)), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void release_ShouldSwallowRedisFailures() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertDoesNotThrow(() -> lease.release("experiences-by-profile", 1L));
+    }
+}
@@ -0,0 +1,37 @@
+package dev.bored.profile.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link RedisCircuitBreakerHealthIndicator}.
+ */
+class RedisCircuitBreakerHealthIndicatorTest {
+
+    private final RedisCircuitBreaker breaker = mock(RedisCircuitBreaker.class);
+    private final RedisCircuitBreakerHealthIndicator indicator = new RedisCircuitBreakerHealthIndicator(breaker);
+
+    @Test
+    void health_ShouldBeUp_WhileClosed() {
+        when(breaker.getState()).thenReturn(RedisCircuitBreaker.State.CLOSED);
+        when(breaker.getFailureRate()).thenReturn(10);
+
+        Health health = indicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(RedisCircuitBreaker.State.CLOSED, health.getDetails().get("state"));
+        assertEquals(10, health.getDetails().get("failureRate"));
+    }
+
+    @Test
+    void health_ShouldReportCircuitOpen_WhileOpen() {
+        when(breaker.getState()).thenReturn(RedisCircuitBreaker.State.OPEN);
+
+        assertEquals(RedisCircuitBreakerHealthIndicator.CIRCUIT_OPEN, indicator.health().getStatus());
+    }
+}
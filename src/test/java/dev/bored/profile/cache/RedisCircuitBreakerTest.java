@@ -0,0 +1,156 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.cache.RedisCircuitBreaker.State;
+import dev.bored.profile.config.ProfileCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RedisCircuitBreaker}, driven by a fake clock.
+ */
+class RedisCircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(5).toNanos();
+    private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<State> transitions = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private RedisCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        ProfileCacheProperties.CircuitBreaker settings = new ProfileCacheProperties.CircuitBreaker();
+        settings.setWindowSize(10);
+        settings.setMinimumCalls(4);
+        settings.setFailureRateThreshold(50);
+        settings.setSlowCallThreshold(Duration.ofMillis(250));
+        settings.setWaitInOpenState(Duration.ofSeconds(30));
+        settings.setHalfOpenProbes(2);
+        meterRegistry = new SimpleMeterRegistry();
+        breaker = new RedisCircuitBreaker(settings, meterRegistry, clock::get, Runnable::run);
+        breaker.onStateChange(transitions::add);
+    }
+
+    private void calls(int count, long elapsedNanos, boolean failed) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.record(elapsedNanos, failed);
+        }
+    }
+
+    private void open() {
+        calls(4, FAST, true);
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void shouldStayClosed_BelowMinimumCallsOrThreshold() {
+        calls(3, FAST, true);
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(-1, breaker.getFailureRate());
+
+        breaker = new RedisCircuitBreaker(new ProfileCacheProperties.CircuitBreaker(), meterRegistry,
+                clock::get, Runnable::run);
+        calls(6, FAST, false);
+        calls(4, FAST, true);
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(40, breaker.getFailureRate());
+    }
+
+    @Test
+    void shouldOpen_OnFailuresAndSkipCallsWhileOpen() {
+        calls(2, FAST, false);
+        calls(2, FAST, true);
+
+        assertEquals(State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(List.of(State.OPEN), transitions);
+        assertEquals(1.0, meterRegistry.counter("profile.cache.circuit.short.circuited").count());
+        assertEquals(1.0, meterRegistry.get("profile.cache.circuit.state").tag("state", "open").gauge().value());
+        assertEquals(1.0, meterRegistry.counter("profile.cache.circuit.transitions",
+                "from", "closed", "to", "open").count());
+    }
+
+    @Test
+    void shouldOpen_OnSlowCallsEvenWithoutErrors() {
+        calls(4, SLOW, false);
+
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void shouldForgetCallsThatLeftTheWindow() {
+        calls(4, FAST, false);
+        calls(1, FAST, true);
+        calls(10, FAST, false);
+        calls(4, FAST, true);
+
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(40, breaker.getFailureRate());
+    }
+
+    @Test
+    void shouldCloseAfterSuccessfulProbes() {
+        open();
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire(), "only the configured number of probes may run");
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        breaker.record(FAST, false);
+        breaker.record(FAST, false);
+
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(List.of(State.OPEN, State.HALF_OPEN, State.CLOSED), transitions);
+        assertEquals(0, breaker.getBufferedCalls());
+    }
+
+    @Test
+    void shouldReopen_WhenAProbeFails() {
+        open();
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertTrue(breaker.tryAcquire());
+        breaker.record(SLOW, false);
+
+        assertEquals(State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void shouldIgnoreLateOutcomesWhileOpen() {
+        open();
+        breaker.record(FAST, false);
+
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void listenerFailures_ShouldNotBreakTransitions() {
+        breaker.onStateChange(state -> { throw new IllegalStateException("boom"); });
+
+        open();
+
+        assertEquals(List.of(State.OPEN), transitions);
+    }
+
+    @Test
+    void constructor_ShouldRejectEmptyWindow() {
+        ProfileCacheProperties.CircuitBreaker settings = new ProfileCacheProperties.CircuitBreaker();
+        settings.setWindowSize(0);
+
+        assertThrows(IllegalArgumentException.class, () -> new RedisCircuitBreaker(settings, meterRegistry));
+    }
+}
@@ -0,0 +1,122 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.ProfileCacheProperties;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.event.command.CommandStartedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link RedisCommandBatcher}. The timer is a mock, so each
+ * test runs the scheduled ticks itself.
+ */
+class RedisCommandBatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ScheduledExecutorService timer = mock(ScheduledExecutorService.class);
+    private final StatefulConnection<?, ?> connection = mock(StatefulConnection.class);
+    private final CommandStartedEvent event = mock(CommandStartedEvent.class);
+    private RedisCommandBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        ProfileCacheProperties.Connection settings = new ProfileCacheProperties.Connection();
+        settings.setFlushBatchSize(3);
+        // 1ms: a single quiet tick stops the timer
+        settings.setFlushInterval(Duration.ofMillis(1));
+        batcher = new RedisCommandBatcher(settings, meterRegistry, timer);
+    }
+
+    private double flushes(String trigger) {
+        return meterRegistry.get("profile.cache.redis.flushes").tag("trigger", trigger).counter().count();
+    }
+
+    @Test
+    void commandStarted_ShouldDoNothing_BeforeAttach() {
+        batcher.commandStarted(event);
+
+        verifyNoInteractions(timer, connection);
+    }
+
+    @Test
+    void attach_ShouldTurnOffPerCommandFlushing() {
+        batcher.attach(connection);
+
+        verify(connection).setAutoFlushCommands(false);
+    }
+
+    @Test
+    void commandStarted_ShouldFlush_OnceBatchSizeCommandsAreQueued() {
+        batcher.attach(connection);
+
+        batcher.commandStarted(event);
+        batcher.commandStarted(event);
+        verify(connection, never()).flushCommands();
+        batcher.commandStarted(event);
+
+        verify(connection).flushCommands();
+        assertEquals(1, flushes("size"));
+        // the timer is started once, by the first command
+        verify(timer, times(1)).schedule(any(Runnable.class), eq(1_000_000L), eq(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    void tick_ShouldFlushAndKeepTicking_WhileCommandsArrive() {
+        batcher.attach(connection);
+        batcher.commandStarted(event);
+
+        batcher.tick();
+
+        verify(connection).flushCommands();
+        assertEquals(1, flushes("timer"));
+        verify(timer, times(2)).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    @Test
+    void tick_ShouldStopTheTimer_AfterAQuietTick_AndRestartOnTheNextCommand() {
+        batcher.attach(connection);
+        batcher.commandStarted(event);
+        batcher.tick();
+
+        batcher.tick();
+
+        // the quiet tick still flushes, for a command counted just before the busy one
+        verify(connection, times(2)).flushCommands();
+        verify(timer, times(2)).schedule(any(Runnable.class), anyLong(), any());
+
+        batcher.commandStarted(event);
+        verify(timer, times(3)).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    @Test
+    void close_ShouldFlushAndRestorePerCommandFlushing() {
+        batcher.attach(connection);
+        batcher.commandStarted(event);
+
+        batcher.close();
+
+        verify(timer).shutdownNow();
+        verify(connection).flushCommands();
+        verify(connection).setAutoFlushCommands(true);
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveSettings() {
+        ProfileCacheProperties.Connection settings = new ProfileCacheProperties.Connection();
+        settings.setFlushBatchSize(0);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new RedisCommandBatcher(settings, meterRegistry, timer));
+    }
+}
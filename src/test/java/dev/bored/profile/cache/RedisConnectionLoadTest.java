@@ -0,0 +1,171 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.ProfileCacheProperties;
+import io.lettuce.core.api.StatefulConnection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Throughput and tail latency of cache-sized {@code GET}s under a burst of
+ * concurrent requests, for {@code profile.cache.connection.mode} {@code pooled}
+ * (each call holds one of four pooled connections, as in
+ * {@code application.yml}) and {@code shared} (one multiplexed connection
+ * with {@link RedisCommandBatcher}).
+ *
+ * <p>Not part of {@code test}; run with {@code ./gradlew benchmark} against a
+ * real Redis at {@code REDIS_HOST}/{@code REDIS_PORT} (default
+ * {@code localhost:6379}) — skipped when none answers. Use a local or
+ * throwaway instance: it writes {@value #KEYS} keys under
+ * {@code load-test::}. Latencies include the network, so compare the two
+ * rows of one run rather than runs on different machines.</p>
+ */
+@Tag("benchmark")
+class RedisConnectionLoadTest {
+
+    private static final String HOST = System.getenv().getOrDefault("REDIS_HOST", "localhost");
+    private static final int PORT = Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379"));
+    private static final int KEYS = 1_000;
+    private static final int CALLERS = 64;
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration RUN = Duration.ofSeconds(10);
+
+    @Test
+    void comparePooledAndShared() throws Exception {
+        assumeTrue(reachable(), "No Redis at " + HOST + ":" + PORT);
+
+        System.out.printf("%-8s %8s %10s %10s %10s %10s%n", "mode", "callers", "ops/s", "p50 us", "p99 us", "p99.9 us");
+        Result pooled = run("pooled", pooledFactory(), null);
+        ProfileCacheProperties.Connection settings = new ProfileCacheProperties.Connection();
+        RedisCommandBatcher batcher = new RedisCommandBatcher(settings, new SimpleMeterRegistry());
+        Result shared = run("shared", sharedFactory(), batcher);
+
+        assertTrue(shared.opsPerSecond() > 0 && pooled.opsPerSecond() > 0);
+    }
+
+    private record Result(double opsPerSecond) {
+    }
+
+    private static Result run(String mode, LettuceConnectionFactory factory, RedisCommandBatcher batcher)
+            throws Exception {
+        factory.afterPropertiesSet();
+        factory.start();
+        if (batcher != null) {
+            batcher.attach(factory);
+        }
+        try {
+            seed(factory);
+            drive(factory, WARMUP);
+            long start = System.nanoTime();
+            List<long[]> perCaller = drive(factory, RUN);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            long[] micros = perCaller.stream().flatMapToLong(Arrays::stream).toArray();
+            Arrays.sort(micros);
+            Result result = new Result(micros.length / seconds);
+            System.out.printf("%-8s %8d %10.0f %10d %10d %10d%n", mode, CALLERS, result.opsPerSecond(),
+                    percentile(micros, 50), percentile(micros, 99), percentile(micros, 99.9));
+            return result;
+        } finally {
+            if (batcher != null) {
+                batcher.close();
+            }
+            factory.destroy();
+        }
+    }
+
+    /** Every caller issues {@code GET}s back to back until {@code duration} is up. */
+    private static List<long[]> drive(LettuceConnectionFactory factory, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> callers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int caller = 0; caller < CALLERS; caller++) {
+                int offset = caller;
+                callers.add(executor.submit(() -> {
+                    long[] micros = new long[1 << 16];
+                    int count = 0;
+                    for (int i = offset; System.nanoTime() < deadline; i++) {
+                        long start = System.nanoTime();
+                        try (RedisConnection connection = factory.getConnection()) {
+                            connection.stringCommands().get(key(i % KEYS));
+                        }
+                        if (count == micros.length) {
+                            micros = Arrays.copyOf(micros, count * 2);
+                        }
+                        micros[count++] = (System.nanoTime() - start) / 1_000;
+                    }
+                    return Arrays.copyOf(micros, count);
+                }));
+            }
+            List<long[]> results = new ArrayList<>();
+            for (Future<long[]> caller : callers) {
+                results.add(caller.get());
+            }
+            return results;
+        }
+    }
+
+    private static void seed(LettuceConnectionFactory factory) {
+        byte[] value = "x".repeat(600).getBytes(StandardCharsets.UTF_8);
+        try (RedisConnection connection = factory.getConnection()) {
+            for (int i = 0; i < KEYS; i++) {
+                connection.stringCommands().set(key(i), value);
+            }
+        }
+    }
+
+    private static LettuceConnectionFactory pooledFactory() {
+        GenericObjectPoolConfig<StatefulConnection<?, ?>> pool = new GenericObjectPoolConfig<>();
+        pool.setMaxTotal(4);
+        pool.setMaxIdle(4);
+        pool.setMinIdle(0);
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(HOST, PORT),
+                LettucePoolingClientConfiguration.builder().poolConfig(pool).build());
+        factory.setShareNativeConnection(false);
+        return factory;
+    }
+
+    private static LettuceConnectionFactory sharedFactory() {
+        return new LettuceConnectionFactory(new RedisStandaloneConfiguration(HOST, PORT));
+    }
+
+    private static byte[] key(int i) {
+        return ("load-test::" + i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(sorted.length * percentile / 100) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank))];
+    }
+
+    private static boolean reachable() {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(HOST, PORT), 500);
+            return true;
+        } catch (Exception ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.service.CacheNames;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RedisMultiKeyCache}, against {@link InMemoryRedis}.
+ */
+class RedisMultiKeyCacheTest {
+
+    private static final String KEY_PREFIX = "profile-svc::" + CacheNames.EXPERIENCE_BY_ID + "::";
+
+    private InMemoryRedis redis;
+    private RedisMultiKeyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        redis = new InMemoryRedis();
+        RedisCache redisCache = (RedisCache) ProfileHashCacheTest.redisManager(redis)
+                .getCache(CacheNames.EXPERIENCE_BY_ID);
+        cache = new RedisMultiKeyCache(redisCache, redis.connectionFactory());
+    }
+
+    private static CacheEntry entry(Object value) {
+        return new CacheEntry(value, Long.MAX_VALUE);
+    }
+
+    @Test
+    void getAll_ShouldReadWhatSingleKeyWritesStored_WithOneMget() {
+        cache.put(1L, entry("one"));
+        cache.put(3L, entry("three"));
+        redis.resetCommands();
+
+        Map<Object, Object> values = cache.getAll(List.of(1L, 2L, 3L));
+
+        assertEquals(List.of("MGET"), redis.commands());
+        assertEquals(2, values.size());
+        assertEquals("one", ((CacheEntry) values.get(1L)).getValue());
+        assertEquals("three", ((CacheEntry) values.get(3L)).getValue());
+        assertFalse(values.containsKey(2L));
+    }
+
+    @Test
+    void putAll_ShouldStoreEntriesUnderTheKeysAndTtlOfSingleKeyWrites() {
+        Map<Object, Object> entries = new LinkedHashMap<>();
+        entries.put(1L, entry("one"));
+        entries.put(2L, entry("two"));
+
+        cache.putAll(entries);
+
+        assertEquals(List.of("SET", "SET"), redis.commands());
+        assertTrue(redis.exists(KEY_PREFIX + "1"));
+        assertEquals(Duration.ofDays(7).toMillis(), redis.ttlMillis(KEY_PREFIX + "2"));
+        assertEquals("two", ((CacheEntry) cache.get(2L).get()).getValue());
+    }
+
+    @Test
+    void getAll_ShouldNotTouchRedis_ForNoKeys() {
+        assertEquals(Map.of(), cache.getAll(List.of()));
+        cache.putAll(Map.of());
+
+        assertEquals(List.of(), redis.commands());
+    }
+}
@@ -0,0 +1,204 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.ProfileCacheProperties;
+import dev.bored.profile.service.CacheNames;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ResponseBytesCacheFilter}.
+ */
+class ResponseBytesCacheFilterTest {
+
+    private static final String BODY = "{\"profileId\":1,\"firstName\":\"Ada\"}";
+    private static final String LARGE_BODY = "[" + "{\"company\":\"Bored Software\",\"role\":\"Engineer\"},".repeat(100)
+            + "{}]";
+    private static final String TAG = "0123456789abcdef";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger renders = new AtomicInteger();
+    private CacheManager cacheManager;
+    private TwoTierCache cache;
+    private ResponseBytesCacheFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = mock(CacheManager.class);
+        cache = mock(TwoTierCache.class);
+        when(cacheManager.getCache(CacheNames.PROFILE_BY_ID)).thenReturn(cache);
+        when(cache.entityTag(1L)).thenReturn(TAG);
+        filter = new ResponseBytesCacheFilter(cacheManager, new ProfileCacheProperties.ResponseBytes(),
+                List.of("Cache-Control", "Surrogate-Key"), meterRegistry);
+    }
+
+    /** Renders {@link #BODY} the way the controller would, capturing it if {@code capture}. */
+    private FilterChain controller(boolean capture) {
+        return controller(capture, BODY);
+    }
+
+    private FilterChain controller(boolean capture, String body) {
+        return (request, servletResponse) -> {
+            renders.incrementAndGet();
+            HttpServletResponse response = (HttpServletResponse) servletResponse;
+            response.setContentType("application/json");
+            response.setHeader("Cache-Control", "max-age=0, public");
+            response.setHeader("Surrogate-Key", "profile-1");
+            response.setHeader("ETag", "\"" + TAG + "\"");
+            if (capture) {
+                ResponseBytesCacheFilter.capture(new ServletWebRequest((HttpServletRequest) request),
+                        CacheNames.PROFILE_BY_ID, 1L, TAG);
+            }
+            response.getWriter().write(body);
+        };
+    }
+
+    private MockHttpServletResponse get(FilterChain chain, String... headerNamesAndValues) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/profiles/1");
+        for (int i = 0; i < headerNamesAndValues.length; i += 2) {
+            request.addHeader(headerNamesAndValues[i], headerNamesAndValues[i + 1]);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("profile.http.response-bytes").tag("result", result).counter().count();
+    }
+
+    @Test
+    void capturedResponse_ShouldBeServedFromItsBytes_WithoutReachingTheController() throws Exception {
+        get(controller(true));
+
+        MockHttpServletResponse replayed = get(controller(true));
+
+        assertEquals(1, renders.get());
+        assertEquals(200, replayed.getStatus());
+        assertEquals(BODY, replayed.getContentAsString());
+        assertEquals("application/json", replayed.getContentType());
+        assertEquals("max-age=0, public", replayed.getHeader("Cache-Control"));
+        assertEquals("profile-1", replayed.getHeader("Surrogate-Key"));
+        assertEquals("\"" + TAG + "\"", replayed.getHeader("ETag"));
+        assertEquals(1.0, requests("hit"));
+        assertEquals(1.0, requests("miss"));
+    }
+
+    @Test
+    void storedResponse_ShouldAnswer304_WhenTheClientHasTheTag() throws Exception {
+        get(controller(true));
+
+        MockHttpServletResponse notModified = get(controller(true), "If-None-Match", "\"" + TAG + "\"");
+
+        assertEquals(304, notModified.getStatus());
+        assertEquals("", notModified.getContentAsString());
+        assertEquals("profile-1", notModified.getHeader("Surrogate-Key"));
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    void storedResponse_ShouldBeDropped_WhenItsCacheEntryChanged() throws Exception {
+        get(controller(true));
+        when(cache.entityTag(1L)).thenReturn("fedcba9876543210");
+
+        get(controller(false));
+        get(controller(false));
+
+        assertEquals(3, renders.get());
+        assertEquals(0.0, requests("hit"));
+    }
+
+    @Test
+    void uncapturedResponse_ShouldNotBeStored() throws Exception {
+        get(controller(false));
+        MockHttpServletResponse second = get(controller(false));
+
+        assertEquals(2, renders.get());
+        assertEquals(BODY, second.getContentAsString());
+    }
+
+    @Test
+    void writes_ShouldPassThrough() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/v1/profiles/1");
+        filter.doFilter(request, new MockHttpServletResponse(), controller(true));
+        filter.doFilter(request, new MockHttpServletResponse(), controller(true));
+
+        assertEquals(2, renders.get());
+        assertEquals(0.0, requests("miss"));
+    }
+
+    @Test
+    void largeBody_ShouldBeServedGzipped_ToClientsThatAcceptIt() throws Exception {
+        get(controller(true, LARGE_BODY));
+
+        MockHttpServletResponse gzipped = get(controller(true, LARGE_BODY), "Accept-Encoding", "br, gzip");
+        MockHttpServletResponse plain = get(controller(true, LARGE_BODY));
+
+        assertEquals("gzip", gzipped.getHeader("Content-Encoding"));
+        assertEquals("W/\"" + TAG + "\"", gzipped.getHeader("ETag"));
+        assertTrue(gzipped.getHeaders("Vary").contains("Accept-Encoding"));
+        assertTrue(gzipped.getContentAsByteArray().length < LARGE_BODY.length());
+        assertEquals(LARGE_BODY, gunzip(gzipped.getContentAsByteArray()));
+        assertNull(plain.getHeader("Content-Encoding"));
+        assertEquals(LARGE_BODY, plain.getContentAsString());
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    void gzippedVariant_ShouldAnswer304_ToItsWeakTag() throws Exception {
+        get(controller(true, LARGE_BODY));
+
+        MockHttpServletResponse notModified = get(controller(true, LARGE_BODY),
+                "Accept-Encoding", "gzip", "If-None-Match", "W/\"" + TAG + "\"");
+
+        assertEquals(304, notModified.getStatus());
+        assertEquals("W/\"" + TAG + "\"", notModified.getHeader("ETag"));
+    }
+
+    @Test
+    void smallBody_ShouldNotBeGzipped() throws Exception {
+        get(controller(true));
+
+        MockHttpServletResponse replayed = get(controller(true), "Accept-Encoding", "gzip");
+
+        assertNull(replayed.getHeader("Content-Encoding"));
+        assertEquals(BODY, replayed.getContentAsString());
+    }
+
+    @Test
+    void acceptsGzip_ShouldHonourQualityAndWildcard() {
+        assertTrue(ResponseBytesCacheFilter.acceptsGzip(withAcceptEncoding("gzip, deflate, br")));
+        assertTrue(ResponseBytesCacheFilter.acceptsGzip(withAcceptEncoding("*")));
+        assertFalse(ResponseBytesCacheFilter.acceptsGzip(withAcceptEncoding("gzip;q=0, *")));
+        assertFalse(ResponseBytesCacheFilter.acceptsGzip(withAcceptEncoding("identity")));
+        assertFalse(ResponseBytesCacheFilter.acceptsGzip(new MockHttpServletRequest()));
+    }
+
+    private static MockHttpServletRequest withAcceptEncoding(String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept-Encoding", value);
+        return request;
+    }
+
+    private static String gunzip(byte[] bytes) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.ISO_8859_1);
+        }
+    }
+}
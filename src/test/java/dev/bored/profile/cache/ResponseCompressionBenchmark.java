@@ -0,0 +1,136 @@
+package dev.bored.profile.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.bored.profile.config.ProfileCacheProperties;
+import dev.bored.profile.dto.ExperienceDTO;
+import dev.bored.profile.service.CacheNames;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * CPU time and bytes on the wire per request for a large experience list
+ * replayed by {@link ResponseBytesCacheFilter}: uncompressed, gzipped on every
+ * request (what container compression would do), and from the gzip variant
+ * stored once.
+ *
+ * <p>Not part of {@code test}; run with {@code ./gradlew benchmark}. CPU time
+ * is the request thread's, from {@link ThreadMXBean}, with mock servlet
+ * objects standing in for Tomcat.</p>
+ */
+@Tag("benchmark")
+class ResponseCompressionBenchmark {
+
+    private static final int EXPERIENCES = 40;
+    private static final int WARMUP = 2_000;
+    private static final int REQUESTS = 10_000;
+    private static final String TAG = "0123456789abcdef";
+
+    /** Keeps the JIT from discarding the measured work. */
+    private static volatile long blackhole;
+
+    @Test
+    void comparePerRequestAndStoredGzip() throws Exception {
+        byte[] body = experienceList();
+        System.out.printf("body: %d bytes%n", body.length);
+        System.out.printf("%-20s %16s %14s%n", "variant", "cpu us/request", "bytes/response");
+        report("identity", body, Integer.MAX_VALUE, false, false);
+        double perRequest = report("gzip per request", body, Integer.MAX_VALUE, false, true);
+        double stored = report("gzip stored", body, 1024, true, false);
+        assertTrue(stored < perRequest, "a stored gzip variant should cost less CPU than compressing every request");
+    }
+
+    private static double report(String variant, byte[] body, int gzipThreshold, boolean acceptGzip,
+                                 boolean gzipEachResponse) throws Exception {
+        ProfileCacheProperties.ResponseBytes settings = new ProfileCacheProperties.ResponseBytes();
+        settings.setGzipThreshold(gzipThreshold);
+        CacheManager cacheManager = mock(CacheManager.class);
+        TwoTierCache cache = mock(TwoTierCache.class);
+        when(cacheManager.getCache(CacheNames.EXPERIENCES_BY_PROFILE)).thenReturn(cache);
+        when(cache.entityTag(1L)).thenReturn(TAG);
+        ResponseBytesCacheFilter filter = new ResponseBytesCacheFilter(cacheManager, settings, List.of(),
+                new SimpleMeterRegistry());
+        FilterChain controller = (request, response) -> {
+            response.setContentType("application/json");
+            ResponseBytesCacheFilter.capture(new ServletWebRequest((HttpServletRequest) request),
+                    CacheNames.EXPERIENCES_BY_PROFILE, 1L, TAG);
+            response.getOutputStream().write(body);
+        };
+        request(filter, controller, acceptGzip, gzipEachResponse);
+        for (int i = 0; i < WARMUP; i++) {
+            request(filter, controller, acceptGzip, gzipEachResponse);
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long sent = 0;
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            sent += request(filter, controller, acceptGzip, gzipEachResponse);
+        }
+        double cpuMicros = (threads.getCurrentThreadCpuTime() - start) / 1_000.0 / REQUESTS;
+        blackhole = sent;
+        System.out.printf("%-20s %16.1f %14d%n", variant, cpuMicros, sent / REQUESTS);
+        return cpuMicros;
+    }
+
+    /** @return the bytes the client receives */
+    private static long request(ResponseBytesCacheFilter filter, FilterChain controller, boolean acceptGzip,
+                                boolean gzipEachResponse) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/experiences/profile/1");
+        if (acceptGzip) {
+            request.addHeader("Accept-Encoding", "gzip, deflate, br");
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, controller);
+        byte[] sent = response.getContentAsByteArray();
+        return gzipEachResponse ? gzip(sent).length : sent.length;
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] experienceList() throws IOException {
+        List<ExperienceDTO> experiences = IntStream.range(0, EXPERIENCES)
+                .mapToObj(i -> ExperienceDTO.builder()
+                        .experienceId((long) i)
+                        .profileId(1L)
+                        .id("exp-" + i)
+                        .company("Bored Software " + i)
+                        .role("Senior Engineer")
+                        .roleStyle("tag")
+                        .description(("Led the migration of service " + i + " to a cached read path, "
+                                + "cutting p99 latency and database load. ").repeat(6))
+                        .startDate(LocalDate.of(2015 + i % 10, 1 + i % 12, 1))
+                        .sortOrder(i)
+                        .build())
+                .toList();
+        String json = new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsString(experiences);
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
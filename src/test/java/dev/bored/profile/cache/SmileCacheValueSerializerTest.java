@@ -0,0 +1,170 @@
+package dev.bored.profile.cache;
+
+import dev.bored.profile.config.CacheConfig;
+import dev.bored.profile.dto.ExperienceDTO;
+import dev.bored.profile.dto.PageDTO;
+import dev.bored.profile.dto.PortfolioDTO;
+import dev.bored.profile.dto.ProfileDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SmileCacheValueSerializer}.
+ */
+class SmileCacheValueSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer json = CacheConfig.jsonValueSerializer();
+    private final SmileCacheValueSerializer serializer = new SmileCacheValueSerializer(json);
+
+    private static ExperienceDTO experience(long id) {
+        return ExperienceDTO.builder()
+                .experienceId(id)
+                .profileId(1L)
+                .id("exp-" + id)
+                .company("Bored Software")
+                .role("Engineer")
+                .description("Built things")
+                .startDate(LocalDate.of(2020, 1, 1))
+                .sortOrder((int) id)
+                .build();
+    }
+
+    @Test
+    void roundTrip_ShouldPreserveSingleDto() {
+        ProfileDTO profile = ProfileDTO.builder().profileId(1L).firstName("Ada").lastName("Lovelace").build();
+
+        Object read = serializer.deserialize(serializer.serialize(new CacheEntry(profile, 42L)));
+
+        assertEquals(new CacheEntry(profile, 42L), read);
+    }
+
+    @Test
+    void roundTrip_ShouldPreserveListOfDtos() {
+        List<ExperienceDTO> experiences = List.of(experience(1), experience(2));
+
+        byte[] bytes = serializer.serialize(new CacheEntry(experiences, 7L));
+
+        assertEquals(SmileCacheValueSerializer.FORMAT_VERSION, bytes[0]);
+        assertEquals(new CacheEntry(experiences, 7L), serializer.deserialize(bytes));
+    }
+
+    @Test
+    void roundTrip_ShouldPreserveNestedSectionsOfAPortfolio() {
+        PortfolioDTO portfolio = PortfolioDTO.builder()
+                .profile(ProfileDTO.builder().profileId(1L).firstName("Ada").build())
+                .experiences(List.of(experience(1), experience(2)))
+                .achievements(List.of())
+                .aspirations(List.of())
+                .build();
+
+        Object read = serializer.deserialize(serializer.serialize(new CacheEntry(portfolio, 7L)));
+
+        assertEquals(new CacheEntry(portfolio, 7L), read);
+    }
+
+    @Test
+    void roundTrip_ShouldPreserveTypedItemsOfAPage() {
+        PageDTO<ExperienceDTO> page = new PageDTO<>(List.of(experience(1), experience(2)), "MjoyMA");
+
+        Object read = serializer.deserialize(serializer.serialize(new CacheEntry(page, 7L)));
+
+        assertEquals(new CacheEntry(page, 7L), read);
+        assertInstanceOf(ExperienceDTO.class, ((PageDTO<?>) ((CacheEntry) read).getValue()).getItems().get(0));
+    }
+
+    @Test
+    void roundTrip_ShouldPreserveEmptyLastPageAndPageScope() {
+        PageDTO<ExperienceDTO> page = new PageDTO<>(List.of(), null);
+
+        assertEquals(new CacheEntry(page, 7L), serializer.deserialize(serializer.serialize(new CacheEntry(page, 7L))));
+        assertEquals(new CacheEntry("9f3c0a7e12b45d68", 7L),
+                serializer.deserialize(serializer.serialize(new CacheEntry("9f3c0a7e12b45d68", 7L))));
+    }
+
+    @Test
+    void roundTrip_ShouldPreserveEntityTag() {
+        CacheEntry entry = CacheEntry.tagged(new ArrayList<>(List.of(experience(1))), 7L);
+
+        CacheEntry read = (CacheEntry) serializer.deserialize(serializer.serialize(entry));
+
+        assertEquals(entry, read);
+        assertNotNull(read.getEtag());
+    }
+
+    @Test
+    void deserialize_ShouldReadUntaggedFormatWithoutTag() {
+        byte[] tagged = serializer.serialize(new CacheEntry(experience(1), 7L));
+        byte[] untagged = new byte[tagged.length - 1];
+        System.arraycopy(tagged, 0, untagged, 0, 11);
+        System.arraycopy(tagged, 12, untagged, 11, tagged.length - 12);
+        untagged[0] = SmileCacheValueSerializer.UNTAGGED_FORMAT_VERSION;
+
+        assertEquals(new CacheEntry(experience(1), 7L), serializer.deserialize(untagged));
+    }
+
+    @Test
+    void roundTrip_ShouldPreserveEmptyList() {
+        assertEquals(new CacheEntry(List.of(), 7L),
+                serializer.deserialize(serializer.serialize(new CacheEntry(List.of(), 7L))));
+    }
+
+    @Test
+    void roundTrip_ShouldPreserveAbsentMarker() {
+        byte[] bytes = serializer.serialize(CacheEntry.absentMarker());
+
+        assertEquals(CacheEntry.absentMarker(), serializer.deserialize(bytes));
+        assertTrue(bytes.length < 16);
+    }
+
+    @Test
+    void serialize_ShouldWrapBareValueAsStale() {
+        ProfileDTO profile = ProfileDTO.builder().profileId(1L).build();
+
+        assertEquals(new CacheEntry(profile, 0L), serializer.deserialize(serializer.serialize(profile)));
+    }
+
+    @Test
+    void serialize_ShouldBeSmallerThanJson() {
+        CacheEntry entry = new CacheEntry(List.of(experience(1), experience(2), experience(3)), 7L);
+
+        assertTrue(serializer.serialize(entry).length < json.serialize(entry).length);
+    }
+
+    @Test
+    void serialize_ShouldRejectUnknownTypes() {
+        assertThrows(SerializationException.class, () -> serializer.serialize(new CacheEntry(42, 0L)));
+        assertThrows(SerializationException.class,
+                () -> serializer.serialize(new CacheEntry(List.of(experience(1), "text"), 0L)));
+    }
+
+    @Test
+    void deserialize_ShouldFallBackToJsonForOldEntries() {
+        CacheEntry entry = new CacheEntry(new ArrayList<>(List.of(experience(1))), 7L);
+
+        assertEquals(entry, serializer.deserialize(json.serialize(entry)));
+    }
+
+    @Test
+    void deserialize_ShouldRejectUnknownTypeTagAndTruncatedHeader() {
+        byte[] bytes = serializer.serialize(new CacheEntry(experience(1), 7L));
+        bytes[2] = 99;
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+        assertThrows(SerializationException.class,
+                () -> serializer.deserialize(new byte[]{SmileCacheValueSerializer.FORMAT_VERSION, 0}));
+    }
+
+    @Test
+    void nullsAndEmpty_ShouldPassThrough() {
+        assertEquals(0, serializer.serialize(null).length);
+        assertNull(serializer.deserialize(null));
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+}
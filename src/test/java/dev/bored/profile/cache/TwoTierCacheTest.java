@@ -0,0 +1,688 @@
+package dev.bored.profile.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link TwoTierCache}, using a {@link ConcurrentMapCache}
+ * as a stand-in for the Redis tier.
+ */
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheTest {
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    @Mock
+    private CacheErrorHandler errorHandler;
+
+    private com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private ConcurrentMapCache remote;
+    private SimpleMeterRegistry meterRegistry;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        local = Caffeine.newBuilder().maximumSize(100).build();
+        remote = new ConcurrentMapCache("test", false);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TwoTierCache("test", local, remote, context(invalidationBus));
+    }
+
+    private TwoTierCacheContext context(CacheInvalidationBus bus) {
+        return context(bus, Runnable::run);
+    }
+
+    private TwoTierCacheContext context(CacheInvalidationBus bus, Executor refreshExecutor) {
+        return TwoTierCacheContext.builder()
+                .invalidationBus(bus)
+                .errorHandler(errorHandler)
+                .meterRegistry(meterRegistry)
+                .refreshExecutor(refreshExecutor)
+                .build();
+    }
+
+    /** The value inside a stored {@link CacheEntry}, or {@code null} if nothing is stored. */
+    private static Object stored(Object entry) {
+        return entry != null ? ((CacheEntry) entry).getValue() : null;
+    }
+
+    private static CacheEntry fresh(Object value) {
+        return new CacheEntry(value, Long.MAX_VALUE);
+    }
+
+    private static CacheEntry stale(Object value) {
+        return new CacheEntry(value, 0L);
+    }
+
+    /** Treats {@link NoSuchElementException} as "not found". */
+    private static final AbsentKeyPolicy MISSING = new AbsentKeyPolicy() {
+        @Override
+        public boolean isAbsent(Throwable loaderFailure) {
+            return loaderFailure instanceof NoSuchElementException;
+        }
+
+        @Override
+        public RuntimeException absent(String cacheName, Object key) {
+            return new NoSuchElementException("missing " + key);
+        }
+    };
+
+    private TwoTierCache negativeCache(IdExistenceFilters filters) {
+        return new TwoTierCache("test", local, remote, TwoTierCacheContext.builder()
+                .invalidationBus(invalidationBus)
+                .errorHandler(errorHandler)
+                .meterRegistry(meterRegistry)
+                .absentKeyPolicy(MISSING)
+                .existenceFilters(filters)
+                .build());
+    }
+
+    @Test
+    void get_ShouldServeFromLocal_WithoutTouchingRemote() {
+        local.put("1", fresh("local-value"));
+        remote.put(1L, fresh("remote-value"));
+
+        assertEquals("local-value", cache.get(1L).get());
+    }
+
+    @Test
+    void get_ShouldFillLocalFromRemote() {
+        remote.put(1L, fresh("remote-value"));
+
+        assertEquals("remote-value", cache.get(1L).get());
+        assertEquals("remote-value", stored(local.getIfPresent("1")));
+    }
+
+    @Test
+    void get_ShouldReturnNull_WhenBothTiersMiss() {
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void getWithLoader_ShouldLoadOnceAndWriteBothTiers() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals(List.of("a"), cache.get(1L, () -> {
+            calls.incrementAndGet();
+            return List.of("a");
+        }));
+        assertEquals(List.of("a"), cache.get(1L, () -> {
+            calls.incrementAndGet();
+            return List.of("b");
+        }));
+
+        assertEquals(1, calls.get());
+        assertEquals(List.of("a"), stored(remote.get(1L).get()));
+    }
+
+    @Test
+    void getWithLoader_ShouldWrapLoaderFailure() {
+        RuntimeException boom = new IllegalStateException("boom");
+
+        Cache.ValueRetrievalException ex = assertThrows(Cache.ValueRetrievalException.class,
+                () -> cache.get(1L, () -> { throw boom; }));
+        assertSame(boom, ex.getCause());
+        assertNull(remote.get(1L));
+    }
+
+    @Test
+    void getWithLoader_ShouldServeRemoteHitWithoutLoading() {
+        remote.put(1L, fresh("remote-value"));
+
+        assertEquals("remote-value", cache.get(1L, () -> fail("loader must not run")));
+        assertEquals("remote-value", stored(local.getIfPresent("1")));
+    }
+
+    @Test
+    void getWithLoader_ShouldCoalesceConcurrentMisses() throws Exception {
+        int callers = 8;
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch loaderEntered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            results.add(pool.submit(() -> cache.get(1L, () -> {
+                calls.incrementAndGet();
+                loaderEntered.countDown();
+                release.await();
+                return "loaded";
+            })));
+            assertTrue(loaderEntered.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < callers; i++) {
+                results.add(pool.submit(() -> cache.get(1L, () -> {
+                    calls.incrementAndGet();
+                    return "duplicate";
+                })));
+            }
+            while (meterRegistry.counter("profile.cache.coalesced", "cache", "test").count() < callers - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<Object> result : results) {
+                assertEquals("loaded", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, calls.get());
+        assertEquals(1.0, meterRegistry.counter("profile.cache.loads", "cache", "test").count());
+    }
+
+    @Test
+    void getWithLoader_ShouldFailOpen_WhenRemoteIsDown() {
+        Cache broken = mock(Cache.class);
+        RuntimeException down = new IllegalStateException("redis down");
+        when(broken.get(1L)).thenThrow(down);
+        doThrow(down).when(broken).put(eq(1L), any(CacheEntry.class));
+        TwoTierCache failing = new TwoTierCache("test", local, broken, context(invalidationBus));
+
+        assertEquals("loaded", failing.get(1L, () -> "loaded"));
+
+        verify(errorHandler).handleCacheGetError(down, failing, 1L);
+        verify(errorHandler).handleCachePutError(eq(down), eq(failing), eq(1L), any(CacheEntry.class));
+        assertEquals("loaded", stored(local.getIfPresent("1")));
+    }
+
+    @Test
+    void getWithType_ShouldRejectWrongType() {
+        cache.put(1L, "value");
+
+        assertEquals("value", cache.get(1L, String.class));
+        assertThrows(IllegalStateException.class, () -> cache.get(1L, Integer.class));
+    }
+
+    @Test
+    void put_ShouldIgnoreNullValues() {
+        cache.put(1L, null);
+
+        assertNull(local.getIfPresent("1"));
+        assertNull(remote.get(1L));
+    }
+
+    @Test
+    void replace_ShouldWriteBothTiersAndNotifyPeers() {
+        cache.put(1L, "old");
+
+        cache.replace(1L, "new");
+
+        assertEquals("new", stored(local.getIfPresent("1")));
+        assertEquals("new", stored(remote.get(1L).get()));
+        verify(invalidationBus).publish("test", "1");
+    }
+
+    @Test
+    void getWithLoader_ShouldTagTheEntryInBothTiers() {
+        cache.get(1L, () -> List.of("a"));
+
+        assertEquals(EntityTags.of(List.of("a")), ((CacheEntry) local.getIfPresent("1")).getEtag());
+        assertEquals(EntityTags.of(List.of("a")), ((CacheEntry) remote.get(1L).get()).getEtag());
+    }
+
+    @Test
+    void entityTag_ShouldComeFromTheCachedEntry_WithoutLoading() {
+        cache.put(1L, "value");
+
+        assertEquals(EntityTags.of("value"), cache.entityTag(1L));
+    }
+
+    @Test
+    void entityTag_ShouldFillLocalFromRemote() {
+        remote.put(1L, CacheEntry.tagged("remote-value", Long.MAX_VALUE));
+
+        assertEquals(EntityTags.of("remote-value"), cache.entityTag(1L));
+        assertEquals("remote-value", stored(local.getIfPresent("1")));
+    }
+
+    @Test
+    void entityTag_ShouldTagAnUntaggedEntryOnce() {
+        local.put("1", fresh("value"));
+
+        assertEquals(EntityTags.of("value"), cache.entityTag(1L));
+        assertEquals(EntityTags.of("value"), ((CacheEntry) local.getIfPresent("1")).getEtag());
+    }
+
+    @Test
+    void entityTag_ShouldBeNull_ForMissesAndStaleEntries() {
+        local.put("2", stale("value"));
+
+        assertNull(cache.entityTag(1L));
+        assertNull(cache.entityTag(2L));
+    }
+
+    @Test
+    void entityTag_ShouldBeNull_ForAbsentMarkers() {
+        TwoTierCache negative = negativeCache(null);
+        local.put("1", CacheEntry.absentMarker());
+
+        assertNull(negative.entityTag(1L));
+    }
+
+    @Test
+    void entityTagOfAll_ShouldCombineTheRowTagsInOrder_AndChangeWithAnyRow() {
+        cache.put(1L, "one");
+        remote.put(2L, CacheEntry.tagged("two", Long.MAX_VALUE));
+
+        String tag = cache.entityTagOfAll(List.of(1L, 2L));
+        assertNotNull(tag);
+        assertEquals(tag, cache.entityTagOfAll(List.of(1L, 2L, 1L)));
+        assertNotEquals(tag, cache.entityTagOfAll(List.of(2L, 1L)));
+        assertEquals("two", stored(local.getIfPresent("2")));
+
+        cache.put(2L, "changed");
+        assertNotEquals(tag, cache.entityTagOfAll(List.of(1L, 2L)));
+    }
+
+    @Test
+    void entityTagOfAll_ShouldBeNull_WhenAnyKeyHasNoFreshEntry() {
+        cache.put(1L, "one");
+        local.put("2", stale("two"));
+
+        assertNull(cache.entityTagOfAll(List.of(1L, 2L)));
+        assertNull(cache.entityTagOfAll(List.of(1L, 3L)));
+    }
+
+    @Test
+    void entityTagOfAll_ShouldCountAbsentMarkers() {
+        TwoTierCache negative = negativeCache(null);
+        negative.put(1L, "one");
+        local.put("2", CacheEntry.absentMarker());
+
+        assertNotNull(negative.entityTagOfAll(List.of(1L, 2L)));
+        assertNotEquals(negative.entityTagOfAll(List.of(1L)), negative.entityTagOfAll(List.of(1L, 2L)));
+    }
+
+    @Test
+    void replace_ShouldChangeTheTag() {
+        cache.put(1L, "old");
+        String before = cache.entityTag(1L);
+
+        cache.replace(1L, "new");
+
+        assertNotEquals(before, cache.entityTag(1L));
+    }
+
+    @Test
+    void evict_ShouldDropBothTiersAndNotifyPeers() {
+        cache.put(1L, "value");
+
+        cache.evict(1L);
+
+        assertNull(local.getIfPresent("1"));
+        assertNull(remote.get(1L));
+        verify(invalidationBus).publish("test", "1");
+    }
+
+    @Test
+    void clear_ShouldDropBothTiersAndNotifyPeers() {
+        cache.put(1L, "a");
+        cache.put(2L, "b");
+
+        cache.clear();
+
+        assertEquals(0, local.estimatedSize());
+        assertNull(remote.get(2L));
+        verify(invalidationBus).publish(eq("test"), isNull());
+    }
+
+    @Test
+    void evictLocal_ShouldLeaveRemoteUntouched() {
+        cache.put(1L, "value");
+
+        cache.evictLocal("1");
+
+        assertNull(local.getIfPresent("1"));
+        assertEquals("value", stored(remote.get(1L).get()));
+        verifyNoInteractions(invalidationBus);
+    }
+
+    @Test
+    void getWithLoader_ShouldServeStaleAndRefreshOnceInBackground() {
+        List<Runnable> scheduled = new ArrayList<>();
+        TwoTierCache swr = new TwoTierCache("test", local, remote, context(invalidationBus, scheduled::add));
+        local.put("1", stale("old"));
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals("old", swr.get(1L, () -> "new-" + calls.incrementAndGet()));
+        assertEquals("old", swr.get(1L, () -> "new-" + calls.incrementAndGet()));
+        assertEquals(1, scheduled.size());
+        assertEquals(0, calls.get());
+
+        scheduled.get(0).run();
+
+        assertEquals("new-1", swr.get(1L, () -> fail("fresh entry must not reload")));
+        assertEquals("new-1", stored(remote.get(1L).get()));
+        verify(invalidationBus).publish("test", "1");
+        assertEquals(2.0, meterRegistry.counter("profile.cache.stale", "cache", "test").count());
+    }
+
+    @Test
+    void getWithLoader_ShouldKeepStaleEntry_WhenRefreshFails() {
+        local.put("1", stale("old"));
+
+        assertEquals("old", cache.get(1L, () -> { throw new IllegalStateException("db down"); }));
+
+        assertEquals("old", stored(local.getIfPresent("1")));
+        assertEquals(1.0, meterRegistry.counter("profile.cache.refresh.failures", "cache", "test").count());
+        assertEquals("old", cache.get(1L, () -> "new"));
+        assertEquals("new", stored(local.getIfPresent("1")));
+    }
+
+    @Test
+    void getWithLoader_ShouldServeStale_WhenRefreshQueueIsFull() {
+        Executor full = task -> { throw new RejectedExecutionException("full"); };
+        TwoTierCache swr = new TwoTierCache("test", local, remote, context(invalidationBus, full));
+        local.put("1", stale("old"));
+
+        assertEquals("old", swr.get(1L, () -> "new"));
+        assertEquals("old", swr.get(1L, () -> "new"));
+
+        assertEquals(2.0, meterRegistry.counter("profile.cache.refresh.failures", "cache", "test").count());
+    }
+
+    @Test
+    void getWithLoader_ShouldTreatBareRemoteValueAsStale() {
+        List<Runnable> scheduled = new ArrayList<>();
+        TwoTierCache swr = new TwoTierCache("test", local, remote, context(invalidationBus, scheduled::add));
+        remote.put(1L, "bare");
+
+        assertEquals("bare", swr.get(1L, () -> "wrapped"));
+        assertEquals(1, scheduled.size());
+
+        scheduled.get(0).run();
+
+        assertInstanceOf(CacheEntry.class, remote.get(1L).get());
+        assertEquals("wrapped", stored(remote.get(1L).get()));
+    }
+
+    @Test
+    void getWithLoader_ShouldCacheNotFoundAndRethrowWithoutLoading() {
+        TwoTierCache negative = negativeCache(null);
+        AtomicInteger calls = new AtomicInteger();
+
+        Cache.ValueRetrievalException first = assertThrows(Cache.ValueRetrievalException.class,
+                () -> negative.get(1L, () -> {
+                    calls.incrementAndGet();
+                    throw new NoSuchElementException("gone");
+                }));
+        Cache.ValueRetrievalException second = assertThrows(Cache.ValueRetrievalException.class,
+                () -> negative.get(1L, () -> fail("negative entry must short-circuit the loader")));
+
+        assertEquals("gone", first.getCause().getMessage());
+        assertEquals("missing 1", second.getCause().getMessage());
+        assertEquals(1, calls.get());
+        assertTrue(((CacheEntry) remote.get(1L).get()).isAbsent());
+        assertNull(negative.get(1L));
+        assertEquals(1.0, meterRegistry.counter("profile.cache.negative.hits", "cache", "test").count());
+    }
+
+    @Test
+    void getWithLoader_ShouldNotCacheOtherFailures() {
+        TwoTierCache negative = negativeCache(null);
+
+        assertThrows(Cache.ValueRetrievalException.class,
+                () -> negative.get(1L, () -> { throw new IllegalStateException("db down"); }));
+
+        assertNull(local.getIfPresent("1"));
+        assertEquals("loaded", negative.get(1L, () -> "loaded"));
+    }
+
+    @Test
+    void getWithLoader_ShouldRejectFilteredKeysBeforeAnyLookup() {
+        IdExistenceFilters filters = mock(IdExistenceFilters.class);
+        when(filters.mightContain("test", 404L)).thenReturn(false);
+        TwoTierCache negative = negativeCache(filters);
+        remote.put(404L, fresh("should not be read"));
+
+        Cache.ValueRetrievalException ex = assertThrows(Cache.ValueRetrievalException.class,
+                () -> negative.get(404L, () -> fail("loader must not run")));
+
+        assertEquals("missing 404", ex.getCause().getMessage());
+        assertNull(local.getIfPresent("404"));
+        assertEquals(1.0, meterRegistry.counter("profile.cache.filter.rejections", "cache", "test").count());
+    }
+
+    @Test
+    void getWithLoader_ShouldTreatAbsentMarkerAsMiss_WithoutPolicy() {
+        local.put("1", CacheEntry.absentMarker());
+
+        assertEquals("loaded", cache.get(1L, () -> "loaded"));
+    }
+
+    @Test
+    void evictLocal_ShouldTellExistenceFilterAboutPeerWrites() {
+        IdExistenceFilters filters = mock(IdExistenceFilters.class);
+        TwoTierCache negative = negativeCache(filters);
+
+        negative.evictLocal("7");
+
+        verify(filters).onPeerWrite("test", "7");
+    }
+
+    @Test
+    void getWithLoader_ShouldUseHedgedLoad_WhenTheLoaderWins() {
+        ReadHedger hedger = mock(ReadHedger.class);
+        when(hedger.read(any(), any())).thenReturn(new ReadHedger.Outcome<>(null, true, true, "db", null));
+        TwoTierCache hedged = new TwoTierCache("test", local, remote, TwoTierCacheContext.builder()
+                .errorHandler(errorHandler)
+                .meterRegistry(meterRegistry)
+                .readHedger(hedger)
+                .build());
+
+        assertEquals("db", hedged.get(1L, () -> fail("the hedged load already answered")));
+
+        assertEquals("db", stored(remote.get(1L).get()));
+        assertEquals(1.0, meterRegistry.counter("profile.cache.hedges", "cache", "test").count());
+        assertEquals(1.0, meterRegistry.counter("profile.cache.hedge.wins", "cache", "test").count());
+    }
+
+    @Test
+    void getWithLoader_ShouldServeL2Hit_WhenL2WinsTheRace() {
+        ReadHedger hedger = mock(ReadHedger.class);
+        when(hedger.read(any(), any())).thenReturn(new ReadHedger.Outcome<>(fresh("cached"), true, false, null, null));
+        TwoTierCache hedged = new TwoTierCache("test", local, remote, TwoTierCacheContext.builder()
+                .errorHandler(errorHandler)
+                .meterRegistry(meterRegistry)
+                .readHedger(hedger)
+                .build());
+
+        assertEquals("cached", hedged.get(1L, () -> fail("L2 answered")));
+
+        assertEquals("cached", stored(local.getIfPresent("1")));
+        assertEquals(0.0, meterRegistry.counter("profile.cache.hedge.wins", "cache", "test").count());
+    }
+
+    private TwoTierCache leasedCache(RebuildLease lease, Executor refreshExecutor) {
+        return new TwoTierCache("test", local, remote, TwoTierCacheContext.builder()
+                .errorHandler(errorHandler)
+                .meterRegistry(meterRegistry)
+                .refreshExecutor(refreshExecutor)
+                .rebuildLease(lease)
+                .build());
+    }
+
+    private static RebuildLease lease(RebuildLease.Grant grant) {
+        RebuildLease lease = mock(RebuildLease.class);
+        when(lease.tryAcquire("test", 1L)).thenReturn(grant);
+        lenient().when(lease.getPollInterval()).thenReturn(Duration.ofMillis(1));
+        lenient().when(lease.getMaxWait()).thenReturn(Duration.ofMillis(50));
+        return lease;
+    }
+
+    @Test
+    void getWithLoader_ShouldLoadUnderTheLease_AndReleaseItOnceL2HasTheValue() {
+        RebuildLease lease = lease(RebuildLease.Grant.ACQUIRED);
+        doAnswer(invocation -> {
+            assertEquals("db", stored(remote.get(1L).get()));
+            return null;
+        }).when(lease).release("test", 1L);
+
+        assertEquals("db", leasedCache(lease, Runnable::run).get(1L, () -> "db"));
+
+        verify(lease).release("test", 1L);
+    }
+
+    @Test
+    void getWithLoader_ShouldReleaseTheLease_WhenTheLoaderFails() {
+        RebuildLease lease = lease(RebuildLease.Grant.ACQUIRED);
+
+        assertThrows(Cache.ValueRetrievalException.class,
+                () -> leasedCache(lease, Runnable::run).get(1L, () -> { throw new IllegalStateException("db down"); }));
+
+        verify(lease).release("test", 1L);
+    }
+
+    @Test
+    void getWithLoader_ShouldWaitForAnotherInstancesRebuild_InsteadOfLoading() {
+        RebuildLease lease = mock(RebuildLease.class);
+        when(lease.getPollInterval()).thenReturn(Duration.ofMillis(1));
+        when(lease.getMaxWait()).thenReturn(Duration.ofSeconds(1));
+        // the holder writes its result right after we lose the lease
+        doAnswer(invocation -> {
+            remote.put(1L, fresh("rebuilt"));
+            return RebuildLease.Grant.HELD_ELSEWHERE;
+        }).when(lease).tryAcquire("test", 1L);
+
+        assertEquals("rebuilt", leasedCache(lease, Runnable::run).get(1L, () -> fail("another instance rebuilt it")));
+
+        assertEquals("rebuilt", stored(local.getIfPresent("1")));
+        verify(lease, never()).release(any(), any());
+        assertEquals(1.0, meterRegistry.counter("profile.cache.lease.waits", "cache", "test").count());
+    }
+
+    @Test
+    void getWithLoader_ShouldLoadItself_WhenTheHolderNeverDelivers() {
+        RebuildLease lease = lease(RebuildLease.Grant.HELD_ELSEWHERE);
+
+        assertEquals("db", leasedCache(lease, Runnable::run).get(1L, () -> "db"));
+
+        assertEquals("db", stored(remote.get(1L).get()));
+        verify(lease, never()).release(any(), any());
+    }
+
+    @Test
+    void getWithLoader_ShouldLoadWithoutALease_WhenRedisIsUnavailable() {
+        RebuildLease lease = lease(RebuildLease.Grant.UNAVAILABLE);
+
+        assertEquals("db", leasedCache(lease, Runnable::run).get(1L, () -> "db"));
+
+        verify(lease, never()).getMaxWait();
+        verify(lease, never()).release(any(), any());
+    }
+
+    @Test
+    void getWithLoader_ShouldSkipTheStaleReload_WhileAnotherInstanceHoldsTheLease() {
+        RebuildLease lease = lease(RebuildLease.Grant.HELD_ELSEWHERE);
+        TwoTierCache leased = leasedCache(lease, Runnable::run);
+        local.put("1", stale("old"));
+
+        assertEquals("old", leased.get(1L, () -> fail("another instance is reloading")));
+
+        assertEquals("old", stored(local.getIfPresent("1")));
+        assertEquals(0.0, meterRegistry.counter("profile.cache.loads", "cache", "test").count());
+    }
+
+    @Test
+    void getAll_ShouldReadLocalThenRemote_AndLoadOnlyTheRestInOneCall() {
+        local.put("1", fresh("one"));
+        remote.put(2L, fresh("two"));
+        List<Set<Long>> loaderCalls = new ArrayList<>();
+
+        Map<Long, String> values = cache.getAll(List.of(4L, 3L, 2L, 1L, 3L), missing -> {
+            loaderCalls.add(Set.copyOf(missing));
+            return Map.of(3L, "three");
+        });
+
+        assertEquals(List.of(3L, 2L, 1L), new ArrayList<>(values.keySet()));
+        assertEquals(List.of("three", "two", "one"), new ArrayList<>(values.values()));
+        assertEquals(List.of(Set.of(4L, 3L)), loaderCalls);
+        assertEquals("two", stored(local.getIfPresent("2")));
+        assertEquals("three", stored(local.getIfPresent("3")));
+        assertEquals("three", stored(remote.get(3L).get()));
+        assertNull(remote.get(4L));
+        assertEquals(2.0, meterRegistry.counter("profile.cache.loads", "cache", "test").count());
+    }
+
+    @Test
+    void getAll_ShouldReloadStaleEntries_WithTheRestOfTheMisses() {
+        local.put("1", stale("old"));
+
+        Map<Long, String> values = cache.getAll(List.of(1L), missing -> Map.of(1L, "new"));
+
+        assertEquals(Map.of(1L, "new"), values);
+        assertEquals("new", stored(remote.get(1L).get()));
+    }
+
+    @Test
+    void getAll_ShouldRememberKeysTheLoaderLeftOut_AsAbsent() {
+        TwoTierCache negative = negativeCache(null);
+
+        assertEquals(Map.of(), negative.getAll(List.of(404L), missing -> Map.of()));
+        assertEquals(Map.of(), negative.getAll(List.of(404L), missing -> fail("absent keys are not loaded again")));
+
+        assertTrue(((CacheEntry) remote.get(404L).get()).isAbsent());
+        assertEquals(1.0, meterRegistry.counter("profile.cache.negative.hits", "cache", "test").count());
+    }
+
+    @Test
+    void getAll_ShouldNotLoadKeysTheExistenceFilterRulesOut() {
+        IdExistenceFilters filters = mock(IdExistenceFilters.class);
+        when(filters.mightContain("test", 1L)).thenReturn(true);
+        when(filters.mightContain("test", 404L)).thenReturn(false);
+        TwoTierCache negative = negativeCache(filters);
+
+        Map<Long, String> values = negative.getAll(List.of(404L, 1L), missing -> {
+            assertEquals(Set.of(1L), missing);
+            return Map.of(1L, "one");
+        });
+
+        assertEquals(Map.of(1L, "one"), values);
+        assertEquals(1.0, meterRegistry.counter("profile.cache.filter.rejections", "cache", "test").count());
+    }
+
+    @Test
+    void localOnly_ShouldWorkWithoutRemoteOrBus() {
+        TwoTierCache localOnly = new TwoTierCache("local", Caffeine.newBuilder().maximumSize(10).build(), null, context(null));
+
+        localOnly.put(1L, "value");
+        assertEquals("value", localOnly.get(1L).get());
+
+        localOnly.evict(1L);
+        assertNull(localOnly.get(1L));
+
+        localOnly.put(2L, "value");
+        localOnly.clear();
+        assertNull(localOnly.get(2L));
+    }
+}
@@ -0,0 +1,24 @@
+package dev.bored.profile.cdn;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@link PurgeSink} that records every purge, for assertions.
+ */
+class InMemoryPurgeSink implements PurgeSink {
+
+    private final List<List<String>> purges = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void purge(Collection<String> surrogateKeys) {
+        purges.add(new ArrayList<>(surrogateKeys));
+    }
+
+    /** @return the keys of each purge, oldest first */
+    List<List<String>> purges() {
+        return purges;
+    }
+}
@@ -0,0 +1,45 @@
+package dev.bored.profile.cdn;
+
+import dev.bored.profile.service.ProfileDataChangedEvent;
+import dev.bored.profile.service.ProfileDataChangedEvent.Change;
+import dev.bored.profile.service.ProfileSection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SurrogateKeyPurgeListener}.
+ */
+class SurrogateKeyPurgeListenerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private double purges(String outcome) {
+        return meterRegistry.get("profile.http.purges").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void onProfileDataChanged_ShouldSendTheAffectedKeysToTheSink() {
+        InMemoryPurgeSink sink = new InMemoryPurgeSink();
+        SurrogateKeyPurgeListener listener = new SurrogateKeyPurgeListener(sink, meterRegistry);
+
+        listener.onProfileDataChanged(ProfileDataChangedEvent.of(ProfileSection.EXPERIENCES, Change.UPDATED, 1L, 42L));
+
+        assertEquals(List.of(List.of("profile-1-experiences", "experiences-42")), sink.purges());
+        assertEquals(1.0, purges("sent"));
+    }
+
+    @Test
+    void onProfileDataChanged_ShouldSwallowSinkFailures() {
+        SurrogateKeyPurgeListener listener = new SurrogateKeyPurgeListener(keys -> {
+            throw new IllegalStateException("CDN down");
+        }, meterRegistry);
+
+        assertDoesNotThrow(() -> listener.onProfileDataChanged(
+                ProfileDataChangedEvent.of(ProfileSection.PROFILE, Change.UPDATED, 1L, 1L)));
+        assertEquals(1.0, purges("failed"));
+    }
+}
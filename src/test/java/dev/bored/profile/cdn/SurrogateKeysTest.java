@@ -0,0 +1,64 @@
+package dev.bored.profile.cdn;
+
+import dev.bored.profile.dto.ExperienceDTO;
+import dev.bored.profile.service.ProfileDataChangedEvent;
+import dev.bored.profile.service.ProfileDataChangedEvent.Change;
+import dev.bored.profile.service.ProfileSection;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SurrogateKeys}.
+ */
+class SurrogateKeysTest {
+
+    @Test
+    void forList_ShouldNameTheProfileAndItsSection() {
+        assertEquals(List.of("profile-1", "profile-1-experiences"),
+                SurrogateKeys.forList(ProfileSection.EXPERIENCES, 1L));
+    }
+
+    @Test
+    void forRow_ShouldNameTheRowAndTheProfileFromTheBody() {
+        ExperienceDTO experience = ExperienceDTO.builder().experienceId(42L).profileId(1L).build();
+
+        assertEquals(List.of("profile-1", "experiences-42"),
+                SurrogateKeys.forRow(ProfileSection.EXPERIENCES, 42L, experience));
+        assertEquals(List.of("experiences-42"), SurrogateKeys.forRow(ProfileSection.EXPERIENCES, 42L, null));
+    }
+
+    @Test
+    void forRow_ShouldTreatTheProfileCardAsTheProfileSection() {
+        assertEquals(List.of("profile-1", "profile-1-profile"), SurrogateKeys.forRow(ProfileSection.PROFILE, 1L, null));
+    }
+
+    @Test
+    void forPortfolio_ShouldNameEverySectionOfTheProfile() {
+        assertEquals(List.of("profile-1", "profile-1-profile", "profile-1-experiences", "profile-1-achievements",
+                "profile-1-aspirations"), SurrogateKeys.forPortfolio(1L));
+    }
+
+    @Test
+    void affectedBy_ShouldPurgeTheSectionListAndTheWrittenRows_ButNotTheWholeProfile() {
+        ProfileDataChangedEvent event = new ProfileDataChangedEvent(ProfileSection.ACHIEVEMENTS, Change.DELETED, 1L,
+                List.of(7L, 8L));
+
+        assertEquals(List.of("profile-1-achievements", "achievements-7", "achievements-8"),
+                SurrogateKeys.affectedBy(event));
+    }
+
+    @Test
+    void affectedBy_ShouldPurgeTheProfileCardAndTheDirectory_OnProfileUpdates() {
+        assertEquals(List.of("profiles", "profile-1-profile"), SurrogateKeys.affectedBy(
+                ProfileDataChangedEvent.of(ProfileSection.PROFILE, Change.UPDATED, 1L, 1L)));
+    }
+
+    @Test
+    void affectedBy_ShouldPurgeEverythingOfTheProfileAndTheDirectory_WhenItIsDeleted() {
+        assertEquals(List.of("profiles", "profile-1"), SurrogateKeys.affectedBy(
+                ProfileDataChangedEvent.of(ProfileSection.PROFILE, Change.DELETED, 1L, 1L)));
+    }
+}
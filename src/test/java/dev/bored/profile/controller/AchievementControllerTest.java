@@ -1,14 +1,26 @@
 package dev.bored.profile.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.bored.profile.dto.BatchDTO;
 import dev.bored.profile.dto.AchievementDTO;
+import dev.bored.profile.dto.PageDTO;
+import dev.bored.profile.dto.SectionBatchDTO;
+import dev.bored.profile.dto.SectionOrderDTO;
 import dev.bored.common.exception.CommonExceptionHandler;
 import dev.bored.common.exception.GenericException;
+import dev.bored.profile.cache.TwoTierCache;
+import dev.bored.profile.config.HttpCacheConfig;
+import dev.bored.profile.config.HttpCacheProperties;
 import dev.bored.profile.config.SecurityConfig;
 import dev.bored.profile.service.AchievementService;
+import dev.bored.profile.service.CacheNames;
+import dev.bored.profile.service.PageCursor;
+import dev.bored.profile.service.PageScopes;
+import dev.bored.profile.service.ProfileSection;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -21,16 +33,21 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(AchievementController.class)
-@Import({SecurityConfig.class, CommonExceptionHandler.class})
+@Import({SecurityConfig.class, CommonExceptionHandler.class, HttpCacheConfig.class, ConditionalResponses.class,
+        PageScopes.class})
 @WithMockUser
 class AchievementControllerTest {
 
+    private static final String TAG = "0123456789abcdef";
+    private static final String CACHE_CONTROL = new HttpCacheProperties().cacheControl().getHeaderValue();
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -40,6 +57,9 @@ class AchievementControllerTest {
     @MockitoBean
     private AchievementService achievementService;
 
+    @MockitoBean
+    private CacheManager cacheManager;
+
     private final AchievementDTO testDTO = AchievementDTO.builder()
             .achievementId(1L).profileId(1L).id("coffee")
             .title("Coffee Consumed").progressPercent(95).variant("warning").sortOrder(1)
@@ -63,6 +83,40 @@ class AchievementControllerTest {
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    @Test
+    void getAchievementsPage_ShouldReturnItemsAndNextCursor() throws Exception {
+        String next = new PageCursor(1, 1L).encode(ProfileSection.ACHIEVEMENTS, 1L);
+
+        when(achievementService.getAchievementsPage(any()))
+                .thenReturn(new PageDTO<>(List.of(testDTO), next));
+
+        mockMvc.perform(get("/api/v1/achievements").param("profileId", "1").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Coffee Consumed"))
+                .andExpect(jsonPath("$.nextCursor").value(next))
+                .andExpect(header().string("Surrogate-Key", "profile-1 profile-1-achievements"));
+
+        verify(achievementService).getAchievementsPage(argThat(page ->
+                page.profileId() == 1L && page.limit() == 1 && page.after() == null));
+        verify(achievementService, never()).getAchievementsByProfileId(any());
+    }
+
+    @Test
+    void getAchievementsByIds_ShouldReturnFoundRowsAndMissingIds() throws Exception {
+        when(achievementService.getAchievementsByIds(List.of(2L, 1L)))
+                .thenReturn(new BatchDTO<>(List.of(testDTO), List.of(2L)));
+
+        mockMvc.perform(get("/api/v1/achievements").param("ids", "2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Coffee Consumed"))
+                .andExpect(jsonPath("$.missingIds[0]").value(2))
+                .andExpect(header().string("Cache-Control", CACHE_CONTROL))
+                .andExpect(header().string("Surrogate-Key", "profile-1 achievements-2 achievements-1"));
+
+        verify(achievementService, never()).getAchievementsByProfileId(any());
+        verify(achievementService, never()).getAchievementsPage(any());
+    }
+
     @Test
     void getAchievementById_ShouldReturnDTO() throws Exception {
         when(achievementService.getAchievementById(1L)).thenReturn(testDTO);
@@ -81,6 +135,39 @@ class AchievementControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void getAchievementById_ShouldSendTheCachedTag() throws Exception {
+        cachedTag(CacheNames.ACHIEVEMENT_BY_ID, 1L);
+        when(achievementService.getAchievementById(1L)).thenReturn(testDTO);
+
+        mockMvc.perform(get("/api/v1/achievements/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + TAG + "\""))
+                .andExpect(header().string("Cache-Control", CACHE_CONTROL))
+                .andExpect(header().string("Surrogate-Key", "profile-1 achievements-1"));
+    }
+
+    @Test
+    void getAchievementById_ShouldReturn304_WithoutCallingTheService_WhenTheCachedTagMatches() throws Exception {
+        cachedTag(CacheNames.ACHIEVEMENT_BY_ID, 1L);
+
+        mockMvc.perform(get("/api/v1/achievements/1").header("If-None-Match", "\"" + TAG + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"" + TAG + "\""))
+                .andExpect(header().string("Cache-Control", CACHE_CONTROL))
+                .andExpect(header().string("Surrogate-Key", "achievements-1"))
+                .andExpect(content().string(""));
+
+        verifyNoInteractions(achievementService);
+    }
+
+    /** Makes the cache {@code cacheName} hold a fresh entry tagged {@link #TAG} under {@code key}. */
+    private void cachedTag(String cacheName, Long key) {
+        TwoTierCache cache = mock(TwoTierCache.class);
+        when(cacheManager.getCache(cacheName)).thenReturn(cache);
+        when(cache.entityTag(key)).thenReturn(TAG);
+    }
+
     @Test
     void addAchievement_ShouldReturnCreated() throws Exception {
         when(achievementService.addAchievement(any(AchievementDTO.class))).thenReturn(testDTO);
@@ -103,6 +190,35 @@ class AchievementControllerTest {
                 .andExpect(jsonPath("$.title").value("Coffee Consumed"));
     }
 
+    @Test
+    void applyAchievementBatch_ShouldReturnTheChangesMade() throws Exception {
+        AchievementDTO create = AchievementDTO.builder().id("new").build();
+        when(achievementService.applyAchievementBatch(argThat(batch -> batch.getProfileId() == 1L
+                && batch.getCreates().size() == 1 && batch.getDeletes().equals(List.of(2L)))))
+                .thenReturn(new SectionBatchDTO<>(1L, List.of(testDTO), List.of(), List.of(2L)));
+
+        mockMvc.perform(post("/api/v1/achievements/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new SectionBatchDTO<>(1L, List.of(create), null, List.of(2L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.creates[0].achievementId").value(1))
+                .andExpect(jsonPath("$.deletes[0]").value(2));
+    }
+
+    @Test
+    void reorderAchievements_ShouldReturnTheListInItsNewOrder() throws Exception {
+        when(achievementService.reorderAchievements(new SectionOrderDTO(1L, List.of(2L, 1L))))
+                .thenReturn(List.of(testDTO));
+
+        mockMvc.perform(put("/api/v1/achievements/order")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SectionOrderDTO(1L, List.of(2L, 1L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].achievementId").value(1));
+        verify(achievementService, never()).updateAchievement(anyLong(), any(AchievementDTO.class));
+    }
+
     @Test
     void deleteAchievement_ShouldReturnTrue() throws Exception {
         when(achievementService.deleteAchievement(1L)).thenReturn(true);
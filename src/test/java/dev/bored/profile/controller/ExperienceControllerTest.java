@@ -1,14 +1,26 @@
 package dev.bored.profile.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.bored.profile.dto.BatchDTO;
 import dev.bored.profile.dto.ExperienceDTO;
+import dev.bored.profile.dto.PageDTO;
+import dev.bored.profile.dto.SectionBatchDTO;
+import dev.bored.profile.dto.SectionOrderDTO;
 import dev.bored.common.exception.CommonExceptionHandler;
 import dev.bored.common.exception.GenericException;
+import dev.bored.profile.cache.TwoTierCache;
+import dev.bored.profile.config.HttpCacheConfig;
+import dev.bored.profile.config.HttpCacheProperties;
 import dev.bored.profile.config.SecurityConfig;
+import dev.bored.profile.service.CacheNames;
 import dev.bored.profile.service.ExperienceService;
+import dev.bored.profile.service.PageCursor;
+import dev.bored.profile.service.PageScopes;
+import dev.bored.profile.service.ProfileSection;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -22,16 +34,21 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ExperienceController.class)
-@Import({SecurityConfig.class, CommonExceptionHandler.class})
+@Import({SecurityConfig.class, CommonExceptionHandler.class, HttpCacheConfig.class, ConditionalResponses.class,
+        PageScopes.class})
 @WithMockUser
 class ExperienceControllerTest {
 
+    private static final String TAG = "0123456789abcdef";
+    private static final String CACHE_CONTROL = new HttpCacheProperties().cacheControl().getHeaderValue();
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -41,6 +58,9 @@ class ExperienceControllerTest {
     @MockitoBean
     private ExperienceService experienceService;
 
+    @MockitoBean
+    private CacheManager cacheManager;
+
     private final ExperienceDTO testDTO = ExperienceDTO.builder()
             .experienceId(1L).profileId(1L).id("googol")
             .company("Googol").role("Senior Dev").roleStyle("frontend")
@@ -67,6 +87,99 @@ class ExperienceControllerTest {
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    @Test
+    void getExperiencesPage_ShouldReturnItemsAndNextCursor() throws Exception {
+        String next = new PageCursor(1, 1L).encode(ProfileSection.EXPERIENCES, 1L);
+
+        when(experienceService.getExperiencesPage(any()))
+                .thenReturn(new PageDTO<>(List.of(testDTO), next));
+
+        mockMvc.perform(get("/api/v1/experiences").param("profileId", "1").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].company").value("Googol"))
+                .andExpect(jsonPath("$.nextCursor").value(next))
+                .andExpect(header().string("Surrogate-Key", "profile-1 profile-1-experiences"));
+
+        verify(experienceService).getExperiencesPage(argThat(page ->
+                page.profileId() == 1L && page.limit() == 1 && page.after() == null));
+        verify(experienceService, never()).getExperiencesByProfileId(any());
+    }
+
+    @Test
+    void getExperiencesPage_ShouldContinueAfterTheCursor_AndCapTheLimit() throws Exception {
+        when(experienceService.getExperiencesPage(any())).thenReturn(new PageDTO<>(List.of(), null));
+
+        mockMvc.perform(get("/api/v1/experiences")
+                        .param("after", new PageCursor(1, 1L).encode(ProfileSection.EXPERIENCES, null))
+                        .param("limit", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        verify(experienceService).getExperiencesPage(argThat(page ->
+                new PageCursor(1, 1L).equals(page.after()) && page.limit() == PageScopes.MAX_LIMIT));
+    }
+
+    @Test
+    void getExperiencesPage_ShouldReturn400_ForAMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/experiences").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/experiences").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(experienceService);
+    }
+
+    @Test
+    void getExperiencesPage_ShouldReturn400_ForTheCursorOfAnotherListing() throws Exception {
+        mockMvc.perform(get("/api/v1/experiences").param("profileId", "2")
+                        .param("after", new PageCursor(0, 1L).encode(ProfileSection.PROFILE, null)))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/experiences").param("profileId", "2")
+                        .param("after", new PageCursor(1, 1L).encode(ProfileSection.EXPERIENCES, 1L)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(experienceService);
+    }
+
+    @Test
+    void getExperiencesByIds_ShouldReturnFoundRowsAndMissingIds() throws Exception {
+        when(experienceService.getExperiencesByIds(List.of(2L, 1L)))
+                .thenReturn(new BatchDTO<>(List.of(testDTO), List.of(2L)));
+
+        mockMvc.perform(get("/api/v1/experiences").param("ids", "2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].company").value("Googol"))
+                .andExpect(jsonPath("$.missingIds[0]").value(2))
+                .andExpect(header().string("Cache-Control", CACHE_CONTROL))
+                .andExpect(header().string("Surrogate-Key", "profile-1 experiences-2 experiences-1"));
+
+        verify(experienceService, never()).getExperiencesByProfileId(any());
+        verify(experienceService, never()).getExperiencesPage(any());
+    }
+
+    @Test
+    void getExperiencesByIds_ShouldSendTheCombinedTag_AndReturn304_WithoutCallingTheService() throws Exception {
+        TwoTierCache cache = mock(TwoTierCache.class);
+        when(cacheManager.getCache(CacheNames.EXPERIENCE_BY_ID)).thenReturn(cache);
+        when(cache.entityTagOfAll(List.of(2L, 1L))).thenReturn(TAG);
+        when(experienceService.getExperiencesByIds(List.of(2L, 1L)))
+                .thenReturn(new BatchDTO<>(List.of(testDTO), List.of(2L)));
+
+        mockMvc.perform(get("/api/v1/experiences").param("ids", "2,1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + TAG + "\""));
+        mockMvc.perform(get("/api/v1/experiences").param("ids", "2,1").header("If-None-Match", "\"" + TAG + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"" + TAG + "\""))
+                .andExpect(header().string("Surrogate-Key", "experiences-2 experiences-1"))
+                .andExpect(content().string(""));
+
+        verify(experienceService, times(1)).getExperiencesByIds(any());
+    }
+
     @Test
     void getExperienceById_ShouldReturnDTO() throws Exception {
         when(experienceService.getExperienceById(1L)).thenReturn(testDTO);
@@ -85,6 +198,61 @@ class ExperienceControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void getExperienceById_ShouldSendTheCachedTag() throws Exception {
+        cachedTag(CacheNames.EXPERIENCE_BY_ID, 1L);
+        when(experienceService.getExperienceById(1L)).thenReturn(testDTO);
+
+        mockMvc.perform(get("/api/v1/experiences/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + TAG + "\""))
+                .andExpect(header().string("Cache-Control", CACHE_CONTROL))
+                .andExpect(header().string("Surrogate-Key", "profile-1 experiences-1"));
+    }
+
+    @Test
+    void getExperienceById_ShouldSendNoETag_WhenNothingIsCached() throws Exception {
+        when(experienceService.getExperienceById(1L)).thenReturn(testDTO);
+
+        mockMvc.perform(get("/api/v1/experiences/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(header().string("Cache-Control", CACHE_CONTROL));
+    }
+
+    @Test
+    void getExperienceById_ShouldReturn304_WithoutCallingTheService_WhenTheCachedTagMatches() throws Exception {
+        cachedTag(CacheNames.EXPERIENCE_BY_ID, 1L);
+
+        mockMvc.perform(get("/api/v1/experiences/1").header("If-None-Match", "\"" + TAG + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"" + TAG + "\""))
+                .andExpect(header().string("Cache-Control", CACHE_CONTROL))
+                .andExpect(header().string("Surrogate-Key", "experiences-1"))
+                .andExpect(content().string(""));
+
+        verifyNoInteractions(experienceService);
+    }
+
+    @Test
+    void getExperiences_ShouldReturnTheBody_WhenTheClientsTagIsOutdated() throws Exception {
+        cachedTag(CacheNames.EXPERIENCES_BY_PROFILE, 1L);
+        when(experienceService.getExperiencesByProfileId(1L)).thenReturn(List.of(testDTO));
+
+        mockMvc.perform(get("/api/v1/experiences").header("If-None-Match", "\"0000000000000000\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + TAG + "\""))
+                .andExpect(header().string("Surrogate-Key", "profile-1 profile-1-experiences"))
+                .andExpect(jsonPath("$[0].company").value("Googol"));
+    }
+
+    /** Makes the cache {@code cacheName} hold a fresh entry tagged {@link #TAG} under {@code key}. */
+    private void cachedTag(String cacheName, Long key) {
+        TwoTierCache cache = mock(TwoTierCache.class);
+        when(cacheManager.getCache(cacheName)).thenReturn(cache);
+        when(cache.entityTag(key)).thenReturn(TAG);
+    }
+
     @Test
     void addExperience_ShouldReturnCreated() throws Exception {
         when(experienceService.addExperience(any(ExperienceDTO.class))).thenReturn(testDTO);
@@ -107,6 +275,35 @@ class ExperienceControllerTest {
                 .andExpect(jsonPath("$.company").value("Googol"));
     }
 
+    @Test
+    void applyExperienceBatch_ShouldReturnTheChangesMade() throws Exception {
+        ExperienceDTO create = ExperienceDTO.builder().id("new").build();
+        when(experienceService.applyExperienceBatch(argThat(batch -> batch.getProfileId() == 1L
+                && batch.getCreates().size() == 1 && batch.getDeletes().equals(List.of(2L)))))
+                .thenReturn(new SectionBatchDTO<>(1L, List.of(testDTO), List.of(), List.of(2L)));
+
+        mockMvc.perform(post("/api/v1/experiences/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new SectionBatchDTO<>(1L, List.of(create), null, List.of(2L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.creates[0].experienceId").value(1))
+                .andExpect(jsonPath("$.deletes[0]").value(2));
+    }
+
+    @Test
+    void reorderExperiences_ShouldReturnTheListInItsNewOrder() throws Exception {
+        when(experienceService.reorderExperiences(new SectionOrderDTO(1L, List.of(2L, 1L))))
+                .thenReturn(List.of(testDTO));
+
+        mockMvc.perform(put("/api/v1/experiences/order")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SectionOrderDTO(1L, List.of(2L, 1L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].experienceId").value(1));
+        verify(experienceService, never()).updateExperience(anyLong(), any(ExperienceDTO.class));
+    }
+
     @Test
     void deleteExperience_ShouldReturnTrue() throws Exception {
         when(experienceService.deleteExperience(1L)).thenReturn(true);
@@ -158,6 +355,18 @@ class ExperienceControllerTest {
         verify(experienceService, never()).updateExperience(anyLong(), any(ExperienceDTO.class));
     }
 
+    @Test
+    @WithAnonymousUser
+    void applyExperienceBatch_ShouldReturn401_WhenUnauthenticated() throws Exception {
+        mockMvc.perform(post("/api/v1/experiences/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new SectionBatchDTO<>(1L, null, null, List.of(1L)))))
+                .andExpect(status().isUnauthorized());
+
+        verify(experienceService, never()).applyExperienceBatch(any());
+    }
+
     @Test
     @WithAnonymousUser
     void deleteExperience_ShouldReturn401_WhenUnauthenticated() throws Exception {
@@ -1,15 +1,27 @@
 package dev.bored.profile.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.bored.profile.dto.ExperienceDTO;
+import dev.bored.profile.dto.PageDTO;
+import dev.bored.profile.dto.PortfolioDTO;
 import dev.bored.profile.dto.ProfileDTO;
 import dev.bored.common.exception.CommonExceptionHandler;
 import dev.bored.common.exception.GenericException;
+import dev.bored.profile.cache.TwoTierCache;
+import dev.bored.profile.config.HttpCacheConfig;
+import dev.bored.profile.config.HttpCacheProperties;
 import dev.bored.profile.config.SecurityConfig;
+import dev.bored.profile.service.CacheNames;
+import dev.bored.profile.service.PageCursor;
+import dev.bored.profile.service.PageScopes;
+import dev.bored.profile.service.PortfolioService;
+import dev.bored.profile.service.ProfileSection;
 import dev.bored.profile.service.ProfileService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithAnonymousUser;
@@ -17,7 +29,10 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -35,10 +50,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * @since 2026-01-21
  */
 @WebMvcTest(ProfileController.class)
-@Import({SecurityConfig.class, CommonExceptionHandler.class})
+@Import({SecurityConfig.class, CommonExceptionHandler.class, HttpCacheConfig.class, ConditionalResponses.class,
+        PageScopes.class})
 @WithMockUser
 class ProfileControllerTest {
 
+    private static final String TAG = "0123456789abcdef";
+    private static final String CACHE_CONTROL = new HttpCacheProperties().cacheControl().getHeaderValue();
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -48,6 +67,12 @@ class ProfileControllerTest {
     @MockitoBean
     private ProfileService profileService;
 
+    @MockitoBean
+    private PortfolioService portfolioService;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
     private ProfileDTO testProfileDTO;
 
     /**
@@ -117,6 +142,134 @@ class ProfileControllerTest {
         verify(profileService, times(1)).getProfileById(profileId);
     }
 
+    /**
+     * Tests that a profile is sent with its cached entity tag and a revalidation policy.
+     *
+     * @throws Exception if the mock MVC request fails
+     */
+    @Test
+    void getProfileById_ShouldSendTheCachedTag() throws Exception {
+        cachedTag(CacheNames.PROFILE_BY_ID, 1L);
+        when(profileService.getProfileById(1L)).thenReturn(testProfileDTO);
+
+        mockMvc.perform(get("/api/v1/profiles/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + TAG + "\""))
+                .andExpect(header().string("Cache-Control", CACHE_CONTROL))
+                .andExpect(header().string("Surrogate-Key", "profile-1 profile-1-profile"));
+    }
+
+    /**
+     * Tests that a conditional GET matching the cached tag is answered
+     * {@code 304} without reaching the service.
+     *
+     * @throws Exception if the mock MVC request fails
+     */
+    @Test
+    void getProfileById_ShouldReturn304_WithoutCallingTheService_WhenTheCachedTagMatches() throws Exception {
+        cachedTag(CacheNames.PROFILE_BY_ID, 1L);
+
+        mockMvc.perform(get("/api/v1/profiles/1").header("If-None-Match", "\"" + TAG + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"" + TAG + "\""))
+                .andExpect(header().string("Cache-Control", CACHE_CONTROL))
+                .andExpect(header().string("Surrogate-Key", "profile-1 profile-1-profile"))
+                .andExpect(content().string(""));
+
+        verifyNoInteractions(profileService);
+    }
+
+    /**
+     * Tests the profile directory.
+     * <p>
+     * Verifies that listing profiles returns a page starting after the cursor,
+     * tagged with the directory's surrogate key.
+     * </p>
+     *
+     * @throws Exception if the mock MVC request fails
+     */
+    @Test
+    void getProfiles_ShouldReturnAPageOfTheDirectory() throws Exception {
+        String cursor1 = new PageCursor(0, 1L).encode(ProfileSection.PROFILE, null);
+        String cursor2 = new PageCursor(0, 2L).encode(ProfileSection.PROFILE, null);
+
+        when(profileService.getProfilesPage(any()))
+                .thenReturn(new PageDTO<>(List.of(testProfileDTO), cursor2));
+
+        mockMvc.perform(get("/api/v1/profiles").param("after", cursor1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].firstName").value("John"))
+                .andExpect(jsonPath("$.nextCursor").value(cursor2))
+                .andExpect(header().string("Surrogate-Key", "profiles"));
+
+        verify(profileService).getProfilesPage(argThat(page -> page.profileId() == null
+                && page.limit() == PageScopes.DEFAULT_LIMIT && new PageCursor(0, 1L).equals(page.after())));
+    }
+
+    /**
+     * Tests that the whole portfolio is returned in one response, tagged with
+     * every section of the profile so a write to any of them purges it.
+     *
+     * @throws Exception if the mock MVC request fails
+     */
+    @Test
+    void getPortfolio_ShouldReturnTheProfileWithItsSections() throws Exception {
+        PortfolioDTO portfolio = PortfolioDTO.builder()
+                .profile(testProfileDTO)
+                .experiences(List.of(ExperienceDTO.builder().experienceId(10L).company("Bored Software").build()))
+                .achievements(List.of())
+                .aspirations(List.of())
+                .build();
+        when(portfolioService.getPortfolio(1L)).thenReturn(portfolio);
+
+        mockMvc.perform(get("/api/v1/profiles/1/full"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.profile.firstName").value("John"))
+                .andExpect(jsonPath("$.experiences[0].company").value("Bored Software"))
+                .andExpect(jsonPath("$.achievements").isEmpty())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(header().string("Surrogate-Key",
+                        "profile-1 profile-1-profile profile-1-experiences profile-1-achievements profile-1-aspirations"));
+    }
+
+    /**
+     * Tests that a conditional GET of the portfolio matching the cached tag is
+     * answered {@code 304} without reaching the service.
+     *
+     * @throws Exception if the mock MVC request fails
+     */
+    @Test
+    void getPortfolio_ShouldReturn304_WithoutCallingTheService_WhenTheCachedTagMatches() throws Exception {
+        cachedTag(CacheNames.PORTFOLIO_BY_PROFILE, 1L);
+
+        mockMvc.perform(get("/api/v1/profiles/1/full").header("If-None-Match", "\"" + TAG + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verifyNoInteractions(portfolioService);
+    }
+
+    /**
+     * Tests the error handling when the portfolio of a non-existent profile is requested.
+     *
+     * @throws Exception if the mock MVC request fails
+     */
+    @Test
+    void getPortfolio_ShouldReturn404_WhenProfileNotFound() throws Exception {
+        when(portfolioService.getPortfolio(999L))
+                .thenThrow(new GenericException("Profile not found with id: 999", org.springframework.http.HttpStatus.NOT_FOUND));
+
+        mockMvc.perform(get("/api/v1/profiles/999/full"))
+                .andExpect(status().isNotFound());
+    }
+
+    /** Makes the cache {@code cacheName} hold a fresh entry tagged {@link #TAG} under {@code key}. */
+    private void cachedTag(String cacheName, Long key) {
+        TwoTierCache cache = mock(TwoTierCache.class);
+        when(cacheManager.getCache(cacheName)).thenReturn(cache);
+        when(cache.entityTag(key)).thenReturn(TAG);
+    }
+
     /**
      * Tests the successful creation of a new profile.
      * <p>
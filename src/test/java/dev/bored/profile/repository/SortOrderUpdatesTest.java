@@ -0,0 +1,138 @@
+package dev.bored.profile.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the native {@code updateSortOrders} queries against Postgres, with the
+ * schema built by the Flyway migrations. Skipped where Docker isn't available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(properties = {
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.enabled=true"
+})
+class SortOrderUpdatesTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ExperienceRepository experienceRepository;
+
+    @Autowired
+    private AchievementRepository achievementRepository;
+
+    @Autowired
+    private AspirationRepository aspirationRepository;
+
+    private long profileId;
+    private long otherProfileId;
+
+    @BeforeEach
+    void setUp() {
+        profileId = profile("Ada");
+        otherProfileId = profile("Grace");
+    }
+
+    private long profile(String firstName) {
+        return jdbc.queryForObject("insert into profile (first_name, last_name) values (?, 'Test') "
+                + "returning profile_id", Long.class, firstName);
+    }
+
+    /** Inserts a row of {@code table} with the given sort order and returns its id. */
+    private long row(String table, long profile, int sortOrder) {
+        String columns = table.equals("experience") ? "slug, company, role" : "slug, title";
+        String values = table.equals("experience") ? "'row', 'Acme', 'Dev'" : "'row', 'Title'";
+        return jdbc.queryForObject("insert into " + table + " (profile_id, sort_order, " + columns + ") values (?, ?, "
+                + values + ") returning " + table + "_id", Long.class, profile, sortOrder);
+    }
+
+    private int sortOrder(String table, long id) {
+        return jdbc.queryForObject("select sort_order from " + table + " where " + table + "_id = ?",
+                Integer.class, id);
+    }
+
+    @Test
+    void experiences_ShouldTakeTheirZeroBasedPosition() {
+        long a = row("experience", profileId, 0);
+        long b = row("experience", profileId, 1);
+        long c = row("experience", profileId, 2);
+
+        int changed = experienceRepository.updateSortOrders(profileId, new Long[]{c, a, b});
+
+        assertEquals(3, changed);
+        assertEquals(List.of(1, 2, 0), List.of(sortOrder("experience", a), sortOrder("experience", b),
+                sortOrder("experience", c)));
+    }
+
+    @Test
+    void experiences_ShouldOnlyWriteRowsWhoseSortOrderChanges() {
+        long a = row("experience", profileId, 0);
+        long b = row("experience", profileId, 1);
+        long c = row("experience", profileId, 2);
+
+        int changed = experienceRepository.updateSortOrders(profileId, new Long[]{a, c, b});
+
+        assertEquals(2, changed);
+        assertEquals(List.of(0, 2, 1), List.of(sortOrder("experience", a), sortOrder("experience", b),
+                sortOrder("experience", c)));
+    }
+
+    @Test
+    void experiences_ShouldLeaveRowsOfOtherProfilesAlone() {
+        long own = row("experience", profileId, 5);
+        long foreign = row("experience", otherProfileId, 5);
+
+        int changed = experienceRepository.updateSortOrders(profileId, new Long[]{foreign, own});
+
+        assertEquals(1, changed);
+        assertEquals(1, sortOrder("experience", own));
+        assertEquals(5, sortOrder("experience", foreign));
+    }
+
+    @Test
+    void achievements_ShouldTakeTheirZeroBasedPosition() {
+        long a = row("achievement", profileId, 0);
+        long b = row("achievement", profileId, 1);
+
+        int changed = achievementRepository.updateSortOrders(profileId, new Long[]{b, a});
+
+        assertEquals(2, changed);
+        assertEquals(1, sortOrder("achievement", a));
+        assertEquals(0, sortOrder("achievement", b));
+    }
+
+    @Test
+    void aspirations_ShouldTakeTheirZeroBasedPosition() {
+        long a = row("aspiration", profileId, 0);
+        long b = row("aspiration", profileId, 1);
+
+        int changed = aspirationRepository.updateSortOrders(profileId, new Long[]{b, a});
+
+        assertEquals(2, changed);
+        assertEquals(1, sortOrder("aspiration", a));
+        assertEquals(0, sortOrder("aspiration", b));
+    }
+}
@@ -4,6 +4,7 @@ import dev.bored.profile.dto.AchievementDTO;
 import dev.bored.profile.entity.Achievement;
 import dev.bored.profile.entity.Profile;
 import dev.bored.common.exception.GenericException;
+import dev.bored.profile.service.ProfileDataChangedEvent.Change;
 import dev.bored.profile.mapper.AchievementMapper;
 import dev.bored.profile.repository.AchievementRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Collections;
 import java.util.List;
@@ -30,6 +32,9 @@ class AchievementServiceTest {
     @Mock
     private AchievementMapper achievementMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AchievementService achievementService;
 
@@ -72,6 +77,15 @@ class AchievementServiceTest {
         assertTrue(achievementService.getAchievementsByProfileId(1L).isEmpty());
     }
 
+    @Test
+    void loadByProfile_ShouldReturnListForSection() {
+        when(achievementRepository.findByProfile_ProfileIdOrderBySortOrderAsc(1L)).thenReturn(List.of(testEntity));
+        when(achievementMapper.toDTOList(List.of(testEntity))).thenReturn(List.of(testDTO));
+
+        assertEquals(List.of(testDTO), achievementService.loadByProfile(1L));
+        assertEquals(ProfileSection.ACHIEVEMENTS, achievementService.section());
+    }
+
     @Test
     void getAchievementById_ShouldReturnDTO() {
         when(achievementRepository.findById(1L)).thenReturn(Optional.of(testEntity));
@@ -93,6 +107,7 @@ class AchievementServiceTest {
         when(achievementMapper.toDTO(testEntity)).thenReturn(testDTO);
 
         assertEquals("Coffee Consumed", achievementService.addAchievement(testDTO).getTitle());
+        verify(eventPublisher).publishEvent(ProfileDataChangedEvent.of(ProfileSection.ACHIEVEMENTS, Change.CREATED, 1L, 1L, testDTO));
     }
 
     @Test
@@ -102,6 +117,7 @@ class AchievementServiceTest {
         when(achievementMapper.toDTO(testEntity)).thenReturn(testDTO);
 
         assertEquals("Coffee Consumed", achievementService.updateAchievement(1L, testDTO).getTitle());
+        verify(eventPublisher).publishEvent(ProfileDataChangedEvent.of(ProfileSection.ACHIEVEMENTS, Change.UPDATED, 1L, 1L, testDTO));
     }
 
     @Test
@@ -113,14 +129,23 @@ class AchievementServiceTest {
 
     @Test
     void deleteAchievement_ShouldReturnTrue() {
-        when(achievementRepository.existsById(1L)).thenReturn(true);
+        when(achievementRepository.findById(1L)).thenReturn(Optional.of(testEntity));
         assertTrue(achievementService.deleteAchievement(1L));
-        verify(achievementRepository).deleteById(1L);
+        verify(achievementRepository).delete(testEntity);
+        verify(eventPublisher).publishEvent(ProfileDataChangedEvent.of(ProfileSection.ACHIEVEMENTS, Change.DELETED, 1L, 1L));
     }
 
     @Test
     void deleteAchievement_ShouldThrow_WhenNotFound() {
-        when(achievementRepository.existsById(999L)).thenReturn(false);
+        when(achievementRepository.findById(999L)).thenReturn(Optional.empty());
         assertThrows(GenericException.class, () -> achievementService.deleteAchievement(999L));
     }
+
+    @Test
+    void loadAllIds_ShouldReturnEveryIdForSection() {
+        when(achievementRepository.findAllIds()).thenReturn(List.of(1L, 2L));
+
+        assertEquals(List.of(1L, 2L), achievementService.loadAllIds());
+        assertEquals(ProfileSection.ACHIEVEMENTS, achievementService.section());
+    }
 }
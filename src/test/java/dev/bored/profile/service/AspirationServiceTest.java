@@ -4,6 +4,7 @@ import dev.bored.profile.dto.AspirationDTO;
 import dev.bored.profile.entity.Aspiration;
 import dev.bored.profile.entity.Profile;
 import dev.bored.common.exception.GenericException;
+import dev.bored.profile.service.ProfileDataChangedEvent.Change;
 import dev.bored.profile.mapper.AspirationMapper;
 import dev.bored.profile.repository.AspirationRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Collections;
 import java.util.List;
@@ -30,6 +32,9 @@ class AspirationServiceTest {
     @Mock
     private AspirationMapper aspirationMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AspirationService aspirationService;
 
@@ -73,6 +78,15 @@ class AspirationServiceTest {
         assertTrue(aspirationService.getAspirationsByProfileId(1L).isEmpty());
     }
 
+    @Test
+    void loadByProfile_ShouldReturnListForSection() {
+        when(aspirationRepository.findByProfile_ProfileIdOrderBySortOrderAsc(1L)).thenReturn(List.of(testEntity));
+        when(aspirationMapper.toDTOList(List.of(testEntity))).thenReturn(List.of(testDTO));
+
+        assertEquals(List.of(testDTO), aspirationService.loadByProfile(1L));
+        assertEquals(ProfileSection.ASPIRATIONS, aspirationService.section());
+    }
+
     @Test
     void getAspirationById_ShouldReturnDTO() {
         when(aspirationRepository.findById(1L)).thenReturn(Optional.of(testEntity));
@@ -94,6 +108,7 @@ class AspirationServiceTest {
         when(aspirationMapper.toDTO(testEntity)).thenReturn(testDTO);
 
         assertEquals("Cloud Architecture", aspirationService.addAspiration(testDTO).getTitle());
+        verify(eventPublisher).publishEvent(ProfileDataChangedEvent.of(ProfileSection.ASPIRATIONS, Change.CREATED, 1L, 1L, testDTO));
     }
 
     @Test
@@ -103,6 +118,7 @@ class AspirationServiceTest {
         when(aspirationMapper.toDTO(testEntity)).thenReturn(testDTO);
 
         assertEquals("Cloud Architecture", aspirationService.updateAspiration(1L, testDTO).getTitle());
+        verify(eventPublisher).publishEvent(ProfileDataChangedEvent.of(ProfileSection.ASPIRATIONS, Change.UPDATED, 1L, 1L, testDTO));
     }
 
     @Test
@@ -114,14 +130,23 @@ class AspirationServiceTest {
 
     @Test
     void deleteAspiration_ShouldReturnTrue() {
-        when(aspirationRepository.existsById(1L)).thenReturn(true);
+        when(aspirationRepository.findById(1L)).thenReturn(Optional.of(testEntity));
         assertTrue(aspirationService.deleteAspiration(1L));
-        verify(aspirationRepository).deleteById(1L);
+        verify(aspirationRepository).delete(testEntity);
+        verify(eventPublisher).publishEvent(ProfileDataChangedEvent.of(ProfileSection.ASPIRATIONS, Change.DELETED, 1L, 1L));
     }
 
     @Test
     void deleteAspiration_ShouldThrow_WhenNotFound() {
-        when(aspirationRepository.existsById(999L)).thenReturn(false);
+        when(aspirationRepository.findById(999L)).thenReturn(Optional.empty());
         assertThrows(GenericException.class, () -> aspirationService.deleteAspiration(999L));
     }
+
+    @Test
+    void loadAllIds_ShouldReturnEveryIdForSection() {
+        when(aspirationRepository.findAllIds()).thenReturn(List.of(1L, 2L));
+
+        assertEquals(List.of(1L, 2L), aspirationService.loadAllIds());
+        assertEquals(ProfileSection.ASPIRATIONS, aspirationService.section());
+    }
 }
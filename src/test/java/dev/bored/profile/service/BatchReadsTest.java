@@ -0,0 +1,70 @@
+package dev.bored.profile.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.bored.common.exception.GenericException;
+import dev.bored.profile.cache.TwoTierCacheContext;
+import dev.bored.profile.cache.TwoTierCacheManager;
+import dev.bored.profile.dto.BatchDTO;
+import dev.bored.profile.dto.ExperienceDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link BatchReads}, over L1-only {@link dev.bored.profile.cache.TwoTierCache}s.
+ */
+class BatchReadsTest {
+
+    private final BatchReads batchReads = new BatchReads(new TwoTierCacheManager(Caffeine.newBuilder().maximumSize(100),
+            null, TwoTierCacheContext.builder().build(), CacheNames.ALL));
+    private final List<Collection<Long>> queries = new ArrayList<>();
+
+    /** Stands in for the repository: rows exist for odd ids, returned in descending id order. */
+    private List<ExperienceDTO> load(Collection<Long> ids) {
+        queries.add(List.copyOf(ids));
+        return ids.stream()
+                .filter(id -> id % 2 == 1)
+                .sorted((a, b) -> Long.compare(b, a))
+                .map(id -> ExperienceDTO.builder().experienceId(id).profileId(1L).build())
+                .toList();
+    }
+
+    private BatchDTO<ExperienceDTO> read(Long... ids) {
+        return batchReads.byIds(ProfileSection.EXPERIENCES, Arrays.asList(ids), this::load,
+                ExperienceDTO::getExperienceId);
+    }
+
+    @Test
+    void byIds_ShouldKeepRequestOrder_AndListMissingIdsOnce() {
+        BatchDTO<ExperienceDTO> batch = read(3L, 2L, 1L, 3L, 4L);
+
+        assertEquals(List.of(3L, 1L), batch.getItems().stream().map(ExperienceDTO::getExperienceId).toList());
+        assertEquals(List.of(2L, 4L), batch.getMissingIds());
+        assertEquals(List.of(List.of(3L, 2L, 1L, 4L)), queries);
+    }
+
+    @Test
+    void byIds_ShouldOnlyQueryIdsNotCachedYet() {
+        read(1L, 3L);
+
+        BatchDTO<ExperienceDTO> batch = read(5L, 3L, 1L);
+
+        assertEquals(List.of(5L, 3L, 1L), batch.getItems().stream().map(ExperienceDTO::getExperienceId).toList());
+        assertEquals(List.of(List.of(1L, 3L), List.of(5L)), queries);
+    }
+
+    @Test
+    void byIds_ShouldRejectEmptyOversizedOrBlankRequests() {
+        assertThrows(GenericException.class, () -> read());
+        assertThrows(GenericException.class, () -> read(1L, null));
+        assertThrows(GenericException.class, () -> read(LongStream.rangeClosed(1, BatchReads.MAX_IDS + 1)
+                .boxed().toArray(Long[]::new)));
+        assertTrue(queries.isEmpty());
+    }
+}
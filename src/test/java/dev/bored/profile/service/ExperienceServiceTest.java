@@ -1,25 +1,36 @@
 package dev.bored.profile.service;
 
 import dev.bored.profile.dto.ExperienceDTO;
+import dev.bored.profile.dto.PageDTO;
+import dev.bored.profile.dto.SectionBatchDTO;
+import dev.bored.profile.dto.SectionOrderDTO;
 import dev.bored.profile.entity.Experience;
 import dev.bored.profile.entity.Profile;
+import dev.bored.profile.exception.ResourceNotFoundException;
 import dev.bored.common.exception.GenericException;
+import dev.bored.profile.service.ProfileDataChangedEvent.Change;
 import dev.bored.profile.mapper.ExperienceMapper;
 import dev.bored.profile.repository.ExperienceRepository;
+import dev.bored.profile.repository.ProfileRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,9 +39,15 @@ class ExperienceServiceTest {
     @Mock
     private ExperienceRepository experienceRepository;
 
+    @Mock
+    private ProfileRepository profileRepository;
+
     @Mock
     private ExperienceMapper experienceMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ExperienceService experienceService;
 
@@ -74,6 +91,33 @@ class ExperienceServiceTest {
         assertEquals("Googol", result.get(0).getCompany());
     }
 
+    @Test
+    void getExperiencesPage_ShouldReadOneRowPastTheLimit_AndReturnTheCursorOfTheLastItem() {
+        ExperienceDTO next = ExperienceDTO.builder().experienceId(2L).profileId(1L).sortOrder(2).build();
+        PageKey page = new PageKey(ProfileSection.EXPERIENCES, 1L, "scope", 1, null);
+        when(experienceRepository.findByProfile_ProfileIdOrderBySortOrderAscExperienceIdAsc(1L, Limit.of(2)))
+                .thenReturn(List.of(testExperience, testExperience));
+        when(experienceMapper.toDTOList(any())).thenReturn(List.of(testDTO, next));
+
+        PageDTO<ExperienceDTO> result = experienceService.getExperiencesPage(page);
+
+        assertEquals(List.of(testDTO), result.getItems());
+        assertEquals(new PageCursor(1, 1L), PageCursor.decode(result.getNextCursor(), ProfileSection.EXPERIENCES, 1L));
+    }
+
+    @Test
+    void getExperiencesPage_ShouldContinueAfterTheCursor_AndEndWithoutOne() {
+        PageKey page = new PageKey(ProfileSection.EXPERIENCES, 1L, "scope", 20, new PageCursor(1, 1L));
+        when(experienceRepository.findPageAfter(1L, 1, 1L, Limit.of(21))).thenReturn(List.of(testExperience));
+        when(experienceMapper.toDTOList(List.of(testExperience))).thenReturn(List.of(testDTO));
+
+        PageDTO<ExperienceDTO> result = experienceService.getExperiencesPage(page);
+
+        assertEquals(List.of(testDTO), result.getItems());
+        assertNull(result.getNextCursor());
+        verify(experienceRepository, never()).findByProfile_ProfileIdOrderBySortOrderAscExperienceIdAsc(any(), any());
+    }
+
     @Test
     void getExperiencesByProfileId_ShouldReturnEmpty_WhenNone() {
         when(experienceRepository.findByProfile_ProfileIdOrderBySortOrderAsc(1L)).thenReturn(Collections.emptyList());
@@ -82,6 +126,15 @@ class ExperienceServiceTest {
         assertTrue(experienceService.getExperiencesByProfileId(1L).isEmpty());
     }
 
+    @Test
+    void loadByProfile_ShouldReturnListForSection() {
+        when(experienceRepository.findByProfile_ProfileIdOrderBySortOrderAsc(1L)).thenReturn(List.of(testExperience));
+        when(experienceMapper.toDTOList(List.of(testExperience))).thenReturn(List.of(testDTO));
+
+        assertEquals(List.of(testDTO), experienceService.loadByProfile(1L));
+        assertEquals(ProfileSection.EXPERIENCES, experienceService.section());
+    }
+
     @Test
     void getExperienceById_ShouldReturnDTO() {
         when(experienceRepository.findById(1L)).thenReturn(Optional.of(testExperience));
@@ -110,6 +163,7 @@ class ExperienceServiceTest {
 
         assertEquals("Googol", result.getCompany());
         verify(experienceRepository).save(testExperience);
+        verify(eventPublisher).publishEvent(ProfileDataChangedEvent.of(ProfileSection.EXPERIENCES, Change.CREATED, 1L, 1L, testDTO));
     }
 
     @Test
@@ -122,6 +176,7 @@ class ExperienceServiceTest {
 
         assertEquals("Googol", result.getCompany());
         verify(experienceRepository).save(testExperience);
+        verify(eventPublisher).publishEvent(ProfileDataChangedEvent.of(ProfileSection.EXPERIENCES, Change.UPDATED, 1L, 1L, testDTO));
     }
 
     @Test
@@ -134,17 +189,157 @@ class ExperienceServiceTest {
 
     @Test
     void deleteExperience_ShouldReturnTrue() {
-        when(experienceRepository.existsById(1L)).thenReturn(true);
+        when(experienceRepository.findById(1L)).thenReturn(Optional.of(testExperience));
 
         assertTrue(experienceService.deleteExperience(1L));
-        verify(experienceRepository).deleteById(1L);
+        verify(experienceRepository).delete(testExperience);
+        verify(eventPublisher).publishEvent(ProfileDataChangedEvent.of(ProfileSection.EXPERIENCES, Change.DELETED, 1L, 1L));
     }
 
     @Test
     void deleteExperience_ShouldThrow_WhenNotFound() {
-        when(experienceRepository.existsById(999L)).thenReturn(false);
+        when(experienceRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(GenericException.class, () -> experienceService.deleteExperience(999L));
-        verify(experienceRepository, never()).deleteById(any());
+        verify(experienceRepository, never()).delete(any());
+    }
+
+    @Test
+    void applyExperienceBatch_ShouldApplyEveryChange_AndPublishOneEvent() {
+        Experience doomed = new Experience();
+        doomed.setExperienceId(2L);
+        doomed.setProfile(testProfile);
+        Experience fresh = new Experience();
+        fresh.setExperienceId(51L);
+        ExperienceDTO create = ExperienceDTO.builder().id("acme").company("Acme").build();
+        ExperienceDTO update = ExperienceDTO.builder().experienceId(1L).id("googol").company("Googol Inc").build();
+        when(experienceRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(doomed, testExperience));
+        when(profileRepository.existsById(1L)).thenReturn(true);
+        when(profileRepository.getReferenceById(1L)).thenReturn(testProfile);
+        when(experienceMapper.toEntityList(List.of(create))).thenReturn(List.of(fresh));
+        when(experienceRepository.saveAll(List.of(fresh))).thenReturn(List.of(fresh));
+        ExperienceDTO created = ExperienceDTO.builder().experienceId(51L).profileId(1L).build();
+        when(experienceMapper.toDTOList(List.of(fresh))).thenReturn(List.of(created));
+        when(experienceMapper.toDTOList(List.of(testExperience))).thenReturn(List.of(testDTO));
+
+        SectionBatchDTO<ExperienceDTO> result = experienceService.applyExperienceBatch(
+                new SectionBatchDTO<>(1L, List.of(create), List.of(update), List.of(2L)));
+
+        assertEquals(List.of(created), result.getCreates());
+        assertEquals(List.of(testDTO), result.getUpdates());
+        assertEquals(List.of(2L), result.getDeletes());
+        assertEquals(1L, fresh.getProfile().getProfileId());
+        assertNull(create.getProfileId());
+        assertEquals("Googol Inc", testExperience.getCompany());
+        verify(experienceRepository).deleteAll(List.of(doomed));
+        verify(eventPublisher).publishEvent(ProfileDataChangedEvent.ofBatch(ProfileSection.EXPERIENCES, 1L,
+                List.of(51L), List.of(1L), List.of(2L)));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void applyExperienceBatch_ShouldNotWriteAnything_WhenARowBelongsToAnotherProfile() {
+        Profile other = new Profile();
+        other.setProfileId(2L);
+        testExperience.setProfile(other);
+        when(experienceRepository.findAllById(List.of(1L))).thenReturn(List.of(testExperience));
+        SectionBatchDTO<ExperienceDTO> batch = SectionBatchDTO.<ExperienceDTO>builder()
+                .profileId(1L).deletes(List.of(1L)).build();
+
+        GenericException ex = assertThrows(GenericException.class, () -> experienceService.applyExperienceBatch(batch));
+
+        assertTrue(ex.getMessage().contains("id: 1"));
+        verify(experienceRepository, never()).deleteAll(any());
+        verify(experienceRepository, never()).saveAll(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void applyExperienceBatch_ShouldReturn404_WhenRowsAreCreatedForAnUnknownProfile() {
+        when(profileRepository.existsById(99L)).thenReturn(false);
+        SectionBatchDTO<ExperienceDTO> batch = SectionBatchDTO.<ExperienceDTO>builder()
+                .profileId(99L).creates(List.of(ExperienceDTO.builder().id("acme").build())).build();
+
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+                () -> experienceService.applyExperienceBatch(batch));
+
+        assertEquals("Profile not found with id: 99", ex.getMessage());
+        verify(experienceRepository, never()).saveAll(any());
+        verifyNoInteractions(eventPublisher);
+        assertNull(batch.getUpdates());
+        assertNull(batch.getDeletes());
+    }
+
+    @Test
+    void applyExperienceBatch_ShouldRejectMalformedBatches_WithoutTouchingTheDatabase() {
+        ExperienceDTO withId = ExperienceDTO.builder().experienceId(1L).build();
+        ExperienceDTO withoutId = ExperienceDTO.builder().company("Acme").build();
+        ExperienceDTO otherProfile = ExperienceDTO.builder().profileId(2L).build();
+        List<SectionBatchDTO<ExperienceDTO>> malformed = List.of(
+                new SectionBatchDTO<>(null, List.of(withoutId), null, null),
+                new SectionBatchDTO<>(1L, null, null, null),
+                new SectionBatchDTO<>(1L, null, null, Collections.nCopies(SectionBatches.MAX_OPERATIONS + 1, 1L)),
+                new SectionBatchDTO<>(1L, List.of(withId), null, null),
+                new SectionBatchDTO<>(1L, List.of(otherProfile), null, null),
+                new SectionBatchDTO<>(1L, null, List.of(withoutId), null),
+                new SectionBatchDTO<>(1L, null, List.of(withId), List.of(1L)),
+                new SectionBatchDTO<>(1L, Arrays.asList(withoutId, null), null, null),
+                new SectionBatchDTO<>(1L, null, Collections.singletonList(null), null));
+
+        for (SectionBatchDTO<ExperienceDTO> batch : malformed) {
+            assertThrows(GenericException.class, () -> experienceService.applyExperienceBatch(batch));
+        }
+        assertNull(malformed.get(1).getCreates());
+        verifyNoInteractions(experienceRepository, eventPublisher);
+    }
+
+    @Test
+    void reorderExperiences_ShouldUpdateEverySortOrderInOneStatement_AndPublishOneEvent() {
+        when(experienceRepository.findIdsByProfileId(1L)).thenReturn(List.of(1L, 2L, 3L));
+        when(experienceRepository.updateSortOrders(eq(1L), aryEq(new Long[]{3L, 1L, 2L}))).thenReturn(3);
+        when(experienceRepository.findByProfile_ProfileIdOrderBySortOrderAsc(1L)).thenReturn(List.of(testExperience));
+        when(experienceMapper.toDTOList(List.of(testExperience))).thenReturn(List.of(testDTO));
+
+        List<ExperienceDTO> result = experienceService.reorderExperiences(new SectionOrderDTO(1L, List.of(3L, 1L, 2L)));
+
+        assertEquals(List.of(testDTO), result);
+        verify(experienceRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new ProfileDataChangedEvent(ProfileSection.EXPERIENCES, Change.UPDATED, 1L,
+                List.of(3L, 1L, 2L)));
+    }
+
+    @Test
+    void reorderExperiences_ShouldNotPublish_WhenTheOrderIsUnchanged() {
+        when(experienceRepository.findIdsByProfileId(1L)).thenReturn(List.of(1L, 2L));
+        when(experienceRepository.updateSortOrders(eq(1L), aryEq(new Long[]{1L, 2L}))).thenReturn(0);
+
+        experienceService.reorderExperiences(new SectionOrderDTO(1L, List.of(1L, 2L)));
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void reorderExperiences_ShouldRejectIncompleteForeignOrRepeatedIds_WithoutUpdating() {
+        when(experienceRepository.findIdsByProfileId(1L)).thenReturn(List.of(1L, 2L));
+
+        assertThrows(GenericException.class,
+                () -> experienceService.reorderExperiences(new SectionOrderDTO(1L, List.of(2L))));
+        GenericException foreign = assertThrows(GenericException.class,
+                () -> experienceService.reorderExperiences(new SectionOrderDTO(1L, List.of(2L, 9L, 1L))));
+        assertTrue(foreign.getMessage().contains("id: 9"));
+        assertThrows(GenericException.class,
+                () -> experienceService.reorderExperiences(new SectionOrderDTO(1L, List.of(2L, 1L, 2L))));
+        assertThrows(GenericException.class,
+                () -> experienceService.reorderExperiences(new SectionOrderDTO(null, List.of(1L, 2L))));
+        verify(experienceRepository, never()).updateSortOrders(any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void loadAllIds_ShouldReturnEveryIdForSection() {
+        when(experienceRepository.findAllIds()).thenReturn(List.of(1L, 2L));
+
+        assertEquals(List.of(1L, 2L), experienceService.loadAllIds());
+        assertEquals(ProfileSection.EXPERIENCES, experienceService.section());
     }
 }
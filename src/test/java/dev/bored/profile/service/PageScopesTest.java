@@ -0,0 +1,68 @@
+package dev.bored.profile.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.bored.common.exception.GenericException;
+import dev.bored.profile.cache.TwoTierCacheContext;
+import dev.bored.profile.cache.TwoTierCacheManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PageScopes}, over L1-only {@link dev.bored.profile.cache.TwoTierCache}s
+ * whose entries go stale at once.
+ */
+class PageScopesTest {
+
+    private final CacheManager cacheManager = new TwoTierCacheManager(Caffeine.newBuilder().maximumSize(100),
+            null, TwoTierCacheContext.builder().softTtl(cacheName -> Duration.ZERO).build(), CacheNames.ALL);
+    private final PageScopes pageScopes = new PageScopes(cacheManager);
+
+    private String scope() {
+        return pageScopes.keyFor(ProfileSection.EXPERIENCES, 1L, null, null).scope();
+    }
+
+    @Test
+    void scope_ShouldOutliveItsSoftTtl_UntilAWriteEvictsIt() {
+        String scope = scope();
+
+        assertEquals(scope, scope());
+        assertEquals(scope, scope());
+
+        Cache scopes = cacheManager.getCache(CacheNames.PAGE_SCOPES);
+        scopes.evict(PageScopes.scopeKey(ProfileSection.EXPERIENCES, 1L));
+        assertNotEquals(scope, scope());
+    }
+
+    @Test
+    void scope_ShouldBeKeptPerListing() {
+        String experiences = scope();
+
+        assertNotEquals(experiences, pageScopes.keyFor(ProfileSection.EXPERIENCES, 2L, null, null).scope());
+        assertNotEquals(experiences, pageScopes.keyFor(ProfileSection.ACHIEVEMENTS, 1L, null, null).scope());
+    }
+
+    @Test
+    void keyFor_ShouldSeekPastTheCursorOfItsOwnListing() {
+        String after = new PageCursor(3, 12L).encode(ProfileSection.EXPERIENCES, 2L);
+
+        assertEquals(new PageCursor(3, 12L), pageScopes.keyFor(ProfileSection.EXPERIENCES, 2L, 20, after).after());
+    }
+
+    @Test
+    void keyFor_ShouldRejectTheCursorOfAnotherListing() {
+        String directory = new PageCursor(0, 7L).encode(ProfileSection.PROFILE, null);
+        String otherProfile = new PageCursor(3, 12L).encode(ProfileSection.EXPERIENCES, 1L);
+        String otherSection = new PageCursor(3, 12L).encode(ProfileSection.ACHIEVEMENTS, 2L);
+
+        for (String after : new String[]{directory, otherProfile, otherSection}) {
+            GenericException ex = assertThrows(GenericException.class,
+                    () -> pageScopes.keyFor(ProfileSection.EXPERIENCES, 2L, 20, after));
+            assertTrue(ex.getMessage().contains("another listing"), ex.getMessage());
+        }
+    }
+}
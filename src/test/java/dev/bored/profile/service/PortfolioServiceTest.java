@@ -0,0 +1,129 @@
+package dev.bored.profile.service;
+
+import dev.bored.profile.dto.AchievementDTO;
+import dev.bored.profile.dto.ExperienceDTO;
+import dev.bored.profile.dto.PortfolioDTO;
+import dev.bored.profile.dto.ProfileDTO;
+import dev.bored.profile.entity.Experience;
+import dev.bored.profile.entity.Profile;
+import dev.bored.profile.exception.ResourceNotFoundException;
+import dev.bored.profile.mapper.AchievementMapper;
+import dev.bored.profile.mapper.AspirationMapper;
+import dev.bored.profile.mapper.ExperienceMapper;
+import dev.bored.profile.mapper.ProfileMapper;
+import dev.bored.profile.repository.AchievementRepository;
+import dev.bored.profile.repository.AspirationRepository;
+import dev.bored.profile.repository.ExperienceRepository;
+import dev.bored.profile.repository.PortfolioRepository;
+import dev.bored.profile.repository.ProfileRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link PortfolioService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class PortfolioServiceTest {
+
+    @Mock
+    private PortfolioRepository portfolioRepository;
+
+    @Mock
+    private ProfileRepository profileRepository;
+
+    @Mock
+    private ExperienceRepository experienceRepository;
+
+    @Mock
+    private AchievementRepository achievementRepository;
+
+    @Mock
+    private AspirationRepository aspirationRepository;
+
+    @Mock
+    private ProfileMapper profileMapper;
+
+    @Mock
+    private ExperienceMapper experienceMapper;
+
+    @Mock
+    private AchievementMapper achievementMapper;
+
+    @Mock
+    private AspirationMapper aspirationMapper;
+
+    @InjectMocks
+    private PortfolioService portfolioService;
+
+    @Test
+    void getPortfolio_ShouldUseTheSingleQuery_WhenTheDatabaseSupportsIt() {
+        PortfolioDTO portfolio = PortfolioDTO.builder()
+                .profile(ProfileDTO.builder().profileId(1L).build())
+                .experiences(List.of())
+                .achievements(List.of(AchievementDTO.builder().achievementId(3L).build()))
+                .aspirations(List.of())
+                .build();
+        when(portfolioRepository.isSingleQuerySupported()).thenReturn(true);
+        when(portfolioRepository.findByProfileId(1L)).thenReturn(Optional.of(portfolio));
+
+        assertSame(portfolio, portfolioService.getPortfolio(1L));
+
+        verifyNoInteractions(profileRepository, experienceRepository, achievementRepository, aspirationRepository);
+    }
+
+    @Test
+    void getPortfolio_ShouldThrow_WhenTheSingleQueryFindsNoProfile() {
+        when(portfolioRepository.isSingleQuerySupported()).thenReturn(true);
+        when(portfolioRepository.findByProfileId(999L)).thenReturn(Optional.empty());
+
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+                () -> portfolioService.getPortfolio(999L));
+
+        assertEquals("Profile not found with id: 999", ex.getMessage());
+    }
+
+    @Test
+    void getPortfolio_ShouldReadEachSection_WhenTheSingleQueryIsUnsupported() {
+        Profile profile = new Profile();
+        List<Experience> experiences = List.of(new Experience());
+        ProfileDTO profileDTO = ProfileDTO.builder().profileId(1L).build();
+        List<ExperienceDTO> experienceDTOs = List.of(ExperienceDTO.builder().experienceId(10L).build());
+        when(portfolioRepository.isSingleQuerySupported()).thenReturn(false);
+        when(profileRepository.findById(1L)).thenReturn(Optional.of(profile));
+        when(profileMapper.toDTO(profile)).thenReturn(profileDTO);
+        when(experienceRepository.findByProfile_ProfileIdOrderBySortOrderAsc(1L)).thenReturn(experiences);
+        when(experienceMapper.toDTOList(experiences)).thenReturn(experienceDTOs);
+        when(achievementMapper.toDTOList(any())).thenReturn(List.of());
+        when(aspirationMapper.toDTOList(any())).thenReturn(List.of());
+
+        PortfolioDTO result = portfolioService.getPortfolio(1L);
+
+        assertSame(profileDTO, result.getProfile());
+        assertEquals(experienceDTOs, result.getExperiences());
+        assertEquals(List.of(), result.getAchievements());
+        assertEquals(List.of(), result.getAspirations());
+        verify(achievementRepository).findByProfile_ProfileIdOrderBySortOrderAsc(1L);
+        verify(aspirationRepository).findByProfile_ProfileIdOrderBySortOrderAsc(1L);
+        verify(portfolioRepository, never()).findByProfileId(any());
+    }
+
+    @Test
+    void getPortfolio_ShouldThrow_WhenTheProfileIsMissing() {
+        when(portfolioRepository.isSingleQuerySupported()).thenReturn(false);
+        when(profileRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> portfolioService.getPortfolio(999L));
+
+        verifyNoInteractions(experienceRepository, achievementRepository, aspirationRepository);
+    }
+}
@@ -4,14 +4,20 @@ import dev.bored.profile.dto.ProfileDTO;
 import dev.bored.profile.entity.Profile;
 import dev.bored.common.exception.GenericException;
 import dev.bored.profile.mapper.ProfileMapper;
+import dev.bored.profile.repository.AchievementRepository;
+import dev.bored.profile.repository.AspirationRepository;
+import dev.bored.profile.repository.ExperienceRepository;
 import dev.bored.profile.repository.ProfileRepository;
+import dev.bored.profile.service.ProfileDataChangedEvent.Change;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,6 +44,18 @@ class ProfileServiceTest {
     @Mock
     private ProfileMapper profileMapper;
 
+    @Mock
+    private ExperienceRepository experienceRepository;
+
+    @Mock
+    private AchievementRepository achievementRepository;
+
+    @Mock
+    private AspirationRepository aspirationRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProfileService profileService;
 
@@ -171,6 +189,7 @@ class ProfileServiceTest {
         verify(profileMapper, times(1)).toEntity(inputDTO);
         verify(profileRepository, times(1)).save(profileToSave);
         verify(profileMapper, times(1)).toDTO(savedProfile);
+        verify(eventPublisher).publishEvent(ProfileDataChangedEvent.of(ProfileSection.PROFILE, Change.CREATED, 2L, 2L, savedProfileDTO));
     }
 
     /**
@@ -229,6 +248,7 @@ class ProfileServiceTest {
         verify(profileRepository, times(1)).findById(profileId);
         verify(profileRepository, times(1)).save(existingProfile);
         verify(profileMapper, times(1)).toDTO(updatedProfile);
+        verify(eventPublisher).publishEvent(ProfileDataChangedEvent.of(ProfileSection.PROFILE, Change.UPDATED, 1L, 1L, resultDTO));
     }
 
     /**
@@ -256,6 +276,7 @@ class ProfileServiceTest {
         verify(profileRepository, times(1)).findById(profileId);
         verify(profileRepository, never()).save(any());
         verify(profileMapper, never()).toDTO(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     /**
@@ -282,6 +303,36 @@ class ProfileServiceTest {
         verify(profileRepository, times(1)).deleteById(profileId);
     }
 
+    /**
+     * Tests that deleting a profile also publishes the rows the database cascades away.
+     * <p>
+     * Verifies that the ids of the profile's sections are collected before the
+     * delete and published together with the profile, so their cache entries
+     * can be evicted.
+     * </p>
+     */
+    @Test
+    void deleteProfile_ShouldPublishCascadedSections_WhenProfileExists() {
+        // Arrange
+        Long profileId = 1L;
+        when(profileRepository.existsById(profileId)).thenReturn(true);
+        when(experienceRepository.findIdsByProfileId(profileId)).thenReturn(List.of(10L, 11L));
+        when(achievementRepository.findIdsByProfileId(profileId)).thenReturn(List.of(20L));
+        when(aspirationRepository.findIdsByProfileId(profileId)).thenReturn(List.of());
+
+        // Act
+        profileService.deleteProfile(profileId);
+
+        // Assert
+        verify(eventPublisher).publishEvent(
+                new ProfileDataChangedEvent(ProfileSection.EXPERIENCES, Change.DELETED, profileId, List.of(10L, 11L)));
+        verify(eventPublisher).publishEvent(
+                new ProfileDataChangedEvent(ProfileSection.ACHIEVEMENTS, Change.DELETED, profileId, List.of(20L)));
+        verify(eventPublisher).publishEvent(
+                new ProfileDataChangedEvent(ProfileSection.ASPIRATIONS, Change.DELETED, profileId, List.of()));
+        verify(eventPublisher).publishEvent(ProfileDataChangedEvent.of(ProfileSection.PROFILE, Change.DELETED, profileId, profileId));
+    }
+
     /**
      * Tests deletion attempt on a non-existent profile.
      * <p>
@@ -362,4 +413,12 @@ class ProfileServiceTest {
         assertEquals("New Status", existingProfile.getStatus());
         verify(profileRepository, times(1)).save(existingProfile);
     }
+
+    @Test
+    void loadAllIds_ShouldReturnEveryIdForSection() {
+        when(profileRepository.findAllIds()).thenReturn(List.of(1L, 2L));
+
+        assertEquals(List.of(1L, 2L), profileService.loadAllIds());
+        assertEquals(ProfileSection.PROFILE, profileService.section());
+    }
 }